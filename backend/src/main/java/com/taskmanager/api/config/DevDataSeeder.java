@@ -7,6 +7,8 @@ import com.taskmanager.api.entity.User;
 import com.taskmanager.api.entity.Priority;
 import com.taskmanager.api.entity.Status;
 import com.taskmanager.api.repository.RoleRepository;
+import com.taskmanager.api.repository.TaskCounterRepository;
+import com.taskmanager.api.repository.TaskCounterRepository.TaskState;
 import com.taskmanager.api.repository.TeamRepository;
 import com.taskmanager.api.repository.TaskRepository;
 import com.taskmanager.api.repository.UserRepository;
@@ -30,13 +32,16 @@ public class DevDataSeeder implements CommandLineRunner {
     private final UserRepository userRepo;
     private final TeamRepository teamRepo;
     private final TaskRepository taskRepo;
+    private final TaskCounterRepository taskCounterRepo;
     private final PasswordEncoder passwordEncoder;
 
-    public DevDataSeeder(RoleRepository roleRepo, UserRepository userRepo, TeamRepository teamRepo, TaskRepository taskRepo, PasswordEncoder passwordEncoder) {
+    public DevDataSeeder(RoleRepository roleRepo, UserRepository userRepo, TeamRepository teamRepo, TaskRepository taskRepo,
+                         TaskCounterRepository taskCounterRepo, PasswordEncoder passwordEncoder) {
         this.roleRepo = roleRepo;
         this.userRepo = userRepo;
         this.teamRepo = teamRepo;
         this.taskRepo = taskRepo;
+        this.taskCounterRepo = taskCounterRepo;
         this.passwordEncoder = passwordEncoder;
     }
 
@@ -186,6 +191,8 @@ public class DevDataSeeder implements CommandLineRunner {
         t10.setDueDate(now.minusDays(1));
         t10.getAssignees().add(alice);
 
-        taskRepo.saveAll(List.of(t1, t2, t3, t4, t5, t6, t7, t8, t9, t10));
+        List<Task> saved = taskRepo.saveAll(List.of(t1, t2, t3, t4, t5, t6, t7, t8, t9, t10));
+        taskRepo.flush();
+        taskCounterRepo.record(List.of(), saved.stream().map(TaskState::of).toList());
     }
 }
@@ -1,9 +1,11 @@
 package com.taskmanager.api.config;
 
+import com.taskmanager.api.security.CurrentActor;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Contact;
 import io.swagger.v3.oas.annotations.info.Info;
 import io.swagger.v3.oas.annotations.info.License;
+import org.springdoc.core.utils.SpringDocUtils;
 import org.springframework.context.annotation.Configuration;
 
 /**
@@ -22,4 +24,8 @@ import org.springframework.context.annotation.Configuration;
 )
 public class OpenApiConfig {
 
+    static {
+        // Resolved from the security context, not from the request.
+        SpringDocUtils.getConfig().addRequestWrapperToIgnore(CurrentActor.class);
+    }
 }
@@ -0,0 +1,22 @@
+package com.taskmanager.api.config;
+
+import com.taskmanager.api.security.CurrentActorArgumentResolver;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * MVC customizations: lets controllers declare a
+ * {@link com.taskmanager.api.security.CurrentActor} parameter.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addArgumentResolvers(@NonNull List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new CurrentActorArgumentResolver());
+    }
+}
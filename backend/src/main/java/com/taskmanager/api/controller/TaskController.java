@@ -1,23 +1,43 @@
     package com.taskmanager.api.controller;
 
+import com.taskmanager.api.dto.BatchResult;
+import com.taskmanager.api.dto.CursorPage;
+import com.taskmanager.api.dto.ImportJobStatus;
+import com.taskmanager.api.dto.TaskActivityDto;
+import com.taskmanager.api.dto.TaskChangesDto;
 import com.taskmanager.api.dto.TaskCreateDto;
 import com.taskmanager.api.dto.TaskDto;
+import com.taskmanager.api.dto.TaskSearchCriteria;
+import com.taskmanager.api.dto.TaskSearchHit;
 import com.taskmanager.api.entity.Task;
-import com.taskmanager.api.entity.User;
+import com.taskmanager.api.service.TaskActivityService;
+import com.taskmanager.api.service.TaskBatchService;
+import com.taskmanager.api.service.TaskChangesService;
+import com.taskmanager.api.service.TaskExportService;
+import com.taskmanager.api.service.TaskImportService;
 import com.taskmanager.api.service.TaskService;
 import com.taskmanager.api.repository.UserRepository;
+import com.taskmanager.api.security.CurrentActor;
 import com.taskmanager.api.mapper.TaskMapper;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.Objects;
 
 import io.swagger.v3.oas.annotations.Operation;
+import org.springdoc.core.annotations.ParameterObject;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 /**
  * Controller exposing task management endpoints.
  * Supports creation, retrieval and listing of tasks by team.
@@ -34,11 +54,23 @@ public class TaskController {
      */
 
     private final TaskService taskService;
+    private final TaskBatchService taskBatchService;
+    private final TaskExportService taskExportService;
+    private final TaskImportService taskImportService;
+    private final TaskChangesService taskChangesService;
+    private final TaskActivityService taskActivityService;
     private final UserRepository userRepository;
     private final TaskMapper taskMapper;
 
-    public TaskController(TaskService taskService, UserRepository userRepository, TaskMapper taskMapper) {
+    public TaskController(TaskService taskService, TaskBatchService taskBatchService, TaskExportService taskExportService,
+                          TaskImportService taskImportService, TaskChangesService taskChangesService,
+                          TaskActivityService taskActivityService, UserRepository userRepository, TaskMapper taskMapper) {
         this.taskService = taskService;
+        this.taskBatchService = taskBatchService;
+        this.taskExportService = taskExportService;
+        this.taskImportService = taskImportService;
+        this.taskChangesService = taskChangesService;
+        this.taskActivityService = taskActivityService;
         this.userRepository = userRepository;
         this.taskMapper = taskMapper;
     }
@@ -49,7 +81,7 @@ public class TaskController {
     @Operation(summary = "Create task", description = "Create a new task from the provided TaskCreateDto.")
     @PostMapping
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<TaskDto> createTask(@Valid @RequestBody TaskCreateDto createDto) {
+    public ResponseEntity<TaskDto> createTask(@Valid @RequestBody TaskCreateDto createDto, CurrentActor actor) {
         Task task = new Task();
         task.setTitle(createDto.getTitle());
         task.setDescription(createDto.getDescription());
@@ -61,15 +93,55 @@ public class TaskController {
             task.setTeam(t);
         }
         if (createDto.getAssigneeIds() != null) {
-            for (Long id : createDto.getAssigneeIds()) {
-                User u = userRepository.findById(id).orElse(null);
-                if (u != null) task.getAssignees().add(u);
-            }
+            // One lookup for all assignees; unknown ids are skipped.
+            List<Long> ids = createDto.getAssigneeIds().stream().filter(Objects::nonNull).distinct().toList();
+            if (!ids.isEmpty()) task.getAssignees().addAll(userRepository.findAllById(ids));
         }
-        Task created = taskService.createTask(task);
+        Task created = taskService.createTask(task, actor.id());
         return ResponseEntity.ok(taskMapper.toDto(created));
     }
 
+    /**
+     * Create many tasks in one request. Items are validated one by one; the
+     * valid ones are inserted together and each item gets its own result.
+     */
+    @Operation(summary = "Create tasks in bulk", description = "Create up to app.tasks.batch.max-size tasks in one transaction. Returns a result per item, in request order; invalid items are reported and skipped.")
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<BatchResult> createTasks(@RequestBody List<TaskCreateDto> items, CurrentActor actor) {
+        return ResponseEntity.ok(taskBatchService.createTasks(items, actor.id()));
+    }
+
+    /**
+     * Change the status of several tasks at once.
+     */
+    @Operation(summary = "Change status of tasks in bulk", description = "Change the status of every listed task in one transaction. Returns a result per task id, in request order; tasks that are missing or not permitted are reported and skipped.")
+    @PatchMapping("/batch/status")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<BatchResult> changeTaskStatuses(@RequestBody BulkStatusChangeRequest request, CurrentActor actor) {
+        return ResponseEntity.ok(taskBatchService.changeStatus(request.getTaskIds(), request.getStatus(), actor.id()));
+    }
+
+    /**
+     * Assign a user to several tasks at once.
+     */
+    @Operation(summary = "Assign user to tasks in bulk", description = "Assign a user to every listed task in one transaction. Returns a result per task id; tasks already assigned to the user succeed unchanged.")
+    @PostMapping("/batch/assignees/{userId}")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<BatchResult> assignUserToTasks(@PathVariable Long userId, @RequestBody BulkTaskIdsRequest request, CurrentActor actor) {
+        return ResponseEntity.ok(taskBatchService.assignUser(request.getTaskIds(), userId, actor.id()));
+    }
+
+    /**
+     * Unassign a user from several tasks at once.
+     */
+    @Operation(summary = "Unassign user from tasks in bulk", description = "Unassign a user from every listed task in one transaction. Returns a result per task id.")
+    @DeleteMapping("/batch/assignees/{userId}")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<BatchResult> unassignUserFromTasks(@PathVariable Long userId, @RequestBody BulkTaskIdsRequest request, CurrentActor actor) {
+        return ResponseEntity.ok(taskBatchService.unassignUser(request.getTaskIds(), userId, actor.id()));
+    }
+
     /**
      * Retrieve a task by its id.
      */
@@ -82,15 +154,108 @@ public class TaskController {
     }
 
     /**
-     * List tasks for a given team id.
+     * The change history of a task, one keyset page at a time.
+     */
+    @Operation(summary = "Get task activity", description = "List who changed which field, status or assignee of the task and when, newest first. Pass the returned nextCursor to fetch older entries. Team members, the team admin, the creator and assignees may read it.")
+    @GetMapping("/{id}/activity")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<CursorPage<TaskActivityDto>> getActivity(@PathVariable Long id,
+                                                                   @RequestParam(required = false) String cursor,
+                                                                   @RequestParam(defaultValue = "50") int limit,
+                                                                   CurrentActor actor) {
+        return ResponseEntity.ok(taskActivityService.getActivity(id, actor.id(), cursor, limit));
+    }
+
+    /**
+     * Search tasks in the caller's teams by filters, with a chosen sort order.
+     */
+    @Operation(summary = "Search tasks", description = "Filter tasks in the caller's teams by team, status, priority, assignee, creator and due-date range, sorted by dueDate, priority or updatedAt. Pass the returned nextCursor to fetch the following page.")
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<CursorPage<TaskDto>> searchTasks(@ParameterObject TaskSearchCriteria criteria,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "50") int limit,
+                                                           CurrentActor actor) {
+        return ResponseEntity.ok(taskService.searchTasks(criteria, actor.id(), cursor, limit));
+    }
+
+    /**
+     * Full-text search over task titles and descriptions in the caller's teams.
      */
-    @Operation(summary = "List tasks by team", description = "List all tasks for a given team ID.")
+    @Operation(summary = "Full-text search tasks", description = "Search titles and descriptions in the caller's teams with web-search syntax (quoted phrases, or, -term). Results are ranked, title matches first, with HTML-escaped highlighted title and snippet. Pass the returned nextCursor to fetch the following page.")
+    @GetMapping("/search/text")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<CursorPage<TaskSearchHit>> searchText(@RequestParam String q,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(defaultValue = "20") int limit,
+                                                                CurrentActor actor) {
+        return ResponseEntity.ok(taskService.searchText(q, actor.id(), cursor, limit));
+    }
+
+    /**
+     * List tasks for a given team id, one keyset page at a time.
+     */
+    @Operation(summary = "List tasks by team", description = "List a team's tasks newest first. Pass the returned nextCursor to fetch the following page.")
     @GetMapping("/team/{teamId}")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<List<TaskDto>> listByTeam(@PathVariable Long teamId) {
-        List<Task> tasks = taskService.listTasksByTeam(teamId);
-        List<TaskDto> dtos = tasks.stream().map(taskMapper::toDto).collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<CursorPage<TaskDto>> listByTeam(@PathVariable Long teamId,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(taskService.listTasksByTeam(teamId, cursor, limit));
+    }
+
+    /**
+     * Tasks of a team changed since a watermark, for clients that keep a local copy.
+     */
+    @Operation(summary = "Sync team tasks", description = "Return the team's tasks created or updated after the watermark and the ids of tasks deleted since, with the watermark for the next call. Omit since for a full sync. While hasMore is true, call again with the returned watermark. Only team members and the team admin may sync.")
+    @GetMapping("/changes")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<TaskChangesDto> listChanges(@RequestParam Long teamId,
+                                                      @RequestParam(required = false) String since,
+                                                      @RequestParam(defaultValue = "200") int limit,
+                                                      CurrentActor actor) {
+        return ResponseEntity.ok(taskChangesService.getChanges(teamId, since, limit, actor.id()));
+    }
+
+    /**
+     * Export all of a team's tasks as one streamed NDJSON or CSV download.
+     */
+    @Operation(summary = "Export team tasks", description = "Stream every task of a team, newest first, as NDJSON (format=ndjson, default) or CSV (format=csv). Only team members and the team admin may export.")
+    @GetMapping("/team/{teamId}/export")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<StreamingResponseBody> exportByTeam(@PathVariable Long teamId,
+                                                              @RequestParam(defaultValue = "ndjson") String format,
+                                                              CurrentActor actor) {
+        TaskExportService.Format exportFormat = TaskExportService.Format.fromParam(format);
+        // Checked before the response is committed so failures still get a proper status code.
+        taskExportService.checkCanExport(teamId, actor.id());
+        StreamingResponseBody body = out -> taskExportService.exportTeamTasks(teamId, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("team-" + teamId + "-tasks." + exportFormat.extension()).build().toString())
+                .body(body);
+    }
+
+    /**
+     * Import tasks into a team from a CSV upload, as a background job.
+     */
+    @Operation(summary = "Import team tasks", description = "Upload a CSV file (Content-Type: text/csv, header row required, columns as in the CSV export; only title is required) to create tasks in the team. Returns 202 with a job whose progress is read from the Location URL. Valid rows are imported in one transaction; rejected rows are reported with their line numbers.")
+    @PostMapping(value = "/team/{teamId}/import", consumes = "text/csv")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<ImportJobStatus> importToTeam(@PathVariable Long teamId, InputStream csv, CurrentActor actor) throws IOException {
+        ImportJobStatus job = taskImportService.startImport(teamId, csv, actor.id());
+        return ResponseEntity.accepted().location(URI.create("/api/tasks/imports/" + job.getId())).body(job);
+    }
+
+    /**
+     * Progress and outcome of a task import job.
+     */
+    @Operation(summary = "Get import job", description = "Progress and outcome of a task import started by the caller.")
+    @GetMapping("/imports/{jobId}")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<ImportJobStatus> getImportJob(@PathVariable String jobId, CurrentActor actor) {
+        return ResponseEntity.ok(taskImportService.getJob(jobId, actor.id()));
     }
     
      /**
@@ -99,10 +264,8 @@ public class TaskController {
     @Operation(summary = "Update task", description = "Update a task by its ID. Only creator, team admin, or assignee can update.")
     @PatchMapping("/{id}")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<TaskDto> updateTask(@PathVariable Long id, @Valid @RequestBody TaskDto dto) {
-        // Extract username from security context
-        String username = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication().getName();
-        Task updated = taskService.updateTask(id, dto, username);
+    public ResponseEntity<TaskDto> updateTask(@PathVariable Long id, @Valid @RequestBody TaskDto dto, CurrentActor actor) {
+        Task updated = taskService.updateTask(id, dto, actor.id());
         return ResponseEntity.ok(taskMapper.toDto(updated));
     }
 
@@ -112,21 +275,21 @@ public class TaskController {
     @Operation(summary = "Delete task", description = "Delete a task by its ID. Only creator or team admin can delete.")
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<Void> deleteTask(@PathVariable Long id) {
-        String username = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication().getName();
-        taskService.deleteTask(id, username);
+    public ResponseEntity<Void> deleteTask(@PathVariable Long id, CurrentActor actor) {
+        taskService.deleteTask(id, actor.id());
         return ResponseEntity.noContent().build();
     }
     /**
-     * List tasks assigned to a specific user.
+     * List tasks assigned to a specific user, one keyset page at a time.
      */
-    @Operation(summary = "List tasks for user", description = "List all tasks assigned to a specific user.")
+    @Operation(summary = "List tasks for user", description = "List tasks assigned to a user newest first, optionally filtered by status. Pass the returned nextCursor to fetch the following page.")
     @GetMapping("/user/{userId}")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<List<TaskDto>> listByUser(@PathVariable Long userId) {
-        List<Task> tasks = taskService.listTasksByUser(userId);
-        List<TaskDto> dtos = tasks.stream().map(taskMapper::toDto).collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<CursorPage<TaskDto>> listByUser(@PathVariable Long userId,
+                                                          @RequestParam(required = false) String status,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(taskService.listTasksByUser(userId, status, cursor, limit));
     }
 
     /**
@@ -135,9 +298,8 @@ public class TaskController {
     @Operation(summary = "Assign user to task", description = "Assign a user to a task. Only admin or creator can assign.")
     @PostMapping("/{taskId}/assignees/{userId}")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<TaskDto> assignUserToTask(@PathVariable Long taskId, @PathVariable Long userId) {
-        String username = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication().getName();
-        Task updated = taskService.assignUserToTask(taskId, userId, username);
+    public ResponseEntity<TaskDto> assignUserToTask(@PathVariable Long taskId, @PathVariable Long userId, CurrentActor actor) {
+        Task updated = taskService.assignUserToTask(taskId, userId, actor.id());
         return ResponseEntity.ok(taskMapper.toDto(updated));
     }
 
@@ -147,9 +309,8 @@ public class TaskController {
     @Operation(summary = "Unassign user from task", description = "Unassign a user from a task. Only admin, creator, or the user themselves can unassign.")
     @DeleteMapping("/{taskId}/assignees/{userId}")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<TaskDto> unassignUserFromTask(@PathVariable Long taskId, @PathVariable Long userId) {
-        String username = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication().getName();
-        Task updated = taskService.unassignUserFromTask(taskId, userId, username);
+    public ResponseEntity<TaskDto> unassignUserFromTask(@PathVariable Long taskId, @PathVariable Long userId, CurrentActor actor) {
+        Task updated = taskService.unassignUserFromTask(taskId, userId, actor.id());
         return ResponseEntity.ok(taskMapper.toDto(updated));
     }
 
@@ -159,9 +320,8 @@ public class TaskController {
     @Operation(summary = "Change task status", description = "Change the status of a task. Only creator, admin, or assignee can change.")
     @PatchMapping("/{taskId}/status")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<TaskDto> changeTaskStatus(@PathVariable Long taskId, @RequestBody StatusChangeRequest statusChangeRequest) {
-        String username = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication().getName();
-        Task updated = taskService.changeTaskStatus(taskId, statusChangeRequest.getStatus(), username);
+    public ResponseEntity<TaskDto> changeTaskStatus(@PathVariable Long taskId, @RequestBody StatusChangeRequest statusChangeRequest, CurrentActor actor) {
+        Task updated = taskService.changeTaskStatus(taskId, statusChangeRequest.getStatus(), actor.id());
         return ResponseEntity.ok(taskMapper.toDto(updated));
     }
 
@@ -170,4 +330,16 @@ public class TaskController {
         public String getStatus() { return status; }
         public void setStatus(String status) { this.status = status; }
     }
+
+    public static class BulkTaskIdsRequest {
+        private List<Long> taskIds;
+        public List<Long> getTaskIds() { return taskIds; }
+        public void setTaskIds(List<Long> taskIds) { this.taskIds = taskIds; }
+    }
+
+    public static class BulkStatusChangeRequest extends BulkTaskIdsRequest {
+        private String status;
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+    }
 }
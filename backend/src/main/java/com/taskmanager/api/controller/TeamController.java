@@ -1,22 +1,32 @@
 
 package com.taskmanager.api.controller;
 
+import com.taskmanager.api.dto.CursorPage;
+import com.taskmanager.api.dto.TaskCountsDto;
+import com.taskmanager.api.dto.TeamAnalyticsDto;
+import com.taskmanager.api.dto.TeamBurndownDto;
 import com.taskmanager.api.dto.TeamDto;
+import com.taskmanager.api.dto.TeamStatsDto;
+import com.taskmanager.api.dto.UserDto;
 import com.taskmanager.api.entity.Team;
+import com.taskmanager.api.service.TaskCounterService;
+import com.taskmanager.api.service.TeamAnalyticsService;
+import com.taskmanager.api.service.TeamBurndownService;
+import com.taskmanager.api.service.TeamEventService;
 import com.taskmanager.api.service.TeamService;
-import com.taskmanager.api.mapper.TeamMapper;
+import com.taskmanager.api.service.TeamStatsService;
+import com.taskmanager.api.security.CurrentActor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import jakarta.validation.Valid;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Controller for team management endpoints.
@@ -32,11 +42,21 @@ public class TeamController {
      */
 
     private final TeamService teamService;
-    private final TeamMapper teamMapper;
+    private final TeamStatsService teamStatsService;
+    private final TaskCounterService taskCounterService;
+    private final TeamEventService teamEventService;
+    private final TeamAnalyticsService teamAnalyticsService;
+    private final TeamBurndownService teamBurndownService;
 
-    public TeamController(TeamService teamService, TeamMapper teamMapper) {
+    public TeamController(TeamService teamService, TeamStatsService teamStatsService,
+                          TaskCounterService taskCounterService, TeamEventService teamEventService,
+                          TeamAnalyticsService teamAnalyticsService, TeamBurndownService teamBurndownService) {
         this.teamService = teamService;
-        this.teamMapper = teamMapper;
+        this.teamStatsService = teamStatsService;
+        this.taskCounterService = taskCounterService;
+        this.teamEventService = teamEventService;
+        this.teamAnalyticsService = teamAnalyticsService;
+        this.teamBurndownService = teamBurndownService;
     }
 
     /**
@@ -45,78 +65,105 @@ public class TeamController {
     @Operation(summary = "Create team", description = "Create a new team from the provided payload.")
     @PostMapping
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<TeamDto> createTeam(@Valid @RequestBody TeamDto dto) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || !auth.isAuthenticated()) {
-            return ResponseEntity.status(401).build();
-        }
-        String username = auth.getName();
-        com.taskmanager.api.entity.User creator = teamService.findUserByUsername(username);
+    public ResponseEntity<TeamDto> createTeam(@Valid @RequestBody TeamDto dto, CurrentActor actor) {
+        // createTeam swaps this id-only reference for the managed user.
+        com.taskmanager.api.entity.User creator = new com.taskmanager.api.entity.User();
+        creator.setId(actor.id());
         Team team = new Team();
         team.setName(dto.getName());
         team.setDescription(dto.getDescription());
         team.setAdmin(creator);
         team.getMembers().add(creator);
         Team created = teamService.createTeam(team);
-        TeamDto out = teamMapper.toDto(created);
+        TeamDto out = teamService.toDto(created);
         return ResponseEntity.ok(out);
     }
 
     @Operation(summary = "Add member to team", description = "Add a user as a member to a team. Only the team admin can add members.")
     @PostMapping("/{teamId}/members/{userId}")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<TeamDto> addMember(@PathVariable Long teamId, @PathVariable Long userId) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
-        Team updated = teamService.addMember(teamId, userId, username);
-        return ResponseEntity.ok(teamMapper.toDto(updated));
+    public ResponseEntity<TeamDto> addMember(@PathVariable Long teamId, @PathVariable Long userId, CurrentActor actor) {
+        Team updated = teamService.addMember(teamId, userId, actor.id());
+        return ResponseEntity.ok(teamService.toDto(updated));
     }
 
-    @Operation(summary = "List teams for user", description = "List all teams for a given user ID.")
+    @Operation(summary = "List teams for user", description = "List all teams for a given user ID, each with its admin and member and task counts.")
     @GetMapping
     @PreAuthorize("hasRole('USER')")
     public ResponseEntity<List<TeamDto>> listTeamsForUser(@RequestParam Long userId) {
         List<Team> teams = teamService.listTeamsForUser(userId);
-        List<TeamDto> dtos = teams.stream().map(teamMapper::toDto).collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(teamService.toDtos(teams));
     }
     
     @Operation(summary = "Update team info", description = "Update team name/description. Only admin can update.")
     @PatchMapping("/{teamId}")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<TeamDto> updateTeam(@PathVariable Long teamId, @Valid @RequestBody TeamDto dto) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
-        Team updated = teamService.updateTeam(teamId, dto, username);
-        return ResponseEntity.ok(teamMapper.toDto(updated));
+    public ResponseEntity<TeamDto> updateTeam(@PathVariable Long teamId, @Valid @RequestBody TeamDto dto, CurrentActor actor) {
+        Team updated = teamService.updateTeam(teamId, dto, actor.id());
+        return ResponseEntity.ok(teamService.toDto(updated));
     }
 
     @Operation(summary = "Delete team", description = "Delete a team. Only admin can delete.")
     @DeleteMapping("/{teamId}")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<Void> deleteTeam(@PathVariable Long teamId) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
-        teamService.deleteTeam(teamId, username);
+    public ResponseEntity<Void> deleteTeam(@PathVariable Long teamId, CurrentActor actor) {
+        teamService.deleteTeam(teamId, actor.id());
         return ResponseEntity.noContent().build();
     }
 
     @Operation(summary = "Remove member from team", description = "Remove a user from a team. Admin or self can remove.")
     @DeleteMapping("/{teamId}/members/{userId}")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<TeamDto> removeMember(@PathVariable Long teamId, @PathVariable Long userId) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
-        Team updated = teamService.removeMember(teamId, userId, username);
-        return ResponseEntity.ok(teamMapper.toDto(updated));
+    public ResponseEntity<TeamDto> removeMember(@PathVariable Long teamId, @PathVariable Long userId, CurrentActor actor) {
+        Team updated = teamService.removeMember(teamId, userId, actor.id());
+        return ResponseEntity.ok(teamService.toDto(updated));
     }
 
-    @Operation(summary = "List team members", description = "List all users in a team.")
+    @Operation(summary = "List team members", description = "One page of a team's members ordered by user id, without roles. Pass the returned nextCursor to fetch the next page; it is null on the last page. limit defaults to 50, max 200.")
     @GetMapping("/{teamId}/members")
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<List<com.taskmanager.api.dto.UserDto>> listMembers(@PathVariable Long teamId) {
-        List<com.taskmanager.api.entity.User> members = teamService.listMembers(teamId);
-        List<com.taskmanager.api.dto.UserDto> dtos = members.stream().map(teamService::toUserDto).toList();
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<CursorPage<UserDto>> listMembers(@PathVariable Long teamId,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(teamService.listMembers(teamId, cursor, limit));
+    }
+
+    @Operation(summary = "Team task stats", description = "Task counts of a team by status, priority and assignee, with open, overdue and unassigned totals. Only team members can view them.")
+    @GetMapping("/{teamId}/stats")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<TeamStatsDto> getStats(@PathVariable Long teamId, CurrentActor actor) {
+        return ResponseEntity.ok(teamStatsService.getStats(teamId, actor.id()));
+    }
+
+    @Operation(summary = "Team flow analytics", description = "Cycle time (first IN_PROGRESS to DONE) and lead time (creation to DONE) percentiles in hours, and tasks completed per week, over the last weeks (1 to 52, current week included). Only team members can view them.")
+    @GetMapping("/{teamId}/analytics")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<TeamAnalyticsDto> getAnalytics(@PathVariable Long teamId,
+                                                         @RequestParam(defaultValue = "12") int weeks,
+                                                         CurrentActor actor) {
+        return ResponseEntity.ok(teamAnalyticsService.getAnalytics(teamId, weeks, actor.id()));
+    }
+
+    @Operation(summary = "Team burndown", description = "Open and done task counts of a team per day over the last days (default 90), oldest first: past days from daily snapshots, today from the live counts. Only team members can view them.")
+    @GetMapping("/{teamId}/burndown")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<TeamBurndownDto> getBurndown(@PathVariable Long teamId,
+                                                       @RequestParam(defaultValue = "90") int days,
+                                                       CurrentActor actor) {
+        return ResponseEntity.ok(teamBurndownService.getBurndown(teamId, days, actor.id()));
+    }
+
+    @Operation(summary = "Team task counts", description = "Counts of a team's tasks by status and priority, read from counters maintained on every task write. Only team members can view them.")
+    @GetMapping("/{teamId}/task-counts")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<TaskCountsDto> getTaskCounts(@PathVariable Long teamId, CurrentActor actor) {
+        return ResponseEntity.ok(taskCounterService.getTeamCounts(teamId, actor.id()));
+    }
+
+    @Operation(summary = "Team task events", description = "Server-Sent Events stream of the team's committed task changes: one `task` event per write with data {teamId, type, taskIds}, where type is CREATED, UPDATED, STATUS_CHANGED, ASSIGNED, UNASSIGNED, DELETED or IMPORTED (taskIds empty). Comment lines are sent as heartbeats. Streams that fall behind are closed; reconnect and catch up with GET /api/tasks/changes. Only team members can subscribe.")
+    @GetMapping(value = "/{teamId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('USER')")
+    public SseEmitter subscribeToEvents(@PathVariable Long teamId, CurrentActor actor) {
+        return teamEventService.subscribe(teamId, actor.id());
     }
 }
@@ -1,8 +1,10 @@
 package com.taskmanager.api.controller;
 
+import com.taskmanager.api.dto.TaskCountsDto;
 import com.taskmanager.api.dto.UserDto;
 import com.taskmanager.api.entity.Role;
 import com.taskmanager.api.entity.User;
+import com.taskmanager.api.security.CurrentActor;
 /**
  * REST controller for user-related endpoints.
  * Provides profile endpoints for the currently authenticated user.
@@ -10,12 +12,13 @@ import com.taskmanager.api.entity.User;
 
 import org.springframework.http.ResponseEntity;
 import jakarta.validation.Valid;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -23,6 +26,7 @@ import org.springframework.web.bind.annotation.RestController;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -31,26 +35,24 @@ import java.util.stream.Collectors;
 public class UserController {
 
     private final com.taskmanager.api.service.UserService userService;
+    private final com.taskmanager.api.service.TaskCounterService taskCounterService;
 
     /**
      * Controller exposing profile endpoints for the authenticated user.
      * Supports retrieving, updating and deleting the current user's account.
      */
 
-    public UserController(com.taskmanager.api.service.UserService userService) {
+    public UserController(com.taskmanager.api.service.UserService userService,
+                          com.taskmanager.api.service.TaskCounterService taskCounterService) {
         this.userService = userService;
+        this.taskCounterService = taskCounterService;
     }
 
     @Operation(summary = "Get current user profile", description = "Return the profile of the currently authenticated user.")
     @GetMapping("/me")
     @Transactional(readOnly = true)
-    public ResponseEntity<UserDto> getCurrentUser() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || !auth.isAuthenticated()) {
-            return ResponseEntity.status(401).build();
-        }
-        String username = auth.getName();
-        User user = userService.findByUsername(username).orElse(null);
+    public ResponseEntity<UserDto> getCurrentUser(CurrentActor actor) {
+        User user = userService.findById(actor.id()).orElse(null);
         if (user == null) return ResponseEntity.notFound().build();
         UserDto dto = new UserDto();
         dto.setId(user.getId());
@@ -61,18 +63,20 @@ public class UserController {
         dto.setRoles(user.getRoles().stream().map(Role::getName).collect(Collectors.toSet()));
         return ResponseEntity.ok(dto);
     }
+
+    @Operation(summary = "Get current user's task counts", description = "Counts of the tasks assigned to the current user, by status.")
+    @GetMapping("/me/task-counts")
+    public ResponseEntity<TaskCountsDto> getCurrentUserTaskCounts(CurrentActor actor) {
+        return ResponseEntity.ok(taskCounterService.getAssigneeCounts(actor.id()));
+    }
+
     /**
      * Delete the currently authenticated user's account.
      */
     @Operation(summary = "Delete current user", description = "Delete the currently authenticated user's account.")
     @DeleteMapping("/me")
-    public ResponseEntity<Void> deleteCurrentUser() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || !auth.isAuthenticated()) {
-            return ResponseEntity.status(401).build();
-        }
-        String username = auth.getName();
-        User user = userService.findByUsername(username).orElse(null);
+    public ResponseEntity<Void> deleteCurrentUser(CurrentActor actor) {
+        User user = userService.findById(actor.id()).orElse(null);
         if (user == null) return ResponseEntity.notFound().build();
         userService.deleteUser(user.getId());
         return ResponseEntity.noContent().build();
@@ -83,13 +87,8 @@ public class UserController {
      */
     @Operation(summary = "Update current user", description = "Update the currently authenticated user's profile (username, displayName, password). Any field can be omitted.")
     @PatchMapping("/me")
-    public ResponseEntity<UserDto> updateCurrentUser(@Valid @RequestBody com.taskmanager.api.dto.UserUpdateDto updateDto) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || !auth.isAuthenticated()) {
-            return ResponseEntity.status(401).build();
-        }
-        String username = auth.getName();
-        User user = userService.findByUsername(username).orElse(null);
+    public ResponseEntity<UserDto> updateCurrentUser(@Valid @RequestBody com.taskmanager.api.dto.UserUpdateDto updateDto, CurrentActor actor) {
+        User user = userService.findById(actor.id()).orElse(null);
         if (user == null) return ResponseEntity.notFound().build();
         User updated = userService.updateUser(user.getId(), updateDto);
         UserDto dto = new UserDto();
@@ -101,4 +100,22 @@ public class UserController {
         dto.setRoles(updated.getRoles().stream().map(Role::getName).collect(Collectors.toSet()));
         return ResponseEntity.ok(dto);
     }
+
+    /**
+     * Replace a user's roles (administrators only).
+     */
+    @Operation(summary = "Set user roles", description = "Replace the roles of a user, e.g. [\"ROLE_USER\", \"ROLE_ADMIN\"]. Admin only.")
+    @PutMapping("/{userId}/roles")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserDto> updateRoles(@PathVariable Long userId, @RequestBody Set<String> roleNames) {
+        User updated = userService.updateRoles(userId, roleNames);
+        UserDto dto = new UserDto();
+        dto.setId(updated.getId());
+        dto.setUsername(updated.getUsername());
+        dto.setEmail(updated.getEmail());
+        dto.setDisplayName(updated.getDisplayName());
+        dto.setCreatedAt(updated.getCreatedAt());
+        dto.setRoles(updated.getRoles().stream().map(Role::getName).collect(Collectors.toSet()));
+        return ResponseEntity.ok(dto);
+    }
 }
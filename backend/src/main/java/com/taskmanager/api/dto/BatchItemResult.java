@@ -0,0 +1,52 @@
+package com.taskmanager.api.dto;
+
+/**
+ * Outcome of one item of a batch request. `index` is the item's position in the
+ * request; `id` is set when the item was applied, `error` when it was rejected.
+ */
+public class BatchItemResult {
+
+    private int index;
+    private Long id;
+    private String error;
+
+    public BatchItemResult() {}
+
+    public BatchItemResult(int index, Long id, String error) {
+        this.index = index;
+        this.id = id;
+        this.error = error;
+    }
+
+    public static BatchItemResult ok(int index, Long id) {
+        return new BatchItemResult(index, id, null);
+    }
+
+    public static BatchItemResult rejected(int index, String error) {
+        return new BatchItemResult(index, null, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
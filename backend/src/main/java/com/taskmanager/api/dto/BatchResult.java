@@ -0,0 +1,46 @@
+package com.taskmanager.api.dto;
+
+import java.util.List;
+
+/**
+ * Response of a batch request: one {@link BatchItemResult} per submitted item,
+ * in request order, plus totals.
+ */
+public class BatchResult {
+
+    private int succeeded;
+    private int failed;
+    private List<BatchItemResult> results;
+
+    public BatchResult() {}
+
+    public BatchResult(List<BatchItemResult> results) {
+        this.results = results;
+        this.failed = (int) results.stream().filter(r -> r.getError() != null).count();
+        this.succeeded = results.size() - failed;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BatchItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchItemResult> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,56 @@
+package com.taskmanager.api.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a task delta sync. `since` is the time the client was last in
+ * sync, or the time a full sync started. `(updatedAt, id)` is the last task
+ * already returned while the changes span several pages, and null otherwise.
+ * Encoded as an opaque URL-safe token so clients never build watermarks themselves.
+ */
+public record ChangeWatermark(LocalDateTime since, LocalDateTime updatedAt, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    /** A watermark for the changes made after `since`. */
+    public static ChangeWatermark after(LocalDateTime since) {
+        return new ChangeWatermark(since, null, null);
+    }
+
+    /** The same sync continued after the given task. */
+    public ChangeWatermark continueAfter(LocalDateTime lastUpdatedAt, Long lastId) {
+        return new ChangeWatermark(since, lastUpdatedAt, lastId);
+    }
+
+    /** Whether this watermark continues a sync that spans several pages. */
+    public boolean isContinuation() {
+        return updatedAt != null;
+    }
+
+    public String encode() {
+        String raw = updatedAt != null ? since.toString() + SEPARATOR + updatedAt + SEPARATOR + id : since.toString();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}; returns null for a blank token
+     * (full sync) and throws {@link IllegalArgumentException} for anything malformed.
+     */
+    public static ChangeWatermark decode(String token) {
+        if (token == null || token.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length == 1) {
+                return after(LocalDateTime.parse(parts[0]));
+            }
+            if (parts.length != 3) throw new IllegalArgumentException("Invalid watermark");
+            return new ChangeWatermark(LocalDateTime.parse(parts[0]), LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (DateTimeParseException | NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid watermark", ex);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.taskmanager.api.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a listing ordered by id alone, such as the members of a team.
+ * Encoded as an opaque URL-safe token, like {@link KeysetCursor}.
+ */
+public record IdCursor(long id) {
+
+    private static final String PREFIX = "i:";
+
+    public String encode() {
+        String raw = PREFIX + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}; returns null for a blank token
+     * (first page) and throws {@link IllegalArgumentException} for anything malformed.
+     */
+    public static IdCursor decode(String token) {
+        if (token == null || token.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) throw new IllegalArgumentException("Invalid cursor");
+            return new IdCursor(Long.parseLong(raw.substring(PREFIX.length())));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid cursor", ex);
+        }
+    }
+}
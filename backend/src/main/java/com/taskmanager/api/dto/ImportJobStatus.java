@@ -0,0 +1,141 @@
+package com.taskmanager.api.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Snapshot of a task import job. `progress` is the percentage of the uploaded
+ * file parsed so far; it reaches 100 once the rows are being merged.
+ * `errors` holds a sample of the rejected rows, `rowsRejected` counts all of them.
+ */
+public class ImportJobStatus {
+
+    /** Lifecycle of an import job. */
+    public enum State {
+        QUEUED,
+        PARSING,
+        MERGING,
+        COMPLETED,
+        FAILED
+    }
+
+    private String id;
+    private Long teamId;
+    private State state;
+    private int progress;
+    private long bytesRead;
+    private long bytesTotal;
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsRejected;
+    private List<ImportRowError> errors;
+    private String message;
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+
+    public ImportJobStatus() {}
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Long getTeamId() {
+        return teamId;
+    }
+
+    public void setTeamId(Long teamId) {
+        this.teamId = teamId;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    public int getProgress() {
+        return progress;
+    }
+
+    public void setProgress(int progress) {
+        this.progress = progress;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public void setBytesRead(long bytesRead) {
+        this.bytesRead = bytesRead;
+    }
+
+    public long getBytesTotal() {
+        return bytesTotal;
+    }
+
+    public void setBytesTotal(long bytesTotal) {
+        this.bytesTotal = bytesTotal;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public void setRowsImported(long rowsImported) {
+        this.rowsImported = rowsImported;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public void setRowsRejected(long rowsRejected) {
+        this.rowsRejected = rowsRejected;
+    }
+
+    public List<ImportRowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<ImportRowError> errors) {
+        this.errors = errors;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
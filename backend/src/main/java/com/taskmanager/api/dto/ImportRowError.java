@@ -0,0 +1,33 @@
+package com.taskmanager.api.dto;
+
+/**
+ * A rejected row of an import file. `line` is the line on which the row starts.
+ */
+public class ImportRowError {
+
+    private long line;
+    private String error;
+
+    public ImportRowError() {}
+
+    public ImportRowError(long line, String error) {
+        this.line = line;
+        this.error = error;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public void setLine(long line) {
+        this.line = line;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
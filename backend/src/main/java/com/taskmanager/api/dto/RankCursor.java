@@ -0,0 +1,37 @@
+package com.taskmanager.api.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in search results ordered by `(rank DESC, id DESC)`.
+ * Encoded as an opaque URL-safe token, like {@link KeysetCursor}.
+ */
+public record RankCursor(float rank, long id) {
+
+    private static final String PREFIX = "r:";
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = PREFIX + rank + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}; returns null for a blank token
+     * (first page) and throws {@link IllegalArgumentException} for anything malformed.
+     */
+    public static RankCursor decode(String token) {
+        if (token == null || token.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf(SEPARATOR);
+            if (!raw.startsWith(PREFIX) || sep < 0) throw new IllegalArgumentException("Invalid cursor");
+            float rank = Float.parseFloat(raw.substring(PREFIX.length(), sep));
+            if (!Float.isFinite(rank)) throw new IllegalArgumentException("Invalid cursor");
+            return new RankCursor(rank, Long.parseLong(raw.substring(sep + 1)));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid cursor", ex);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.taskmanager.api.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a listing ordered by a client-chosen sort key and then by id.
+ * `order` names the sort key and direction the cursor was issued for, and `key`
+ * is the sort key of the last row as text (null when that row had none).
+ * Encoded as an opaque URL-safe token, like {@link KeysetCursor}.
+ */
+public record SortKeyCursor(String order, String key, long id) {
+
+    private static final String PREFIX = "s:";
+    private static final char SEPARATOR = '|';
+    /** Marks a present key, so an empty key and a missing one encode differently. */
+    private static final char PRESENT = '=';
+
+    public String encode() {
+        String raw = PREFIX + order + SEPARATOR + (key == null ? "" : PRESENT + key) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}; returns null for a blank token
+     * (first page) and throws {@link IllegalArgumentException} for anything malformed.
+     */
+    public static SortKeyCursor decode(String token) {
+        if (token == null || token.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) throw new IllegalArgumentException("Invalid cursor");
+            int first = raw.indexOf(SEPARATOR);
+            int last = raw.lastIndexOf(SEPARATOR);
+            if (first < 0 || first == last) throw new IllegalArgumentException("Invalid cursor");
+            String key = raw.substring(first + 1, last);
+            if (!key.isEmpty() && key.charAt(0) != PRESENT) throw new IllegalArgumentException("Invalid cursor");
+            return new SortKeyCursor(raw.substring(PREFIX.length(), first), key.isEmpty() ? null : key.substring(1),
+                    Long.parseLong(raw.substring(last + 1)));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid cursor", ex);
+        }
+    }
+}
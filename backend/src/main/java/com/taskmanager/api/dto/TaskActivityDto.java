@@ -0,0 +1,85 @@
+package com.taskmanager.api.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of a task's activity history. `action` is the kind of change
+ * (CREATED, UPDATED, STATUS_CHANGED, ASSIGNED, UNASSIGNED, DELETED). Field
+ * changes name the `field` with its `oldValue` and `newValue`; assignment
+ * changes carry the user id as the new or old value.
+ */
+public class TaskActivityDto {
+
+    private Long id;
+    private Long taskId;
+    private Long actorId;
+    private String action;
+    private String field;
+    private String oldValue;
+    private String newValue;
+    private LocalDateTime createdAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public Long getActorId() {
+        return actorId;
+    }
+
+    public void setActorId(Long actorId) {
+        this.actorId = actorId;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public void setField(String field) {
+        this.field = field;
+    }
+
+    public String getOldValue() {
+        return oldValue;
+    }
+
+    public void setOldValue(String oldValue) {
+        this.oldValue = oldValue;
+    }
+
+    public String getNewValue() {
+        return newValue;
+    }
+
+    public void setNewValue(String newValue) {
+        this.newValue = newValue;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
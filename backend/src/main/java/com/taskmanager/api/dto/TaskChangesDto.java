@@ -0,0 +1,62 @@
+package com.taskmanager.api.dto;
+
+import java.util.List;
+
+/**
+ * Tasks of a team changed since a watermark. `changed` holds tasks created or
+ * updated, oldest change first; `deletedTaskIds` the tasks deleted since. The
+ * client passes `watermark` back on the next call. When `hasMore` is true the
+ * client should call again right away; deletions are sent with the last page.
+ * `reset` marks the first page of a full sync (no or expired watermark): the
+ * client replaces its copy of the team's tasks with the pages that follow.
+ * Changes near the watermark may be sent twice, so clients apply them by id,
+ * `changed` before `deletedTaskIds`.
+ */
+public class TaskChangesDto {
+
+    private List<TaskDto> changed;
+    private List<Long> deletedTaskIds;
+    private String watermark;
+    private boolean hasMore;
+    private boolean reset;
+
+    public List<TaskDto> getChanged() {
+        return changed;
+    }
+
+    public void setChanged(List<TaskDto> changed) {
+        this.changed = changed;
+    }
+
+    public List<Long> getDeletedTaskIds() {
+        return deletedTaskIds;
+    }
+
+    public void setDeletedTaskIds(List<Long> deletedTaskIds) {
+        this.deletedTaskIds = deletedTaskIds;
+    }
+
+    public String getWatermark() {
+        return watermark;
+    }
+
+    public void setWatermark(String watermark) {
+        this.watermark = watermark;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public boolean isReset() {
+        return reset;
+    }
+
+    public void setReset(boolean reset) {
+        this.reset = reset;
+    }
+}
@@ -0,0 +1,39 @@
+package com.taskmanager.api.dto;
+
+import java.util.Map;
+
+/**
+ * Task counts read from the maintained counters. `byStatus` lists every
+ * status, including empty ones; `byPriority` is only set for team counts,
+ * with tasks without a priority under `NONE`.
+ */
+public class TaskCountsDto {
+
+    private long total;
+    private Map<String, Long> byStatus;
+    private Map<String, Long> byPriority;
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public Map<String, Long> getByStatus() {
+        return byStatus;
+    }
+
+    public void setByStatus(Map<String, Long> byStatus) {
+        this.byStatus = byStatus;
+    }
+
+    public Map<String, Long> getByPriority() {
+        return byPriority;
+    }
+
+    public void setByPriority(Map<String, Long> byPriority) {
+        this.byPriority = byPriority;
+    }
+}
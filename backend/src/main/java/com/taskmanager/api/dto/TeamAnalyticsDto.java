@@ -0,0 +1,160 @@
+package com.taskmanager.api.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Flow metrics of a team over the last `weeks` weeks, starting on `fromWeek`
+ * (a Monday) and including the current week. Cycle time runs from a task's
+ * first move to IN_PROGRESS to its completion, lead time from its creation to
+ * its completion; tasks that were never IN_PROGRESS have no cycle time.
+ * Percentiles are in hours and within 10% of the exact value. `throughput`
+ * has one entry per week, oldest first, counting moves to DONE.
+ */
+public class TeamAnalyticsDto {
+
+    private Long teamId;
+    private int weeks;
+    private LocalDate fromWeek;
+    private long completedTasks;
+    private Percentiles cycleTime;
+    private Percentiles leadTime;
+    private List<WeeklyThroughput> throughput;
+    private LocalDateTime computedAt;
+
+    public Long getTeamId() {
+        return teamId;
+    }
+
+    public void setTeamId(Long teamId) {
+        this.teamId = teamId;
+    }
+
+    public int getWeeks() {
+        return weeks;
+    }
+
+    public void setWeeks(int weeks) {
+        this.weeks = weeks;
+    }
+
+    public LocalDate getFromWeek() {
+        return fromWeek;
+    }
+
+    public void setFromWeek(LocalDate fromWeek) {
+        this.fromWeek = fromWeek;
+    }
+
+    public long getCompletedTasks() {
+        return completedTasks;
+    }
+
+    public void setCompletedTasks(long completedTasks) {
+        this.completedTasks = completedTasks;
+    }
+
+    public Percentiles getCycleTime() {
+        return cycleTime;
+    }
+
+    public void setCycleTime(Percentiles cycleTime) {
+        this.cycleTime = cycleTime;
+    }
+
+    public Percentiles getLeadTime() {
+        return leadTime;
+    }
+
+    public void setLeadTime(Percentiles leadTime) {
+        this.leadTime = leadTime;
+    }
+
+    public List<WeeklyThroughput> getThroughput() {
+        return throughput;
+    }
+
+    public void setThroughput(List<WeeklyThroughput> throughput) {
+        this.throughput = throughput;
+    }
+
+    public LocalDateTime getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(LocalDateTime computedAt) {
+        this.computedAt = computedAt;
+    }
+
+    /** Duration percentiles in hours; null when there are no samples. */
+    public static class Percentiles {
+
+        private long samples;
+        private Double p50Hours;
+        private Double p85Hours;
+        private Double p95Hours;
+
+        public long getSamples() {
+            return samples;
+        }
+
+        public void setSamples(long samples) {
+            this.samples = samples;
+        }
+
+        public Double getP50Hours() {
+            return p50Hours;
+        }
+
+        public void setP50Hours(Double p50Hours) {
+            this.p50Hours = p50Hours;
+        }
+
+        public Double getP85Hours() {
+            return p85Hours;
+        }
+
+        public void setP85Hours(Double p85Hours) {
+            this.p85Hours = p85Hours;
+        }
+
+        public Double getP95Hours() {
+            return p95Hours;
+        }
+
+        public void setP95Hours(Double p95Hours) {
+            this.p95Hours = p95Hours;
+        }
+    }
+
+    /** Tasks completed in the week starting on `weekStart`. */
+    public static class WeeklyThroughput {
+
+        private LocalDate weekStart;
+        private long completed;
+
+        public WeeklyThroughput() {}
+
+        public WeeklyThroughput(LocalDate weekStart, long completed) {
+            this.weekStart = weekStart;
+            this.completed = completed;
+        }
+
+        public LocalDate getWeekStart() {
+            return weekStart;
+        }
+
+        public void setWeekStart(LocalDate weekStart) {
+            this.weekStart = weekStart;
+        }
+
+        public long getCompleted() {
+            return completed;
+        }
+
+        public void setCompleted(long completed) {
+            this.completed = completed;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.taskmanager.api.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Open and done task counts of a team per day, oldest first, from `from` to
+ * `to` (today). Past days are counted at the end of the day; today's point is
+ * the current count. Days before the first snapshot have no point.
+ */
+public class TeamBurndownDto {
+
+    private Long teamId;
+    private LocalDate from;
+    private LocalDate to;
+    private List<Point> points;
+
+    public Long getTeamId() {
+        return teamId;
+    }
+
+    public void setTeamId(Long teamId) {
+        this.teamId = teamId;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public List<Point> getPoints() {
+        return points;
+    }
+
+    public void setPoints(List<Point> points) {
+        this.points = points;
+    }
+
+    /** Task counts of the team on one day. */
+    public static class Point {
+
+        private LocalDate date;
+        private long openTasks;
+        private long doneTasks;
+
+        public Point() {}
+
+        public Point(LocalDate date, long openTasks, long doneTasks) {
+            this.date = date;
+            this.openTasks = openTasks;
+            this.doneTasks = doneTasks;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public void setDate(LocalDate date) {
+            this.date = date;
+        }
+
+        public long getOpenTasks() {
+            return openTasks;
+        }
+
+        public void setOpenTasks(long openTasks) {
+            this.openTasks = openTasks;
+        }
+
+        public long getDoneTasks() {
+            return doneTasks;
+        }
+
+        public void setDoneTasks(long doneTasks) {
+            this.doneTasks = doneTasks;
+        }
+    }
+}
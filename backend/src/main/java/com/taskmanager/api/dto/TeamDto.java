@@ -2,14 +2,18 @@ package com.taskmanager.api.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
-import java.util.List;
 
+/**
+ * A team with its admin and counts; members are listed page by page through
+ * `GET /api/teams/{teamId}/members`. Only `name` and `description` are read
+ * from requests.
+ */
 public class TeamDto {
-    private UserDto admin;
-    public UserDto getAdmin() {
+    private UserSummaryDto admin;
+    public UserSummaryDto getAdmin() {
         return admin;
     }
-    public void setAdmin(UserDto admin) {
+    public void setAdmin(UserSummaryDto admin) {
         this.admin = admin;
     }
 
@@ -17,7 +21,8 @@ public class TeamDto {
     @NotBlank
     private String name;
     private String description;
-    private List<UserDto> members;
+    private long memberCount;
+    private long taskCount;
     private LocalDateTime createdAt;
 
     public Long getId() {
@@ -44,12 +49,20 @@ public class TeamDto {
         this.description = description;
     }
 
-    public List<UserDto> getMembers() {
-        return members;
+    public long getMemberCount() {
+        return memberCount;
     }
 
-    public void setMembers(List<UserDto> members) {
-        this.members = members;
+    public void setMemberCount(long memberCount) {
+        this.memberCount = memberCount;
+    }
+
+    public long getTaskCount() {
+        return taskCount;
+    }
+
+    public void setTaskCount(long taskCount) {
+        this.taskCount = taskCount;
     }
 
     public LocalDateTime getCreatedAt() {
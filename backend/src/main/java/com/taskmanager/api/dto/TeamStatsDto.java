@@ -0,0 +1,155 @@
+package com.taskmanager.api.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Task counts for one team. `byStatus` lists every status, including empty
+ * ones; tasks without a status or priority are counted under `NONE`. A task is open
+ * until it is DONE and overdue when it is open past its due date. `workload`
+ * has one entry per assignee, most open tasks first.
+ */
+public class TeamStatsDto {
+
+    private Long teamId;
+    private long totalTasks;
+    private long openTasks;
+    private long overdueTasks;
+    private long unassignedTasks;
+    private Map<String, Long> byStatus;
+    private Map<String, Long> byPriority;
+    private List<AssigneeWorkload> workload;
+    private LocalDateTime computedAt;
+
+    public Long getTeamId() {
+        return teamId;
+    }
+
+    public void setTeamId(Long teamId) {
+        this.teamId = teamId;
+    }
+
+    public long getTotalTasks() {
+        return totalTasks;
+    }
+
+    public void setTotalTasks(long totalTasks) {
+        this.totalTasks = totalTasks;
+    }
+
+    public long getOpenTasks() {
+        return openTasks;
+    }
+
+    public void setOpenTasks(long openTasks) {
+        this.openTasks = openTasks;
+    }
+
+    public long getOverdueTasks() {
+        return overdueTasks;
+    }
+
+    public void setOverdueTasks(long overdueTasks) {
+        this.overdueTasks = overdueTasks;
+    }
+
+    public long getUnassignedTasks() {
+        return unassignedTasks;
+    }
+
+    public void setUnassignedTasks(long unassignedTasks) {
+        this.unassignedTasks = unassignedTasks;
+    }
+
+    public Map<String, Long> getByStatus() {
+        return byStatus;
+    }
+
+    public void setByStatus(Map<String, Long> byStatus) {
+        this.byStatus = byStatus;
+    }
+
+    public Map<String, Long> getByPriority() {
+        return byPriority;
+    }
+
+    public void setByPriority(Map<String, Long> byPriority) {
+        this.byPriority = byPriority;
+    }
+
+    public List<AssigneeWorkload> getWorkload() {
+        return workload;
+    }
+
+    public void setWorkload(List<AssigneeWorkload> workload) {
+        this.workload = workload;
+    }
+
+    public LocalDateTime getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(LocalDateTime computedAt) {
+        this.computedAt = computedAt;
+    }
+
+    /** Tasks of the team assigned to one user. */
+    public static class AssigneeWorkload {
+
+        private Long userId;
+        private String username;
+        private String displayName;
+        private long totalTasks;
+        private long openTasks;
+        private long overdueTasks;
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public void setUserId(Long userId) {
+            this.userId = userId;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        public void setDisplayName(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public long getTotalTasks() {
+            return totalTasks;
+        }
+
+        public void setTotalTasks(long totalTasks) {
+            this.totalTasks = totalTasks;
+        }
+
+        public long getOpenTasks() {
+            return openTasks;
+        }
+
+        public void setOpenTasks(long openTasks) {
+            this.openTasks = openTasks;
+        }
+
+        public long getOverdueTasks() {
+            return overdueTasks;
+        }
+
+        public void setOverdueTasks(long overdueTasks) {
+            this.overdueTasks = overdueTasks;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.taskmanager.api.dto;
+
+/**
+ * The public identity of a user, embedded where a full {@link UserDto} with
+ * email and roles is not needed.
+ */
+public class UserSummaryDto {
+
+    private Long id;
+    private String username;
+    private String displayName;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public void setDisplayName(String displayName) {
+        this.displayName = displayName;
+    }
+}
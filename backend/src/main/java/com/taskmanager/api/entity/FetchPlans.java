@@ -0,0 +1,27 @@
+package com.taskmanager.api.entity;
+
+/**
+ * Names of the entity graphs declared on the entities, one per controller use
+ * case, together with the number of SQL statements each use case is expected
+ * to issue when loading and mapping its response. Every association is lazy by
+ * default; anything a response needs must be part of its fetch plan.
+ */
+public final class FetchPlans {
+
+    /** Single task response: task + assignees + assignee roles. */
+    public static final String TASK_DETAIL = "Task.detail";
+    /** Team responses: team + admin; counts come from `TeamMemberRepository`, members are paged separately. */
+    public static final String TEAM_SUMMARY = "Team.summary";
+    /** Users mapped to `UserDto` (principals, profiles): user + roles. */
+    public static final String USER_WITH_ROLES = "User.withRoles";
+
+    /** `GET /api/tasks/{id}`: one select with the detail graph. */
+    public static final int SINGLE_TASK_QUERIES = 1;
+    /** `GET /api/tasks/team/{teamId}`: team existence check + one projection select (see `TaskQueryRepository`). */
+    public static final int TEAM_TASK_PAGE_QUERIES = 2;
+    /** Team summary for one team (`findWithAdminById`) or all teams of a user (`findByMemberId`). */
+    public static final int TEAM_SUMMARY_QUERIES = 1;
+
+    private FetchPlans() {
+    }
+}
@@ -1,7 +1,22 @@
 package com.taskmanager.api.entity;
 
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
 public enum Priority {
     LOW,
     MEDIUM,
-    HIGH
+    HIGH;
+
+    /** The priority named `param`, rejecting a missing or unknown name with a message that lists the valid ones. */
+    public static Priority fromParam(String param) {
+        if (param == null) {
+            throw new IllegalArgumentException("Priority is required");
+        }
+        for (Priority priority : values()) {
+            if (priority.name().equals(param)) return priority;
+        }
+        throw new IllegalArgumentException("Unknown priority: " + param + " (expected one of "
+                + Arrays.stream(values()).map(Priority::name).collect(Collectors.joining(", ")) + ")");
+    }
 }
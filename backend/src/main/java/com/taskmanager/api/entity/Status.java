@@ -1,8 +1,23 @@
 package com.taskmanager.api.entity;
 
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
 public enum Status {
     TO_DO,
     IN_PROGRESS,
     DONE,
-    BLOCKED
+    BLOCKED;
+
+    /** The status named `param`, rejecting a missing or unknown name with a message that lists the valid ones. */
+    public static Status fromParam(String param) {
+        if (param == null) {
+            throw new IllegalArgumentException("Status is required");
+        }
+        for (Status status : values()) {
+            if (status.name().equals(param)) return status;
+        }
+        throw new IllegalArgumentException("Unknown status: " + param + " (expected one of "
+                + Arrays.stream(values()).map(Status::name).collect(Collectors.joining(", ")) + ")");
+    }
 }
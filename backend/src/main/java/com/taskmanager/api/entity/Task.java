@@ -1,9 +1,14 @@
 package com.taskmanager.api.entity;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Column;
 import jakarta.persistence.Table;
 import jakarta.persistence.ManyToMany;
@@ -15,16 +20,29 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "tasks")
+// Updates write only the columns that changed, keeping WAL volume proportional to the edit.
+@DynamicUpdate
+@NamedEntityGraph(
+    name = FetchPlans.TASK_DETAIL,
+    attributeNodes = @NamedAttributeNode(value = "assignees", subgraph = "assignee"),
+    subgraphs = @NamedSubgraph(name = "assignee", attributeNodes = @NamedAttributeNode("roles"))
+)
 public class Task {
 
+    /** Size of the id blocks reserved per `tasks_id_seq` call (matches the sequence increment). */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_id")
+    @SequenceGenerator(name = "tasks_id", sequenceName = "tasks_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -32,7 +50,7 @@ public class Task {
 
     private String description;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User creator;
 
     @ManyToMany
@@ -43,7 +61,7 @@ public class Task {
     )
     private Set<User> assignees = new HashSet<>();
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Team team;
 
     private LocalDateTime dueDate;
@@ -71,6 +89,11 @@ public class Task {
         updatedAt = LocalDateTime.now();
     }
 
+    /** Mark the task as changed when only its assignees change, which does not update the row itself. */
+    public void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+
     public Long getId() {
         return id;
     }
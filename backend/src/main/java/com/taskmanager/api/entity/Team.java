@@ -1,6 +1,9 @@
 package com.taskmanager.api.entity;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -19,6 +22,10 @@ import java.util.Set;
 
 @Entity
 @Table(name = "teams")
+@NamedEntityGraph(
+    name = FetchPlans.TEAM_SUMMARY,
+    attributeNodes = @NamedAttributeNode("admin")
+)
 public class Team {
 
     @Id
@@ -38,7 +45,7 @@ public class Team {
     )
     private Set<User> members = new HashSet<>();
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User admin;
 
     private LocalDateTime createdAt;
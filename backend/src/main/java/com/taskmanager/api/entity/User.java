@@ -1,6 +1,8 @@
 package com.taskmanager.api.entity;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.Id;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -18,6 +20,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "users")
+@NamedEntityGraph(name = FetchPlans.USER_WITH_ROLES, attributeNodes = @NamedAttributeNode("roles"))
 public class User {
 
 	@Id
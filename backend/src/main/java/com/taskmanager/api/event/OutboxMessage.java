@@ -0,0 +1,15 @@
+package com.taskmanager.api.event;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+
+/**
+ * A task or team event as stored in the outbox and handed to consumers.
+ * `type` is e.g. `task.status_changed` or `team.member_added`; `payload` is
+ * the event serialized as JSON. `id` increases in write order and identifies
+ * the event for one consumer, but messages may be delivered more than once
+ * and, with parallel dispatch, out of order.
+ */
+public record OutboxMessage(long id, String type, Long teamId, @JsonRawValue String payload, LocalDateTime createdAt) {
+}
@@ -0,0 +1,21 @@
+package com.taskmanager.api.event;
+
+import java.util.List;
+
+/**
+ * Published when tasks of a team were created, changed, deleted or had their
+ * assignees changed. One event is published per affected team and write, so
+ * per-team caches can drop their entry once the write is committed, and team
+ * subscribers can be told what changed. `taskIds` lists the affected tasks;
+ * it is empty for imports, which may touch any number of them.
+ */
+public record TaskChangedEvent(Long teamId, Type type, List<Long> taskIds) {
+
+    public enum Type {
+        CREATED, UPDATED, STATUS_CHANGED, ASSIGNED, UNASSIGNED, DELETED, IMPORTED
+    }
+
+    public static TaskChangedEvent of(Long teamId, Type type, Long taskId) {
+        return new TaskChangedEvent(teamId, type, List.of(taskId));
+    }
+}
@@ -0,0 +1,17 @@
+package com.taskmanager.api.event;
+
+/**
+ * Published when a team is created, renamed or deleted, or its membership
+ * changes. `userId` is the member added or removed; it is null for the other
+ * changes.
+ */
+public record TeamChangedEvent(Long teamId, Type type, Long userId) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED, MEMBER_ADDED, MEMBER_REMOVED
+    }
+
+    public static TeamChangedEvent of(Long teamId, Type type) {
+        return new TeamChangedEvent(teamId, type, null);
+    }
+}
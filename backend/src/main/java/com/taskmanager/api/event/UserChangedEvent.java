@@ -0,0 +1,9 @@
+package com.taskmanager.api.event;
+
+/**
+ * Published when a user's login identifiers, password or roles change, or the
+ * user is deleted. Carries the username and email as they were before the
+ * change, so caches keyed by either can drop exactly the stale entries.
+ */
+public record UserChangedEvent(Long userId, String username, String email) {
+}
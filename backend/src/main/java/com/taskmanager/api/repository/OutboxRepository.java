@@ -0,0 +1,118 @@
+package com.taskmanager.api.repository;
+
+import com.taskmanager.api.event.OutboxMessage;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The `outbox` table (see V10 and V15). Every event is stored once per
+ * consumer. Rows are claimed in `(available_at, id)` order with
+ * `FOR UPDATE SKIP LOCKED`, and the claim itself moves `available_at` past a
+ * lease and commits, so concurrent dispatchers take disjoint batches without
+ * keeping a transaction open while they deliver. Delivered rows are deleted
+ * and failed ones rescheduled afterwards; rows whose dispatcher never comes
+ * back become due again when the lease runs out.
+ */
+@Repository
+public class OutboxRepository {
+
+    private static final String APPEND_SQL = """
+            INSERT INTO outbox (event_type, team_id, payload, created_at, available_at, consumer)
+            SELECT ?, ?, ?::jsonb, ?, ?, c FROM unnest(?::varchar[]) c
+            """;
+    private static final String FAN_OUT_SQL = """
+            WITH unassigned AS (DELETE FROM outbox WHERE consumer IS NULL RETURNING *)
+            INSERT INTO outbox (event_type, team_id, payload, created_at, available_at, attempts, last_error, consumer)
+            SELECT u.event_type, u.team_id, u.payload, u.created_at, u.available_at, u.attempts, u.last_error, c
+            FROM unassigned u CROSS JOIN unnest(?::varchar[]) c
+            ORDER BY u.id
+            """;
+    private static final String CLAIM_SQL = """
+            UPDATE outbox SET available_at = ?::timestamp + make_interval(secs => ?)
+            WHERE id IN (
+                SELECT id FROM outbox
+                WHERE consumer = ANY (?) AND available_at <= ?
+                ORDER BY available_at, id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED)
+            RETURNING id, consumer, event_type, team_id, payload::text AS payload, created_at
+            """;
+    // Waits double with every failed attempt, up to maxBackoff.
+    private static final String RESCHEDULE_SQL = """
+            UPDATE outbox SET attempts = attempts + 1, last_error = ?,
+                available_at = ?::timestamp + make_interval(secs => least(? * power(2, attempts), ?))
+            WHERE id = ANY (?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Add an event for each of `consumers`; the rows become claimable once the surrounding transaction commits. */
+    public void append(String type, Long teamId, String payload, LocalDateTime now, Collection<String> consumers) {
+        Timestamp at = Timestamp.valueOf(now);
+        jdbcTemplate.update(APPEND_SQL, ps -> {
+            ps.setString(1, type);
+            ps.setObject(2, teamId);
+            ps.setString(3, payload);
+            ps.setTimestamp(4, at);
+            ps.setTimestamp(5, at);
+            ps.setArray(6, ps.getConnection().createArrayOf("varchar", consumers.toArray()));
+        });
+    }
+
+    /** Copy events written before per-consumer rows existed to each of `consumers`; returns the rows written. */
+    public int fanOutUnassigned(Collection<String> consumers) {
+        return jdbcTemplate.update(FAN_OUT_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", consumers.toArray())));
+    }
+
+    /**
+     * Take up to `limit` due events of `consumers`, skipping rows other
+     * dispatchers hold, and keep them from being claimed again for `lease`.
+     * Returned in id order.
+     */
+    public List<Claimed> claim(Collection<String> consumers, int limit, LocalDateTime now, Duration lease) {
+        List<Claimed> claimed = jdbcTemplate.query(CLAIM_SQL, ps -> {
+            Timestamp at = Timestamp.valueOf(now);
+            ps.setTimestamp(1, at);
+            ps.setDouble(2, lease.toMillis() / 1000.0);
+            ps.setArray(3, ps.getConnection().createArrayOf("varchar", consumers.toArray()));
+            ps.setTimestamp(4, at);
+            ps.setInt(5, limit);
+        }, (rs, i) -> new Claimed(rs.getString("consumer"), new OutboxMessage(rs.getLong("id"), rs.getString("event_type"),
+                (Long) rs.getObject("team_id"), rs.getString("payload"), rs.getTimestamp("created_at").toLocalDateTime())));
+        claimed.sort(Comparator.comparingLong(c -> c.message().id()));
+        return claimed;
+    }
+
+    /** Remove delivered events. */
+    public void delete(List<Long> ids) {
+        jdbcTemplate.update("DELETE FROM outbox WHERE id = ANY (?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())));
+    }
+
+    /** Record a failed delivery and make the events due again after a backoff. */
+    public void reschedule(List<Long> ids, String error, LocalDateTime now, Duration backoff, Duration maxBackoff) {
+        jdbcTemplate.update(RESCHEDULE_SQL, ps -> {
+            ps.setString(1, error);
+            ps.setTimestamp(2, Timestamp.valueOf(now));
+            ps.setDouble(3, backoff.toMillis() / 1000.0);
+            ps.setDouble(4, maxBackoff.toMillis() / 1000.0);
+            ps.setArray(5, ps.getConnection().createArrayOf("bigint", ids.toArray()));
+        });
+    }
+
+    /** A claimed outbox row: the consumer it is meant for and the message to hand over. */
+    public record Claimed(String consumer, OutboxMessage message) {
+    }
+}
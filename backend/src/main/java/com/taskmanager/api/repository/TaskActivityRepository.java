@@ -0,0 +1,153 @@
+package com.taskmanager.api.repository;
+
+import com.taskmanager.api.dto.KeysetCursor;
+import com.taskmanager.api.dto.TaskActivityDto;
+import com.taskmanager.api.event.TaskChangedEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * The `task_activity` history (see V11), range-partitioned by month of
+ * `created_at` into tables named `task_activity_YYYY_MM`. Inserts go through
+ * the parent table; partitions are created ahead of time, and rows of a month
+ * without one land in `task_activity_default` (see V16) until its partition is
+ * created and they are moved there. Old months are dropped whole.
+ */
+@Repository
+public class TaskActivityRepository {
+
+    /** One change to a task, as written to the history. */
+    public record Entry(Long taskId, Long teamId, Long actorId, TaskChangedEvent.Type action,
+                        String field, String oldValue, String newValue, LocalDateTime createdAt) {
+    }
+
+    /** Rows per JDBC batch; the driver rewrites each batch into multi-row INSERTs. */
+    private static final int INSERT_CHUNK = 500;
+    private static final String PARTITION_PREFIX = "task_activity_";
+    private static final String DEFAULT_PARTITION = "task_activity_default";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("uuuu_MM");
+
+    private static final String INSERT_SQL = """
+            INSERT INTO task_activity (task_id, team_id, actor_id, action, field, old_value, new_value, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String COLUMNS = "SELECT id, task_id, actor_id, action, field, old_value, new_value, created_at FROM task_activity";
+    private static final String PAGE_SQL = COLUMNS + " WHERE task_id = ? ORDER BY created_at DESC, id DESC LIMIT ?";
+    private static final String PAGE_AFTER_SQL = COLUMNS
+            + " WHERE task_id = ? AND (created_at, id) < (?, ?) ORDER BY created_at DESC, id DESC LIMIT ?";
+    private static final String PARTITIONS_SQL = """
+            SELECT c.relname FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            JOIN pg_class p ON p.oid = i.inhparent
+            WHERE p.relname = 'task_activity'
+            """;
+    private static final String DEFAULT_MONTHS_SQL =
+            "SELECT DISTINCT to_char(created_at, 'YYYY-MM') FROM " + DEFAULT_PARTITION;
+    // A partition cannot be added while the default partition holds rows in its range, so it is created
+    // detached, filled with those rows and then attached. Locking the default partition first keeps inserts
+    // out while rows move and serializes concurrent maintenance runs.
+    private static final String CREATE_PARTITION_SQL = """
+            DO $$
+            BEGIN
+                IF to_regclass('%1$s') IS NOT NULL THEN
+                    RETURN;
+                END IF;
+                LOCK TABLE %3$s IN ACCESS EXCLUSIVE MODE;
+                IF to_regclass('%1$s') IS NULL THEN
+                    CREATE TABLE %1$s (LIKE task_activity INCLUDING DEFAULTS INCLUDING CONSTRAINTS);
+                    WITH moved AS (DELETE FROM %3$s WHERE created_at >= '%2$s' AND created_at < '%4$s' RETURNING *)
+                    INSERT INTO %1$s SELECT * FROM moved;
+                    ALTER TABLE task_activity ATTACH PARTITION %1$s FOR VALUES FROM ('%2$s') TO ('%4$s');
+                END IF;
+            END $$
+            """;
+
+    private static final RowMapper<TaskActivityDto> ROW_MAPPER = (rs, i) -> {
+        TaskActivityDto dto = new TaskActivityDto();
+        dto.setId(rs.getLong("id"));
+        dto.setTaskId(rs.getLong("task_id"));
+        dto.setActorId((Long) rs.getObject("actor_id"));
+        dto.setAction(rs.getString("action"));
+        dto.setField(rs.getString("field"));
+        dto.setOldValue(rs.getString("old_value"));
+        dto.setNewValue(rs.getString("new_value"));
+        dto.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+        return dto;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskActivityRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insert(List<Entry> entries) {
+        int[] types = {Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+                Types.TIMESTAMP};
+        for (int from = 0; from < entries.size(); from += INSERT_CHUNK) {
+            List<Object[]> chunk = entries.subList(from, Math.min(from + INSERT_CHUNK, entries.size())).stream()
+                    .map(e -> new Object[]{e.taskId(), e.teamId(), e.actorId(), e.action().name(), e.field(),
+                            e.oldValue(), e.newValue(), Timestamp.valueOf(e.createdAt())})
+                    .toList();
+            jdbcTemplate.batchUpdate(INSERT_SQL, chunk, types);
+        }
+    }
+
+    /** Up to `limit` entries of the task, newest first, after the cursor position when one is given. */
+    public List<TaskActivityDto> findPage(Long taskId, KeysetCursor after, int limit) {
+        if (after == null) {
+            return jdbcTemplate.query(PAGE_SQL, ROW_MAPPER, taskId, limit);
+        }
+        return jdbcTemplate.query(PAGE_AFTER_SQL, ROW_MAPPER, taskId, Timestamp.valueOf(after.createdAt()), after.id(), limit);
+    }
+
+    /**
+     * Create the monthly partitions from `first` to `last`, both included,
+     * that do not exist yet, moving in any rows of theirs from the default
+     * partition.
+     */
+    public void createPartitions(YearMonth first, YearMonth last) {
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            LocalDate start = month.atDay(1);
+            jdbcTemplate.execute(CREATE_PARTITION_SQL.formatted(partitionName(month), start, DEFAULT_PARTITION, start.plusMonths(1)));
+        }
+    }
+
+    /** Months that have rows in the default partition, i.e. were written while they had no partition. */
+    public List<YearMonth> findMonthsInDefaultPartition() {
+        return jdbcTemplate.queryForList(DEFAULT_MONTHS_SQL, String.class).stream().map(YearMonth::parse).sorted().toList();
+    }
+
+    /** Drop the partitions of months before `month`; returns how many were dropped. */
+    public int dropPartitionsBefore(YearMonth month) {
+        int dropped = 0;
+        for (String name : jdbcTemplate.queryForList(PARTITIONS_SQL, String.class)) {
+            if (!name.startsWith(PARTITION_PREFIX)) continue;
+            YearMonth partition;
+            try {
+                partition = YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+            } catch (DateTimeParseException e) {
+                continue;
+            }
+            if (partition.isBefore(month)) {
+                jdbcTemplate.execute("DROP TABLE " + name);
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+}
@@ -0,0 +1,72 @@
+package com.taskmanager.api.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Reads for the task delta sync and the `task_deletions` tombstone log (see V9).
+ * Changed tasks are found in `(updated_at, id)` order by a range scan of
+ * `idx_tasks_team_updated`, so a poll with nothing new reads no task rows.
+ * Tombstones carry the same application clock as `tasks.updated_at`.
+ */
+@Repository
+public class TaskChangesRepository {
+
+    /** A changed task and the keyset position it was read at. */
+    public record Change(Long id, LocalDateTime updatedAt) {
+    }
+
+    private static final String CHANGED_SQL = """
+            SELECT id, updated_at FROM tasks
+            WHERE team_id = ? AND (updated_at, id) > (?, ?)
+            ORDER BY updated_at, id
+            LIMIT ?
+            """;
+    private static final String ALL_SQL = "SELECT id, updated_at FROM tasks WHERE team_id = ? ORDER BY updated_at, id LIMIT ?";
+    private static final String DELETED_SQL =
+            "SELECT task_id FROM task_deletions WHERE team_id = ? AND deleted_at > ? ORDER BY deleted_at, task_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskChangesRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Up to `limit` tasks of the team after the position `(updatedAt, id)` in
+     * change order; every task when `updatedAt` is null.
+     */
+    public List<Change> findChanged(Long teamId, LocalDateTime updatedAt, long id, int limit) {
+        if (updatedAt == null) {
+            return jdbcTemplate.query(ALL_SQL, (rs, i) -> toChange(rs.getLong("id"), rs.getTimestamp("updated_at")),
+                    teamId, limit);
+        }
+        return jdbcTemplate.query(CHANGED_SQL, (rs, i) -> toChange(rs.getLong("id"), rs.getTimestamp("updated_at")),
+                teamId, Timestamp.valueOf(updatedAt), id, limit);
+    }
+
+    /** Ids of the team's tasks deleted after `since`. */
+    public List<Long> findDeletedIds(Long teamId, LocalDateTime since) {
+        return jdbcTemplate.queryForList(DELETED_SQL, Long.class, teamId, Timestamp.valueOf(since));
+    }
+
+    /** Leave a tombstone for a deleted task; tasks without a team are never synced and need none. */
+    public void recordDeletion(Long taskId, Long teamId, LocalDateTime deletedAt) {
+        if (teamId == null) return;
+        jdbcTemplate.update("INSERT INTO task_deletions (task_id, team_id, deleted_at) VALUES (?, ?, ?)",
+                taskId, teamId, Timestamp.valueOf(deletedAt));
+    }
+
+    /** Drop tombstones older than `before`; returns how many were removed. */
+    public int purgeDeletions(LocalDateTime before) {
+        return jdbcTemplate.update("DELETE FROM task_deletions WHERE deleted_at < ?", Timestamp.valueOf(before));
+    }
+
+    private static Change toChange(long id, Timestamp updatedAt) {
+        return new Change(id, updatedAt.toLocalDateTime());
+    }
+}
@@ -0,0 +1,263 @@
+package com.taskmanager.api.repository;
+
+import com.taskmanager.api.entity.Status;
+import com.taskmanager.api.entity.Task;
+import com.taskmanager.api.entity.User;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Task counts per (team, status, priority) and per (assignee, status), kept in
+ * `team_task_counters` and `assignee_task_counters` (see V8).
+ * <p>
+ * Writers lock the rows of the tasks they change with {@link #lockStates},
+ * make the change, then pass the before and after states to {@link #record}
+ * in the same transaction. Counters therefore always agree with the tasks
+ * visible in the same snapshot. Deltas are applied in key order so concurrent
+ * writers lock counter rows in the same order and cannot deadlock.
+ * {@link #repairTeamCounters} and {@link #repairAssigneeCounters} measure the
+ * difference against a recount within one snapshot and add it, so they never
+ * overwrite concurrent updates.
+ */
+@Repository
+public class TaskCounterRepository {
+
+    /** Counter key for a task without a status or priority. */
+    public static final String NONE = "NONE";
+
+    /** The attributes of a task the counters depend on. */
+    public record TaskState(Long teamId, String status, String priority, Set<Long> assigneeIds) {
+
+        public static TaskState of(Task task) {
+            return new TaskState(task.getTeam() != null ? task.getTeam().getId() : null,
+                    key(task.getStatus()), key(task.getPriority()),
+                    task.getAssignees().stream().map(User::getId).collect(Collectors.toSet()));
+        }
+
+        public TaskState withStatus(Status newStatus) {
+            return new TaskState(teamId, key(newStatus), priority, assigneeIds);
+        }
+
+        public TaskState withAssignee(Long userId) {
+            Set<Long> ids = new LinkedHashSet<>(assigneeIds);
+            ids.add(userId);
+            return new TaskState(teamId, status, priority, ids);
+        }
+
+        public TaskState withoutAssignee(Long userId) {
+            Set<Long> ids = new LinkedHashSet<>(assigneeIds);
+            ids.remove(userId);
+            return new TaskState(teamId, status, priority, ids);
+        }
+    }
+
+    private record TeamKey(long teamId, String status, String priority) {
+    }
+
+    private record AssigneeKey(long userId, String status) {
+    }
+
+    private static final Comparator<TeamKey> TEAM_ORDER = Comparator.comparingLong(TeamKey::teamId)
+            .thenComparing(TeamKey::status).thenComparing(TeamKey::priority);
+    private static final Comparator<AssigneeKey> ASSIGNEE_ORDER = Comparator.comparingLong(AssigneeKey::userId)
+            .thenComparing(AssigneeKey::status);
+
+    // Arbitrary constant identifying the repair job among advisory locks.
+    private static final long REPAIR_LOCK_KEY = 0x7461736b636e74L;
+
+    private static final String LOCK_STATES_SQL =
+            "SELECT id, team_id, status, priority FROM tasks WHERE id = ANY (?) ORDER BY id FOR UPDATE";
+    // A separate statement: under READ COMMITTED it takes a snapshot after the locks are
+    // granted, so it sees the assignee changes committed by the previous lock holder.
+    private static final String ASSIGNEES_SQL = "SELECT task_id, user_id FROM tasks_assignees WHERE task_id = ANY (?)";
+
+    private static final String ADD_TEAM_DELTA = """
+            INSERT INTO team_task_counters (team_id, status, priority, task_count) VALUES (?, ?, ?, ?)
+            ON CONFLICT (team_id, status, priority) DO UPDATE SET task_count = team_task_counters.task_count + EXCLUDED.task_count
+            """;
+    private static final String ADD_ASSIGNEE_DELTA = """
+            INSERT INTO assignee_task_counters (user_id, status, task_count) VALUES (?, ?, ?)
+            ON CONFLICT (user_id, status) DO UPDATE SET task_count = assignee_task_counters.task_count + EXCLUDED.task_count
+            """;
+
+    private static final String TEAM_COUNTS_SQL =
+            "SELECT status, priority, task_count FROM team_task_counters WHERE team_id = ? AND task_count <> 0";
+    private static final String ASSIGNEE_COUNTS_SQL =
+            "SELECT status, task_count FROM assignee_task_counters WHERE user_id = ? AND task_count <> 0";
+
+    // Recount and stored counts are read by one statement, hence from one snapshot: committed
+    // writers have updated both, so any difference is drift and is added, not assigned.
+    private static final String REPAIR_TEAM_COUNTERS = """
+            WITH actual AS (
+                SELECT team_id, coalesce(status, 'NONE') AS status, coalesce(priority, 'NONE') AS priority, count(*) AS task_count
+                FROM tasks
+                WHERE team_id IS NOT NULL
+                GROUP BY 1, 2, 3
+            ), drift AS (
+                SELECT coalesce(a.team_id, c.team_id) AS team_id, coalesce(a.status, c.status) AS status,
+                       coalesce(a.priority, c.priority) AS priority,
+                       coalesce(a.task_count, 0) - coalesce(c.task_count, 0) AS delta
+                FROM actual a
+                FULL JOIN team_task_counters c ON c.team_id = a.team_id AND c.status = a.status AND c.priority = a.priority
+                WHERE coalesce(a.task_count, 0) <> coalesce(c.task_count, 0)
+            )
+            INSERT INTO team_task_counters (team_id, status, priority, task_count)
+            SELECT d.team_id, d.status, d.priority, d.delta
+            FROM drift d
+            WHERE EXISTS (SELECT 1 FROM teams tm WHERE tm.id = d.team_id)
+            ORDER BY 1, 2, 3
+            ON CONFLICT (team_id, status, priority) DO UPDATE SET task_count = team_task_counters.task_count + EXCLUDED.task_count
+            """;
+    private static final String REPAIR_ASSIGNEE_COUNTERS = """
+            WITH actual AS (
+                SELECT ta.user_id, coalesce(t.status, 'NONE') AS status, count(*) AS task_count
+                FROM tasks_assignees ta
+                JOIN tasks t ON t.id = ta.task_id
+                GROUP BY 1, 2
+            ), drift AS (
+                SELECT coalesce(a.user_id, c.user_id) AS user_id, coalesce(a.status, c.status) AS status,
+                       coalesce(a.task_count, 0) - coalesce(c.task_count, 0) AS delta
+                FROM actual a
+                FULL JOIN assignee_task_counters c ON c.user_id = a.user_id AND c.status = a.status
+                WHERE coalesce(a.task_count, 0) <> coalesce(c.task_count, 0)
+            )
+            INSERT INTO assignee_task_counters (user_id, status, task_count)
+            SELECT d.user_id, d.status, d.delta
+            FROM drift d
+            WHERE EXISTS (SELECT 1 FROM users u WHERE u.id = d.user_id)
+            ORDER BY 1, 2
+            ON CONFLICT (user_id, status) DO UPDATE SET task_count = assignee_task_counters.task_count + EXCLUDED.task_count
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskCounterRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    static String key(Enum<?> value) {
+        return value != null ? value.name() : NONE;
+    }
+
+    /** Lock the task row until the transaction ends and return its current state; empty when it does not exist. */
+    public Optional<TaskState> lockState(Long taskId) {
+        return Optional.ofNullable(lockStates(List.of(taskId)).get(taskId));
+    }
+
+    /** Lock the rows of the existing tasks, in id order, and return their states keyed by task id. */
+    public Map<Long, TaskState> lockStates(Collection<Long> taskIds) {
+        Map<Long, TaskState> states = new HashMap<>();
+        if (taskIds.isEmpty()) {
+            return states;
+        }
+        Object[] ids = taskIds.toArray();
+        jdbcTemplate.query(LOCK_STATES_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids)),
+                rs -> {
+                    String status = rs.getString("status");
+                    String priority = rs.getString("priority");
+                    states.put(rs.getLong("id"), new TaskState((Long) rs.getObject("team_id"),
+                            status != null ? status : NONE, priority != null ? priority : NONE, new LinkedHashSet<>()));
+                });
+        if (!states.isEmpty()) {
+            jdbcTemplate.query(ASSIGNEES_SQL,
+                    ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", states.keySet().toArray())),
+                    rs -> {
+                        TaskState state = states.get(rs.getLong("task_id"));
+                        if (state != null) state.assigneeIds().add(rs.getLong("user_id"));
+                    });
+        }
+        return states;
+    }
+
+    /**
+     * Move counts from the `before` states (tasks that changed or were deleted)
+     * to the `after` states (the same tasks after the change, or new tasks).
+     */
+    public void record(Collection<TaskState> before, Collection<TaskState> after) {
+        Map<TeamKey, Long> teamDeltas = new TreeMap<>(TEAM_ORDER);
+        Map<AssigneeKey, Long> assigneeDeltas = new TreeMap<>(ASSIGNEE_ORDER);
+        for (TaskState state : before) add(state, -1, teamDeltas, assigneeDeltas);
+        for (TaskState state : after) add(state, 1, teamDeltas, assigneeDeltas);
+
+        List<Object[]> teamRows = new ArrayList<>();
+        teamDeltas.forEach((k, delta) -> {
+            if (delta != 0) teamRows.add(new Object[]{k.teamId(), k.status(), k.priority(), delta});
+        });
+        List<Object[]> assigneeRows = new ArrayList<>();
+        assigneeDeltas.forEach((k, delta) -> {
+            if (delta != 0) assigneeRows.add(new Object[]{k.userId(), k.status(), delta});
+        });
+        if (!teamRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_TEAM_DELTA, teamRows, new int[]{Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.BIGINT});
+        }
+        if (!assigneeRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_ASSIGNEE_DELTA, assigneeRows, new int[]{Types.BIGINT, Types.VARCHAR, Types.BIGINT});
+        }
+    }
+
+    private static void add(TaskState state, long sign, Map<TeamKey, Long> teamDeltas, Map<AssigneeKey, Long> assigneeDeltas) {
+        if (state.teamId() != null) {
+            teamDeltas.merge(new TeamKey(state.teamId(), state.status(), state.priority()), sign, Long::sum);
+        }
+        for (Long userId : state.assigneeIds()) {
+            assigneeDeltas.merge(new AssigneeKey(userId, state.status()), sign, Long::sum);
+        }
+    }
+
+    /** Non-zero counts of the team's tasks by status and priority: `{status: {priority: count}}`. */
+    public Map<String, Map<String, Long>> teamCounts(Long teamId) {
+        Map<String, Map<String, Long>> counts = new HashMap<>();
+        jdbcTemplate.query(TEAM_COUNTS_SQL, rs -> {
+            counts.computeIfAbsent(rs.getString("status"), s -> new HashMap<>())
+                    .put(rs.getString("priority"), rs.getLong("task_count"));
+        }, teamId);
+        return counts;
+    }
+
+    /** Non-zero counts of the tasks assigned to the user, by status. */
+    public Map<String, Long> assigneeCounts(Long userId) {
+        Map<String, Long> counts = new HashMap<>();
+        jdbcTemplate.query(ASSIGNEE_COUNTS_SQL, rs -> {
+            counts.put(rs.getString("status"), rs.getLong("task_count"));
+        }, userId);
+        return counts;
+    }
+
+    /** Recount tasks per team and correct the counters that differ; returns how many were corrected. */
+    public int repairTeamCounters() {
+        return jdbcTemplate.update(REPAIR_TEAM_COUNTERS);
+    }
+
+    /** Recount assigned tasks per user and correct the counters that differ; returns how many were corrected. */
+    public int repairAssigneeCounters() {
+        return jdbcTemplate.update(REPAIR_ASSIGNEE_COUNTERS);
+    }
+
+    /** Drop counters that went to zero. */
+    public void deleteEmptyCounters() {
+        jdbcTemplate.update("DELETE FROM team_task_counters WHERE task_count = 0");
+        jdbcTemplate.update("DELETE FROM assignee_task_counters WHERE task_count = 0");
+    }
+
+    /**
+     * Take a transaction-scoped advisory lock so only one instance repairs at a
+     * time; false when another transaction holds it.
+     */
+    public boolean tryLockRepair() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, REPAIR_LOCK_KEY));
+    }
+}
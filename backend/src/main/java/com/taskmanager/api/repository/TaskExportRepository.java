@@ -0,0 +1,86 @@
+package com.taskmanager.api.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads a team's tasks for export as a server-side cursor: rows arrive in
+ * batches of {@link #FETCH_SIZE} and are handed on one at a time, so nothing
+ * proportional to the team size is held in memory. The PostgreSQL driver only
+ * uses a cursor inside a transaction, so callers must run within one.
+ */
+@Repository
+public class TaskExportRepository {
+
+    /** Rows fetched per round trip while streaming. */
+    static final int FETCH_SIZE = 1000;
+
+    // Newest first, matching the team listing, so idx_tasks_team_created serves the order without a sort.
+    private static final String TEAM_TASKS_SQL = """
+            SELECT t.id, t.title, t.description, t.status, t.priority, t.due_date, t.creator_id, t.created_at, t.updated_at,
+                   ARRAY(SELECT ta.user_id FROM tasks_assignees ta WHERE ta.task_id = t.id ORDER BY ta.user_id) AS assignee_ids
+            FROM tasks t
+            WHERE t.team_id = ?
+            ORDER BY t.created_at DESC, t.id DESC
+            """;
+
+    /** One exported task; assignees are reduced to their ids. */
+    public record ExportRow(Long id, String title, String description, String status, String priority,
+                            LocalDateTime dueDate, Long creatorId, LocalDateTime createdAt, LocalDateTime updatedAt,
+                            List<Long> assigneeIds) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskExportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Pass every task of the team to `sink`, in listing order. */
+    public void forEachInTeam(Long teamId, Consumer<ExportRow> sink) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(TEAM_TASKS_SQL);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setLong(1, teamId);
+            return ps;
+        }, (RowCallbackHandler) rs -> sink.accept(map(rs)));
+    }
+
+    private static ExportRow map(ResultSet rs) throws SQLException {
+        return new ExportRow(
+                rs.getLong("id"),
+                rs.getString("title"),
+                rs.getString("description"),
+                rs.getString("status"),
+                rs.getString("priority"),
+                toLocalDateTime(rs.getTimestamp("due_date")),
+                (Long) rs.getObject("creator_id"),
+                toLocalDateTime(rs.getTimestamp("created_at")),
+                toLocalDateTime(rs.getTimestamp("updated_at")),
+                toIds(rs.getArray("assignee_ids")));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp ts) {
+        return ts == null ? null : ts.toLocalDateTime();
+    }
+
+    private static List<Long> toIds(Array array) throws SQLException {
+        if (array == null) return List.of();
+        try {
+            return Arrays.asList((Long[]) array.getArray());
+        } finally {
+            array.free();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.taskmanager.api.repository;
+
+import com.taskmanager.api.entity.Task;
+import com.taskmanager.api.event.TaskChangedEvent;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Set-based task import. Rows are streamed with COPY into a temporary staging
+ * table that lives until the surrounding transaction ends, then merged into
+ * `tasks`, `tasks_assignees` and the `task_activity` history with a single statement. Every method must be
+ * called inside the same transaction, which also makes the import all-or-nothing.
+ */
+@Repository
+public class TaskImportRepository {
+
+    /** Characters of COPY data collected before they are sent to the server. */
+    static final int COPY_BUFFER_CHARS = 64 * 1024;
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMP TABLE task_import_staging (
+                line_no BIGINT PRIMARY KEY,
+                title VARCHAR(255) NOT NULL,
+                description VARCHAR(255),
+                status VARCHAR(16),
+                priority VARCHAR(16),
+                due_date TIMESTAMP,
+                created_at TIMESTAMP,
+                assignee_ids BIGINT[]
+            ) ON COMMIT DROP
+            """;
+    private static final String COPY_STAGING =
+            "COPY task_import_staging (line_no, title, description, status, priority, due_date, created_at, assignee_ids)"
+                    + " FROM STDIN (FORMAT csv)";
+
+    private static final String REJECT_UNKNOWN_ASSIGNEES = """
+            DELETE FROM task_import_staging s
+            WHERE EXISTS (SELECT 1 FROM unnest(s.assignee_ids) a(id)
+                          WHERE NOT EXISTS (SELECT 1 FROM users u WHERE u.id = a.id))
+            RETURNING s.line_no
+            """;
+
+    // Ids come from tasks_id_seq in the blocks Hibernate's pooled-lo optimizer reserves (see Task.ID_ALLOCATION_SIZE).
+    // Tasks, their assignee rows and a CREATED history entry each are written by one statement; the foreign key
+    // check runs at its end.
+    private static final String MERGE = """
+            WITH blocks AS (
+                SELECT row_number() OVER () - 1 AS block, nextval('tasks_id_seq') AS first_id
+                FROM generate_series(1, ?)
+            ), numbered AS (
+                SELECT b.first_id + s.rn % ? AS id, s.*
+                FROM (SELECT st.*, row_number() OVER (ORDER BY st.line_no) - 1 AS rn FROM task_import_staging st) s
+                JOIN blocks b ON b.block = s.rn / ?
+            ), inserted AS (
+                INSERT INTO tasks (id, title, description, creator_id, team_id, due_date, priority, status, created_at, updated_at)
+                SELECT n.id, n.title, n.description, ?, ?, n.due_date,
+                       coalesce(n.priority, 'MEDIUM'), coalesce(n.status, 'TO_DO'), coalesce(n.created_at, ?), ?
+                FROM numbered n
+                RETURNING id
+            ), history AS (
+                INSERT INTO task_activity (task_id, team_id, actor_id, action, created_at)
+                SELECT id, ?, ?, ?, ? FROM inserted
+            )
+            INSERT INTO tasks_assignees (task_id, user_id)
+            SELECT DISTINCT n.id, a.id
+            FROM numbered n CROSS JOIN unnest(n.assignee_ids) a(id)
+            """;
+
+    // Counter deltas for the merged rows (see TaskCounterRepository), with the defaults MERGE applies.
+    private static final String COUNT_TEAM = """
+            INSERT INTO team_task_counters (team_id, status, priority, task_count)
+            SELECT ?, coalesce(status, 'TO_DO'), coalesce(priority, 'MEDIUM'), count(*)
+            FROM task_import_staging
+            GROUP BY 2, 3
+            ORDER BY 2, 3
+            ON CONFLICT (team_id, status, priority) DO UPDATE SET task_count = team_task_counters.task_count + EXCLUDED.task_count
+            """;
+    private static final String COUNT_ASSIGNEES = """
+            INSERT INTO assignee_task_counters (user_id, status, task_count)
+            SELECT a.id, coalesce(s.status, 'TO_DO'), count(DISTINCT s.line_no)
+            FROM task_import_staging s CROSS JOIN unnest(s.assignee_ids) a(id)
+            GROUP BY 1, 2
+            ORDER BY 1, 2
+            ON CONFLICT (user_id, status) DO UPDATE SET task_count = assignee_task_counters.task_count + EXCLUDED.task_count
+            """;
+
+    /** A validated import row. `line` is where the row starts in the uploaded file. */
+    public record StagedRow(long line, String title, String description, String status, String priority,
+                            LocalDateTime dueDate, LocalDateTime createdAt, List<Long> assigneeIds) {
+    }
+
+    /** Streams rows into the staging table through COPY, sending them in chunks. */
+    public static final class StagingWriter {
+
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(COPY_BUFFER_CHARS + 1024);
+
+        private StagingWriter(CopyIn copyIn) {
+            this.copyIn = copyIn;
+        }
+
+        public void add(StagedRow row) throws SQLException {
+            buffer.append(row.line()).append(',');
+            appendText(row.title());
+            buffer.append(',');
+            appendText(row.description());
+            buffer.append(',');
+            appendText(row.status());
+            buffer.append(',');
+            appendText(row.priority());
+            buffer.append(',');
+            if (row.dueDate() != null) buffer.append(row.dueDate());
+            buffer.append(',');
+            if (row.createdAt() != null) buffer.append(row.createdAt());
+            buffer.append(',');
+            if (!row.assigneeIds().isEmpty()) {
+                buffer.append("\"{");
+                for (int i = 0; i < row.assigneeIds().size(); i++) {
+                    if (i > 0) buffer.append(',');
+                    buffer.append(row.assigneeIds().get(i));
+                }
+                buffer.append("}\"");
+            }
+            buffer.append('\n');
+            if (buffer.length() >= COPY_BUFFER_CHARS) send();
+        }
+
+        /** Send what is buffered and end the COPY; returns the number of rows staged. */
+        public long finish() throws SQLException {
+            send();
+            return copyIn.endCopy();
+        }
+
+        /** Abandon the COPY, e.g. after the upload turned out unreadable, so the transaction can roll back. */
+        public void cancel() throws SQLException {
+            if (copyIn.isActive()) copyIn.cancelCopy();
+        }
+
+        private void appendText(String value) {
+            appendCsvText(buffer, value);
+        }
+
+        private void send() throws SQLException {
+            if (buffer.isEmpty()) return;
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+    }
+
+    // In COPY's CSV format an unquoted empty field is NULL, so every non-null value is quoted.
+    static void appendCsvText(StringBuilder buffer, String value) {
+        if (value == null) return;
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') buffer.append('"');
+            buffer.append(c);
+        }
+        buffer.append('"');
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskImportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Create the staging table and start a COPY into it on the transaction's connection. */
+    public StagingWriter openStaging() throws SQLException {
+        jdbcTemplate.execute(CREATE_STAGING);
+        Connection connection = DataSourceUtils.getConnection(jdbcTemplate.getDataSource());
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_STAGING);
+        return new StagingWriter(copyIn);
+    }
+
+    /**
+     * Drop staged rows that name an assignee id with no user, passing the line of
+     * each to `rejectedLine`, and refresh the planner statistics of what remains.
+     */
+    public void rejectUnknownAssignees(LongConsumer rejectedLine) {
+        jdbcTemplate.query(REJECT_UNKNOWN_ASSIGNEES, (RowCallbackHandler) rs -> rejectedLine.accept(rs.getLong(1)));
+        jdbcTemplate.execute("ANALYZE task_import_staging");
+    }
+
+    /**
+     * Insert every staged row as a task of the team created by `creatorId`, count it
+     * and record its creation in the history; returns the number of tasks.
+     */
+    public int merge(Long teamId, Long creatorId, LocalDateTime now) {
+        Integer staged = jdbcTemplate.queryForObject("SELECT count(*) FROM task_import_staging", Integer.class);
+        if (staged == null || staged == 0) return 0;
+        int blocks = (staged + Task.ID_ALLOCATION_SIZE - 1) / Task.ID_ALLOCATION_SIZE;
+        Timestamp at = Timestamp.valueOf(now);
+        jdbcTemplate.update(MERGE, blocks, Task.ID_ALLOCATION_SIZE, Task.ID_ALLOCATION_SIZE, creatorId, teamId, at, at,
+                teamId, creatorId, TaskChangedEvent.Type.CREATED.name(), at);
+        jdbcTemplate.update(COUNT_TEAM, teamId);
+        jdbcTemplate.update(COUNT_ASSIGNEES);
+        return staged;
+    }
+}
@@ -0,0 +1,221 @@
+package com.taskmanager.api.repository;
+
+import com.taskmanager.api.dto.KeysetCursor;
+import com.taskmanager.api.dto.TaskDto;
+import com.taskmanager.api.dto.UserDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only task listing that maps rows straight into {@link TaskDto} without
+ * hydrating `Task`/`User`/`Team` entities.
+ * <p>
+ * Each page is a single statement. Assignee ids are aggregated per task with
+ * `array_agg`; the assignee details (and role names) are only sent on the first
+ * task of the page that references a given user, so a user assigned to many
+ * tasks is transferred and materialized once per page rather than once per task.
+ */
+@Repository
+public class TaskQueryRepository {
+
+    private static final String PAGE_COLUMNS =
+            "t.id, t.title, t.description, t.team_id, t.due_date, t.priority, t.status, t.created_at";
+    // created_at is NOT NULL (V17); a NULL would fall outside the row comparison and end the listing early.
+    private static final String AFTER_CURSOR = " AND (t.created_at, t.id) < (?, ?)";
+    private static final String ORDER_AND_LIMIT = " ORDER BY t.created_at DESC, t.id DESC LIMIT ?";
+
+    private static final String ASSIGNEES_AND_SELECT = """
+            , links AS (
+                SELECT ta.task_id, ta.user_id,
+                       row_number() OVER (PARTITION BY ta.user_id ORDER BY p.created_at DESC, p.id DESC) = 1 AS first_seen
+                FROM page p
+                JOIN tasks_assignees ta ON ta.task_id = p.id
+            ), assigned AS (
+                SELECT l.task_id,
+                       array_agg(l.user_id ORDER BY l.user_id) AS user_ids,
+                       array_agg(u.id) FILTER (WHERE l.first_seen) AS new_ids,
+                       array_agg(u.username) FILTER (WHERE l.first_seen) AS usernames,
+                       array_agg(u.email) FILTER (WHERE l.first_seen) AS emails,
+                       array_agg(u.display_name) FILTER (WHERE l.first_seen) AS display_names,
+                       array_agg(u.created_at) FILTER (WHERE l.first_seen) AS user_created_ats,
+                       array_agg((SELECT string_agg(r.name, ',' ORDER BY r.name)
+                                  FROM users_roles ur JOIN roles r ON r.id = ur.role_id
+                                  WHERE ur.user_id = u.id)) FILTER (WHERE l.first_seen) AS role_names
+                FROM links l
+                JOIN users u ON u.id = l.user_id
+                GROUP BY l.task_id
+            )
+            SELECT p.*, a.user_ids, a.new_ids, a.usernames, a.emails, a.display_names, a.user_created_ats, a.role_names
+            FROM page p
+            LEFT JOIN assigned a ON a.task_id = p.id
+            ORDER BY p.created_at DESC, p.id DESC
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskQueryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * One page of a team's tasks, newest first, starting after `after` (null for the first page).
+     */
+    public List<TaskDto> findTeamPage(Long teamId, KeysetCursor after, int limit) {
+        String page = "WITH page AS (SELECT " + PAGE_COLUMNS + " FROM tasks t WHERE t.team_id = ?"
+                + (after == null ? "" : AFTER_CURSOR) + ORDER_AND_LIMIT + ")";
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(page + ASSIGNEES_AND_SELECT);
+            int i = 1;
+            ps.setLong(i++, teamId);
+            i = bindCursor(ps, i, after);
+            ps.setInt(i, limit);
+            return ps;
+        }, new TaskPageExtractor());
+    }
+
+    /**
+     * One page of tasks assigned to a user, newest first, restricted to the given status names.
+     */
+    public List<TaskDto> findAssignedPage(Long userId, List<String> statuses, KeysetCursor after, int limit) {
+        String page = "WITH page AS (SELECT " + PAGE_COLUMNS + " FROM tasks t"
+                + " WHERE t.id IN (SELECT ta.task_id FROM tasks_assignees ta WHERE ta.user_id = ?)"
+                + " AND t.status = ANY (?)"
+                + (after == null ? "" : AFTER_CURSOR) + ORDER_AND_LIMIT + ")";
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(page + ASSIGNEES_AND_SELECT);
+            int i = 1;
+            ps.setLong(i++, userId);
+            ps.setArray(i++, con.createArrayOf("varchar", statuses.toArray()));
+            i = bindCursor(ps, i, after);
+            ps.setInt(i, limit);
+            return ps;
+        }, new TaskPageExtractor());
+    }
+
+    /**
+     * The given tasks in the given order; ids that do not exist are skipped.
+     */
+    public List<TaskDto> findByIds(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        String page = "WITH page AS (SELECT " + PAGE_COLUMNS + " FROM tasks t WHERE t.id = ANY (?))";
+        List<TaskDto> rows = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(page + ASSIGNEES_AND_SELECT);
+            ps.setArray(1, con.createArrayOf("bigint", ids.toArray()));
+            return ps;
+        }, new TaskPageExtractor());
+        Map<Long, TaskDto> byId = new HashMap<>();
+        for (TaskDto row : rows) byId.put(row.getId(), row);
+        List<TaskDto> ordered = new ArrayList<>(rows.size());
+        for (Long id : ids) {
+            TaskDto row = byId.get(id);
+            if (row != null) ordered.add(row);
+        }
+        return ordered;
+    }
+
+    private static int bindCursor(PreparedStatement ps, int index, KeysetCursor after) throws SQLException {
+        if (after == null) return index;
+        ps.setTimestamp(index++, Timestamp.valueOf(after.createdAt()));
+        ps.setLong(index++, after.id());
+        return index;
+    }
+
+    /**
+     * Builds the page in two passes: rows are mapped while the distinct assignees
+     * are collected, then each task's assignee id list is resolved against them.
+     */
+    private static final class TaskPageExtractor implements ResultSetExtractor<List<TaskDto>> {
+
+        private final Map<Long, UserDto> usersById = new HashMap<>();
+        private final Map<String, Set<String>> roleSets = new HashMap<>();
+
+        @Override
+        public List<TaskDto> extractData(ResultSet rs) throws SQLException {
+            List<TaskDto> tasks = new ArrayList<>();
+            List<Object[]> assigneeIds = new ArrayList<>();
+            while (rs.next()) {
+                tasks.add(mapTask(rs));
+                assigneeIds.add(toArray(rs.getArray("user_ids")));
+                collectUsers(rs);
+            }
+            for (int i = 0; i < tasks.size(); i++) {
+                Object[] ids = assigneeIds.get(i);
+                List<UserDto> assignees = new ArrayList<>(ids != null ? ids.length : 0);
+                if (ids != null) {
+                    for (Object id : ids) assignees.add(usersById.get(((Number) id).longValue()));
+                }
+                tasks.get(i).setAssignees(assignees);
+            }
+            return tasks;
+        }
+
+        private static TaskDto mapTask(ResultSet rs) throws SQLException {
+            TaskDto dto = new TaskDto();
+            dto.setId(rs.getLong("id"));
+            dto.setTitle(rs.getString("title"));
+            dto.setDescription(rs.getString("description"));
+            long teamId = rs.getLong("team_id");
+            dto.setTeamId(rs.wasNull() ? null : teamId);
+            dto.setDueDate(toLocalDateTime(rs.getTimestamp("due_date")));
+            dto.setPriority(rs.getString("priority"));
+            dto.setStatus(rs.getString("status"));
+            dto.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+            return dto;
+        }
+
+        private void collectUsers(ResultSet rs) throws SQLException {
+            Object[] ids = toArray(rs.getArray("new_ids"));
+            if (ids == null) return;
+            Object[] usernames = toArray(rs.getArray("usernames"));
+            Object[] emails = toArray(rs.getArray("emails"));
+            Object[] displayNames = toArray(rs.getArray("display_names"));
+            Object[] createdAts = toArray(rs.getArray("user_created_ats"));
+            Object[] roleNames = toArray(rs.getArray("role_names"));
+            for (int i = 0; i < ids.length; i++) {
+                UserDto user = new UserDto();
+                user.setId(((Number) ids[i]).longValue());
+                user.setUsername((String) usernames[i]);
+                user.setEmail((String) emails[i]);
+                user.setDisplayName((String) displayNames[i]);
+                user.setCreatedAt(toLocalDateTime((Timestamp) createdAts[i]));
+                user.setRoles(roleSet((String) roleNames[i]));
+                usersById.put(user.getId(), user);
+            }
+        }
+
+        private Set<String> roleSet(String joined) {
+            String key = joined != null ? joined : "";
+            return roleSets.computeIfAbsent(key, k -> k.isEmpty()
+                    ? Set.of()
+                    : new LinkedHashSet<>(Arrays.asList(k.split(","))));
+        }
+
+        private static LocalDateTime toLocalDateTime(Timestamp ts) {
+            return ts != null ? ts.toLocalDateTime() : null;
+        }
+
+        private static Object[] toArray(Array array) throws SQLException {
+            if (array == null) return null;
+            try {
+                return (Object[]) array.getArray();
+            } finally {
+                array.free();
+            }
+        }
+    }
+}
@@ -1,13 +1,68 @@
 package com.taskmanager.api.repository;
 
+import com.taskmanager.api.entity.FetchPlans;
 import com.taskmanager.api.entity.Status;
 import com.taskmanager.api.entity.Task;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByStatus(Status status);
+
+    /** Load a task with everything `TaskMapper` reads, in one select. */
+    @EntityGraph(FetchPlans.TASK_DETAIL)
+    Optional<Task> findDetailedById(Long id);
+
+    // Targeted writes for single-field mutations. They bypass entity lifecycle
+    // callbacks and clear the persistence context so later reads see the change.
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.status = :status, t.updatedAt = :now where t.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") Status status, @Param("now") LocalDateTime now);
+
+    /** Stamp tasks whose assignees changed, so delta syncs pick them up. */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.updatedAt = :now where t.id in :ids")
+    int touch(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /** Assignee rows go with the task via `ON DELETE CASCADE`. */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM tasks WHERE id = :id", nativeQuery = true)
+    int deleteTaskById(@Param("id") Long id);
+
+    /** Returns 0 when the user was already assigned. */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO tasks_assignees (task_id, user_id) VALUES (:taskId, :userId) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int addAssignee(@Param("taskId") Long taskId, @Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM tasks_assignees WHERE task_id = :taskId AND user_id = :userId", nativeQuery = true)
+    int removeAssignee(@Param("taskId") Long taskId, @Param("userId") Long userId);
+
+    // Set-based variants of the writes above for bulk endpoints; callers pass
+    // only task ids that exist and passed the permission check.
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.status = :status, t.updatedAt = :now where t.id in :ids")
+    int updateStatusForIds(@Param("ids") Collection<Long> ids, @Param("status") Status status, @Param("now") LocalDateTime now);
+
+    /** Returns the number of links created; tasks already assigned to the user are skipped. */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO tasks_assignees (task_id, user_id) SELECT t.id, :userId FROM tasks t WHERE t.id IN (:taskIds)"
+            + " ON CONFLICT DO NOTHING", nativeQuery = true)
+    int addAssigneeToTasks(@Param("taskIds") Collection<Long> taskIds, @Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM tasks_assignees WHERE task_id IN (:taskIds) AND user_id = :userId", nativeQuery = true)
+    int removeAssigneeFromTasks(@Param("taskIds") Collection<Long> taskIds, @Param("userId") Long userId);
 }
@@ -0,0 +1,47 @@
+package com.taskmanager.api.repository;
+
+import com.taskmanager.api.entity.Task;
+import com.taskmanager.api.repository.TaskSpecifications.SortField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Runs task search specifications. Only ids and sort keys are selected, so the
+ * page query reads the index and the matching rows and nothing else; the caller
+ * loads the page contents separately and continues after the last sort key.
+ */
+@Repository
+public class TaskSearchRepository {
+
+    private final EntityManager entityManager;
+
+    public TaskSearchRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /** A matching task and the value it is sorted by (null for a task without one). */
+    public record SortedId(Long id, Object sortKey) {
+    }
+
+    /** Matching tasks in sort order, at most `limit`. */
+    public List<SortedId> findIds(Specification<Task> spec, SortField sort, boolean ascending, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+        query.multiselect(root.get("id"), TaskSpecifications.sortKey(root, cb, sort))
+                .where(spec.toPredicate(root, query, cb))
+                .orderBy(TaskSpecifications.orderBy(root, cb, sort, ascending));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(row -> new SortedId(row.get(0, Long.class), row.get(1)))
+                .toList();
+    }
+}
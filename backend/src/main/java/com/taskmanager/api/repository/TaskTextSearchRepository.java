@@ -0,0 +1,84 @@
+package com.taskmanager.api.repository;
+
+import com.taskmanager.api.dto.RankCursor;
+import com.taskmanager.api.dto.TaskSearchHit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.List;
+
+/**
+ * Full-text task search over `tasks.search_vector` (see V7).
+ * <p>
+ * Matching uses the GIN index and is restricted to the caller's teams before
+ * ranking, so only candidate rows are scored. Pages continue after the
+ * `(rank, id)` of the previous page's last hit. Snippets come from `ts_headline`,
+ * which re-parses the source text, so it runs only for the rows of the page.
+ */
+@Repository
+public class TaskTextSearchRepository {
+
+    // Private-use code points cannot come from user input in a meaningful way; they
+    // mark the matches so the text can be HTML-escaped before <mark> tags go in.
+    private static final String START = "\uE000";
+    private static final String STOP = "\uE001";
+    private static final String HEADLINE_MARKERS = "StartSel=\"" + START + "\", StopSel=\"" + STOP + "\"";
+
+    private static final String SEARCH_SQL = """
+            WITH q AS (SELECT websearch_to_tsquery('english', ?) AS query),
+            ranked AS (
+                SELECT t.id, t.team_id, t.title, t.description, t.status, t.priority,
+                       ts_rank(t.search_vector, q.query) AS rank
+                FROM tasks t, q
+                WHERE t.search_vector @@ q.query
+                  AND t.team_id IN (SELECT tm.team_id FROM teams_members tm WHERE tm.user_id = ?)
+            ),
+            hits AS (
+                SELECT * FROM ranked
+                WHERE (rank, id) < (?::real, ?)
+                ORDER BY rank DESC, id DESC
+                LIMIT ?
+            )
+            SELECT h.id, h.team_id, h.status, h.priority, h.rank,
+                   ts_headline('english', h.title, q.query, ?) AS title_html,
+                   ts_headline('english', coalesce(h.description, ''), q.query, ?) AS snippet_html
+            FROM hits h, q
+            ORDER BY h.rank DESC, h.id DESC
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskTextSearchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Tasks in the user's teams matching a web-search style query (quoted phrases,
+     * `or`, `-term`), best match first, after the given hit (null for the first page).
+     */
+    public List<TaskSearchHit> search(String query, Long userId, RankCursor after, int limit) {
+        // ts_rank is finite, so the first page starts above every hit.
+        float afterRank = after != null ? after.rank() : Float.POSITIVE_INFINITY;
+        long afterId = after != null ? after.id() : Long.MAX_VALUE;
+        return jdbcTemplate.query(SEARCH_SQL, (rs, i) -> {
+            TaskSearchHit hit = new TaskSearchHit();
+            hit.setId(rs.getLong("id"));
+            long teamId = rs.getLong("team_id");
+            hit.setTeamId(rs.wasNull() ? null : teamId);
+            hit.setStatus(rs.getString("status"));
+            hit.setPriority(rs.getString("priority"));
+            hit.setRank(rs.getFloat("rank"));
+            hit.setTitle(toHtml(rs.getString("title_html")));
+            hit.setSnippet(toHtml(rs.getString("snippet_html")));
+            return hit;
+        }, query, userId, afterRank, afterId, limit,
+                HEADLINE_MARKERS + ", HighlightAll=true",
+                HEADLINE_MARKERS + ", MaxWords=30, MinWords=10, MaxFragments=2, FragmentDelimiter=\" … \"");
+    }
+
+    private static String toHtml(String marked) {
+        if (marked == null) return null;
+        return HtmlUtils.htmlEscape(marked).replace(START, "<mark>").replace(STOP, "</mark>");
+    }
+}
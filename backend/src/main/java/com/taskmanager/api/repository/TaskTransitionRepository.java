@@ -0,0 +1,153 @@
+package com.taskmanager.api.repository;
+
+import com.taskmanager.api.entity.Status;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Status changes of tasks in `task_status_transitions`, and the per-team
+ * weekly duration histograms in `team_flow_histograms` (see V12).
+ * <p>
+ * {@link #record} runs in the transaction that changes the statuses. Each
+ * move to DONE adds one lead-time sample (creation to completion) and, when
+ * the task was ever IN_PROGRESS, one cycle-time sample (first start to
+ * completion) to the histograms of the week it completed. Reopened tasks are
+ * counted again when they are completed again. Durations are counted in
+ * buckets a quarter of a power of two wide, so a bucket's midpoint is within
+ * 10% of every duration in it. As for task counters, histogram rows are
+ * updated in key order so concurrent writers cannot deadlock.
+ */
+@Repository
+public class TaskTransitionRepository {
+
+    /** One status change of a task. */
+    public record Transition(Long taskId, Long teamId, String fromStatus, String toStatus, LocalDateTime changedAt) {
+    }
+
+    public enum Metric { CYCLE, LEAD }
+
+    /** Samples of one histogram bucket of one week. */
+    public record HistogramRow(LocalDate weekStart, Metric metric, int bucket, long samples) {
+    }
+
+    private record HistogramKey(long teamId, LocalDate weekStart, Metric metric, int bucket) {
+    }
+
+    private static final Comparator<HistogramKey> KEY_ORDER = Comparator.comparingLong(HistogramKey::teamId)
+            .thenComparing(HistogramKey::weekStart).thenComparing(HistogramKey::metric).thenComparingInt(HistogramKey::bucket);
+
+    /** Buckets per doubling of the duration. */
+    private static final int BUCKETS_PER_OCTAVE = 4;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO task_status_transitions (task_id, team_id, from_status, to_status, changed_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String STARTS_SQL = """
+            SELECT t.id, t.created_at,
+                   (SELECT min(s.changed_at) FROM task_status_transitions s
+                    WHERE s.task_id = t.id AND s.to_status = 'IN_PROGRESS') AS started_at
+            FROM tasks t
+            WHERE t.id = ANY (?)
+            """;
+    private static final String ADD_SAMPLES = """
+            INSERT INTO team_flow_histograms (team_id, week_start, metric, bucket, samples) VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (team_id, week_start, metric, bucket) DO UPDATE SET samples = team_flow_histograms.samples + EXCLUDED.samples
+            """;
+    private static final String HISTOGRAMS_SQL =
+            "SELECT week_start, metric, bucket, samples FROM team_flow_histograms WHERE team_id = ? AND week_start >= ?";
+
+    private record Starts(LocalDateTime createdAt, LocalDateTime startedAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskTransitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** The Monday starting the week of `time`. */
+    public static LocalDate weekOf(LocalDateTime time) {
+        return time.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    /** The bucket counting `duration`: 0 below one second, then four per doubling. */
+    public static int bucketOf(Duration duration) {
+        long seconds = duration.getSeconds();
+        if (seconds < 1) return 0;
+        return 1 + (int) Math.floor(BUCKETS_PER_OCTAVE * Math.log(seconds) / Math.log(2));
+    }
+
+    /** The geometric midpoint of the bucket, in seconds. */
+    public static double bucketValue(int bucket) {
+        if (bucket == 0) return 0;
+        return Math.pow(2, (bucket - 0.5) / BUCKETS_PER_OCTAVE);
+    }
+
+    /** Store the transitions whose status changed and add the completed tasks to their team's histograms. */
+    public void record(List<Transition> transitions) {
+        List<Transition> changed = transitions.stream()
+                .filter(t -> !Objects.equals(t.fromStatus(), t.toStatus()))
+                .toList();
+        if (changed.isEmpty()) return;
+        jdbcTemplate.batchUpdate(INSERT_SQL, changed.stream()
+                        .map(t -> new Object[]{t.taskId(), t.teamId(), t.fromStatus(), t.toStatus(), Timestamp.valueOf(t.changedAt())})
+                        .toList(),
+                new int[]{Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP});
+
+        List<Transition> completed = changed.stream()
+                .filter(t -> t.teamId() != null && Status.DONE.name().equals(t.toStatus()))
+                .toList();
+        if (completed.isEmpty()) return;
+        Map<Long, Starts> starts = new HashMap<>();
+        Object[] ids = completed.stream().map(Transition::taskId).toArray();
+        jdbcTemplate.query(STARTS_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids)),
+                rs -> {
+                    Timestamp startedAt = rs.getTimestamp("started_at");
+                    starts.put(rs.getLong("id"), new Starts(rs.getTimestamp("created_at").toLocalDateTime(),
+                            startedAt != null ? startedAt.toLocalDateTime() : null));
+                });
+
+        Map<HistogramKey, Long> samples = new TreeMap<>(KEY_ORDER);
+        for (Transition t : completed) {
+            Starts s = starts.get(t.taskId());
+            if (s == null) continue;
+            LocalDate week = weekOf(t.changedAt());
+            samples.merge(new HistogramKey(t.teamId(), week, Metric.LEAD, bucketOf(between(s.createdAt(), t.changedAt()))), 1L, Long::sum);
+            if (s.startedAt() != null) {
+                samples.merge(new HistogramKey(t.teamId(), week, Metric.CYCLE, bucketOf(between(s.startedAt(), t.changedAt()))), 1L, Long::sum);
+            }
+        }
+        List<Object[]> rows = new ArrayList<>();
+        samples.forEach((k, n) -> rows.add(new Object[]{k.teamId(), Date.valueOf(k.weekStart()), k.metric().name(), k.bucket(), n}));
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_SAMPLES, rows, new int[]{Types.BIGINT, Types.DATE, Types.VARCHAR, Types.SMALLINT, Types.BIGINT});
+        }
+    }
+
+    /** Histogram rows of the team for the weeks starting on or after `fromWeek`. */
+    public List<HistogramRow> findHistograms(Long teamId, LocalDate fromWeek) {
+        return jdbcTemplate.query(HISTOGRAMS_SQL, (rs, i) -> new HistogramRow(rs.getDate("week_start").toLocalDate(),
+                Metric.valueOf(rs.getString("metric")), rs.getInt("bucket"), rs.getLong("samples")), teamId, Date.valueOf(fromWeek));
+    }
+
+    private static Duration between(LocalDateTime from, LocalDateTime to) {
+        Duration d = Duration.between(from, to);
+        return d.isNegative() ? Duration.ZERO : d;
+    }
+}
@@ -0,0 +1,79 @@
+package com.taskmanager.api.repository;
+
+import com.taskmanager.api.dto.TeamBurndownDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Daily task counts per team in `team_burndown_snapshots` (see V13).
+ * <p>
+ * {@link #snapshot} counts every team for a range of past days in one
+ * statement. A task's status at the end of a day is taken from
+ * `task_status_transitions`: the last change before midnight, else the
+ * status the first later change moved it from, else its current status.
+ * Deleted tasks are no longer counted on any day. Existing rows are kept,
+ * so snapshotting a day twice changes nothing.
+ */
+@Repository
+public class TeamBurndownRepository {
+
+    private static final String SNAPSHOT_SQL = """
+            INSERT INTO team_burndown_snapshots (team_id, snapshot_date, open_tasks, done_tasks)
+            SELECT tm.id, d.day::date,
+                   count(t.id) FILTER (WHERE s.status IS DISTINCT FROM 'DONE'),
+                   count(t.id) FILTER (WHERE s.status = 'DONE')
+            FROM generate_series(?::date, ?::date, interval '1 day') AS d(day)
+            JOIN teams tm ON tm.created_at IS NULL OR tm.created_at < d.day + interval '1 day'
+            LEFT JOIN tasks t ON t.team_id = tm.id AND (t.created_at IS NULL OR t.created_at < d.day + interval '1 day')
+            LEFT JOIN LATERAL (
+                SELECT coalesce(
+                    (SELECT x.to_status FROM task_status_transitions x
+                     WHERE x.task_id = t.id AND x.changed_at < d.day + interval '1 day'
+                     ORDER BY x.changed_at DESC, x.id DESC LIMIT 1),
+                    (SELECT x.from_status FROM task_status_transitions x
+                     WHERE x.task_id = t.id AND x.changed_at >= d.day + interval '1 day'
+                     ORDER BY x.changed_at, x.id LIMIT 1),
+                    t.status) AS status
+            ) s ON true
+            GROUP BY tm.id, d.day
+            ON CONFLICT (team_id, snapshot_date) DO NOTHING
+            """;
+    private static final String RANGE_SQL = """
+            SELECT snapshot_date, open_tasks, done_tasks FROM team_burndown_snapshots
+            WHERE team_id = ? AND snapshot_date BETWEEN ? AND ?
+            ORDER BY snapshot_date
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TeamBurndownRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Snapshot every team for the days from `first` to `last`, both included; returns the rows written. */
+    public int snapshot(LocalDate first, LocalDate last) {
+        return jdbcTemplate.update(SNAPSHOT_SQL, Date.valueOf(first), Date.valueOf(last));
+    }
+
+    /** The latest day snapshotted, if any. */
+    public Optional<LocalDate> lastSnapshotDate() {
+        Date last = jdbcTemplate.queryForObject("SELECT max(snapshot_date) FROM team_burndown_snapshots", Date.class);
+        return Optional.ofNullable(last).map(Date::toLocalDate);
+    }
+
+    /** The team's snapshots from `first` to `last`, both included, oldest first. */
+    public List<TeamBurndownDto.Point> findRange(Long teamId, LocalDate first, LocalDate last) {
+        return jdbcTemplate.query(RANGE_SQL, (rs, i) -> new TeamBurndownDto.Point(rs.getDate("snapshot_date").toLocalDate(),
+                rs.getInt("open_tasks"), rs.getInt("done_tasks")), teamId, Date.valueOf(first), Date.valueOf(last));
+    }
+
+    /** Delete the snapshots of days before `day`; returns how many were deleted. */
+    public int deleteBefore(LocalDate day) {
+        return jdbcTemplate.update("DELETE FROM team_burndown_snapshots WHERE snapshot_date < ?", Date.valueOf(day));
+    }
+}
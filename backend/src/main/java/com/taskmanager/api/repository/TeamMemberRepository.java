@@ -0,0 +1,90 @@
+package com.taskmanager.api.repository;
+
+import com.taskmanager.api.dto.UserDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Team membership rows in `teams_members` and the counts shown on teams.
+ * Adding or removing a member writes one row instead of loading and
+ * rewriting the team's member collection; the `teams.member_count` trigger
+ * (see V14) follows every change. Members are paged by user id over the
+ * `(team_id, user_id)` primary key.
+ */
+@Repository
+public class TeamMemberRepository {
+
+    /** Members and tasks of one team. */
+    public record TeamCounts(long memberCount, long taskCount) {
+    }
+
+    private static final String PAGE_SQL = """
+            SELECT u.id, u.username, u.email, u.display_name, u.created_at
+            FROM teams_members m
+            JOIN users u ON u.id = m.user_id
+            WHERE m.team_id = ? AND m.user_id > ?
+            ORDER BY m.user_id
+            LIMIT ?
+            """;
+    private static final String COUNTS_SQL = """
+            SELECT t.id, t.member_count,
+                   coalesce((SELECT sum(c.task_count) FROM team_task_counters c WHERE c.team_id = t.id), 0) AS task_count
+            FROM teams t
+            WHERE t.id = ANY (?)
+            """;
+
+    private static final RowMapper<UserDto> MEMBER_MAPPER = (rs, i) -> {
+        UserDto dto = new UserDto();
+        dto.setId(rs.getLong("id"));
+        dto.setUsername(rs.getString("username"));
+        dto.setEmail(rs.getString("email"));
+        dto.setDisplayName(rs.getString("display_name"));
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        dto.setCreatedAt(createdAt != null ? createdAt.toLocalDateTime() : null);
+        return dto;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TeamMemberRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Add the user to the team; false when already a member. */
+    public boolean add(Long teamId, Long userId) {
+        return jdbcTemplate.update("INSERT INTO teams_members (team_id, user_id) VALUES (?, ?) ON CONFLICT DO NOTHING",
+                teamId, userId) > 0;
+    }
+
+    /** Remove the user from the team; false when not a member. */
+    public boolean remove(Long teamId, Long userId) {
+        return jdbcTemplate.update("DELETE FROM teams_members WHERE team_id = ? AND user_id = ?", teamId, userId) > 0;
+    }
+
+    /** Up to `limit` members of the team with ids above `afterUserId`, by id; roles are not loaded. */
+    public List<UserDto> findPage(Long teamId, long afterUserId, int limit) {
+        return jdbcTemplate.query(PAGE_SQL, MEMBER_MAPPER, teamId, afterUserId, limit);
+    }
+
+    /** Member and task counts of the existing teams among `teamIds`, keyed by team id. */
+    public Map<Long, TeamCounts> countsByTeam(Collection<Long> teamIds) {
+        Map<Long, TeamCounts> counts = new HashMap<>();
+        if (teamIds.isEmpty()) {
+            return counts;
+        }
+        Object[] ids = teamIds.toArray();
+        jdbcTemplate.query(COUNTS_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids)),
+                rs -> {
+                    counts.put(rs.getLong("id"), new TeamCounts(rs.getLong("member_count"), rs.getLong("task_count")));
+                });
+        return counts;
+    }
+}
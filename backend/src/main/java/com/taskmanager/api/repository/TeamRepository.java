@@ -1,12 +1,36 @@
 package com.taskmanager.api.repository;
 
+import com.taskmanager.api.entity.FetchPlans;
 import com.taskmanager.api.entity.Team;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TeamRepository extends JpaRepository<Team, Long> {
     Optional<Team> findByName(String name);
+
+    /** Load a team with its admin, in one select. */
+    @EntityGraph(FetchPlans.TEAM_SUMMARY)
+    Optional<Team> findWithAdminById(Long id);
+
+    /** All teams a user is a member of, with the team summary fetch plan. */
+    @EntityGraph(FetchPlans.TEAM_SUMMARY)
+    @Query("select distinct t from Team t where exists (select 1 from t.members m where m.id = :userId)")
+    List<Team> findByMemberId(@Param("userId") Long userId);
+
+    /** Which of the given ids belong to an existing team. */
+    @Query("select t.id from Team t where t.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /** Whether the user is a member or the admin of the team. */
+    @Query("select count(t) > 0 from Team t where t.id = :teamId"
+            + " and (t.admin.id = :userId or exists (select 1 from t.members m where m.id = :userId))")
+    boolean isMemberOrAdmin(@Param("teamId") Long teamId, @Param("userId") Long userId);
 }
@@ -0,0 +1,114 @@
+package com.taskmanager.api.repository;
+
+import com.taskmanager.api.dto.TeamStatsDto;
+import com.taskmanager.api.dto.TeamStatsDto.AssigneeWorkload;
+import com.taskmanager.api.entity.Priority;
+import com.taskmanager.api.entity.Status;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes {@link TeamStatsDto} with a single statement. One pass over the
+ * team's tasks groups them by status and by priority (grouping sets); a second
+ * pass joins the assignee rows and groups by user, where the tasks with no
+ * assignee form the null group. Each group comes back as rows of one result
+ * set, tagged by `kind`. A missing status or priority is counted under `NONE`,
+ * as in the task counters.
+ */
+@Repository
+public class TeamStatsRepository {
+
+    static final String NO_STATUS = "NONE";
+    static final String NO_PRIORITY = "NONE";
+
+    private static final String STATS_SQL = """
+            WITH team_tasks AS NOT MATERIALIZED (
+                SELECT id, status, priority,
+                       status IS DISTINCT FROM 'DONE' AS open,
+                       status IS DISTINCT FROM 'DONE' AND due_date < ? AS overdue
+                FROM tasks
+                WHERE team_id = ?
+            ),
+            by_assignee AS (
+                SELECT ta.user_id, count(*) AS total,
+                       count(*) FILTER (WHERE t.open) AS open, count(*) FILTER (WHERE t.overdue) AS overdue
+                FROM team_tasks t
+                LEFT JOIN tasks_assignees ta ON ta.task_id = t.id
+                GROUP BY ta.user_id
+            )
+            SELECT CASE WHEN GROUPING(status) = 0 THEN 'status' ELSE 'priority' END AS kind,
+                   CASE WHEN GROUPING(status) = 0 THEN status ELSE priority END AS key,
+                   NULL::bigint AS user_id, NULL AS username, NULL AS display_name,
+                   count(*) AS total, count(*) FILTER (WHERE open) AS open, count(*) FILTER (WHERE overdue) AS overdue
+            FROM team_tasks
+            GROUP BY GROUPING SETS ((status), (priority))
+            UNION ALL
+            SELECT CASE WHEN a.user_id IS NULL THEN 'unassigned' ELSE 'assignee' END, NULL,
+                   a.user_id, u.username, u.display_name, a.total, a.open, a.overdue
+            FROM by_assignee a
+            LEFT JOIN users u ON u.id = a.user_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TeamStatsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Counts for the team's tasks, with `now` as the cut-off for overdue tasks. */
+    public TeamStatsDto compute(Long teamId, LocalDateTime now) {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (Status status : Status.values()) byStatus.put(status.name(), 0L);
+        byStatus.put(NO_STATUS, 0L);
+        Map<String, Long> byPriority = new LinkedHashMap<>();
+        for (Priority priority : Priority.values()) byPriority.put(priority.name(), 0L);
+        byPriority.put(NO_PRIORITY, 0L);
+        List<AssigneeWorkload> workload = new ArrayList<>();
+        TeamStatsDto stats = new TeamStatsDto();
+
+        jdbcTemplate.query(STATS_SQL, rs -> {
+            long total = rs.getLong("total");
+            switch (rs.getString("kind")) {
+                case "status" -> {
+                    String status = rs.getString("key");
+                    byStatus.put(status != null ? status : NO_STATUS, total);
+                    stats.setTotalTasks(stats.getTotalTasks() + total);
+                    stats.setOpenTasks(stats.getOpenTasks() + rs.getLong("open"));
+                    stats.setOverdueTasks(stats.getOverdueTasks() + rs.getLong("overdue"));
+                }
+                case "priority" -> {
+                    String priority = rs.getString("key");
+                    byPriority.put(priority != null ? priority : NO_PRIORITY, total);
+                }
+                case "assignee" -> {
+                    AssigneeWorkload assignee = new AssigneeWorkload();
+                    assignee.setUserId(rs.getLong("user_id"));
+                    assignee.setUsername(rs.getString("username"));
+                    assignee.setDisplayName(rs.getString("display_name"));
+                    assignee.setTotalTasks(total);
+                    assignee.setOpenTasks(rs.getLong("open"));
+                    assignee.setOverdueTasks(rs.getLong("overdue"));
+                    workload.add(assignee);
+                }
+                default -> stats.setUnassignedTasks(total);
+            }
+        }, Timestamp.valueOf(now), teamId);
+
+        workload.sort(Comparator.comparingLong(AssigneeWorkload::getOpenTasks).reversed()
+                .thenComparing(AssigneeWorkload::getUserId));
+        stats.setTeamId(teamId);
+        stats.setByStatus(byStatus);
+        stats.setByPriority(byPriority);
+        stats.setWorkload(workload);
+        stats.setComputedAt(now);
+        return stats;
+    }
+}
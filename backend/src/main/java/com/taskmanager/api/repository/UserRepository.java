@@ -1,20 +1,42 @@
 package com.taskmanager.api.repository;
 
+import com.taskmanager.api.entity.FetchPlans;
 import com.taskmanager.api.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.lang.NonNull;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     @NonNull
+    @EntityGraph(FetchPlans.USER_WITH_ROLES)
     Optional<User> findById(@NonNull Long id);
 
+    /** Assignees resolved by id are mapped to `UserDto` after the transaction ends, so they need their roles too. */
     @NonNull
+    @EntityGraph(FetchPlans.USER_WITH_ROLES)
+    List<User> findAllById(@NonNull Iterable<Long> ids);
+
+    @NonNull
+    @EntityGraph(FetchPlans.USER_WITH_ROLES)
     Optional<User> findByUsername(@NonNull String username);
 
     @NonNull
+    @EntityGraph(FetchPlans.USER_WITH_ROLES)
     Optional<User> findByEmail(@NonNull String email);
+
+    /** Current role names of a user; empty when the user no longer exists. */
+    @Query("select r.name from User u join u.roles r where u.id = :id")
+    List<String> findRoleNamesById(@Param("id") Long id);
+
+    /** Which of the given ids belong to an existing user. */
+    @Query("select u.id from User u where u.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
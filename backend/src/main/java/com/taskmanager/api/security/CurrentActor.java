@@ -0,0 +1,19 @@
+package com.taskmanager.api.security;
+
+import java.util.Set;
+
+/**
+ * The authenticated user making the current request, taken from the
+ * {@link UserPrincipal} the JWT filter already resolved. Declare a controller
+ * parameter of this type to receive it; no database lookup is involved.
+ */
+public record CurrentActor(Long id, String username, Set<String> roles) {
+
+    public static CurrentActor of(UserPrincipal principal) {
+        return new CurrentActor(principal.getId(), principal.getUsername(), principal.getRoleNames());
+    }
+
+    public boolean hasRole(String role) {
+        return roles.contains(role);
+    }
+}
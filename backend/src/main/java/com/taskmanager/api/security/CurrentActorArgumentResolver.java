@@ -0,0 +1,42 @@
+package com.taskmanager.api.security;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.lang.NonNull;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolves {@link CurrentActor} controller parameters from the authenticated
+ * principal. The actor is built once per request and kept as a request attribute.
+ */
+public class CurrentActorArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String ATTRIBUTE = CurrentActor.class.getName();
+
+    @Override
+    public boolean supportsParameter(@NonNull MethodParameter parameter) {
+        return CurrentActor.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(@NonNull MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  @NonNull NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Object cached = webRequest.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cached instanceof CurrentActor actor) {
+            return actor;
+        }
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !(auth.getPrincipal() instanceof UserPrincipal principal)) {
+            throw new AccessDeniedException("Not authenticated");
+        }
+        CurrentActor actor = CurrentActor.of(principal);
+        webRequest.setAttribute(ATTRIBUTE, actor, RequestAttributes.SCOPE_REQUEST);
+        return actor;
+    }
+}
@@ -1,28 +1,64 @@
 package com.taskmanager.api.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.taskmanager.api.entity.User;
+import com.taskmanager.api.event.UserChangedEvent;
 import com.taskmanager.api.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Duration;
+
+/**
+ * Loads principals by username or email. Loaded principals are kept in a
+ * bounded, time-limited cache keyed by the login string that was used, so a
+ * burst of requests for the same user costs one lookup. Entries are evicted on
+ * {@link UserChangedEvent} once the change is committed. Cache statistics are
+ * published as `cache.*` metrics with `cache=userDetails`.
+ */
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
+    static final String CACHE_NAME = "userDetails";
+
     private final UserRepository userRepository;
+    private final Cache<String, UserPrincipal> principals;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository, MeterRegistry meterRegistry,
+                                    @Value("${app.user-cache.max-size:1000}") long maxSize,
+                                    @Value("${app.user-cache.ttl:5m}") Duration ttl) {
         this.userRepository = userRepository;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, CACHE_NAME);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
-                .orElseGet(() -> userRepository.findByEmail(username)
-                        .orElseThrow(() -> new UsernameNotFoundException("User not found with username or email: " + username)));
+        return principals.get(username, this::load);
+    }
+
+    private UserPrincipal load(String usernameOrEmail) {
+        User user = userRepository.findByUsername(usernameOrEmail)
+                .orElseGet(() -> userRepository.findByEmail(usernameOrEmail)
+                        .orElseThrow(() -> new UsernameNotFoundException("User not found with username or email: " + usernameOrEmail)));
         return new UserPrincipal(user);
     }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.username() != null) principals.invalidate(event.username());
+        if (event.email() != null) principals.invalidate(event.email());
+    }
 }
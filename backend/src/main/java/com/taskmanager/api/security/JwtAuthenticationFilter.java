@@ -1,5 +1,7 @@
 package com.taskmanager.api.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,16 +20,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     /**
      * Servlet filter that extracts a Bearer JWT from the `Authorization` header,
-     * validates it and populates the Spring Security `SecurityContext` with the
-     * corresponding `UserDetails` when valid.
+     * validates it and populates the Spring Security `SecurityContext`.
+     * <p>
+     * Tokens carrying the `uid` and `roles` claims are turned into a principal
+     * without touching the database (subject to the optional
+     * {@link PrincipalRevalidator}); older tokens fall back to loading the user.
      */
 
     private final JwtUtils jwtUtils;
     private final UserDetailsService userDetailsService;
+    private final PrincipalRevalidator revalidator;
 
-    public JwtAuthenticationFilter(JwtUtils jwtUtils, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtils jwtUtils, UserDetailsService userDetailsService, PrincipalRevalidator revalidator) {
         this.jwtUtils = jwtUtils;
         this.userDetailsService = userDetailsService;
+        this.revalidator = revalidator;
     }
 
     @Override
@@ -35,24 +42,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String jwt = parseJwt(request);
         if (jwt != null) {
             try {
-                if (jwtUtils.validateToken(jwt)) {
-                    String username = jwtUtils.getSubjectFromToken(jwt);
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                Claims claims = jwtUtils.parseClaims(jwt);
+                UserDetails userDetails = resolvePrincipal(claims);
+                if (userDetails != null) {
                     UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                     SecurityContextHolder.getContext().setAuthentication(authentication);
-                    logger.info("JWT valid, set authentication for user=" + username);
+                    logger.debug("JWT valid, set authentication for user=" + userDetails.getUsername());
                 } else {
-                    logger.info("Invalid JWT token");
+                    logger.info("JWT user no longer exists: " + claims.getSubject());
                 }
+            } catch (JwtException | IllegalArgumentException ex) {
+                logger.info("Invalid JWT token: " + ex.getMessage());
             } catch (Exception ex) {
                 logger.info("Failed to authenticate JWT: " + ex.getMessage(), ex);
             }
         } else {
-            logger.info("No JWT token found in request headers");
+            logger.debug("No JWT token found in request headers");
         }
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails resolvePrincipal(Claims claims) {
+        UserPrincipal fromClaims = JwtUtils.principalFromClaims(claims);
+        if (fromClaims == null) {
+            // Token issued before id/role claims were added.
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+        return revalidator.revalidate(fromClaims);
+    }
+
     private String parseJwt(HttpServletRequest request) {
         /**
          * Parse the `Authorization` header and return the raw JWT (without "Bearer ").
@@ -1,6 +1,10 @@
 package com.taskmanager.api.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -11,7 +15,11 @@ import org.springframework.stereotype.Component;
 import java.security.Key;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtils {
@@ -22,15 +30,32 @@ public class JwtUtils {
         * The constructor accepts either a Base64/Base64URL secret (recommended) or a plain
         * string secret (will be derived to 32 bytes for HS256).
         * It also requires an expiration timeout in milliseconds via `jwt.expiration`.
+     * <p>
+     * Verified claims are cached by SHA-256 digest of the token until the token
+     * expires, so repeat requests with the same token skip signature checks and
+     * JSON parsing. The cache holds at most `jwt.cache.max-size` tokens (0 disables it).
      */
 
+    /** Claim holding the numeric user id. */
+    public static final String CLAIM_USER_ID = "uid";
+    /** Claim holding the granted role names, e.g. `["ROLE_USER"]`. */
+    public static final String CLAIM_ROLES = "roles";
+
     private final Key key;
     private final long expirationMs;
+    /** Immutable once built, safe to share between request threads. */
+    private final JwtParser parser;
+    private final Cache<String, Claims> verified;
 
-    public JwtUtils(@Value("${jwt.secret}") String secret, @Value("${jwt.expiration}") long expirationMs) {
+    public JwtUtils(@Value("${jwt.secret}") String secret, @Value("${jwt.expiration}") long expirationMs,
+                    @Value("${jwt.cache.max-size:10000}") long cacheMaxSize) {
         byte[] keyBytes = decodeOrDeriveKeyBytes(secret);
         this.key = Keys.hmacShaKeyFor(keyBytes);
         this.expirationMs = expirationMs;
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verified = cacheMaxSize > 0
+                ? Caffeine.newBuilder().maximumSize(cacheMaxSize).expireAfter(new UntilTokenExpiry()).build()
+                : null;
     }
 
     private static byte[] decodeOrDeriveKeyBytes(String secret) {
@@ -78,20 +103,81 @@ public class JwtUtils {
                 .compact();
     }
 
-    public String getSubjectFromToken(String token) {
+    public String generateToken(UserPrincipal principal) {
         /**
-         * Parse the token and return the subject (typically the username).
+         * Build a signed JWT for the principal that also carries its id and role
+         * names, so requests can be authenticated without loading the user.
          */
-        Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
-        return claims.getSubject();
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + expirationMs);
+        return Jwts.builder()
+                .setSubject(principal.getUsername())
+                .claim(CLAIM_USER_ID, principal.getId())
+                .claim(CLAIM_ROLES, List.copyOf(principal.getRoleNames()))
+                .setIssuedAt(now)
+                .setExpiration(expiryDate)
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * Verify the signature and expiry and return the token claims.
+     *
+     * @throws io.jsonwebtoken.JwtException when the token is invalid or expired
+     */
+    public Claims parseClaims(String token) {
+        if (verified == null) {
+            return parser.parseClaimsJws(token).getBody();
+        }
+        String digest = digest(token);
+        Claims claims = verified.getIfPresent(digest);
+        if (claims == null) {
+            claims = parser.parseClaimsJws(token).getBody();
+            verified.put(digest, claims);
+        }
+        return claims;
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Build a principal from verified claims, or return null for tokens issued
+     * before the id and role claims existed.
+     */
+    public static UserPrincipal principalFromClaims(Claims claims) {
+        Object uid = claims.get(CLAIM_USER_ID);
+        Object roles = claims.get(CLAIM_ROLES);
+        if (!(uid instanceof Number) || !(roles instanceof Collection<?>)) {
+            return null;
+        }
+        List<String> roleNames = ((Collection<?>) roles).stream().map(String::valueOf).toList();
+        return new UserPrincipal(((Number) uid).longValue(), claims.getSubject(), roleNames);
+    }
+
+    private static String digest(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
-        } catch (Exception ex) {
-            return false;
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(java.nio.charset.StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /** Keeps a verified token only until its `exp`; tokens without one are not kept. */
+    private static final class UntilTokenExpiry implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+            Date exp = claims.getExpiration();
+            long remainingMs = exp == null ? 0 : exp.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String digest, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
         }
     }
 }
@@ -0,0 +1,87 @@
+package com.taskmanager.api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskmanager.api.event.UserChangedEvent;
+import com.taskmanager.api.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Optional check of token claims against the database for principals built from
+ * a JWT. Disabled by default (`jwt.revalidate-ttl=0`); when a TTL is set, each
+ * user's current roles are re-read at most once per TTL, so role changes and
+ * deleted accounts take effect without waiting for the token to expire. The
+ * checked roles live in a bounded cache sized like the user cache
+ * (`app.user-cache.max-size`), published as `cache.*` metrics with
+ * `cache=principalRoles`.
+ */
+@Component
+public class PrincipalRevalidator {
+
+    static final String CACHE_NAME = "principalRoles";
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final Cache<Long, Set<String>> checked;
+
+    public PrincipalRevalidator(UserRepository userRepository, MeterRegistry meterRegistry,
+                                @Value("${jwt.revalidate-ttl:0s}") Duration ttl,
+                                @Value("${app.user-cache.max-size:1000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.enabled = ttl.toNanos() > 0;
+        this.checked = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(enabled ? ttl : Duration.ZERO)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, checked, CACHE_NAME);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Return the principal to authenticate with: the token principal itself,
+     * one carrying the user's current roles (possibly none), or null when the
+     * user is gone.
+     */
+    public UserPrincipal revalidate(UserPrincipal fromToken) {
+        if (!enabled) {
+            return fromToken;
+        }
+        // Deleted users are not cached, so they are looked up again on every request until the token expires.
+        Set<String> roles = checked.get(fromToken.getId(), this::load);
+        if (roles == null) {
+            return null;
+        }
+        if (roles.equals(fromToken.getRoleNames())) {
+            return fromToken;
+        }
+        return new UserPrincipal(fromToken.getId(), fromToken.getUsername(), roles);
+    }
+
+    private Set<String> load(Long userId) {
+        List<String> current = userRepository.findRoleNamesById(userId);
+        // No role rows means either a user without roles or no user at all.
+        if (current.isEmpty() && !userRepository.existsById(userId)) {
+            return null;
+        }
+        return Set.copyOf(current);
+    }
+
+    /** Forget the last check so the next request re-reads the user's roles. */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        checked.invalidate(event.userId());
+    }
+}
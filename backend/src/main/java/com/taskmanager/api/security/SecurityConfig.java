@@ -1,5 +1,6 @@
 package com.taskmanager.api.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -22,15 +23,17 @@ public class SecurityConfig {
 
     private final UserDetailsService userDetailsService;
     private final JwtUtils jwtUtils;
+    private final PrincipalRevalidator principalRevalidator;
 
-    public SecurityConfig(UserDetailsService userDetailsService, JwtUtils jwtUtils) {
+    public SecurityConfig(UserDetailsService userDetailsService, JwtUtils jwtUtils, PrincipalRevalidator principalRevalidator) {
         this.userDetailsService = userDetailsService;
         this.jwtUtils = jwtUtils;
+        this.principalRevalidator = principalRevalidator;
     }
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
-        JwtAuthenticationFilter jwtFilter = new JwtAuthenticationFilter(jwtUtils, userDetailsService);
+        JwtAuthenticationFilter jwtFilter = new JwtAuthenticationFilter(jwtUtils, userDetailsService, principalRevalidator);
 
         http
             .cors(Customizer.withDefaults())
@@ -39,9 +42,13 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 // CORS preflight
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                // Completion of a streamed response (export) whose request was already authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
 
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/v3/api-docs", "/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html", "/swagger-ui/index.html", "/error").permitAll()
+                // Metrics reveal traffic and user counts across all teams
+                .requestMatchers("/actuator/metrics", "/actuator/metrics/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
             .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
@@ -0,0 +1,107 @@
+package com.taskmanager.api.security;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Answers "may this user perform this operation on this task" with one query
+ * over primary-key and unique indexes, instead of loading the task, its team,
+ * the team admin and the assignee collection.
+ */
+@Component
+public class TaskPermissions {
+
+    /** Task mutations subject to a permission check. */
+    public enum Operation {
+        /** Creator, team admin or assignee. */
+        UPDATE,
+        /** Creator, team admin or assignee. */
+        CHANGE_STATUS,
+        /** Creator or team admin. */
+        DELETE,
+        /** Creator or team admin. */
+        ASSIGN,
+        /** Creator, team admin, or the user being unassigned. */
+        UNASSIGN
+    }
+
+    /** The acting user's relation to a task, and the team the task belongs to. */
+    public record Access(Long actorId, Long teamId, boolean creator, boolean teamAdmin, boolean assignee) {
+
+        public boolean allows(Operation operation) {
+            return allows(operation, null);
+        }
+
+        /** @param targetUserId the user being unassigned, for {@link Operation#UNASSIGN} */
+        public boolean allows(Operation operation, Long targetUserId) {
+            return switch (operation) {
+                case UPDATE, CHANGE_STATUS -> creator || teamAdmin || assignee;
+                case DELETE, ASSIGN -> creator || teamAdmin;
+                case UNASSIGN -> creator || teamAdmin || actorId.equals(targetUserId);
+            };
+        }
+    }
+
+    private static final String ACCESS_SQL = """
+            SELECT t.team_id,
+                   t.creator_id = ? AS is_creator,
+                   EXISTS (SELECT 1 FROM teams tm WHERE tm.id = t.team_id AND tm.admin_id = ?) AS is_admin,
+                   EXISTS (SELECT 1 FROM tasks_assignees ta WHERE ta.task_id = t.id AND ta.user_id = ?) AS is_assignee
+            FROM tasks t
+            WHERE t.id = ?
+            """;
+
+    private static final String ACCESS_ALL_SQL = """
+            SELECT t.id, t.team_id,
+                   t.creator_id = ? AS is_creator,
+                   EXISTS (SELECT 1 FROM teams tm WHERE tm.id = t.team_id AND tm.admin_id = ?) AS is_admin,
+                   EXISTS (SELECT 1 FROM tasks_assignees ta WHERE ta.task_id = t.id AND ta.user_id = ?) AS is_assignee
+            FROM tasks t
+            WHERE t.id = ANY (?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskPermissions(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** The user's access to the task, or empty when the task does not exist. */
+    public Optional<Access> load(Long taskId, Long actorId) {
+        List<Access> rows = jdbcTemplate.query(ACCESS_SQL, (rs, i) -> new Access(
+                actorId,
+                (Long) rs.getObject("team_id"),
+                rs.getBoolean("is_creator"),
+                rs.getBoolean("is_admin"),
+                rs.getBoolean("is_assignee")), actorId, actorId, actorId, taskId);
+        return rows.stream().findFirst();
+    }
+
+    /** The user's access to each of the tasks, keyed by task id; missing tasks have no entry. */
+    public Map<Long, Access> loadAll(Collection<Long> taskIds, Long actorId) {
+        Map<Long, Access> access = new HashMap<>();
+        if (taskIds.isEmpty()) {
+            return access;
+        }
+        jdbcTemplate.query(ACCESS_ALL_SQL, ps -> {
+            ps.setLong(1, actorId);
+            ps.setLong(2, actorId);
+            ps.setLong(3, actorId);
+            ps.setArray(4, ps.getConnection().createArrayOf("bigint", taskIds.toArray()));
+        }, rs -> {
+            access.put(rs.getLong("id"), new Access(
+                    actorId,
+                    (Long) rs.getObject("team_id"),
+                    rs.getBoolean("is_creator"),
+                    rs.getBoolean("is_admin"),
+                    rs.getBoolean("is_assignee")));
+        });
+        return access;
+    }
+}
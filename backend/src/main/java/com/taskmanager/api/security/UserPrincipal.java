@@ -12,15 +12,30 @@ import java.util.stream.Collectors;
 
 public class UserPrincipal implements UserDetails {
 
-    private final User user;
+    private final Long id;
+    private final String username;
+    private final String password;
     private final Collection<? extends GrantedAuthority> authorities;
 
     public UserPrincipal(User user) {
-        this.user = user;
+        this.id = user.getId();
+        this.username = user.getUsername();
+        this.password = user.getPassword();
         Set<Role> roles = user.getRoles();
         this.authorities = roles.stream().map(r -> new SimpleGrantedAuthority(r.getName())).collect(Collectors.toSet());
     }
 
+    /**
+     * Principal rebuilt from verified JWT claims. It carries no password and is
+     * never backed by a loaded `User` entity.
+     */
+    public UserPrincipal(Long id, String username, Collection<String> roleNames) {
+        this.id = id;
+        this.username = username;
+        this.password = null;
+        this.authorities = roleNames.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toSet());
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
@@ -28,12 +43,12 @@ public class UserPrincipal implements UserDetails {
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {
-        return user.getUsername();
+        return username;
     }
 
     @Override
@@ -57,6 +72,10 @@ public class UserPrincipal implements UserDetails {
     }
 
     public Long getId() {
-        return user.getId();
+        return id;
+    }
+
+    public Set<String> getRoleNames() {
+        return authorities.stream().map(GrantedAuthority::getAuthority).collect(Collectors.toSet());
     }
 }
@@ -0,0 +1,24 @@
+package com.taskmanager.api.service;
+
+import com.taskmanager.api.event.OutboxMessage;
+
+import java.util.List;
+
+/**
+ * Receives task and team events from the outbox dispatcher. Every consumer
+ * bean gets every event, tracked separately per consumer: a batch counts as
+ * delivered to a consumer when its {@link #deliver} returns, and is retried
+ * later for that consumer alone when it throws. Delivery is at least once: a
+ * retry, or a dispatcher that stops before recording the outcome, hands the
+ * same messages over again, so consumers should skip message ids they have
+ * already seen. Names must be unique and stable across restarts, since
+ * pending events are stored under them.
+ */
+public interface OutboxConsumer {
+
+    /** Short name used in logs, metrics and the outbox rows kept for this consumer. */
+    String name();
+
+    /** Deliver a batch of messages; throw to have the whole batch retried for this consumer. */
+    void deliver(List<OutboxMessage> messages) throws Exception;
+}
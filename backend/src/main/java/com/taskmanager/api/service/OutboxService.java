@@ -0,0 +1,17 @@
+package com.taskmanager.api.service;
+
+/**
+ * Reliable delivery of task and team events to downstream consumers. Events
+ * are stored in the outbox by the transaction that makes the change, so they
+ * exist exactly when the change commits, and background dispatchers hand them
+ * to every {@link OutboxConsumer}.
+ */
+public interface OutboxService {
+
+    /**
+     * Claim one batch of due events, deliver each to the consumer it is kept
+     * for and delete it, or reschedule it when that consumer fails. Returns
+     * how many events were claimed; 0 means nothing is due.
+     */
+    int dispatchBatch();
+}
@@ -0,0 +1,35 @@
+package com.taskmanager.api.service;
+
+import com.taskmanager.api.dto.CursorPage;
+import com.taskmanager.api.dto.TaskActivityDto;
+import com.taskmanager.api.repository.TaskActivityRepository.Entry;
+
+import java.util.List;
+
+/**
+ * The activity history of tasks: who changed which field, status or
+ * assignee, and when.
+ */
+public interface TaskActivityService {
+
+    /**
+     * Record the changes made by the current write. Depending on the
+     * configured durability they are inserted in the caller's transaction or
+     * queued once it commits and written shortly after.
+     */
+    void record(List<Entry> entries);
+
+    /**
+     * A page of the task's history, newest first. Team members, the team
+     * admin, the creator and assignees may read it. Pass the returned
+     * `nextCursor` to fetch older entries.
+     */
+    CursorPage<TaskActivityDto> getActivity(Long taskId, Long actorId, String cursor, int limit);
+
+    /**
+     * Create the monthly history partitions for the coming months and for
+     * months whose entries fell into the default partition, and drop those
+     * older than the retention; returns how many were dropped.
+     */
+    int maintainPartitions();
+}
@@ -0,0 +1,22 @@
+package com.taskmanager.api.service;
+
+import com.taskmanager.api.dto.BatchResult;
+import com.taskmanager.api.dto.TaskCreateDto;
+
+import java.util.List;
+
+/**
+ * Bulk task operations. Each item is validated and authorized on its own;
+ * the accepted items are applied together in one transaction and every item
+ * gets a result entry.
+ */
+public interface TaskBatchService {
+    /** Create the given tasks on behalf of the acting user. */
+    BatchResult createTasks(List<TaskCreateDto> items, Long actorId);
+    /** Set the status of every listed task the acting user may change. */
+    BatchResult changeStatus(List<Long> taskIds, String status, Long actorId);
+    /** Assign a user to every listed task the acting user may assign on. */
+    BatchResult assignUser(List<Long> taskIds, Long userId, Long actorId);
+    /** Unassign a user from every listed task the acting user may unassign on. */
+    BatchResult unassignUser(List<Long> taskIds, Long userId, Long actorId);
+}
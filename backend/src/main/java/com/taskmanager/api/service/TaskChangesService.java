@@ -0,0 +1,20 @@
+package com.taskmanager.api.service;
+
+import com.taskmanager.api.dto.TaskChangesDto;
+
+/**
+ * Delta sync of a team's tasks, so clients can stay current without
+ * re-reading whole task lists.
+ */
+public interface TaskChangesService {
+
+    /**
+     * Tasks of the team created, updated or deleted after the watermark; a
+     * null watermark starts a full sync. Only team members and the team admin
+     * may read them.
+     */
+    TaskChangesDto getChanges(Long teamId, String watermark, int limit, Long actorId);
+
+    /** Drop deletion tombstones older than the sync retention; returns how many were removed. */
+    int purgeExpiredDeletions();
+}
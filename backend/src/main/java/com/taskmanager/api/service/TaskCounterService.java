@@ -0,0 +1,22 @@
+package com.taskmanager.api.service;
+
+import com.taskmanager.api.dto.TaskCountsDto;
+
+/**
+ * Reads the incrementally maintained task counters and repairs them when they
+ * drift from the tasks they count.
+ */
+public interface TaskCounterService {
+
+    /** Counts of the team's tasks by status and priority. Only team members and the team admin may read them. */
+    TaskCountsDto getTeamCounts(Long teamId, Long actorId);
+
+    /** Counts of the tasks assigned to the user, by status. */
+    TaskCountsDto getAssigneeCounts(Long userId);
+
+    /**
+     * Recount all tasks and correct the counters that differ. Returns the
+     * number of corrected counters, or -1 when another repair was running.
+     */
+    int reconcile();
+}
@@ -0,0 +1,48 @@
+package com.taskmanager.api.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Exports all of a team's tasks in a single response. Rows are written to the
+ * output as they are read, so memory use does not grow with the team size.
+ */
+public interface TaskExportService {
+
+    /** Supported export encodings. */
+    enum Format {
+        /** One JSON object per line. */
+        NDJSON("application/x-ndjson", "ndjson"),
+        /** RFC 4180 CSV with a header row. */
+        CSV("text/csv;charset=UTF-8", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        /** Case-insensitive lookup of a request parameter value. */
+        public static Format fromParam(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) return format;
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + value);
+        }
+    }
+
+    /** Check that the team exists and the acting user is one of its members or its admin. */
+    void checkCanExport(Long teamId, Long actorId);
+    /** Write every task of the team to `out` in the given format. */
+    void exportTeamTasks(Long teamId, Format format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,17 @@
+package com.taskmanager.api.service;
+
+import com.taskmanager.api.dto.ImportJobStatus;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Bulk import of tasks from CSV files. The upload is accepted as a job that
+ * runs in the background; its progress and outcome are read with {@link #getJob}.
+ */
+public interface TaskImportService {
+    /** Store the CSV upload and queue its import into the team on behalf of the acting user. */
+    ImportJobStatus startImport(Long teamId, InputStream csv, Long actorId) throws IOException;
+    /** Current state of an import job started by the acting user. */
+    ImportJobStatus getJob(String jobId, Long actorId);
+}
@@ -1,31 +1,37 @@
 package com.taskmanager.api.service;
 
+import com.taskmanager.api.dto.CursorPage;
+import com.taskmanager.api.dto.TaskDto;
+import com.taskmanager.api.dto.TaskSearchHit;
+import com.taskmanager.api.dto.TaskSearchCriteria;
 import com.taskmanager.api.entity.Task;
 
-import java.util.List;
-
 /**
  * Service interface providing task-related operations.
  * Implementations handle business rules and permission checks for creating,
  * updating, assigning and listing tasks.
  */
 public interface TaskService {
-    /** Create and persist a new task. */
-    Task createTask(Task task);
+    /** Create and persist a new task created by the acting user. */
+    Task createTask(Task task, Long actorId);
     /** Find a task by its id or throw if not found. */
     Task findById(Long id);
-    /** List tasks associated with a specific team. */
-    List<Task> listTasksByTeam(Long teamId);
-    /** List tasks assigned to a specific user. */
-    List<Task> listTasksByUser(Long userId);
-    /** Update a task by id using provided DTO and acting username for permission checks. */
-    Task updateTask(Long id, com.taskmanager.api.dto.TaskDto dto, String username);
-    /** Delete a task by id, acting username is used for authorization. */
-    void deleteTask(Long id, String username);
-    /** Assign a user to a task; acting username is used for authorization. */
-    Task assignUserToTask(Long taskId, Long userId, String username);
-    /** Unassign a user from a task; acting username is used for authorization. */
-    Task unassignUserFromTask(Long taskId, Long userId, String username);
-    /** Change the status of a task; acting username is used for authorization. */
-    Task changeTaskStatus(Long taskId, String status, String username);
+    /** List one keyset page of a team's tasks, newest first; a null cursor starts at the first page. */
+    CursorPage<TaskDto> listTasksByTeam(Long teamId, String cursor, int limit);
+    /** List one keyset page of tasks assigned to a user, optionally filtered by status. */
+    CursorPage<TaskDto> listTasksByUser(Long userId, String status, String cursor, int limit);
+    /** Search tasks in the acting user's teams; pages are continued with the returned cursor. */
+    CursorPage<TaskDto> searchTasks(TaskSearchCriteria criteria, Long actorId, String cursor, int limit);
+    /** Full-text search of titles and descriptions in the acting user's teams, best match first. */
+    CursorPage<TaskSearchHit> searchText(String query, Long actorId, String cursor, int limit);
+    /** Update a task by id using provided DTO and acting user id for permission checks. */
+    Task updateTask(Long id, TaskDto dto, Long actorId);
+    /** Delete a task by id, acting user id is used for authorization. */
+    void deleteTask(Long id, Long actorId);
+    /** Assign a user to a task; acting user id is used for authorization. */
+    Task assignUserToTask(Long taskId, Long userId, Long actorId);
+    /** Unassign a user from a task; acting user id is used for authorization. */
+    Task unassignUserFromTask(Long taskId, Long userId, Long actorId);
+    /** Change the status of a task; acting user id is used for authorization. */
+    Task changeTaskStatus(Long taskId, String status, Long actorId);
 }
@@ -0,0 +1,15 @@
+package com.taskmanager.api.service;
+
+import com.taskmanager.api.dto.TeamAnalyticsDto;
+
+/**
+ * Cycle time, lead time and throughput of a team's tasks.
+ */
+public interface TeamAnalyticsService {
+
+    /**
+     * Flow metrics of the team over the last `weeks` weeks, the current one
+     * included. Only team members and the team admin may read them.
+     */
+    TeamAnalyticsDto getAnalytics(Long teamId, int weeks, Long actorId);
+}
@@ -0,0 +1,21 @@
+package com.taskmanager.api.service;
+
+import com.taskmanager.api.dto.TeamBurndownDto;
+
+/**
+ * Daily open and done task counts of teams, for burndown charts.
+ */
+public interface TeamBurndownService {
+
+    /**
+     * The team's counts for the last `days` days, today included. Only team
+     * members and the team admin may read them.
+     */
+    TeamBurndownDto getBurndown(Long teamId, int days, Long actorId);
+
+    /**
+     * Snapshot every team for the past days not snapshotted yet, and drop
+     * snapshots older than the retention; returns the rows written.
+     */
+    int snapshot();
+}
@@ -0,0 +1,17 @@
+package com.taskmanager.api.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes committed task changes of a team to subscribed clients as
+ * Server-Sent Events.
+ */
+public interface TeamEventService {
+
+    /**
+     * Open an event stream of the team's task changes. Only team members and
+     * the team admin may subscribe. Events carry the change type and task ids;
+     * clients load the tasks themselves, e.g. through the task delta sync.
+     */
+    SseEmitter subscribe(Long teamId, Long actorId);
+}
@@ -1,5 +1,8 @@
 package com.taskmanager.api.service;
 
+import com.taskmanager.api.dto.CursorPage;
+import com.taskmanager.api.dto.TeamDto;
+import com.taskmanager.api.dto.UserDto;
 import com.taskmanager.api.entity.Team;
 
 import java.util.List;
@@ -11,21 +14,21 @@ import java.util.List;
 public interface TeamService {
     /** Create and persist a new team. */
     Team createTeam(Team team);
-    /** Add a member to a team; acting username used for authorization. */
-    Team addMember(Long teamId, Long userId, String username);
+    /** Add a member to a team; acting user id used for authorization. */
+    Team addMember(Long teamId, Long userId, Long actorId);
     /** List all teams a user belongs to. */
     List<Team> listTeamsForUser(Long userId);
-    /** Find a user entity by username (helper used by controllers). */
-    com.taskmanager.api.entity.User findUserByUsername(String username);
 
-    /** Update team metadata (name/description); acting username used for authorization. */
-    Team updateTeam(Long teamId, com.taskmanager.api.dto.TeamDto dto, String username);
-    /** Delete a team; acting username used for authorization. */
-    void deleteTeam(Long teamId, String username);
-    /** Remove a member from a team; acting username used for authorization. */
-    Team removeMember(Long teamId, Long userId, String username);
-    /** List members of a team. */
-    List<com.taskmanager.api.entity.User> listMembers(Long teamId);
-    /** Convert a User entity to UserDto. */
-    com.taskmanager.api.dto.UserDto toUserDto(com.taskmanager.api.entity.User user);
+    /** Update team metadata (name/description); acting user id used for authorization. */
+    Team updateTeam(Long teamId, TeamDto dto, Long actorId);
+    /** Delete a team; acting user id used for authorization. */
+    void deleteTeam(Long teamId, Long actorId);
+    /** Remove a member from a team; acting user id used for authorization. */
+    Team removeMember(Long teamId, Long userId, Long actorId);
+    /** One page of a team's members by user id; `cursor` is the previous page's `nextCursor`, null for the first page. */
+    CursorPage<UserDto> listMembers(Long teamId, String cursor, int limit);
+    /** Convert a team to `TeamDto` with its member and task counts. */
+    TeamDto toDto(Team team);
+    /** Convert teams to `TeamDto`s, reading the counts of all of them in one query. */
+    List<TeamDto> toDtos(List<Team> teams);
 }
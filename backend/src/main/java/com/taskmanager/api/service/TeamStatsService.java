@@ -0,0 +1,15 @@
+package com.taskmanager.api.service;
+
+import com.taskmanager.api.dto.TeamStatsDto;
+
+/**
+ * Aggregated task counts for a team overview.
+ */
+public interface TeamStatsService {
+
+    /**
+     * Task counts of the team by status, priority and assignee. Only team
+     * members and the team admin may read them.
+     */
+    TeamStatsDto getStats(Long teamId, Long actorId);
+}
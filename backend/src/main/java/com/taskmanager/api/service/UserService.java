@@ -22,4 +22,6 @@ public interface UserService {
     User updateUser(Long userId, com.taskmanager.api.dto.UserUpdateDto userDto);
     /** Delete a user by id. */
     void deleteUser(Long userId);
+    /** Replace the user's roles with the named roles. */
+    User updateRoles(Long userId, java.util.Set<String> roleNames);
 }
@@ -6,6 +6,7 @@ import com.taskmanager.api.entity.User;
 import com.taskmanager.api.service.AuthService;
 import com.taskmanager.api.service.UserService;
 import com.taskmanager.api.security.JwtUtils;
+import com.taskmanager.api.security.UserPrincipal;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -41,8 +42,9 @@ public class AuthServiceImpl implements AuthService {
                 new UsernamePasswordAuthenticationToken(authRequest.getUsernameOrEmail(), authRequest.getPassword())
         );
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        String username = authentication.getName();
-        String token = jwtUtils.generateToken(username);
+        String token = authentication.getPrincipal() instanceof UserPrincipal principal
+                ? jwtUtils.generateToken(principal)
+                : jwtUtils.generateToken(authentication.getName());
         return new AuthResponse(token);
     }
 
@@ -58,7 +60,7 @@ public class AuthServiceImpl implements AuthService {
         user.setEmail(email);
         user.setDisplayName(displayName != null && !displayName.isBlank() ? displayName : username);
         User created = userService.createUser(user, password);
-        String token = jwtUtils.generateToken(created.getUsername());
+        String token = jwtUtils.generateToken(new UserPrincipal(created));
         return new AuthResponse(token);
     }
 }
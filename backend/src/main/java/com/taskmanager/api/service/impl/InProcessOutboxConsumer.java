@@ -0,0 +1,36 @@
+package com.taskmanager.api.service.impl;
+
+import com.taskmanager.api.event.OutboxMessage;
+import com.taskmanager.api.service.OutboxConsumer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Republishes outbox messages as application events, so components of this
+ * service can react to committed changes with an `@EventListener` for
+ * {@link OutboxMessage}. Listeners run on the dispatcher thread; one that
+ * throws has the batch retried for this consumer only.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.in-process.enabled", havingValue = "true", matchIfMissing = true)
+public class InProcessOutboxConsumer implements OutboxConsumer {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public InProcessOutboxConsumer(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public String name() {
+        return "in-process";
+    }
+
+    @Override
+    public void deliver(List<OutboxMessage> messages) {
+        messages.forEach(eventPublisher::publishEvent);
+    }
+}
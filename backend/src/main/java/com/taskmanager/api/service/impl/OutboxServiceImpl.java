@@ -0,0 +1,224 @@
+package com.taskmanager.api.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.api.event.OutboxMessage;
+import com.taskmanager.api.event.TaskChangedEvent;
+import com.taskmanager.api.event.TeamChangedEvent;
+import com.taskmanager.api.repository.OutboxRepository;
+import com.taskmanager.api.repository.OutboxRepository.Claimed;
+import com.taskmanager.api.service.OutboxConsumer;
+import com.taskmanager.api.service.OutboxService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of {@link OutboxService}.
+ * <p>
+ * {@link TaskChangedEvent}s and {@link TeamChangedEvent}s are appended to the
+ * outbox just before the publishing transaction commits, one row per consumer
+ * in a single insert, so the write path never waits for a consumer.
+ * `parallelism` dispatcher threads each claim up to `batch-size` due rows with
+ * `FOR UPDATE SKIP LOCKED` in one short statement that also leases them for
+ * `claim-timeout`, then deliver them without holding a transaction or a pooled
+ * connection. Each consumer gets its own rows: the ones it accepted are
+ * deleted and the ones it failed are rescheduled with a backoff, so an outage
+ * of one consumer neither delays nor repeats delivery to the others. A
+ * dispatcher that dies mid-delivery leaves its rows to be claimed again once
+ * the lease expires. Dispatchers keep claiming while batches come back full
+ * and otherwise poll every `poll-interval`. Throughput is published as the
+ * `outbox.delivered` counter and the time from write to delivery as
+ * `outbox.lag`, failed deliveries as `outbox.failed`, all tagged with the
+ * consumer, and the time per batch as the `outbox.batch` timer.
+ */
+@Service
+public class OutboxServiceImpl implements OutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxServiceImpl.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxRepository outboxRepository;
+    private final Map<String, OutboxConsumer> consumers;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int parallelism;
+    private final Duration pollInterval;
+    private final Duration backoff;
+    private final Duration maxBackoff;
+    private final Duration claimTimeout;
+    private final boolean dispatcherEnabled;
+    private final ExecutorService dispatchers;
+    private final Map<String, Counter> delivered;
+    private final Map<String, Counter> failed;
+    private final Map<String, Timer> lag;
+    private final Timer batchTimer;
+    private volatile boolean running = true;
+
+    public OutboxServiceImpl(OutboxRepository outboxRepository, List<OutboxConsumer> consumers, ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.outbox.batch-size:100}") int batchSize,
+                             @Value("${app.outbox.parallelism:2}") int parallelism,
+                             @Value("${app.outbox.poll-interval:500ms}") Duration pollInterval,
+                             @Value("${app.outbox.retry-backoff:1s}") Duration backoff,
+                             @Value("${app.outbox.max-retry-backoff:1h}") Duration maxBackoff,
+                             @Value("${app.outbox.claim-timeout:5m}") Duration claimTimeout,
+                             @Value("${app.outbox.dispatcher.enabled:true}") boolean dispatcherEnabled) {
+        if (batchSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("app.outbox.batch-size and app.outbox.parallelism must be positive");
+        }
+        this.outboxRepository = outboxRepository;
+        this.consumers = new LinkedHashMap<>();
+        for (OutboxConsumer consumer : consumers) {
+            if (this.consumers.putIfAbsent(consumer.name(), consumer) != null) {
+                throw new IllegalStateException("Two outbox consumers are named " + consumer.name());
+            }
+        }
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.pollInterval = pollInterval;
+        this.backoff = backoff;
+        this.maxBackoff = maxBackoff;
+        this.claimTimeout = claimTimeout;
+        this.dispatcherEnabled = dispatcherEnabled;
+        AtomicInteger threads = new AtomicInteger();
+        this.dispatchers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "outbox-dispatcher-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.delivered = perConsumer(name -> Counter.builder("outbox.delivered").tag("consumer", name)
+                .description("Outbox events delivered to the consumer").register(meterRegistry));
+        this.failed = perConsumer(name -> Counter.builder("outbox.failed").tag("consumer", name)
+                .description("Outbox events whose delivery failed and was rescheduled").register(meterRegistry));
+        this.lag = perConsumer(name -> Timer.builder("outbox.lag").tag("consumer", name)
+                .description("Time from writing an outbox event to its delivery").register(meterRegistry));
+        this.batchTimer = Timer.builder("outbox.batch")
+                .description("Time to claim, deliver and settle one outbox batch").register(meterRegistry);
+    }
+
+    private <T> Map<String, T> perConsumer(Function<String, T> meter) {
+        return consumers.keySet().stream().collect(Collectors.toMap(name -> name, meter));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void startDispatchers() {
+        if (!dispatcherEnabled) return;
+        if (!consumers.isEmpty()) {
+            int copied = outboxRepository.fanOutUnassigned(consumers.keySet());
+            if (copied > 0) log.info("Copied {} outbox events written before per-consumer delivery to {}", copied, consumers.keySet());
+        }
+        for (int i = 0; i < parallelism; i++) {
+            dispatchers.execute(this::dispatchLoop);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        dispatchers.shutdownNow();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        append("task." + event.type().name().toLowerCase(Locale.ROOT), event.teamId(), event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onTeamChanged(TeamChangedEvent event) {
+        append("team." + event.type().name().toLowerCase(Locale.ROOT), event.teamId(), event);
+    }
+
+    private void append(String type, Long teamId, Object event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + type + " event", e);
+        }
+        outboxRepository.append(type, teamId, payload, LocalDateTime.now(), consumers.keySet());
+    }
+
+    @Override
+    public int dispatchBatch() {
+        if (consumers.isEmpty()) return 0;
+        long start = System.nanoTime();
+        List<Claimed> claimed = outboxRepository.claim(consumers.keySet(), batchSize, LocalDateTime.now(), claimTimeout);
+        if (claimed.isEmpty()) return 0;
+        Map<String, List<OutboxMessage>> byConsumer = new LinkedHashMap<>();
+        for (Claimed row : claimed) {
+            byConsumer.computeIfAbsent(row.consumer(), name -> new ArrayList<>()).add(row.message());
+        }
+        List<Long> deliveredIds = new ArrayList<>();
+        byConsumer.forEach((name, batch) -> {
+            OutboxConsumer consumer = consumers.get(name);
+            List<Long> ids = batch.stream().map(OutboxMessage::id).toList();
+            try {
+                consumer.deliver(batch);
+            } catch (Exception e) {
+                log.warn("Outbox consumer {} failed to deliver {} events; retrying later", name, batch.size(), e);
+                outboxRepository.reschedule(ids, describe(consumer, e), LocalDateTime.now(), backoff, maxBackoff);
+                failed.get(name).increment(batch.size());
+                return;
+            }
+            deliveredIds.addAll(ids);
+            LocalDateTime now = LocalDateTime.now();
+            Timer consumerLag = lag.get(name);
+            batch.forEach(message -> consumerLag.record(Duration.between(message.createdAt(), now)));
+            delivered.get(name).increment(batch.size());
+        });
+        if (!deliveredIds.isEmpty()) outboxRepository.delete(deliveredIds);
+        batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return claimed.size();
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                if (dispatchBatch() < batchSize) pause();
+            } catch (RuntimeException e) {
+                log.warn("Outbox dispatch failed", e);
+                pause();
+            }
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(pollInterval.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static String describe(OutboxConsumer consumer, Exception e) {
+        String error = consumer.name() + ": " + e;
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
@@ -0,0 +1,206 @@
+package com.taskmanager.api.service.impl;
+
+import com.taskmanager.api.dto.CursorPage;
+import com.taskmanager.api.dto.KeysetCursor;
+import com.taskmanager.api.dto.TaskActivityDto;
+import com.taskmanager.api.repository.TaskActivityRepository;
+import com.taskmanager.api.repository.TaskActivityRepository.Entry;
+import com.taskmanager.api.repository.TeamRepository;
+import com.taskmanager.api.security.TaskPermissions;
+import com.taskmanager.api.service.TaskActivityService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of {@link TaskActivityService}.
+ * <p>
+ * With `durability=async` (the default), entries are offered to a bounded
+ * queue once the task write commits, and one writer thread inserts whatever
+ * has accumulated in multi-row batches, so a write pays no history insert.
+ * Queued entries are lost if the process dies before they are written, and
+ * the history trails the task by the time the queue takes to drain. When the
+ * queue is full, the committing thread writes its entries itself instead of
+ * dropping them. With `durability=transactional`, entries are inserted in the
+ * task's transaction and commit or roll back with it. The queue depth, the
+ * rows written, the writes that overflowed the queue and the entries lost to
+ * failed inserts are published as `task.activity.*` metrics.
+ */
+@Service
+public class TaskActivityServiceImpl implements TaskActivityService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskActivityServiceImpl.class);
+
+    static final int MAX_PAGE_SIZE = 200;
+    /** Months ahead of the current one that always have a partition. */
+    private static final int PARTITIONS_AHEAD = 2;
+
+    enum Durability { ASYNC, TRANSACTIONAL }
+
+    private final TaskActivityRepository taskActivityRepository;
+    private final TaskPermissions taskPermissions;
+    private final TeamRepository teamRepository;
+    private final Durability durability;
+    private final int batchSize;
+    private final int retentionMonths;
+    private final BlockingQueue<Entry> queue;
+    private final ExecutorService writer;
+    private final Counter written;
+    private final Counter overflowed;
+    private final Counter failed;
+
+    public TaskActivityServiceImpl(TaskActivityRepository taskActivityRepository, TaskPermissions taskPermissions,
+                                   TeamRepository teamRepository, MeterRegistry meterRegistry,
+                                   @Value("${app.tasks.activity.durability:async}") String durability,
+                                   @Value("${app.tasks.activity.queue-capacity:10000}") int queueCapacity,
+                                   @Value("${app.tasks.activity.batch-size:500}") int batchSize,
+                                   @Value("${app.tasks.activity.retention-months:0}") int retentionMonths) {
+        this.taskActivityRepository = taskActivityRepository;
+        this.taskPermissions = taskPermissions;
+        this.teamRepository = teamRepository;
+        this.durability = Durability.valueOf(durability.toUpperCase(Locale.ROOT));
+        this.batchSize = batchSize;
+        this.retentionMonths = retentionMonths;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-activity-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("task.activity.queued", queue, BlockingQueue::size)
+                .description("Activity entries waiting to be written").register(meterRegistry);
+        this.written = Counter.builder("task.activity.written")
+                .description("Activity entries written to the history").register(meterRegistry);
+        this.overflowed = Counter.builder("task.activity.overflowed")
+                .description("Activity entries written by the committing thread because the queue was full").register(meterRegistry);
+        this.failed = Counter.builder("task.activity.failed")
+                .description("Queued activity entries lost because their insert failed").register(meterRegistry);
+        if (this.durability == Durability.ASYNC) {
+            writer.execute(this::writeLoop);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        writer.shutdownNow();
+        writer.awaitTermination(10, TimeUnit.SECONDS);
+        List<Entry> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) write(rest);
+    }
+
+    @Override
+    public void record(List<Entry> entries) {
+        if (entries.isEmpty()) return;
+        if (durability == Durability.TRANSACTIONAL) {
+            taskActivityRepository.insert(entries);
+            written.increment(entries.size());
+        } else if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(entries);
+                }
+            });
+        } else {
+            enqueue(entries);
+        }
+    }
+
+    private void enqueue(List<Entry> entries) {
+        List<Entry> overflow = null;
+        for (Entry entry : entries) {
+            if (!queue.offer(entry)) {
+                if (overflow == null) overflow = new ArrayList<>();
+                overflow.add(entry);
+            }
+        }
+        if (overflow != null) {
+            overflowed.increment(overflow.size());
+            write(overflow);
+        }
+    }
+
+    private void writeLoop() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(List<Entry> entries) {
+        try {
+            taskActivityRepository.insert(entries);
+            written.increment(entries.size());
+        } catch (RuntimeException e) {
+            failed.increment(entries.size());
+            log.warn("Could not write {} task activity entries", entries.size(), e);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TaskActivityDto> getActivity(Long taskId, Long actorId, String cursor, int limit) {
+        if (limit < 1) throw new IllegalArgumentException("limit must be positive");
+        int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        TaskPermissions.Access access = taskPermissions.load(taskId, actorId)
+                .orElseThrow(() -> new NoSuchElementException("Task not found"));
+        boolean involved = access.creator() || access.teamAdmin() || access.assignee();
+        if (!involved && (access.teamId() == null || !teamRepository.isMemberOrAdmin(access.teamId(), actorId))) {
+            throw new AccessDeniedException("Only team members can view the task's activity");
+        }
+        // Fetch one extra row to learn whether another page exists without a COUNT query.
+        List<TaskActivityDto> rows = taskActivityRepository.findPage(taskId, after, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<TaskActivityDto> items = rows.subList(0, pageSize);
+        TaskActivityDto last = items.get(pageSize - 1);
+        return new CursorPage<>(items, new KeysetCursor(last.getCreatedAt(), last.getId()).encode());
+    }
+
+    @Override
+    @Scheduled(fixedDelay = 1, initialDelay = 0, timeUnit = TimeUnit.DAYS)
+    public int maintainPartitions() {
+        YearMonth now = YearMonth.now();
+        // Entries of months without a partition went to the default partition; give them their own first.
+        for (YearMonth month : taskActivityRepository.findMonthsInDefaultPartition()) {
+            log.info("Creating the task activity partition for {}, whose entries were written to the default partition", month);
+            taskActivityRepository.createPartitions(month, month);
+        }
+        taskActivityRepository.createPartitions(now, now.plusMonths(PARTITIONS_AHEAD));
+        if (retentionMonths <= 0) return 0;
+        int dropped = taskActivityRepository.dropPartitionsBefore(now.minusMonths(retentionMonths));
+        if (dropped > 0) log.info("Dropped {} task activity partitions older than {} months", dropped, retentionMonths);
+        return dropped;
+    }
+}
@@ -0,0 +1,305 @@
+package com.taskmanager.api.service.impl;
+
+import com.taskmanager.api.dto.BatchItemResult;
+import com.taskmanager.api.dto.BatchResult;
+import com.taskmanager.api.dto.TaskCreateDto;
+import com.taskmanager.api.entity.Priority;
+import com.taskmanager.api.entity.Status;
+import com.taskmanager.api.event.TaskChangedEvent;
+import com.taskmanager.api.repository.TaskActivityRepository.Entry;
+import com.taskmanager.api.repository.TaskBatchRepository;
+import com.taskmanager.api.repository.TaskBatchRepository.NewTask;
+import com.taskmanager.api.repository.TaskCounterRepository;
+import com.taskmanager.api.repository.TaskCounterRepository.TaskState;
+import com.taskmanager.api.repository.TaskRepository;
+import com.taskmanager.api.repository.TaskTransitionRepository;
+import com.taskmanager.api.repository.TaskTransitionRepository.Transition;
+import com.taskmanager.api.repository.TeamRepository;
+import com.taskmanager.api.repository.UserRepository;
+import com.taskmanager.api.security.TaskPermissions;
+import com.taskmanager.api.security.TaskPermissions.Operation;
+import com.taskmanager.api.service.TaskActivityService;
+import com.taskmanager.api.service.TaskBatchService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Implementation of {@link TaskBatchService}. Team and assignee ids of the
+ * whole batch are checked with one query each, then all valid tasks and their
+ * assignee rows are streamed in through {@link TaskBatchRepository} with COPY.
+ * Unlike single creation, an unknown assignee id rejects the item instead of
+ * being dropped silently, so callers can tell what was applied.
+ * Bulk status and assignment changes authorize every task with one
+ * {@link TaskPermissions#loadAll} query and then apply a single set-based write.
+ * Every write also updates the {@link TaskCounterRepository} counters,
+ * status changes are stored by {@link TaskTransitionRepository}, and the
+ * history entries of all tasks in the batch go to {@link TaskActivityService}
+ * in one call.
+ */
+@Service
+public class TaskBatchServiceImpl implements TaskBatchService {
+
+    private final Validator validator;
+    private final TaskBatchRepository taskBatchRepository;
+    private final TaskRepository taskRepository;
+    private final TeamRepository teamRepository;
+    private final UserRepository userRepository;
+    private final TaskPermissions taskPermissions;
+    private final TaskCounterRepository taskCounterRepository;
+    private final TaskTransitionRepository taskTransitionRepository;
+    private final TaskActivityService taskActivityService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxSize;
+
+    public TaskBatchServiceImpl(Validator validator, TaskBatchRepository taskBatchRepository, TaskRepository taskRepository,
+                                TeamRepository teamRepository, UserRepository userRepository, TaskPermissions taskPermissions,
+                                TaskCounterRepository taskCounterRepository, TaskTransitionRepository taskTransitionRepository,
+                                TaskActivityService taskActivityService, ApplicationEventPublisher eventPublisher,
+                                @Value("${app.tasks.batch.max-size:5000}") int maxSize) {
+        this.validator = validator;
+        this.taskBatchRepository = taskBatchRepository;
+        this.taskRepository = taskRepository;
+        this.teamRepository = teamRepository;
+        this.userRepository = userRepository;
+        this.taskPermissions = taskPermissions;
+        this.taskCounterRepository = taskCounterRepository;
+        this.taskTransitionRepository = taskTransitionRepository;
+        this.taskActivityService = taskActivityService;
+        this.eventPublisher = eventPublisher;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    @Transactional
+    public BatchResult createTasks(List<TaskCreateDto> items, Long actorId) {
+        requireBatchSize(items);
+        Set<Long> teamIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        for (TaskCreateDto item : items) {
+            if (item == null) continue;
+            if (item.getTeamId() != null) teamIds.add(item.getTeamId());
+            if (item.getAssigneeIds() != null) item.getAssigneeIds().stream().filter(Objects::nonNull).forEach(userIds::add);
+        }
+        Set<Long> existingTeams = teamIds.isEmpty() ? Set.of() : new HashSet<>(teamRepository.findExistingIds(teamIds));
+        Set<Long> existingUsers = userIds.isEmpty() ? Set.of() : new HashSet<>(userRepository.findExistingIds(userIds));
+
+        BatchItemResult[] results = new BatchItemResult[items.size()];
+        List<Integer> accepted = new ArrayList<>();
+        List<NewTask> tasks = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            TaskCreateDto item = items.get(i);
+            String error = validate(item, existingTeams, existingUsers);
+            if (error != null) {
+                results[i] = BatchItemResult.rejected(i, error);
+                continue;
+            }
+            accepted.add(i);
+            tasks.add(new NewTask(item.getTitle(), item.getDescription(), actorId, item.getTeamId(), item.getDueDate(),
+                    item.getPriority() != null ? Priority.valueOf(item.getPriority()) : Priority.MEDIUM,
+                    item.getAssigneeIds() != null ? List.copyOf(new LinkedHashSet<>(item.getAssigneeIds())) : List.of()));
+        }
+        if (!tasks.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = taskBatchRepository.insert(tasks, now);
+            for (int j = 0; j < ids.size(); j++) {
+                int index = accepted.get(j);
+                results[index] = BatchItemResult.ok(index, ids.get(j));
+            }
+            taskCounterRepository.record(List.of(), tasks.stream()
+                    .map(t -> new TaskState(t.teamId(), Status.TO_DO.name(), t.priority().name(), Set.copyOf(t.assigneeIds())))
+                    .toList());
+            Map<Long, List<Long>> created = new LinkedHashMap<>();
+            List<Entry> entries = new ArrayList<>(ids.size());
+            for (int j = 0; j < ids.size(); j++) {
+                Long teamId = tasks.get(j).teamId();
+                if (teamId != null) created.computeIfAbsent(teamId, t -> new ArrayList<>()).add(ids.get(j));
+                entries.add(new Entry(ids.get(j), teamId, actorId, TaskChangedEvent.Type.CREATED, null, null, null, now));
+            }
+            taskActivityService.record(entries);
+            publishChanged(created, TaskChangedEvent.Type.CREATED);
+        }
+        return new BatchResult(List.of(results));
+    }
+
+    @Override
+    @Transactional
+    public BatchResult changeStatus(List<Long> taskIds, String status, Long actorId) {
+        Status newStatus = Status.fromParam(status);
+        return applyToPermitted(taskIds, actorId, Operation.CHANGE_STATUS, null,
+                "You do not have permission to change the status of this task", TaskChangedEvent.Type.STATUS_CHANGED,
+                ids -> taskRepository.updateStatusForIds(ids, newStatus, LocalDateTime.now()),
+                state -> state.withStatus(newStatus));
+    }
+
+    @Override
+    @Transactional
+    public BatchResult assignUser(List<Long> taskIds, Long userId, Long actorId) {
+        if (!userRepository.existsById(userId)) {
+            throw new NoSuchElementException("User to assign not found");
+        }
+        return applyToPermitted(taskIds, actorId, Operation.ASSIGN, null, "Only admin or creator can assign users",
+                TaskChangedEvent.Type.ASSIGNED,
+                ids -> {
+                    if (taskRepository.addAssigneeToTasks(ids, userId) > 0) {
+                        taskRepository.touch(ids, LocalDateTime.now());
+                    }
+                },
+                state -> state.withAssignee(userId));
+    }
+
+    @Override
+    @Transactional
+    public BatchResult unassignUser(List<Long> taskIds, Long userId, Long actorId) {
+        return applyToPermitted(taskIds, actorId, Operation.UNASSIGN, userId,
+                "Only admin, creator, or the user themselves can unassign", TaskChangedEvent.Type.UNASSIGNED,
+                ids -> {
+                    // As for a single unassign, only a no-op delete needs the existence check.
+                    if (taskRepository.removeAssigneeFromTasks(ids, userId) > 0) {
+                        taskRepository.touch(ids, LocalDateTime.now());
+                    } else if (!userRepository.existsById(userId)) {
+                        throw new NoSuchElementException("User to unassign not found");
+                    }
+                },
+                state -> state.withoutAssignee(userId));
+    }
+
+    /**
+     * Authorize every listed task with one query, apply `write` to the ids that
+     * passed, and report an outcome per request position. Duplicate ids share
+     * the outcome of their task. `change` describes the write's effect on one
+     * task, for the counters and the history; `type` is reported to the tasks' teams.
+     */
+    private BatchResult applyToPermitted(List<Long> taskIds, Long actorId, Operation operation, Long targetUserId,
+                                         String deniedMessage, TaskChangedEvent.Type type,
+                                         Consumer<Set<Long>> write, UnaryOperator<TaskState> change) {
+        requireBatchSize(taskIds);
+        Set<Long> distinct = new LinkedHashSet<>();
+        taskIds.stream().filter(Objects::nonNull).forEach(distinct::add);
+        Map<Long, TaskPermissions.Access> access = taskPermissions.loadAll(distinct, actorId);
+
+        Set<Long> permitted = new LinkedHashSet<>();
+        Map<Long, List<Long>> byTeam = new LinkedHashMap<>();
+        BatchItemResult[] results = new BatchItemResult[taskIds.size()];
+        for (int i = 0; i < taskIds.size(); i++) {
+            Long taskId = taskIds.get(i);
+            TaskPermissions.Access a = taskId != null ? access.get(taskId) : null;
+            if (taskId == null) {
+                results[i] = BatchItemResult.rejected(i, "Task id must not be null");
+            } else if (a == null) {
+                results[i] = new BatchItemResult(i, taskId, "Task not found");
+            } else if (!a.allows(operation, targetUserId)) {
+                results[i] = new BatchItemResult(i, taskId, deniedMessage);
+            } else {
+                results[i] = BatchItemResult.ok(i, taskId);
+                if (permitted.add(taskId) && a.teamId() != null) {
+                    byTeam.computeIfAbsent(a.teamId(), t -> new ArrayList<>()).add(taskId);
+                }
+            }
+        }
+        if (!permitted.isEmpty()) {
+            Map<Long, TaskState> before = taskCounterRepository.lockStates(permitted);
+            write.accept(permitted);
+            List<TaskState> after = new ArrayList<>();
+            List<Transition> transitions = new ArrayList<>();
+            List<Entry> entries = new ArrayList<>();
+            LocalDateTime now = LocalDateTime.now();
+            before.forEach((taskId, state) -> {
+                TaskState changed = change.apply(state);
+                after.add(changed);
+                if (!changed.status().equals(state.status())) {
+                    transitions.add(new Transition(taskId, state.teamId(), state.status(), changed.status(), now));
+                }
+                addActivity(entries, taskId, actorId, state, changed, now);
+            });
+            taskCounterRepository.record(before.values(), after);
+            taskTransitionRepository.record(transitions);
+            taskActivityService.record(entries);
+            publishChanged(byTeam, type);
+        }
+        return new BatchResult(List.of(results));
+    }
+
+    /** Adds the status and assignment entries that take one task from `before` to `after`, as for a single update. */
+    private static void addActivity(List<Entry> entries, Long taskId, Long actorId, TaskState before, TaskState after,
+                                    LocalDateTime now) {
+        Long teamId = before.teamId();
+        if (!after.status().equals(before.status())) {
+            // The counters' NONE stands for a missing status, which the history records as null.
+            String oldStatus = TaskCounterRepository.NONE.equals(before.status()) ? null : before.status();
+            entries.add(new Entry(taskId, teamId, actorId, TaskChangedEvent.Type.STATUS_CHANGED, "status",
+                    oldStatus, after.status(), now));
+        }
+        for (Long userId : after.assigneeIds()) {
+            if (!before.assigneeIds().contains(userId)) {
+                entries.add(new Entry(taskId, teamId, actorId, TaskChangedEvent.Type.ASSIGNED, "assignee",
+                        null, userId.toString(), now));
+            }
+        }
+        for (Long userId : before.assigneeIds()) {
+            if (!after.assigneeIds().contains(userId)) {
+                entries.add(new Entry(taskId, teamId, actorId, TaskChangedEvent.Type.UNASSIGNED, "assignee",
+                        userId.toString(), null, now));
+            }
+        }
+    }
+
+    private void publishChanged(Map<Long, List<Long>> taskIdsByTeam, TaskChangedEvent.Type type) {
+        taskIdsByTeam.forEach((teamId, ids) -> eventPublisher.publishEvent(new TaskChangedEvent(teamId, type, ids)));
+    }
+
+    private void requireBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one task");
+        }
+        if (items.size() > maxSize) {
+            throw new IllegalArgumentException("Batch must not contain more than " + maxSize + " tasks");
+        }
+    }
+
+    /** The reason an item cannot be created, or null when it is valid. */
+    private String validate(TaskCreateDto item, Set<Long> existingTeams, Set<Long> existingUsers) {
+        if (item == null) {
+            return "Task must not be null";
+        }
+        Set<ConstraintViolation<TaskCreateDto>> violations = validator.validate(item);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<TaskCreateDto> v = violations.iterator().next();
+            return v.getPropertyPath() + ": " + v.getMessage();
+        }
+        if (item.getPriority() != null) {
+            try {
+                Priority.valueOf(item.getPriority());
+            } catch (IllegalArgumentException e) {
+                return "Unknown priority: " + item.getPriority();
+            }
+        }
+        if (item.getTeamId() != null && !existingTeams.contains(item.getTeamId())) {
+            return "Team does not exist: " + item.getTeamId();
+        }
+        if (item.getAssigneeIds() != null) {
+            for (Long userId : item.getAssigneeIds()) {
+                if (userId == null || !existingUsers.contains(userId)) {
+                    return "User does not exist: " + userId;
+                }
+            }
+        }
+        return null;
+    }
+}
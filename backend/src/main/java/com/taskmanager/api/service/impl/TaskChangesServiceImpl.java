@@ -0,0 +1,106 @@
+package com.taskmanager.api.service.impl;
+
+import com.taskmanager.api.dto.ChangeWatermark;
+import com.taskmanager.api.dto.TaskChangesDto;
+import com.taskmanager.api.dto.TaskDto;
+import com.taskmanager.api.repository.TaskChangesRepository;
+import com.taskmanager.api.repository.TaskChangesRepository.Change;
+import com.taskmanager.api.repository.TaskQueryRepository;
+import com.taskmanager.api.repository.TeamRepository;
+import com.taskmanager.api.service.TaskChangesService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of {@link TaskChangesService}.
+ * <p>
+ * `updated_at` is stamped before a write commits, so a change can become
+ * visible after a poll that already passed its timestamp. Each delta poll
+ * therefore starts `overlap` before the watermark and may repeat a few recent
+ * changes; writes that take longer than the overlap to commit can be missed
+ * until the task changes again. A watermark older than the tombstone
+ * retention cannot report every deletion and restarts as a full sync.
+ */
+@Service
+public class TaskChangesServiceImpl implements TaskChangesService {
+
+    static final int MAX_PAGE_SIZE = 500;
+
+    private final TaskChangesRepository taskChangesRepository;
+    private final TaskQueryRepository taskQueryRepository;
+    private final TeamRepository teamRepository;
+    private final Duration overlap;
+    private final Duration retention;
+
+    public TaskChangesServiceImpl(TaskChangesRepository taskChangesRepository, TaskQueryRepository taskQueryRepository,
+                                  TeamRepository teamRepository,
+                                  @Value("${app.tasks.changes.overlap:30s}") Duration overlap,
+                                  @Value("${app.tasks.changes.retention:7d}") Duration retention) {
+        this.taskChangesRepository = taskChangesRepository;
+        this.taskQueryRepository = taskQueryRepository;
+        this.teamRepository = teamRepository;
+        this.overlap = overlap;
+        this.retention = retention;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskChangesDto getChanges(Long teamId, String watermark, int limit, Long actorId) {
+        if (limit < 1) throw new IllegalArgumentException("limit must be positive");
+        int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+        ChangeWatermark from = ChangeWatermark.decode(watermark);
+        if (!teamRepository.isMemberOrAdmin(teamId, actorId)) {
+            if (!teamRepository.existsById(teamId)) {
+                throw new NoSuchElementException("Team not found");
+            }
+            throw new AccessDeniedException("Only team members can sync team tasks");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        boolean reset = from == null || (!from.isContinuation() && from.since().isBefore(now.minus(retention)));
+        List<Change> rows;
+        if (reset) {
+            from = ChangeWatermark.after(now);
+            rows = taskChangesRepository.findChanged(teamId, null, 0, pageSize + 1);
+        } else if (from.isContinuation()) {
+            rows = taskChangesRepository.findChanged(teamId, from.updatedAt(), from.id(), pageSize + 1);
+        } else {
+            rows = taskChangesRepository.findChanged(teamId, from.since().minus(overlap), 0, pageSize + 1);
+        }
+
+        boolean more = rows.size() > pageSize;
+        List<Change> page = more ? rows.subList(0, pageSize) : rows;
+        List<TaskDto> changed = taskQueryRepository.findByIds(page.stream().map(Change::id).toList());
+
+        TaskChangesDto changes = new TaskChangesDto();
+        changes.setChanged(changed);
+        changes.setHasMore(more);
+        changes.setReset(reset);
+        if (more) {
+            Change last = page.get(page.size() - 1);
+            changes.setDeletedTaskIds(List.of());
+            changes.setWatermark(from.continueAfter(last.updatedAt(), last.id()).encode());
+        } else {
+            // A full sync reports the deletions made while it was paging.
+            changes.setDeletedTaskIds(taskChangesRepository.findDeletedIds(teamId, from.since().minus(overlap)));
+            changes.setWatermark(ChangeWatermark.after(now).encode());
+        }
+        return changes;
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelay = 1, initialDelay = 1, timeUnit = TimeUnit.HOURS)
+    public int purgeExpiredDeletions() {
+        return taskChangesRepository.purgeDeletions(LocalDateTime.now().minus(retention));
+    }
+}
@@ -0,0 +1,111 @@
+package com.taskmanager.api.service.impl;
+
+import com.taskmanager.api.dto.TaskCountsDto;
+import com.taskmanager.api.entity.Priority;
+import com.taskmanager.api.entity.Status;
+import com.taskmanager.api.repository.TaskCounterRepository;
+import com.taskmanager.api.repository.TeamRepository;
+import com.taskmanager.api.service.TaskCounterService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Implementation of {@link TaskCounterService}. Counters are written by the
+ * task services in the transaction of each write; this class only reads them
+ * and runs the periodic reconciliation. Corrected counters are logged and
+ * counted in the `task.counters.repaired` metric, tagged by `scope`, so drift
+ * from writes that bypass the services shows up.
+ */
+@Service
+public class TaskCounterServiceImpl implements TaskCounterService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskCounterServiceImpl.class);
+
+    private final TaskCounterRepository taskCounterRepository;
+    private final TeamRepository teamRepository;
+    private final Counter teamRepairs;
+    private final Counter assigneeRepairs;
+
+    public TaskCounterServiceImpl(TaskCounterRepository taskCounterRepository, TeamRepository teamRepository, MeterRegistry meterRegistry) {
+        this.taskCounterRepository = taskCounterRepository;
+        this.teamRepository = teamRepository;
+        this.teamRepairs = Counter.builder("task.counters.repaired").tag("scope", "team")
+                .description("Team task counters corrected by reconciliation").register(meterRegistry);
+        this.assigneeRepairs = Counter.builder("task.counters.repaired").tag("scope", "assignee")
+                .description("Assignee task counters corrected by reconciliation").register(meterRegistry);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskCountsDto getTeamCounts(Long teamId, Long actorId) {
+        if (!teamRepository.isMemberOrAdmin(teamId, actorId)) {
+            if (!teamRepository.existsById(teamId)) {
+                throw new NoSuchElementException("Team not found");
+            }
+            throw new AccessDeniedException("Only team members can view team task counts");
+        }
+        Map<String, Long> byStatus = zeroed(Status.values());
+        Map<String, Long> byPriority = zeroed(Priority.values());
+        byPriority.put(TaskCounterRepository.NONE, 0L);
+        long total = 0;
+        for (Map.Entry<String, Map<String, Long>> status : taskCounterRepository.teamCounts(teamId).entrySet()) {
+            for (Map.Entry<String, Long> priority : status.getValue().entrySet()) {
+                byStatus.merge(status.getKey(), priority.getValue(), Long::sum);
+                byPriority.merge(priority.getKey(), priority.getValue(), Long::sum);
+                total += priority.getValue();
+            }
+        }
+        TaskCountsDto counts = new TaskCountsDto();
+        counts.setTotal(total);
+        counts.setByStatus(byStatus);
+        counts.setByPriority(byPriority);
+        return counts;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskCountsDto getAssigneeCounts(Long userId) {
+        Map<String, Long> byStatus = zeroed(Status.values());
+        taskCounterRepository.assigneeCounts(userId).forEach((status, count) -> byStatus.merge(status, count, Long::sum));
+        TaskCountsDto counts = new TaskCountsDto();
+        counts.setTotal(byStatus.values().stream().mapToLong(Long::longValue).sum());
+        counts.setByStatus(byStatus);
+        return counts;
+    }
+
+    private static Map<String, Long> zeroed(Enum<?>[] keys) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Enum<?> key : keys) counts.put(key.name(), 0L);
+        return counts;
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${app.task-counters.reconcile-interval:PT1H}",
+            initialDelayString = "${app.task-counters.reconcile-interval:PT1H}")
+    public int reconcile() {
+        if (!taskCounterRepository.tryLockRepair()) {
+            log.debug("Task counter reconciliation skipped; another one is running");
+            return -1;
+        }
+        int teams = taskCounterRepository.repairTeamCounters();
+        int assignees = taskCounterRepository.repairAssigneeCounters();
+        taskCounterRepository.deleteEmptyCounters();
+        teamRepairs.increment(teams);
+        assigneeRepairs.increment(assignees);
+        if (teams + assignees > 0) {
+            log.info("Task counter reconciliation corrected {} team and {} assignee counters", teams, assignees);
+        }
+        return teams + assignees;
+    }
+}
@@ -0,0 +1,201 @@
+package com.taskmanager.api.service.impl;
+
+import com.taskmanager.api.entity.Priority;
+import com.taskmanager.api.entity.Status;
+import com.taskmanager.api.repository.TaskImportRepository.StagedRow;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streaming parser for task import files: RFC 4180 CSV with a header row, read
+ * one record at a time. Columns are matched by header name, so the export
+ * format (`id`, `creator_id` and `updated_at` are ignored) can be imported
+ * as-is. Only `title` is required; `status`, `priority`, `due_date`,
+ * `created_at`, `description` and `assignee_ids` (separated by spaces, commas
+ * or semicolons) are optional. A row that fails validation is returned with
+ * its error; a malformed file (no title column, unterminated quote, runaway
+ * record) throws {@link IllegalArgumentException}.
+ */
+public final class TaskCsvParser {
+
+    /** A data row: either ready for staging or the reason it was rejected. */
+    public record Parsed(long line, StagedRow row, String error) {
+    }
+
+    static final int MAX_TEXT_LENGTH = 255;
+    static final int MAX_RECORD_CHARS = 64 * 1024;
+    private static final int NONE = -2;
+
+    private final Reader in;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private long line = 1;
+    private long recordLine;
+    private int pending = NONE;
+
+    /** Read the header row of `in`, which should be buffered. */
+    public TaskCsvParser(Reader in) throws IOException {
+        this.in = in;
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("Import file is empty");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+            if (i == 0 && name.startsWith("\uFEFF")) name = name.substring(1);
+            columns.putIfAbsent(name, i);
+        }
+        if (!columns.containsKey("title")) {
+            throw new IllegalArgumentException("Import file has no title column");
+        }
+    }
+
+    /** The next data row, or null at the end of the file. Blank lines are skipped. */
+    public Parsed next() throws IOException {
+        List<String> fields;
+        do {
+            fields = readRecord();
+            if (fields == null) return null;
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+        try {
+            return new Parsed(recordLine, toRow(recordLine, fields), null);
+        } catch (IllegalArgumentException e) {
+            return new Parsed(recordLine, null, e.getMessage());
+        }
+    }
+
+    private StagedRow toRow(long at, List<String> fields) {
+        String title = value(fields, "title");
+        if (title == null || title.isBlank()) throw new IllegalArgumentException("Title is required");
+        return new StagedRow(at,
+                text(title.trim(), "title"),
+                text(value(fields, "description"), "description"),
+                constant(value(fields, "status"), "status", Status.class),
+                constant(value(fields, "priority"), "priority", Priority.class),
+                dateTime(value(fields, "due_date"), "due_date"),
+                dateTime(value(fields, "created_at"), "created_at"),
+                ids(value(fields, "assignee_ids")));
+    }
+
+    /** The field under the named column; null when the column is absent or the field is empty. */
+    private String value(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) return null;
+        String value = fields.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String text(String value, String column) {
+        if (value != null && value.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException(column + " is longer than " + MAX_TEXT_LENGTH + " characters");
+        }
+        return value;
+    }
+
+    private static <E extends Enum<E>> String constant(String value, String column, Class<E> type) {
+        if (value == null) return null;
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT)).name();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    /** ISO date-time, or an ISO date taken as the start of that day. */
+    private static LocalDateTime dateTime(String value, String column) {
+        if (value == null) return null;
+        String trimmed = value.trim();
+        try {
+            return trimmed.length() == 10 ? LocalDate.parse(trimmed).atStartOfDay() : LocalDateTime.parse(trimmed);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private static List<Long> ids(String value) {
+        if (value == null || value.isBlank()) return List.of();
+        Set<Long> ids = new LinkedHashSet<>();
+        for (String part : value.trim().split("[\\s,;]+")) {
+            try {
+                ids.add(Long.parseLong(part));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid assignee id: " + part);
+            }
+        }
+        return List.copyOf(ids);
+    }
+
+    /** The fields of the next record, or null at the end of the input. */
+    private List<String> readRecord() throws IOException {
+        recordLine = line;
+        int c = read();
+        if (c == -1) return null;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int length = 0;
+        while (true) {
+            if (c == '"' && field.isEmpty() && !quoted) {
+                quoted = true;
+                while (true) {
+                    c = read();
+                    if (c == -1) {
+                        throw new IllegalArgumentException("Unterminated quoted field starting on line " + recordLine);
+                    }
+                    if (c == '"') {
+                        c = read();
+                        if (c != '"') break;
+                    }
+                    field.append((char) c);
+                    if (++length > MAX_RECORD_CHARS) throw tooLong();
+                }
+                // c is the character after the closing quote
+                continue;
+            }
+            if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                quoted = false;
+                c = read();
+                continue;
+            }
+            if (c == '\r') {
+                c = read();
+                if (c != '\n') pending = c;
+                c = '\n';
+            }
+            if (c == '\n' || c == -1) {
+                fields.add(field.toString());
+                return fields;
+            }
+            field.append((char) c);
+            if (++length > MAX_RECORD_CHARS) throw tooLong();
+            c = read();
+        }
+    }
+
+    private IllegalArgumentException tooLong() {
+        return new IllegalArgumentException("Record starting on line " + recordLine + " is longer than " + MAX_RECORD_CHARS + " characters");
+    }
+
+    private int read() throws IOException {
+        if (pending != NONE) {
+            int c = pending;
+            pending = NONE;
+            return c;
+        }
+        int c = in.read();
+        if (c == '\n') line++;
+        return c;
+    }
+}
@@ -0,0 +1,145 @@
+package com.taskmanager.api.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.taskmanager.api.repository.TaskExportRepository;
+import com.taskmanager.api.repository.TaskExportRepository.ExportRow;
+import com.taskmanager.api.repository.TeamRepository;
+import com.taskmanager.api.service.TaskExportService;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of {@link TaskExportService}. Rows from
+ * {@link TaskExportRepository#forEachInTeam} are encoded one at a time into a
+ * buffered writer over the response stream; the read-only transaction keeps
+ * the database cursor open for the duration of the export.
+ */
+@Service
+public class TaskExportServiceImpl implements TaskExportService {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER =
+            "id,title,description,status,priority,due_date,creator_id,created_at,updated_at,assignee_ids\r\n";
+
+    private final TaskExportRepository taskExportRepository;
+    private final TeamRepository teamRepository;
+    private final ObjectWriter rowWriter;
+
+    public TaskExportServiceImpl(TaskExportRepository taskExportRepository, TeamRepository teamRepository, ObjectMapper objectMapper) {
+        this.taskExportRepository = taskExportRepository;
+        this.teamRepository = teamRepository;
+        // Let the buffer decide when bytes reach the client instead of flushing after every row.
+        this.rowWriter = objectMapper.writerFor(ExportRow.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void checkCanExport(Long teamId, Long actorId) {
+        if (!teamRepository.existsById(teamId)) {
+            throw new NoSuchElementException("Team not found");
+        }
+        if (!teamRepository.isMemberOrAdmin(teamId, actorId)) {
+            throw new AccessDeniedException("Only team members can export the team's tasks");
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTeamTasks(Long teamId, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        switch (format) {
+            case NDJSON -> {
+                JsonGenerator generator = rowWriter.createGenerator(writer);
+                // Rows are separated by the newline written after each one, not the default space.
+                generator.setRootValueSeparator(null);
+                forEachRow(teamId, row -> {
+                    rowWriter.writeValue(generator, row);
+                    generator.writeRaw('\n');
+                });
+                generator.flush();
+            }
+            case CSV -> {
+                writer.write(CSV_HEADER);
+                forEachRow(teamId, row -> writeCsvRow(writer, row));
+            }
+        }
+        writer.flush();
+    }
+
+    private interface RowWriter {
+        void write(ExportRow row) throws IOException;
+    }
+
+    private void forEachRow(Long teamId, RowWriter encoder) throws IOException {
+        Consumer<ExportRow> sink = row -> {
+            try {
+                encoder.write(row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        try {
+            taskExportRepository.forEachInTeam(teamId, sink);
+        } catch (UncheckedIOException e) {
+            // Most often the client went away; surface it as the I/O failure it is.
+            throw e.getCause();
+        }
+    }
+
+    private static void writeCsvRow(Writer writer, ExportRow row) throws IOException {
+        writer.write(String.valueOf(row.id()));
+        writer.write(',');
+        writeCsvField(writer, row.title());
+        writer.write(',');
+        writeCsvField(writer, row.description());
+        writer.write(',');
+        writeCsvField(writer, row.status());
+        writer.write(',');
+        writeCsvField(writer, row.priority());
+        writer.write(',');
+        writeCsvField(writer, row.dueDate() == null ? null : row.dueDate().toString());
+        writer.write(',');
+        writeCsvField(writer, row.creatorId() == null ? null : row.creatorId().toString());
+        writer.write(',');
+        writeCsvField(writer, row.createdAt() == null ? null : row.createdAt().toString());
+        writer.write(',');
+        writeCsvField(writer, row.updatedAt() == null ? null : row.updatedAt().toString());
+        writer.write(',');
+        for (int i = 0; i < row.assigneeIds().size(); i++) {
+            if (i > 0) writer.write(' ');
+            writer.write(String.valueOf(row.assigneeIds().get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    /** Quote the value only when it contains a delimiter, quote or line break; null is an empty field. */
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) return;
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,288 @@
+package com.taskmanager.api.service.impl;
+
+import com.taskmanager.api.dto.ImportJobStatus;
+import com.taskmanager.api.dto.ImportJobStatus.State;
+import com.taskmanager.api.dto.ImportRowError;
+import com.taskmanager.api.event.TaskChangedEvent;
+import com.taskmanager.api.repository.TaskImportRepository;
+import com.taskmanager.api.repository.TaskImportRepository.StagingWriter;
+import com.taskmanager.api.repository.TeamRepository;
+import com.taskmanager.api.service.TaskImportService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementation of {@link TaskImportService}. The upload is copied to a
+ * temporary file while the request is open, so memory use does not depend on
+ * its size and the job can outlive the request. A small pool of worker threads
+ * then runs each job in one transaction: {@link TaskCsvParser} validates rows
+ * as they are read and valid rows are streamed into a COPY staging table, then
+ * {@link TaskImportRepository} merges them with set-based SQL. Job state is
+ * kept in memory and forgotten a while after the job finishes.
+ */
+@Service
+public class TaskImportServiceImpl implements TaskImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImportServiceImpl.class);
+
+    /** Rejected rows reported per job; the rest are only counted. */
+    static final int MAX_ERROR_SAMPLES = 100;
+    private static final int COPY_BUFFER_BYTES = 64 * 1024;
+
+    private final TaskImportRepository taskImportRepository;
+    private final TeamRepository teamRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long maxBytes;
+    private final Duration retention;
+    private final ExecutorService workers;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public TaskImportServiceImpl(TaskImportRepository taskImportRepository, TeamRepository teamRepository,
+                                 PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+                                 @Value("${app.tasks.import.max-bytes:268435456}") long maxBytes,
+                                 @Value("${app.tasks.import.concurrency:2}") int concurrency,
+                                 @Value("${app.tasks.import.retention:1h}") Duration retention) {
+        this.taskImportRepository = taskImportRepository;
+        this.teamRepository = teamRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.maxBytes = maxBytes;
+        this.retention = retention;
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "task-import-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    @Override
+    public ImportJobStatus startImport(Long teamId, InputStream csv, Long actorId) throws IOException {
+        if (!teamRepository.existsById(teamId)) {
+            throw new NoSuchElementException("Team not found");
+        }
+        if (!teamRepository.isMemberOrAdmin(teamId, actorId)) {
+            throw new AccessDeniedException("Only team members can import tasks into the team");
+        }
+        Path file = Files.createTempFile("task-import-", ".csv");
+        long size;
+        try {
+            size = spool(csv, file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        forgetFinishedJobs();
+        Job job = new Job(UUID.randomUUID().toString(), teamId, actorId, size);
+        jobs.put(job.id, job);
+        workers.execute(() -> run(job, file));
+        return job.snapshot();
+    }
+
+    @Override
+    public ImportJobStatus getJob(String jobId, Long actorId) {
+        Job job = jobs.get(jobId);
+        if (job == null || !job.actorId.equals(actorId)) {
+            throw new NoSuchElementException("Import job not found");
+        }
+        return job.snapshot();
+    }
+
+    private long spool(InputStream in, Path file) throws IOException {
+        long total = 0;
+        byte[] buffer = new byte[COPY_BUFFER_BYTES];
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (int n; (n = in.read(buffer)) != -1; ) {
+                total += n;
+                if (total > maxBytes) {
+                    throw new IllegalArgumentException("Import file is larger than " + maxBytes + " bytes");
+                }
+                out.write(buffer, 0, n);
+            }
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Import file is empty");
+        }
+        return total;
+    }
+
+    private void run(Job job, Path file) {
+        try (CountingInputStream counted = new CountingInputStream(Files.newInputStream(file));
+             BufferedReader reader = new BufferedReader(new InputStreamReader(counted, StandardCharsets.UTF_8), COPY_BUFFER_BYTES)) {
+            job.state = State.PARSING;
+            int imported = transactionTemplate.execute(status -> {
+                try {
+                    stage(job, counted, reader);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Staging import rows failed: " + e.getMessage(), e);
+                }
+                job.state = State.MERGING;
+                taskImportRepository.rejectUnknownAssignees(line -> job.reject(line, "Unknown assignee id"));
+                int merged = taskImportRepository.merge(job.teamId, job.actorId, LocalDateTime.now());
+                eventPublisher.publishEvent(new TaskChangedEvent(job.teamId, TaskChangedEvent.Type.IMPORTED, List.of()));
+                return merged;
+            });
+            job.finish(State.COMPLETED, imported, null);
+        } catch (IllegalArgumentException e) {
+            job.finish(State.FAILED, 0, e.getMessage());
+        } catch (Exception e) {
+            log.warn("Task import {} into team {} failed", job.id, job.teamId, e);
+            job.finish(State.FAILED, 0, "Import failed; no tasks were imported");
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete import file {}", file, e);
+            }
+        }
+    }
+
+    private void stage(Job job, CountingInputStream counted, BufferedReader reader) throws IOException, SQLException {
+        TaskCsvParser parser = new TaskCsvParser(reader);
+        StagingWriter staging = taskImportRepository.openStaging();
+        try {
+            for (TaskCsvParser.Parsed parsed; (parsed = parser.next()) != null; ) {
+                job.rowsRead++;
+                job.bytesRead = counted.count;
+                if (parsed.error() != null) {
+                    job.reject(parsed.line(), parsed.error());
+                } else {
+                    staging.add(parsed.row());
+                }
+            }
+            job.bytesRead = counted.count;
+            staging.finish();
+        } catch (IOException | SQLException | RuntimeException e) {
+            staging.cancel();
+            throw e;
+        }
+    }
+
+    private void forgetFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    /** Mutable job state, written by its worker thread and read by status requests. */
+    private static final class Job {
+        final String id;
+        final Long teamId;
+        final Long actorId;
+        final long bytesTotal;
+        final LocalDateTime createdAt = LocalDateTime.now();
+        final List<ImportRowError> errors = new ArrayList<>();
+        volatile State state = State.QUEUED;
+        volatile long bytesRead;
+        volatile long rowsRead;
+        volatile long rowsImported;
+        volatile long rowsRejected;
+        volatile String message;
+        volatile LocalDateTime finishedAt;
+
+        Job(String id, Long teamId, Long actorId, long bytesTotal) {
+            this.id = id;
+            this.teamId = teamId;
+            this.actorId = actorId;
+            this.bytesTotal = bytesTotal;
+        }
+
+        void reject(long line, String error) {
+            rowsRejected++;
+            synchronized (errors) {
+                if (errors.size() < MAX_ERROR_SAMPLES) errors.add(new ImportRowError(line, error));
+            }
+        }
+
+        void finish(State outcome, int imported, String failure) {
+            rowsImported = imported;
+            message = failure;
+            finishedAt = LocalDateTime.now();
+            state = outcome;
+        }
+
+        ImportJobStatus snapshot() {
+            ImportJobStatus status = new ImportJobStatus();
+            status.setId(id);
+            status.setTeamId(teamId);
+            status.setState(state);
+            status.setBytesRead(bytesRead);
+            status.setBytesTotal(bytesTotal);
+            status.setProgress(switch (state) {
+                case QUEUED -> 0;
+                case PARSING -> (int) (100 * bytesRead / bytesTotal);
+                default -> 100;
+            });
+            status.setRowsRead(rowsRead);
+            status.setRowsImported(rowsImported);
+            status.setRowsRejected(rowsRejected);
+            synchronized (errors) {
+                status.setErrors(List.copyOf(errors));
+            }
+            status.setMessage(message);
+            status.setCreatedAt(createdAt);
+            status.setFinishedAt(finishedAt);
+            return status;
+        }
+    }
+
+    /** Counts the bytes read so far, for progress reporting. */
+    private static final class CountingInputStream extends FilterInputStream {
+        volatile long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+    }
+}
@@ -1,149 +1,390 @@
 package com.taskmanager.api.service.impl;
 
+import com.taskmanager.api.dto.CursorPage;
+import com.taskmanager.api.dto.KeysetCursor;
+import com.taskmanager.api.dto.RankCursor;
+import com.taskmanager.api.dto.SortKeyCursor;
+import com.taskmanager.api.dto.TaskDto;
+import com.taskmanager.api.dto.TaskSearchHit;
+import com.taskmanager.api.dto.TaskSearchCriteria;
 import com.taskmanager.api.entity.Task;
 import com.taskmanager.api.entity.Team;
 import com.taskmanager.api.entity.User;
 import com.taskmanager.api.entity.Priority;
 import com.taskmanager.api.entity.Status;
+import com.taskmanager.api.event.TaskChangedEvent;
+import com.taskmanager.api.repository.TaskActivityRepository.Entry;
+import com.taskmanager.api.repository.TaskChangesRepository;
+import com.taskmanager.api.repository.TaskCounterRepository;
+import com.taskmanager.api.repository.TaskCounterRepository.TaskState;
+import com.taskmanager.api.repository.TaskQueryRepository;
 import com.taskmanager.api.repository.TaskRepository;
+import com.taskmanager.api.repository.TaskSearchRepository;
+import com.taskmanager.api.repository.TaskSearchRepository.SortedId;
+import com.taskmanager.api.repository.TaskSpecifications;
+import com.taskmanager.api.repository.TaskSpecifications.SortField;
+import com.taskmanager.api.repository.TaskTextSearchRepository;
+import com.taskmanager.api.repository.TaskTransitionRepository;
+import com.taskmanager.api.repository.TaskTransitionRepository.Transition;
 import com.taskmanager.api.repository.TeamRepository;
 import com.taskmanager.api.repository.UserRepository;
+import com.taskmanager.api.security.TaskPermissions;
+import com.taskmanager.api.security.TaskPermissions.Operation;
+import com.taskmanager.api.service.TaskActivityService;
 import com.taskmanager.api.service.TaskService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of {@link com.taskmanager.api.service.TaskService}.
  * Contains task-related business logic and enforces permission checks
  * for operations such as update, assign, unassign and status changes.
+ * Permissions are resolved by {@link TaskPermissions} in one query; single-field
+ * mutations then write only the affected rows. Every write publishes a
+ * {@link TaskChangedEvent} for the task's team and moves the task between
+ * {@link TaskCounterRepository} counters in the same transaction. Assignment
+ * changes also bump `updated_at` and deletions leave a tombstone, for the
+ * delta sync in {@link TaskChangesRepository}. What changed, field by field,
+ * is handed to {@link TaskActivityService} for the task's history, and status
+ * changes are stored by {@link TaskTransitionRepository} for team analytics.
  */
 @Service
 public class TaskServiceImpl implements TaskService {
 
+    static final int MAX_PAGE_SIZE = 200;
+
     private final TaskRepository taskRepository;
+    private final TaskQueryRepository taskQueryRepository;
+    private final TaskSearchRepository taskSearchRepository;
+    private final TaskTextSearchRepository taskTextSearchRepository;
     private final TeamRepository teamRepository;
     private final UserRepository userRepository;
+    private final TaskPermissions taskPermissions;
+    private final TaskCounterRepository taskCounterRepository;
+    private final TaskChangesRepository taskChangesRepository;
+    private final TaskActivityService taskActivityService;
+    private final TaskTransitionRepository taskTransitionRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TaskServiceImpl(TaskRepository taskRepository, TeamRepository teamRepository, UserRepository userRepository) {
+    public TaskServiceImpl(TaskRepository taskRepository, TaskQueryRepository taskQueryRepository, TaskSearchRepository taskSearchRepository,
+                           TaskTextSearchRepository taskTextSearchRepository, TeamRepository teamRepository,
+                           UserRepository userRepository, TaskPermissions taskPermissions,
+                           TaskCounterRepository taskCounterRepository, TaskChangesRepository taskChangesRepository,
+                           TaskActivityService taskActivityService, TaskTransitionRepository taskTransitionRepository,
+                           ApplicationEventPublisher eventPublisher) {
         this.taskRepository = taskRepository;
+        this.taskQueryRepository = taskQueryRepository;
+        this.taskSearchRepository = taskSearchRepository;
+        this.taskTextSearchRepository = taskTextSearchRepository;
         this.teamRepository = teamRepository;
         this.userRepository = userRepository;
+        this.taskPermissions = taskPermissions;
+        this.taskCounterRepository = taskCounterRepository;
+        this.taskChangesRepository = taskChangesRepository;
+        this.taskActivityService = taskActivityService;
+        this.taskTransitionRepository = taskTransitionRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    private TaskPermissions.Access requirePermission(Long taskId, Long actorId, Operation operation, Long targetUserId, String deniedMessage) {
+        TaskPermissions.Access access = taskPermissions.load(taskId, actorId)
+                .orElseThrow(() -> new RuntimeException("Task not found"));
+        if (!access.allows(operation, targetUserId)) {
+            throw new RuntimeException(deniedMessage);
+        }
+        return access;
+    }
+
+    /** Lock the task row so its counters can be moved exactly; the task was just authorized, so it exists. */
+    private TaskState lockState(Long taskId) {
+        return taskCounterRepository.lockState(taskId).orElseThrow(() -> new RuntimeException("Task not found"));
+    }
+
+    private void publishChanged(Long teamId, TaskChangedEvent.Type type, Long taskId) {
+        if (teamId != null) eventPublisher.publishEvent(TaskChangedEvent.of(teamId, type, taskId));
+    }
+
+    private static Entry activity(Long taskId, Long teamId, Long actorId, TaskChangedEvent.Type action,
+                                  String field, Object oldValue, Object newValue) {
+        return new Entry(taskId, teamId, actorId, action, field, Objects.toString(oldValue, null),
+                Objects.toString(newValue, null), LocalDateTime.now());
+    }
+
+    /** Adds an UPDATED entry for `field` when its value changed. */
+    private static void diff(List<Entry> entries, Long taskId, Long teamId, Long actorId, String field,
+                             Object oldValue, Object newValue) {
+        if (!Objects.equals(oldValue, newValue)) {
+            entries.add(activity(taskId, teamId, actorId, TaskChangedEvent.Type.UPDATED, field, oldValue, newValue));
+        }
     }
     @Override
     @Transactional
-    public Task updateTask(Long id, com.taskmanager.api.dto.TaskDto dto, String username) {
-        Task task = taskRepository.findById(id).orElseThrow(() -> new RuntimeException("Task not found"));
-        User user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
-        boolean isCreator = task.getCreator() != null && user.getId().equals(task.getCreator().getId());
-        boolean isAdmin = task.getTeam() != null && task.getTeam().getAdmin() != null && user.getId().equals(task.getTeam().getAdmin().getId());
-        boolean isAssignee = task.getAssignees() != null && task.getAssignees().stream().anyMatch(u -> u.getId().equals(user.getId()));
-        if (!(isCreator || isAdmin || isAssignee)) {
-            throw new RuntimeException("You do not have permission to update this task");
-        }
+    public Task updateTask(Long id, TaskDto dto, Long actorId) {
+        TaskPermissions.Access access = requirePermission(id, actorId, Operation.UPDATE, null, "You do not have permission to update this task");
+        TaskState before = lockState(id);
+        Task task = taskRepository.findDetailedById(id).orElseThrow(() -> new RuntimeException("Task not found"));
+        String oldTitle = task.getTitle();
+        String oldDescription = task.getDescription();
+        LocalDateTime oldDueDate = task.getDueDate();
+        Priority oldPriority = task.getPriority();
+        Status oldStatus = task.getStatus();
         if (dto.getTitle() != null) task.setTitle(dto.getTitle());
         if (dto.getDescription() != null) task.setDescription(dto.getDescription());
         if (dto.getDueDate() != null) task.setDueDate(dto.getDueDate());
         if (dto.getPriority() != null) task.setPriority(Priority.valueOf(dto.getPriority()));
-        if (dto.getStatus() != null) task.setStatus(Status.valueOf(dto.getStatus()));
+        if (dto.getStatus() != null) task.setStatus(Status.fromParam(dto.getStatus()));
         if (dto.getAssignees() != null) {
-            task.getAssignees().clear();
-            for (com.taskmanager.api.dto.UserDto userDto : dto.getAssignees()) {
-                if (userDto.getId() != null) {
-                    User assignee = userRepository.findById(userDto.getId()).orElse(null);
-                    if (assignee != null) task.getAssignees().add(assignee);
-                }
+            Set<Long> wanted = dto.getAssignees().stream()
+                    .map(com.taskmanager.api.dto.UserDto::getId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            syncAssignees(task, wanted);
+        }
+        Task saved = taskRepository.save(task);
+        TaskState after = TaskState.of(saved);
+        taskCounterRepository.record(List.of(before), List.of(after));
+
+        Long teamId = access.teamId();
+        List<Entry> entries = new ArrayList<>();
+        diff(entries, id, teamId, actorId, "title", oldTitle, saved.getTitle());
+        diff(entries, id, teamId, actorId, "description", oldDescription, saved.getDescription());
+        diff(entries, id, teamId, actorId, "dueDate", oldDueDate, saved.getDueDate());
+        diff(entries, id, teamId, actorId, "priority", oldPriority, saved.getPriority());
+        if (oldStatus != saved.getStatus()) {
+            taskTransitionRepository.record(List.of(new Transition(id, teamId, before.status(), after.status(), LocalDateTime.now())));
+            entries.add(activity(id, teamId, actorId, TaskChangedEvent.Type.STATUS_CHANGED, "status", oldStatus, saved.getStatus()));
+        }
+        for (Long userId : after.assigneeIds()) {
+            if (!before.assigneeIds().contains(userId)) {
+                entries.add(activity(id, teamId, actorId, TaskChangedEvent.Type.ASSIGNED, "assignee", null, userId));
+            }
+        }
+        for (Long userId : before.assigneeIds()) {
+            if (!after.assigneeIds().contains(userId)) {
+                entries.add(activity(id, teamId, actorId, TaskChangedEvent.Type.UNASSIGNED, "assignee", userId, null));
             }
         }
-        return taskRepository.save(task);
+        taskActivityService.record(entries);
+        publishChanged(teamId, TaskChangedEvent.Type.UPDATED, id);
+        return saved;
+    }
+
+    /**
+     * Bring the task's assignees in line with `wanted`, touching only the links
+     * that change: Hibernate then deletes removed rows and inserts added ones
+     * instead of rewriting the whole collection. Unknown user ids are ignored.
+     */
+    private void syncAssignees(Task task, Set<Long> wanted) {
+        Set<User> assignees = task.getAssignees();
+        boolean removed = assignees.removeIf(u -> !wanted.contains(u.getId()));
+        Set<Long> current = assignees.stream().map(User::getId).collect(Collectors.toSet());
+        List<Long> added = wanted.stream().filter(id -> !current.contains(id)).toList();
+        if (!added.isEmpty()) {
+            assignees.addAll(userRepository.findAllById(added));
+        }
+        if (removed || !added.isEmpty()) {
+            task.touch();
+        }
     }
 
     @Override
     @Transactional
-    public Task createTask(Task task) {
+    public Task createTask(Task task, Long actorId) {
+        task.setCreator(userRepository.getReferenceById(actorId));
         if (task.getTeam() != null && task.getTeam().getId() != null) {
             Long teamId = task.getTeam().getId();
             Team team = teamRepository.findById(teamId)
                     .orElseThrow(() -> new DataIntegrityViolationException("Team does not exist: " + teamId));
             task.setTeam(team);
         }
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        taskCounterRepository.record(List.of(), List.of(TaskState.of(saved)));
+        Long teamId = saved.getTeam() != null ? saved.getTeam().getId() : null;
+        taskActivityService.record(List.of(activity(saved.getId(), teamId, actorId, TaskChangedEvent.Type.CREATED, null, null, null)));
+        publishChanged(teamId, TaskChangedEvent.Type.CREATED, saved.getId());
+        return saved;
     }
 
     @Override
     public Task findById(Long id) {
-        return taskRepository.findById(id).orElseThrow(() -> new RuntimeException("Task not found"));
+        return taskRepository.findDetailedById(id).orElseThrow(() -> new RuntimeException("Task not found"));
     }
 
     @Override
-    public List<Task> listTasksByTeam(Long teamId) {
-        Team team = teamRepository.findById(teamId).orElseThrow(() -> new RuntimeException("Team not found"));
-        return taskRepository.findAll().stream().filter(t -> t.getTeam() != null && t.getTeam().getId().equals(team.getId())).toList();
+    @Transactional(readOnly = true)
+    public CursorPage<TaskDto> listTasksByTeam(Long teamId, String cursor, int limit) {
+        if (!teamRepository.existsById(teamId)) {
+            throw new RuntimeException("Team not found");
+        }
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = clampPageSize(limit);
+        // Fetch one extra row to learn whether another page exists without a COUNT query.
+        List<TaskDto> rows = taskQueryRepository.findTeamPage(teamId, after, pageSize + 1);
+        return toPage(rows, pageSize);
+    }
+
+    private static int clampPageSize(int limit) {
+        if (limit < 1) throw new IllegalArgumentException("limit must be positive");
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TaskDto> searchTasks(TaskSearchCriteria criteria, Long actorId, String cursor, int limit) {
+        Specification<Task> spec = TaskSpecifications.inTeamsOf(actorId);
+        if (criteria.getTeamId() != null) spec = spec.and(TaskSpecifications.inTeam(criteria.getTeamId()));
+        if (criteria.getStatus() != null && !criteria.getStatus().isEmpty()) {
+            spec = spec.and(TaskSpecifications.statusIn(criteria.getStatus().stream().map(Status::fromParam).toList()));
+        }
+        if (criteria.getPriority() != null && !criteria.getPriority().isEmpty()) {
+            spec = spec.and(TaskSpecifications.priorityIn(criteria.getPriority().stream().map(Priority::fromParam).toList()));
+        }
+        if (criteria.getAssigneeId() != null) spec = spec.and(TaskSpecifications.assignedTo(criteria.getAssigneeId()));
+        if (criteria.getCreatorId() != null) spec = spec.and(TaskSpecifications.createdBy(criteria.getCreatorId()));
+        if (criteria.getDueFrom() != null && criteria.getDueTo() != null && !criteria.getDueFrom().isBefore(criteria.getDueTo())) {
+            throw new IllegalArgumentException("dueFrom must be before dueTo");
+        }
+        if (criteria.getDueFrom() != null) spec = spec.and(TaskSpecifications.dueOnOrAfter(criteria.getDueFrom()));
+        if (criteria.getDueTo() != null) spec = spec.and(TaskSpecifications.dueBefore(criteria.getDueTo()));
+
+        SortField sort = criteria.getSort() != null ? SortField.fromParam(criteria.getSort()) : SortField.UPDATED_AT;
+        boolean ascending = criteria.getDirection() != null
+                ? parseDirection(criteria.getDirection())
+                : sort == SortField.DUE_DATE;
+        // A cursor only continues the order it was issued for.
+        String order = sort.param() + (ascending ? ":asc" : ":desc");
+        SortKeyCursor after = SortKeyCursor.decode(cursor);
+        if (after != null) {
+            if (!after.order().equals(order)) throw new IllegalArgumentException("Cursor belongs to a different sort order");
+            spec = spec.and(TaskSpecifications.after(sort, ascending, sort.parseKey(after.key()), after.id()));
+        }
+        int pageSize = clampPageSize(limit);
+        // Fetch one extra id to learn whether another page exists without a COUNT query.
+        List<SortedId> rows = taskSearchRepository.findIds(spec, sort, ascending, pageSize + 1);
+        boolean more = rows.size() > pageSize;
+        List<SortedId> page = more ? rows.subList(0, pageSize) : rows;
+        List<TaskDto> items = taskQueryRepository.findByIds(page.stream().map(SortedId::id).toList());
+        if (!more) return new CursorPage<>(items, null);
+        SortedId last = page.get(page.size() - 1);
+        String lastKey = last.sortKey() == null ? null : last.sortKey().toString();
+        return new CursorPage<>(items, new SortKeyCursor(order, lastKey, last.id()).encode());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<TaskSearchHit> searchText(String query, Long actorId, String cursor, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        RankCursor after = RankCursor.decode(cursor);
+        int pageSize = clampPageSize(limit);
+        List<TaskSearchHit> hits = taskTextSearchRepository.search(query, actorId, after, pageSize + 1);
+        if (hits.size() <= pageSize) {
+            return new CursorPage<>(hits, null);
+        }
+        TaskSearchHit last = hits.get(pageSize - 1);
+        return new CursorPage<>(hits.subList(0, pageSize), new RankCursor(last.getRank(), last.getId()).encode());
+    }
+
+    private static boolean parseDirection(String direction) {
+        return switch (direction.toLowerCase()) {
+            case "asc" -> true;
+            case "desc" -> false;
+            default -> throw new IllegalArgumentException("Unknown sort direction: " + direction);
+        };
+    }
+
+    private static CursorPage<TaskDto> toPage(List<TaskDto> rows, int pageSize) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<TaskDto> items = rows.subList(0, pageSize);
+        TaskDto last = items.get(pageSize - 1);
+        return new CursorPage<>(items, new KeysetCursor(last.getCreatedAt(), last.getId()).encode());
     }
      @Override
     @Transactional
-    public void deleteTask(Long id, String username) {
-        Task task = taskRepository.findById(id).orElseThrow(() -> new RuntimeException("Task not found"));
-        User user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
-        boolean isCreator = task.getCreator() != null && user.getId().equals(task.getCreator().getId());
-        boolean isAdmin = task.getTeam() != null && task.getTeam().getAdmin() != null && user.getId().equals(task.getTeam().getAdmin().getId());
-        if (!(isCreator || isAdmin)) {
-            throw new RuntimeException("You do not have permission to delete this task");
-        }
-        taskRepository.delete(task);
+    public void deleteTask(Long id, Long actorId) {
+        TaskPermissions.Access access = requirePermission(id, actorId, Operation.DELETE, null, "You do not have permission to delete this task");
+        TaskState before = lockState(id);
+        taskRepository.deleteTaskById(id);
+        taskChangesRepository.recordDeletion(id, before.teamId(), LocalDateTime.now());
+        taskCounterRepository.record(List.of(before), List.of());
+        taskActivityService.record(List.of(activity(id, access.teamId(), actorId, TaskChangedEvent.Type.DELETED, null, null, null)));
+        publishChanged(access.teamId(), TaskChangedEvent.Type.DELETED, id);
     }
 
     @Override
-    public List<Task> listTasksByUser(Long userId) {
-        return taskRepository.findAll().stream()
-                .filter(t -> t.getAssignees() != null && t.getAssignees().stream().anyMatch(u -> u.getId().equals(userId)))
-                .toList();
+    @Transactional(readOnly = true)
+    public CursorPage<TaskDto> listTasksByUser(Long userId, String status, String cursor, int limit) {
+        List<String> statuses = status != null
+                ? List.of(Status.fromParam(status).name())
+                : Arrays.stream(Status.values()).map(Status::name).toList();
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = clampPageSize(limit);
+        List<TaskDto> rows = taskQueryRepository.findAssignedPage(userId, statuses, after, pageSize + 1);
+        return toPage(rows, pageSize);
     }
     @Override
     @Transactional
-    public Task assignUserToTask(Long taskId, Long userId, String username) {
-        Task task = taskRepository.findById(taskId).orElseThrow(() -> new RuntimeException("Task not found"));
-        User actingUser = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
-        User userToAssign = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User to assign not found"));
-        boolean isAdmin = task.getTeam() != null && task.getTeam().getAdmin() != null && actingUser.getId().equals(task.getTeam().getAdmin().getId());
-        boolean isCreator = task.getCreator() != null && actingUser.getId().equals(task.getCreator().getId());
-        if (!(isAdmin || isCreator)) {
-            throw new RuntimeException("Only admin or creator can assign users");
+    public Task assignUserToTask(Long taskId, Long userId, Long actorId) {
+        TaskPermissions.Access access = requirePermission(taskId, actorId, Operation.ASSIGN, null, "Only admin or creator can assign users");
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User to assign not found");
         }
-        task.getAssignees().add(userToAssign);
-        return taskRepository.save(task);
+        TaskState before = lockState(taskId);
+        if (taskRepository.addAssignee(taskId, userId) > 0) {
+            taskRepository.touch(List.of(taskId), LocalDateTime.now());
+            taskCounterRepository.record(List.of(before), List.of(before.withAssignee(userId)));
+            taskActivityService.record(List.of(activity(taskId, access.teamId(), actorId, TaskChangedEvent.Type.ASSIGNED, "assignee", null, userId)));
+        }
+        publishChanged(access.teamId(), TaskChangedEvent.Type.ASSIGNED, taskId);
+        return findById(taskId);
     }
 
     @Override
     @Transactional
-    public Task unassignUserFromTask(Long taskId, Long userId, String username) {
-        Task task = taskRepository.findById(taskId).orElseThrow(() -> new RuntimeException("Task not found"));
-        User actingUser = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
-        User userToUnassign = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User to unassign not found"));
-        boolean isAdmin = task.getTeam() != null && task.getTeam().getAdmin() != null && actingUser.getId().equals(task.getTeam().getAdmin().getId());
-        boolean isCreator = task.getCreator() != null && actingUser.getId().equals(task.getCreator().getId());
-        boolean isSelf = actingUser.getId().equals(userToUnassign.getId());
-        if (!(isAdmin || isCreator || isSelf)) {
-            throw new RuntimeException("Only admin, creator, or the user themselves can unassign");
+    public Task unassignUserFromTask(Long taskId, Long userId, Long actorId) {
+        TaskPermissions.Access access = requirePermission(taskId, actorId, Operation.UNASSIGN, userId, "Only admin, creator, or the user themselves can unassign");
+        TaskState before = lockState(taskId);
+        // Only a no-op delete needs the existence check.
+        if (taskRepository.removeAssignee(taskId, userId) > 0) {
+            taskRepository.touch(List.of(taskId), LocalDateTime.now());
+            taskCounterRepository.record(List.of(before), List.of(before.withoutAssignee(userId)));
+            taskActivityService.record(List.of(activity(taskId, access.teamId(), actorId, TaskChangedEvent.Type.UNASSIGNED, "assignee", userId, null)));
+        } else if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User to unassign not found");
         }
-        task.getAssignees().remove(userToUnassign);
-        return taskRepository.save(task);
+        publishChanged(access.teamId(), TaskChangedEvent.Type.UNASSIGNED, taskId);
+        return findById(taskId);
     }
 
     @Override
     @Transactional
-    public Task changeTaskStatus(Long taskId, String status, String username) {
-        Task task = taskRepository.findById(taskId).orElseThrow(() -> new RuntimeException("Task not found"));
-        User user = userRepository.findByUsername(username).orElseThrow(() -> new RuntimeException("User not found"));
-        boolean isCreator = task.getCreator() != null && user.getId().equals(task.getCreator().getId());
-        boolean isAdmin = task.getTeam() != null && task.getTeam().getAdmin() != null && user.getId().equals(task.getTeam().getAdmin().getId());
-        boolean isAssignee = task.getAssignees() != null && task.getAssignees().stream().anyMatch(u -> u.getId().equals(user.getId()));
-        if (!(isCreator || isAdmin || isAssignee)) {
-            throw new RuntimeException("You do not have permission to change the status of this task");
-        }
-        task.setStatus(Status.valueOf(status));
-        return taskRepository.save(task);
+    public Task changeTaskStatus(Long taskId, String status, Long actorId) {
+        Status newStatus = Status.fromParam(status);
+        TaskPermissions.Access access = requirePermission(taskId, actorId, Operation.CHANGE_STATUS, null, "You do not have permission to change the status of this task");
+        TaskState before = lockState(taskId);
+        LocalDateTime now = LocalDateTime.now();
+        taskRepository.updateStatus(taskId, newStatus, now);
+        taskCounterRepository.record(List.of(before), List.of(before.withStatus(newStatus)));
+        if (!newStatus.name().equals(before.status())) {
+            taskTransitionRepository.record(List.of(new Transition(taskId, access.teamId(), before.status(), newStatus.name(), now)));
+            String oldStatus = TaskCounterRepository.NONE.equals(before.status()) ? null : before.status();
+            taskActivityService.record(List.of(activity(taskId, access.teamId(), actorId, TaskChangedEvent.Type.STATUS_CHANGED, "status", oldStatus, newStatus)));
+        }
+        publishChanged(access.teamId(), TaskChangedEvent.Type.STATUS_CHANGED, taskId);
+        return findById(taskId);
     }
 }
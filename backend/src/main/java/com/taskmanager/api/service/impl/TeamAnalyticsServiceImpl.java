@@ -0,0 +1,109 @@
+package com.taskmanager.api.service.impl;
+
+import com.taskmanager.api.dto.TeamAnalyticsDto;
+import com.taskmanager.api.repository.TaskTransitionRepository;
+import com.taskmanager.api.repository.TaskTransitionRepository.HistogramRow;
+import com.taskmanager.api.repository.TaskTransitionRepository.Metric;
+import com.taskmanager.api.repository.TeamRepository;
+import com.taskmanager.api.service.TeamAnalyticsService;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+
+/**
+ * Implementation of {@link TeamAnalyticsService}. The histograms maintained
+ * by {@link TaskTransitionRepository} on every completion are read for the
+ * requested weeks and merged, so the cost depends on the number of weeks, not
+ * on the number of tasks or transitions.
+ */
+@Service
+public class TeamAnalyticsServiceImpl implements TeamAnalyticsService {
+
+    static final int MAX_WEEKS = 52;
+
+    private final TaskTransitionRepository taskTransitionRepository;
+    private final TeamRepository teamRepository;
+
+    public TeamAnalyticsServiceImpl(TaskTransitionRepository taskTransitionRepository, TeamRepository teamRepository) {
+        this.taskTransitionRepository = taskTransitionRepository;
+        this.teamRepository = teamRepository;
+    }
+
+    @Override
+    public TeamAnalyticsDto getAnalytics(Long teamId, int weeks, Long actorId) {
+        if (weeks < 1 || weeks > MAX_WEEKS) {
+            throw new IllegalArgumentException("weeks must be between 1 and " + MAX_WEEKS);
+        }
+        if (!teamRepository.isMemberOrAdmin(teamId, actorId)) {
+            if (!teamRepository.existsById(teamId)) {
+                throw new NoSuchElementException("Team not found");
+            }
+            throw new AccessDeniedException("Only team members can view team analytics");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate fromWeek = TaskTransitionRepository.weekOf(now).minusWeeks(weeks - 1L);
+
+        Map<Integer, Long> cycle = new TreeMap<>();
+        Map<Integer, Long> lead = new TreeMap<>();
+        Map<LocalDate, Long> completedByWeek = new TreeMap<>();
+        for (HistogramRow row : taskTransitionRepository.findHistograms(teamId, fromWeek)) {
+            if (row.metric() == Metric.CYCLE) {
+                cycle.merge(row.bucket(), row.samples(), Long::sum);
+            } else {
+                lead.merge(row.bucket(), row.samples(), Long::sum);
+                // Every completion has exactly one lead-time sample.
+                completedByWeek.merge(row.weekStart(), row.samples(), Long::sum);
+            }
+        }
+
+        List<TeamAnalyticsDto.WeeklyThroughput> throughput = new ArrayList<>();
+        for (int i = 0; i < weeks; i++) {
+            LocalDate week = fromWeek.plusWeeks(i);
+            throughput.add(new TeamAnalyticsDto.WeeklyThroughput(week, completedByWeek.getOrDefault(week, 0L)));
+        }
+
+        TeamAnalyticsDto dto = new TeamAnalyticsDto();
+        dto.setTeamId(teamId);
+        dto.setWeeks(weeks);
+        dto.setFromWeek(fromWeek);
+        dto.setCycleTime(percentiles(cycle));
+        dto.setLeadTime(percentiles(lead));
+        dto.setCompletedTasks(dto.getLeadTime().getSamples());
+        dto.setThroughput(throughput);
+        dto.setComputedAt(now);
+        return dto;
+    }
+
+    /** Percentiles of a histogram whose buckets are iterated in increasing order. */
+    private static TeamAnalyticsDto.Percentiles percentiles(Map<Integer, Long> histogram) {
+        long total = histogram.values().stream().mapToLong(Long::longValue).sum();
+        TeamAnalyticsDto.Percentiles p = new TeamAnalyticsDto.Percentiles();
+        p.setSamples(total);
+        if (total > 0) {
+            p.setP50Hours(percentile(histogram, total, 0.50));
+            p.setP85Hours(percentile(histogram, total, 0.85));
+            p.setP95Hours(percentile(histogram, total, 0.95));
+        }
+        return p;
+    }
+
+    private static double percentile(Map<Integer, Long> histogram, long total, double quantile) {
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        int bucket = 0;
+        for (Map.Entry<Integer, Long> e : histogram.entrySet()) {
+            bucket = e.getKey();
+            seen += e.getValue();
+            if (seen >= rank) break;
+        }
+        double hours = TaskTransitionRepository.bucketValue(bucket) / 3600;
+        return Math.round(hours * 100) / 100.0;
+    }
+}
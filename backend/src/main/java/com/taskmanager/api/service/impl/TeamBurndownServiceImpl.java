@@ -0,0 +1,101 @@
+package com.taskmanager.api.service.impl;
+
+import com.taskmanager.api.dto.TeamBurndownDto;
+import com.taskmanager.api.entity.Status;
+import com.taskmanager.api.repository.TaskCounterRepository;
+import com.taskmanager.api.repository.TeamBurndownRepository;
+import com.taskmanager.api.repository.TeamRepository;
+import com.taskmanager.api.service.TeamBurndownService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Implementation of {@link TeamBurndownService}. Past days are served from
+ * the snapshots in {@link TeamBurndownRepository}; today's point is read from
+ * the team's {@link TaskCounterRepository} counters. The snapshot job runs
+ * periodically and snapshots every day since the last one, up to yesterday, so
+ * days missed while the application was down are filled in on the next run.
+ */
+@Service
+public class TeamBurndownServiceImpl implements TeamBurndownService {
+
+    private static final Logger log = LoggerFactory.getLogger(TeamBurndownServiceImpl.class);
+
+    private final TeamBurndownRepository teamBurndownRepository;
+    private final TaskCounterRepository taskCounterRepository;
+    private final TeamRepository teamRepository;
+    private final int retentionDays;
+
+    public TeamBurndownServiceImpl(TeamBurndownRepository teamBurndownRepository, TaskCounterRepository taskCounterRepository,
+                                   TeamRepository teamRepository,
+                                   @Value("${app.burndown.retention-days:365}") int retentionDays) {
+        this.teamBurndownRepository = teamBurndownRepository;
+        this.taskCounterRepository = taskCounterRepository;
+        this.teamRepository = teamRepository;
+        this.retentionDays = retentionDays;
+    }
+
+    @Override
+    public TeamBurndownDto getBurndown(Long teamId, int days, Long actorId) {
+        if (days < 1 || days > retentionDays) {
+            throw new IllegalArgumentException("days must be between 1 and " + retentionDays);
+        }
+        if (!teamRepository.isMemberOrAdmin(teamId, actorId)) {
+            if (!teamRepository.existsById(teamId)) {
+                throw new NoSuchElementException("Team not found");
+            }
+            throw new AccessDeniedException("Only team members can view the team burndown");
+        }
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusDays(days - 1L);
+        List<TeamBurndownDto.Point> points = new ArrayList<>(teamBurndownRepository.findRange(teamId, from, today.minusDays(1)));
+
+        long open = 0;
+        long done = 0;
+        for (Map.Entry<String, Map<String, Long>> byStatus : taskCounterRepository.teamCounts(teamId).entrySet()) {
+            long count = byStatus.getValue().values().stream().mapToLong(Long::longValue).sum();
+            if (Status.DONE.name().equals(byStatus.getKey())) {
+                done += count;
+            } else {
+                open += count;
+            }
+        }
+        points.add(new TeamBurndownDto.Point(today, open, done));
+
+        TeamBurndownDto dto = new TeamBurndownDto();
+        dto.setTeamId(teamId);
+        dto.setFrom(from);
+        dto.setTo(today);
+        dto.setPoints(points);
+        return dto;
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${app.burndown.snapshot-interval:PT1H}", initialDelayString = "PT1M")
+    public int snapshot() {
+        LocalDate today = LocalDate.now();
+        LocalDate yesterday = today.minusDays(1);
+        LocalDate oldest = today.minusDays(retentionDays);
+        LocalDate first = teamBurndownRepository.lastSnapshotDate().map(d -> d.plusDays(1)).orElse(yesterday);
+        if (first.isBefore(oldest)) first = oldest;
+        int written = 0;
+        if (!first.isAfter(yesterday)) {
+            written = teamBurndownRepository.snapshot(first, yesterday);
+            log.info("Wrote {} burndown snapshots for {} to {}", written, first, yesterday);
+        }
+        teamBurndownRepository.deleteBefore(oldest);
+        return written;
+    }
+}
@@ -0,0 +1,284 @@
+package com.taskmanager.api.service.impl;
+
+import com.taskmanager.api.event.TaskChangedEvent;
+import com.taskmanager.api.repository.TeamRepository;
+import com.taskmanager.api.service.TeamEventService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation of {@link TeamEventService}.
+ * <p>
+ * Streams are async servlet requests ({@link SseEmitter}), so an idle
+ * subscriber holds a socket and a few small objects but no thread. Each
+ * subscriber has a bounded queue: committed {@link TaskChangedEvent}s and
+ * periodic heartbeats are offered to it without blocking the writer, and a
+ * small pool of sender threads drains the queues that have events, one
+ * subscriber at a time. A subscriber whose queue is full is too slow or gone;
+ * its stream is closed and the client reconnects and catches up through the
+ * delta sync. Heartbeats also reveal dead connections, whose sends fail.
+ * <p>
+ * Servlet writes block, so a client that keeps its connection open but stops
+ * reading would pin a sender once the socket buffers fill. A watchdog drops
+ * any subscriber whose send has been blocked for longer than `send-timeout`
+ * and lends the pool a replacement thread until the stuck write returns,
+ * which it does when the container's write timeout closes the connection;
+ * healthy streams keep their senders meanwhile. The open streams and dropped
+ * subscribers are published as the `team.events.subscribers` and
+ * `team.events.dropped` metrics.
+ */
+@Service
+public class TeamEventServiceImpl implements TeamEventService {
+
+    private static final Object HEARTBEAT = new Object();
+    /** `Subscriber.sendingSince` when no send is in progress. */
+    private static final long IDLE = 0;
+    /** `Subscriber.sendingSince` once the watchdog gave up on the send in progress. */
+    private static final long STALLED = -1;
+
+    private final TeamRepository teamRepository;
+    private final int bufferSize;
+    private final Duration timeout;
+    private final long sendTimeoutNanos;
+    private final int senderThreads;
+    private final ThreadPoolExecutor senders;
+    private int lentSenders;
+    /** Makes {@link #clock} start at 1, so a send start time is never {@link #IDLE} or {@link #STALLED}. */
+    private final long clockOrigin = System.nanoTime() - 1;
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    /** Subscribers with a send in progress, including ones already removed for falling behind. */
+    private final Set<Subscriber> sending = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger open = new AtomicInteger();
+    private final Counter dropped;
+
+    public TeamEventServiceImpl(TeamRepository teamRepository, MeterRegistry meterRegistry,
+                                @Value("${app.team-events.buffer-size:64}") int bufferSize,
+                                @Value("${app.team-events.timeout:30m}") Duration timeout,
+                                @Value("${app.team-events.sender-threads:4}") int senderThreads,
+                                @Value("${app.team-events.send-timeout:5s}") Duration sendTimeout) {
+        this.teamRepository = teamRepository;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.senderThreads = senderThreads;
+        AtomicInteger threads = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "team-events-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("team.events.subscribers", open, AtomicInteger::get)
+                .description("Open team event streams").register(meterRegistry);
+        this.dropped = Counter.builder("team.events.dropped")
+                .description("Team event streams closed because the client did not keep up").register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        subscribers.values().forEach(team -> team.forEach(Subscriber::close));
+        // Give the senders a moment to end the streams; blocked sends are not waited for.
+        senders.shutdown();
+        if (!senders.awaitTermination(1, TimeUnit.SECONDS)) senders.shutdownNow();
+    }
+
+    @Override
+    public SseEmitter subscribe(Long teamId, Long actorId) {
+        if (!teamRepository.isMemberOrAdmin(teamId, actorId)) {
+            if (!teamRepository.existsById(teamId)) {
+                throw new NoSuchElementException("Team not found");
+            }
+            throw new AccessDeniedException("Only team members can subscribe to team events");
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(teamId, emitter);
+        emitter.onCompletion(subscriber::remove);
+        emitter.onError(e -> subscriber.remove());
+        emitter.onTimeout(subscriber::close);
+        // Added inside compute() so a concurrent removal of the team's last subscriber cannot drop the new set.
+        subscribers.compute(teamId, (id, team) -> {
+            Set<Subscriber> members = team != null ? team : ConcurrentHashMap.newKeySet();
+            members.add(subscriber);
+            return members;
+        });
+        open.incrementAndGet();
+        subscriber.offer(HEARTBEAT);
+        return emitter;
+    }
+
+    // Runs on the committing thread; offering never blocks it.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        Set<Subscriber> team = subscribers.get(event.teamId());
+        if (team != null) team.forEach(subscriber -> subscriber.offer(event));
+    }
+
+    @Scheduled(fixedDelayString = "${app.team-events.heartbeat-interval:PT15S}",
+            initialDelayString = "${app.team-events.heartbeat-interval:PT15S}")
+    public void sendHeartbeats() {
+        subscribers.values().forEach(team -> team.forEach(subscriber -> subscriber.offer(HEARTBEAT)));
+    }
+
+    /**
+     * Drop subscribers whose send has been blocked longer than `send-timeout`.
+     * Their sender stays stuck in the write, so the pool gets an extra thread
+     * until it returns.
+     */
+    @Scheduled(fixedDelayString = "${app.team-events.send-check-interval:PT1S}")
+    public void dropStalledSubscribers() {
+        long now = clock();
+        sending.forEach(subscriber -> {
+            if (subscriber.stalledAt(now)) {
+                lendSender();
+                // The stuck sender ends the stream once its write returns.
+                if (subscriber.remove()) dropped.increment();
+            }
+        });
+    }
+
+    private long clock() {
+        return System.nanoTime() - clockOrigin;
+    }
+
+    private synchronized void lendSender() {
+        lentSenders++;
+        resizeSenders();
+    }
+
+    private synchronized void returnSender() {
+        lentSenders--;
+        resizeSenders();
+    }
+
+    private void resizeSenders() {
+        int size = senderThreads + lentSenders;
+        // The maximum may never drop below the core size, so the order depends on the direction.
+        if (size > senders.getMaximumPoolSize()) {
+            senders.setMaximumPoolSize(size);
+            senders.setCorePoolSize(size);
+        } else {
+            senders.setCorePoolSize(size);
+            senders.setMaximumPoolSize(size);
+        }
+    }
+
+    /** One open stream: its pending events and whether a sender is draining them. */
+    private final class Subscriber {
+
+        private final Long teamId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Object> pending = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+        /** When the send in progress started ({@link #clock}), or {@link #IDLE} / {@link #STALLED}. */
+        private final AtomicLong sendingSince = new AtomicLong(IDLE);
+
+        Subscriber(Long teamId, SseEmitter emitter) {
+            this.teamId = teamId;
+            this.emitter = emitter;
+        }
+
+        void offer(Object event) {
+            if (removed.get()) return;
+            if (!pending.offer(event)) {
+                dropped.increment();
+                close();
+                return;
+            }
+            wake();
+        }
+
+        private void wake() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Object event;
+                while (!removed.get() && (event = pending.poll()) != null) {
+                    sendingSince.set(clock());
+                    sending.add(this);
+                    try {
+                        send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        // The client went away or the stream already ended.
+                        remove();
+                    } finally {
+                        sending.remove(this);
+                    }
+                    if (sendingSince.getAndSet(IDLE) == STALLED) {
+                        // Dropped by the watchdog while this send was blocked; give back the replacement thread.
+                        returnSender();
+                    }
+                }
+                if (removed.get()) {
+                    // Completed here rather than by whoever removed the subscriber, who must not wait behind a blocked send.
+                    emitter.complete();
+                    return;
+                }
+                draining.set(false);
+                // An event offered after the last poll but before the reset would otherwise wait for the next one.
+            } while ((removed.get() || !pending.isEmpty()) && draining.compareAndSet(false, true));
+        }
+
+        private void send(Object event) throws IOException {
+            if (event == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else {
+                emitter.send(SseEmitter.event().name("task").data(event, MediaType.APPLICATION_JSON));
+            }
+        }
+
+        /** Whether the send in progress started before `now - send-timeout`; if so, it is marked stalled. */
+        boolean stalledAt(long now) {
+            long since = sendingSince.get();
+            return since > IDLE && now - since > sendTimeoutNanos
+                    && sendingSince.compareAndSet(since, STALLED);
+        }
+
+        /** Remove the subscriber and have a sender end its stream. */
+        void close() {
+            remove();
+            wake();
+        }
+
+        /** Unregister the subscriber; returns false when it already was. */
+        boolean remove() {
+            if (!removed.compareAndSet(false, true)) return false;
+            open.decrementAndGet();
+            pending.clear();
+            subscribers.computeIfPresent(teamId, (id, team) -> {
+                team.remove(this);
+                return team.isEmpty() ? null : team;
+            });
+            return true;
+        }
+    }
+}
@@ -3,43 +3,55 @@ package com.taskmanager.api.service.impl;
 
 import com.taskmanager.api.entity.Team;
 import com.taskmanager.api.entity.User;
+import com.taskmanager.api.event.TeamChangedEvent;
+import com.taskmanager.api.repository.TeamMemberRepository;
 import com.taskmanager.api.repository.TeamRepository;
 import com.taskmanager.api.repository.UserRepository;
 import com.taskmanager.api.service.TeamService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
+import com.taskmanager.api.dto.CursorPage;
+import com.taskmanager.api.dto.IdCursor;
 import com.taskmanager.api.dto.TeamDto;
 import com.taskmanager.api.dto.UserDto;
 import com.taskmanager.api.mapper.TeamMapper;
-import com.taskmanager.api.mapper.UserMapper;
-import java.util.ArrayList;
 
 /**
  * Implementation of {@link com.taskmanager.api.service.TeamService}.
  * Manages team lifecycle, membership and basic team queries. Methods
- * perform authorization checks based on the acting username.
+ * perform authorization checks based on the acting user's id.
  */
 @Service
 public class TeamServiceImpl implements TeamService {
 
+    /** Upper bound on members per page, whatever the client asks for. */
+    static final int MAX_PAGE_SIZE = 200;
+
+    private static final TeamMemberRepository.TeamCounts NO_COUNTS = new TeamMemberRepository.TeamCounts(0, 0);
+
     private final TeamRepository teamRepository;
     private final UserRepository userRepository;
+    private final TeamMemberRepository teamMemberRepository;
     private final TeamMapper teamMapper;
-    private final UserMapper userMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public TeamServiceImpl(TeamRepository teamRepository, UserRepository userRepository, TeamMapper teamMapper, UserMapper userMapper) {
+    public TeamServiceImpl(TeamRepository teamRepository, UserRepository userRepository, TeamMemberRepository teamMemberRepository,
+                           TeamMapper teamMapper, ApplicationEventPublisher eventPublisher) {
         this.teamRepository = teamRepository;
         this.userRepository = userRepository;
+        this.teamMemberRepository = teamMemberRepository;
         this.teamMapper = teamMapper;
-        this.userMapper = userMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -53,85 +65,117 @@ public class TeamServiceImpl implements TeamService {
             team.getMembers().clear();
             team.getMembers().add(managedAdmin);
         }
-        return teamRepository.save(team);
+        Team saved = teamRepository.save(team);
+        eventPublisher.publishEvent(TeamChangedEvent.of(saved.getId(), TeamChangedEvent.Type.CREATED));
+        return saved;
     }
 
     @Override
     @Transactional
-    public Team addMember(Long teamId, Long userId, String username) {
-        Team team = teamRepository.findById(teamId).orElseThrow(() -> new NoSuchElementException("Team not found"));
-        User actingUser = userRepository.findByUsername(username)
-                .orElseThrow(() -> new NoSuchElementException("User not found"));
+    public Team addMember(Long teamId, Long userId, Long actorId) {
+        Team team = teamRepository.findWithAdminById(teamId).orElseThrow(() -> new NoSuchElementException("Team not found"));
         // Only team admin can add members
-        if (team.getAdmin() == null || !team.getAdmin().getId().equals(actingUser.getId())) {
+        if (team.getAdmin() == null || !team.getAdmin().getId().equals(actorId)) {
             throw new AccessDeniedException("Only team admin can add members");
         }
-        User user = userRepository.findById(userId).orElseThrow(() -> new NoSuchElementException("User not found"));
-        team.getMembers().add(user);
-        return teamRepository.save(team);
+        if (!userRepository.existsById(userId)) {
+            throw new NoSuchElementException("User not found");
+        }
+        // One membership row; the team's member collection is never loaded.
+        if (teamMemberRepository.add(teamId, userId)) {
+            eventPublisher.publishEvent(new TeamChangedEvent(teamId, TeamChangedEvent.Type.MEMBER_ADDED, userId));
+        }
+        return team;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Team> listTeamsForUser(Long userId) {
-        User user = userRepository.findById(userId).orElseThrow(() -> new NoSuchElementException("User not found"));
-        return teamRepository.findAll().stream().filter(t -> t.getMembers().contains(user)).toList();
-    }
-     @Override
-    public User findUserByUsername(String username) {
-        return userRepository.findByUsername(username).orElseThrow(() -> new NoSuchElementException("User not found"));
+        List<Team> teams = teamRepository.findByMemberId(userId);
+        // Only an empty result needs the extra lookup to tell "no teams" from "no such user".
+        if (teams.isEmpty() && !userRepository.existsById(userId)) {
+            throw new NoSuchElementException("User not found");
+        }
+        return teams;
     }
-
     @Override
     @Transactional
-    public Team updateTeam(Long teamId, TeamDto dto, String username) {
-        Team team = teamRepository.findById(teamId).orElseThrow(() -> new NoSuchElementException("Team not found"));
-        User user = userRepository.findByUsername(username).orElseThrow(() -> new NoSuchElementException("User not found"));
-        if (!team.getAdmin().getId().equals(user.getId())) {
+    public Team updateTeam(Long teamId, TeamDto dto, Long actorId) {
+        Team team = teamRepository.findWithAdminById(teamId).orElseThrow(() -> new NoSuchElementException("Team not found"));
+        if (!team.getAdmin().getId().equals(actorId)) {
             throw new AccessDeniedException("Only admin can update the team");
         }
         if (dto.getName() != null) team.setName(dto.getName());
         if (dto.getDescription() != null) team.setDescription(dto.getDescription());
+        eventPublisher.publishEvent(TeamChangedEvent.of(teamId, TeamChangedEvent.Type.UPDATED));
         return teamRepository.save(team);
     }
 
     @Override
     @Transactional
-    public void deleteTeam(Long teamId, String username) {
+    public void deleteTeam(Long teamId, Long actorId) {
         Team team = teamRepository.findById(teamId).orElseThrow(() -> new NoSuchElementException("Team not found"));
-        User user = userRepository.findByUsername(username).orElseThrow(() -> new NoSuchElementException("User not found"));
-        if (!team.getAdmin().getId().equals(user.getId())) {
+        if (!team.getAdmin().getId().equals(actorId)) {
             throw new AccessDeniedException("Only admin can delete the team");
         }
         teamRepository.delete(team);
+        eventPublisher.publishEvent(TeamChangedEvent.of(teamId, TeamChangedEvent.Type.DELETED));
     }
 
     @Override
     @Transactional
-    public Team removeMember(Long teamId, Long userId, String username) {
-        Team team = teamRepository.findById(teamId).orElseThrow(() -> new NoSuchElementException("Team not found"));
-        User actingUser = userRepository.findByUsername(username).orElseThrow(() -> new NoSuchElementException("User not found"));
-        User userToRemove = userRepository.findById(userId).orElseThrow(() -> new NoSuchElementException("User to remove not found"));
-        boolean isAdmin = team.getAdmin().getId().equals(actingUser.getId());
-        boolean isSelf = actingUser.getId().equals(userToRemove.getId());
+    public Team removeMember(Long teamId, Long userId, Long actorId) {
+        Team team = teamRepository.findWithAdminById(teamId).orElseThrow(() -> new NoSuchElementException("Team not found"));
+        if (!userRepository.existsById(userId)) {
+            throw new NoSuchElementException("User to remove not found");
+        }
+        boolean isAdmin = team.getAdmin().getId().equals(actorId);
+        boolean isSelf = actorId.equals(userId);
         if (!isAdmin && !isSelf) {
             throw new AccessDeniedException("Only admin or the user themselves can remove a member");
         }
-        if (team.getAdmin().getId().equals(userToRemove.getId())) {
+        if (team.getAdmin().getId().equals(userId)) {
             throw new IllegalArgumentException("Admin cannot be removed from the team");
         }
-        team.getMembers().remove(userToRemove);
-        return teamRepository.save(team);
+        if (teamMemberRepository.remove(teamId, userId)) {
+            eventPublisher.publishEvent(new TeamChangedEvent(teamId, TeamChangedEvent.Type.MEMBER_REMOVED, userId));
+        }
+        return team;
     }
 
     @Override
-    public List<User> listMembers(Long teamId) {
-        Team team = teamRepository.findById(teamId).orElseThrow(() -> new NoSuchElementException("Team not found"));
-        return new ArrayList<>(team.getMembers());
+    @Transactional(readOnly = true)
+    public CursorPage<UserDto> listMembers(Long teamId, String cursor, int limit) {
+        if (limit < 1) throw new IllegalArgumentException("limit must be positive");
+        int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+        IdCursor after = IdCursor.decode(cursor);
+        // Fetch one extra row to learn whether another page exists without a COUNT query.
+        List<UserDto> rows = teamMemberRepository.findPage(teamId, after != null ? after.id() : 0, pageSize + 1);
+        // Only an empty first page needs the extra lookup to tell "no members" from "no such team".
+        if (rows.isEmpty() && after == null && !teamRepository.existsById(teamId)) {
+            throw new NoSuchElementException("Team not found");
+        }
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<UserDto> items = rows.subList(0, pageSize);
+        return new CursorPage<>(items, new IdCursor(items.get(pageSize - 1).getId()).encode());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TeamDto toDto(Team team) {
+        return toDtos(List.of(team)).get(0);
     }
 
     @Override
-    public UserDto toUserDto(User user) {
-        return userMapper.toDto(user);
+    @Transactional(readOnly = true)
+    public List<TeamDto> toDtos(List<Team> teams) {
+        Map<Long, TeamMemberRepository.TeamCounts> counts = teamMemberRepository.countsByTeam(teams.stream().map(Team::getId).toList());
+        return teams.stream().map(t -> {
+            TeamMemberRepository.TeamCounts c = counts.getOrDefault(t.getId(), NO_COUNTS);
+            return teamMapper.toDto(t, c.memberCount(), c.taskCount());
+        }).toList();
     }
 
 }
@@ -0,0 +1,69 @@
+package com.taskmanager.api.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskmanager.api.dto.TeamStatsDto;
+import com.taskmanager.api.event.TaskChangedEvent;
+import com.taskmanager.api.repository.TeamRepository;
+import com.taskmanager.api.repository.TeamStatsRepository;
+import com.taskmanager.api.service.TeamStatsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.NoSuchElementException;
+
+/**
+ * Implementation of {@link TeamStatsService}. Stats are computed by
+ * {@link TeamStatsRepository} and cached per team until a
+ * {@link TaskChangedEvent} for the team is committed. Entries also expire
+ * after a short time, because tasks become overdue without being written.
+ * Cache statistics are published as `cache.*` metrics with `cache=teamStats`.
+ */
+@Service
+public class TeamStatsServiceImpl implements TeamStatsService {
+
+    static final String CACHE_NAME = "teamStats";
+
+    private final TeamStatsRepository teamStatsRepository;
+    private final TeamRepository teamRepository;
+    private final Cache<Long, TeamStatsDto> stats;
+
+    public TeamStatsServiceImpl(TeamStatsRepository teamStatsRepository, TeamRepository teamRepository, MeterRegistry meterRegistry,
+                                @Value("${app.team-stats.max-size:1000}") long maxSize,
+                                @Value("${app.team-stats.ttl:60s}") Duration ttl) {
+        this.teamStatsRepository = teamStatsRepository;
+        this.teamRepository = teamRepository;
+        this.stats = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, stats, CACHE_NAME);
+    }
+
+    @Override
+    public TeamStatsDto getStats(Long teamId, Long actorId) {
+        // Cached reads cost one membership query; the existence check only runs to tell 404 from 403.
+        if (!teamRepository.isMemberOrAdmin(teamId, actorId)) {
+            if (!teamRepository.existsById(teamId)) {
+                throw new NoSuchElementException("Team not found");
+            }
+            throw new AccessDeniedException("Only team members can view team stats");
+        }
+        return stats.get(teamId, id -> teamStatsRepository.compute(id, LocalDateTime.now()));
+    }
+
+    // invalidate() waits for a load of the same key that is in progress, so a
+    // result read before the commit cannot be stored after this eviction.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        stats.invalidate(event.teamId());
+    }
+}
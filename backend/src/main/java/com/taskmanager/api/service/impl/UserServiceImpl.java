@@ -1,21 +1,27 @@
 package com.taskmanager.api.service.impl;
 
 import com.taskmanager.api.dto.ProfileDto;
+import com.taskmanager.api.entity.Role;
 import com.taskmanager.api.entity.User;
+import com.taskmanager.api.event.UserChangedEvent;
 import com.taskmanager.api.repository.RoleRepository;
 import com.taskmanager.api.repository.UserRepository;
 import com.taskmanager.api.service.UserService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Implementation of {@link com.taskmanager.api.service.UserService}.
  * Responsible for creating users (password hashing), profile updates
- * and basic user retrieval operations.
+ * and basic user retrieval operations. Changes that affect how a user logs in
+ * or what they may do publish a {@link UserChangedEvent}.
  */
 @Service
 public class UserServiceImpl implements UserService {
@@ -24,11 +30,14 @@ public class UserServiceImpl implements UserService {
     private final RoleRepository roleRepository;
 
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UserServiceImpl(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder,
+                           ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -54,6 +63,7 @@ public class UserServiceImpl implements UserService {
     @Transactional
     public User updateProfile(Long userId, ProfileDto profileDto) {
         User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+        publishChanged(user);
         user.setDisplayName(profileDto.getDisplayName());
         user.setEmail(profileDto.getEmail());
         return userRepository.save(user);
@@ -63,6 +73,7 @@ public class UserServiceImpl implements UserService {
     @Transactional
     public User updateUser(Long userId, com.taskmanager.api.dto.UserUpdateDto userDto) {
         User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+        publishChanged(user);
         if (userDto.getUsername() != null && !userDto.getUsername().isBlank()) {
             user.setUsername(userDto.getUsername());
         }
@@ -82,6 +93,25 @@ public class UserServiceImpl implements UserService {
     @Transactional
     public void deleteUser(Long userId) {
         User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+        publishChanged(user);
         userRepository.delete(user);
     }
+
+    @Override
+    @Transactional
+    public User updateRoles(Long userId, Set<String> roleNames) {
+        User user = userRepository.findById(userId).orElseThrow(() -> new NoSuchElementException("User not found"));
+        Set<Role> roles = new HashSet<>();
+        for (String name : roleNames) {
+            roles.add(roleRepository.findByName(name).orElseThrow(() -> new IllegalArgumentException("Unknown role: " + name)));
+        }
+        publishChanged(user);
+        user.setRoles(roles);
+        return userRepository.save(user);
+    }
+
+    /** Must be called before the user is modified: the event carries the old identifiers. */
+    private void publishChanged(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getUsername(), user.getEmail()));
+    }
 }
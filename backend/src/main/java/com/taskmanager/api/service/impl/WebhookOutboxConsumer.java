@@ -0,0 +1,59 @@
+package com.taskmanager.api.service.impl;
+
+import com.taskmanager.api.event.OutboxMessage;
+import com.taskmanager.api.service.OutboxConsumer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.BufferingClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * POSTs each outbox batch as a JSON array to `app.outbox.webhook.url`. Any
+ * response other than 2xx, or no response within the timeout, fails the
+ * batch. When a token is configured it is sent as a bearer token so the
+ * receiver can authenticate the calls.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.webhook.url")
+public class WebhookOutboxConsumer implements OutboxConsumer {
+
+    private final RestClient restClient;
+
+    public WebhookOutboxConsumer(RestClient.Builder restClientBuilder,
+                                 @Value("${app.outbox.webhook.url}") String url,
+                                 @Value("${app.outbox.webhook.token:}") String token,
+                                 @Value("${app.outbox.webhook.timeout:10s}") Duration timeout) {
+        JdkClientHttpRequestFactory requestFactory =
+                new JdkClientHttpRequestFactory(HttpClient.newBuilder().connectTimeout(timeout).build());
+        requestFactory.setReadTimeout(timeout);
+        // Buffered so batches go out with a Content-Length instead of chunked.
+        RestClient.Builder builder = restClientBuilder.clone().baseUrl(url)
+                .requestFactory(new BufferingClientHttpRequestFactory(requestFactory));
+        if (!token.isBlank()) {
+            builder.defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        }
+        this.restClient = builder.build();
+    }
+
+    @Override
+    public String name() {
+        return "webhook";
+    }
+
+    @Override
+    public void deliver(List<OutboxMessage> messages) {
+        restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(messages)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
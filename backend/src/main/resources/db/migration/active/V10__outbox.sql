@@ -0,0 +1,17 @@
+-- Flyway migration: transactional outbox. Task and team events are written here in the transaction
+-- of the change they describe (see OutboxServiceImpl); a background dispatcher claims rows with
+-- FOR UPDATE SKIP LOCKED, hands them to the consumers and deletes them once delivered.
+-- A failed delivery pushes available_at back, so claims in (available_at, id) order retry it later.
+
+CREATE TABLE outbox (
+    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    event_type VARCHAR(64) NOT NULL,
+    team_id BIGINT,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    available_at TIMESTAMP NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    last_error TEXT
+);
+
+CREATE INDEX idx_outbox_available ON outbox (available_at, id);
@@ -0,0 +1,32 @@
+-- Flyway migration: append-only task activity history (field changes, status transitions,
+-- assignments) for GET /api/tasks/{id}/activity, written by TaskActivityServiceImpl.
+-- Partitioned by month of created_at, so expired history is dropped a partition at a time
+-- instead of deleted row by row. The application creates partitions ahead of time;
+-- the first few are created here. Rows outlive their task, so there are no foreign keys.
+
+CREATE TABLE task_activity (
+    id BIGINT GENERATED ALWAYS AS IDENTITY,
+    task_id BIGINT NOT NULL,
+    team_id BIGINT,
+    actor_id BIGINT,
+    action VARCHAR(32) NOT NULL,
+    field VARCHAR(32),
+    old_value TEXT,
+    new_value TEXT,
+    created_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Newest-first history of one task, read by keyset pagination.
+CREATE INDEX idx_task_activity_task ON task_activity (task_id, created_at DESC, id DESC);
+
+DO $$
+DECLARE
+    month DATE;
+BEGIN
+    FOR month IN SELECT generate_series(date_trunc('month', now()), date_trunc('month', now()) + interval '2 months', interval '1 month')::date
+    LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF task_activity FOR VALUES FROM (%L) TO (%L)',
+                       'task_activity_' || to_char(month, 'YYYY_MM'), month, (month + interval '1 month')::date);
+    END LOOP;
+END $$;
@@ -0,0 +1,27 @@
+-- Flyway migration: every status change of a task, written with the change (see TaskTransitionRepository),
+-- and per-team weekly histograms of cycle time (first IN_PROGRESS to DONE) and lead time (creation to DONE)
+-- updated on each move to DONE, so GET /api/teams/{teamId}/analytics reads a few hundred rows at most
+-- instead of the transition history. Durations are counted in logarithmic buckets of seconds.
+-- Status changes made before this migration are unknown, so history starts empty.
+
+CREATE TABLE task_status_transitions (
+    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    task_id BIGINT NOT NULL,
+    team_id BIGINT,
+    from_status VARCHAR(16),
+    to_status VARCHAR(16) NOT NULL,
+    changed_at TIMESTAMP NOT NULL
+);
+
+-- When a task first started work, looked up as it is completed.
+CREATE INDEX idx_task_status_transitions_task ON task_status_transitions (task_id, to_status, changed_at);
+
+CREATE TABLE team_flow_histograms (
+    team_id BIGINT NOT NULL,
+    week_start DATE NOT NULL,
+    metric VARCHAR(8) NOT NULL,
+    bucket SMALLINT NOT NULL,
+    samples BIGINT NOT NULL,
+    PRIMARY KEY (team_id, week_start, metric, bucket),
+    CONSTRAINT fk_team_flow_histograms_team FOREIGN KEY (team_id) REFERENCES teams(id) ON DELETE CASCADE
+);
@@ -0,0 +1,12 @@
+-- Flyway migration: open and done task counts of every team at the end of each day, written by a
+-- scheduled job (see TeamBurndownRepository) so GET /api/teams/{teamId}/burndown reads one primary-key
+-- range instead of replaying the team's tasks. Rows are never updated once written.
+
+CREATE TABLE team_burndown_snapshots (
+    team_id BIGINT NOT NULL,
+    snapshot_date DATE NOT NULL,
+    open_tasks INTEGER NOT NULL,
+    done_tasks INTEGER NOT NULL,
+    PRIMARY KEY (team_id, snapshot_date),
+    CONSTRAINT fk_team_burndown_snapshots_team FOREIGN KEY (team_id) REFERENCES teams(id) ON DELETE CASCADE
+);
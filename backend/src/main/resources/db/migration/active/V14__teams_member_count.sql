@@ -0,0 +1,24 @@
+-- Flyway migration: teams.member_count, the number of teams_members rows of the team, so team
+-- responses carry a count instead of every member. A trigger keeps it exact because membership
+-- also changes through JPA collection writes and through the cascade when a user is deleted.
+-- Task counts of a team are already kept in team_task_counters (see V8).
+
+ALTER TABLE teams ADD COLUMN member_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE teams t SET member_count = (SELECT count(*) FROM teams_members m WHERE m.team_id = t.id);
+
+CREATE FUNCTION teams_members_count() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        UPDATE teams SET member_count = member_count + 1 WHERE id = NEW.team_id;
+    END IF;
+    IF TG_OP IN ('DELETE', 'UPDATE') THEN
+        UPDATE teams SET member_count = member_count - 1 WHERE id = OLD.team_id;
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_teams_members_count
+AFTER INSERT OR UPDATE OR DELETE ON teams_members
+FOR EACH ROW EXECUTE FUNCTION teams_members_count();
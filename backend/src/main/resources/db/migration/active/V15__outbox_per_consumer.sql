@@ -0,0 +1,8 @@
+-- Flyway migration: one outbox row per event and consumer, so each consumer is delivered, retried and
+-- backed off on its own: a failing consumer neither holds back the others nor makes them see events again.
+-- Rows written before this migration have no consumer; the dispatcher copies them to every configured
+-- consumer when it starts (see OutboxRepository.fanOutUnassigned).
+-- A claim now pushes available_at forward by a lease and commits, so delivery runs without a transaction
+-- and a dispatcher that dies mid-delivery leaves its rows due again once the lease runs out.
+
+ALTER TABLE outbox ADD COLUMN consumer VARCHAR(64);
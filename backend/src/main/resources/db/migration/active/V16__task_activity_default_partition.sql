@@ -0,0 +1,5 @@
+-- Flyway migration: a DEFAULT partition for task_activity, so entries still insert when their month has no
+-- partition yet (the application was down past the months created ahead, or the clock moved on).
+-- Partition maintenance moves such rows into their monthly partition when it creates it.
+
+CREATE TABLE IF NOT EXISTS task_activity_default PARTITION OF task_activity DEFAULT;
@@ -0,0 +1,7 @@
+-- Flyway migration: every task has a creation time.
+-- Lead times (V12) and the (created_at, id) keyset listings (V3, V4) read it; all writers
+-- already set it, but rows from before that have none. Their updated_at (backfilled by V9)
+-- is the closest known time.
+
+UPDATE tasks SET created_at = updated_at WHERE created_at IS NULL;
+ALTER TABLE tasks ALTER COLUMN created_at SET NOT NULL;
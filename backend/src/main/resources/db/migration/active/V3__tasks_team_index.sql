@@ -0,0 +1,3 @@
+-- Flyway migration: index team task listings on the keyset used for pagination
+
+CREATE INDEX IF NOT EXISTS idx_tasks_team_created ON tasks (team_id, created_at DESC, id DESC);
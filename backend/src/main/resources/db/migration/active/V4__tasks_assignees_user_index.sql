@@ -0,0 +1,4 @@
+-- Flyway migration: reverse index for "tasks assigned to user" lookups.
+-- The primary key only covers (task_id, user_id), so filtering by user_id alone scanned the whole table.
+
+CREATE INDEX IF NOT EXISTS idx_tasks_assignees_user ON tasks_assignees (user_id, task_id);
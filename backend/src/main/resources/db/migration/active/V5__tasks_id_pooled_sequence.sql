@@ -0,0 +1,7 @@
+-- Flyway migration: allocate task ids from tasks_id_seq in blocks of 50
+-- (Hibernate pooled-lo optimizer and JDBC batch inserts reserve [nextval, nextval + 49]).
+-- The column default is kept for plain SQL inserts; each of those uses up a whole
+-- block start, so it cannot collide with ids handed out from a reserved block.
+
+ALTER TABLE tasks ALTER COLUMN id TYPE BIGINT;
+ALTER SEQUENCE tasks_id_seq AS BIGINT INCREMENT BY 50;
@@ -0,0 +1,13 @@
+-- Flyway migration: composite indexes for GET /api/tasks/search.
+-- Every search is scoped to the caller's teams, so team_id leads; the next column
+-- serves the filter and the last one the usual sort, so the page can be read in order.
+-- Assignee filters use idx_tasks_assignees_user (V4).
+
+CREATE INDEX IF NOT EXISTS idx_tasks_team_status_due ON tasks (team_id, status, due_date, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_team_priority_due ON tasks (team_id, priority, due_date, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_team_due ON tasks (team_id, due_date, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_team_updated ON tasks (team_id, updated_at DESC, id DESC);
+-- The creator foreign key had no index; it also speeds up ON DELETE SET NULL when a user is removed.
+CREATE INDEX IF NOT EXISTS idx_tasks_creator_updated ON tasks (creator_id, updated_at DESC, id DESC);
+-- The caller's teams are resolved by user id; the primary key leads with team_id.
+CREATE INDEX IF NOT EXISTS idx_teams_members_user ON teams_members (user_id, team_id);
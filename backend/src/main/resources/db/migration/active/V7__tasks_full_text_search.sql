@@ -0,0 +1,12 @@
+-- Flyway migration: full-text search over task titles and descriptions.
+-- The vector is a stored generated column, so every write path (JPA, JDBC batches,
+-- plain SQL) keeps it current. Title words weigh more than description words in ranking.
+-- Adding the column rewrites the table once.
+
+ALTER TABLE tasks ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_search_vector ON tasks USING GIN (search_vector);
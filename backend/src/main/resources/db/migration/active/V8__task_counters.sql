@@ -0,0 +1,32 @@
+-- Flyway migration: task counts kept up to date by every task write (see TaskCounterRepository),
+-- so dashboards read a handful of rows instead of counting tasks. A missing status or priority
+-- is counted under 'NONE'. A periodic job recomputes the counts from tasks and repairs drift.
+
+CREATE TABLE team_task_counters (
+    team_id BIGINT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    priority VARCHAR(16) NOT NULL,
+    task_count BIGINT NOT NULL,
+    PRIMARY KEY (team_id, status, priority),
+    CONSTRAINT fk_team_task_counters_team FOREIGN KEY (team_id) REFERENCES teams(id) ON DELETE CASCADE
+);
+
+CREATE TABLE assignee_task_counters (
+    user_id BIGINT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    task_count BIGINT NOT NULL,
+    PRIMARY KEY (user_id, status),
+    CONSTRAINT fk_assignee_task_counters_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+INSERT INTO team_task_counters (team_id, status, priority, task_count)
+SELECT team_id, coalesce(status, 'NONE'), coalesce(priority, 'NONE'), count(*)
+FROM tasks
+WHERE team_id IS NOT NULL
+GROUP BY 1, 2, 3;
+
+INSERT INTO assignee_task_counters (user_id, status, task_count)
+SELECT ta.user_id, coalesce(t.status, 'NONE'), count(*)
+FROM tasks_assignees ta
+JOIN tasks t ON t.id = ta.task_id
+GROUP BY 1, 2;
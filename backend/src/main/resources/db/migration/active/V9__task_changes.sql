@@ -0,0 +1,15 @@
+-- Flyway migration: delta sync for GET /api/tasks/changes.
+-- Changed tasks are read in (updated_at, id) order through idx_tasks_team_updated (V6),
+-- so every task needs an updated_at; all writers already set it.
+-- Deleted tasks leave a tombstone in task_deletions until it is older than the sync retention.
+
+UPDATE tasks SET updated_at = coalesce(created_at, now()) WHERE updated_at IS NULL;
+ALTER TABLE tasks ALTER COLUMN updated_at SET NOT NULL;
+
+CREATE TABLE task_deletions (
+    task_id BIGINT PRIMARY KEY,
+    team_id BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_task_deletions_team_deleted ON task_deletions (team_id, deleted_at);
@@ -0,0 +1,46 @@
+package com.taskmanager.api;
+
+import com.taskmanager.api.security.JwtUtils;
+import com.taskmanager.api.security.UserPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** Only administrators may read the application metrics. */
+@SpringBootTest
+@AutoConfigureMockMvc
+@SuppressWarnings("null")
+class ActuatorAccessTest extends PostgresTestcontainerBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Test
+    void metricsRequireAdminRole() throws Exception {
+        mockMvc.perform(get("/actuator/metrics").header("Authorization", token("ROLE_USER")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics/cache.gets").header("Authorization", token("ROLE_USER")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics").header("Authorization", token("ROLE_USER", "ROLE_ADMIN")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void healthStaysAvailableToUsers() throws Exception {
+        mockMvc.perform(get("/actuator/health").header("Authorization", token("ROLE_USER")))
+                .andExpect(status().isOk());
+    }
+
+    private String token(String... roles) {
+        return "Bearer " + jwtUtils.generateToken(new UserPrincipal(1L, "metrics", List.of(roles)));
+    }
+}
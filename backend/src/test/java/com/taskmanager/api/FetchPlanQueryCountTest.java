@@ -0,0 +1,143 @@
+package com.taskmanager.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.api.dto.TaskDto;
+import com.taskmanager.api.dto.TeamDto;
+import com.taskmanager.api.entity.FetchPlans;
+import com.taskmanager.api.entity.Team;
+import com.taskmanager.api.mapper.TaskMapper;
+import com.taskmanager.api.security.JwtUtils;
+import com.taskmanager.api.security.UserPrincipal;
+import com.taskmanager.api.service.TaskService;
+import com.taskmanager.api.service.TeamService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that each use case in {@link FetchPlans} loads everything its response
+ * needs in the documented number of statements. Mapping happens outside a
+ * transaction, so any association missing from a fetch plan fails the test.
+ * With open-in-view off, the task endpoints that resolve assignees by id must
+ * also return them with their roles.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.open-in-view=false"
+})
+@SuppressWarnings("null")
+class FetchPlanQueryCountTest extends PostgresTestcontainerBase {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TeamService teamService;
+    @Autowired
+    private TaskMapper taskMapper;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtUtils jwtUtils;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long teamId;
+    private Long taskId;
+    private Long memberId;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM teams_members");
+        jdbcTemplate.update("DELETE FROM teams");
+        jdbcTemplate.update("DELETE FROM users_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("INSERT INTO users (username, email, password, display_name, created_at, updated_at)"
+                + " SELECT 'plan' || g, 'plan' || g || '@example.com', 'x', 'Plan ' || g, now(), now()"
+                + " FROM generate_series(1, 5) g");
+        jdbcTemplate.update("INSERT INTO users_roles (user_id, role_id)"
+                + " SELECT u.id, r.id FROM users u CROSS JOIN roles r");
+        memberId = jdbcTemplate.queryForObject("SELECT min(id) FROM users", Long.class);
+        teamId = jdbcTemplate.queryForObject("INSERT INTO teams (name, admin_id, created_at, updated_at)"
+                + " VALUES ('Plan Team', ?, now(), now()) RETURNING id", Long.class, memberId);
+        jdbcTemplate.update("INSERT INTO teams_members (team_id, user_id) SELECT ?, id FROM users", teamId);
+        taskId = jdbcTemplate.queryForObject("INSERT INTO tasks (title, creator_id, team_id, priority, status, created_at, updated_at)"
+                + " VALUES ('Plan task', ?, ?, 'MEDIUM', 'TO_DO', now(), now()) RETURNING id", Long.class, memberId, teamId);
+        jdbcTemplate.update("INSERT INTO tasks_assignees (task_id, user_id) SELECT ?, id FROM users", taskId);
+    }
+
+    @Test
+    void singleTaskLoadsInOneStatement() {
+        Statistics stats = statistics();
+        TaskDto dto = taskMapper.toDto(taskService.findById(taskId));
+
+        assertThat(dto.getAssignees()).hasSize(5).allSatisfy(u -> assertThat(u.getRoles()).hasSize(2));
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(FetchPlans.SINGLE_TASK_QUERIES);
+    }
+
+    @Test
+    void teamsOfUserLoadInOneStatement() {
+        Statistics stats = statistics();
+        List<Team> loaded = teamService.listTeamsForUser(memberId);
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(FetchPlans.TEAM_SUMMARY_QUERIES);
+
+        // The counts are read over JDBC; the admin summary must already be loaded.
+        List<TeamDto> teams = teamService.toDtos(loaded);
+        assertThat(teams).singleElement().satisfies(t -> {
+            assertThat(t.getMemberCount()).isEqualTo(5);
+            assertThat(t.getAdmin().getUsername()).isEqualTo("plan1");
+        });
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(FetchPlans.TEAM_SUMMARY_QUERIES);
+    }
+
+    @Test
+    void assigneesResolvedByIdAreMappedWithTheirRoles() throws Exception {
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+        String token = "Bearer " + jwtUtils.generateToken(new UserPrincipal(memberId, "plan1", List.of("ROLE_USER")));
+
+        String created = mockMvc.perform(post("/api/tasks")
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Assigned\",\"teamId\":" + teamId + ",\"assigneeIds\":[" + userIds.get(1) + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.assignees[0].roles.length()").value(2))
+                .andReturn().getResponse().getContentAsString();
+        Long createdId = objectMapper.readTree(created).get("id").asLong();
+
+        mockMvc.perform(patch("/api/tasks/" + createdId)
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"assignees\":[{\"id\":" + userIds.get(2) + "}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.assignees.length()").value(1))
+                .andExpect(jsonPath("$.assignees[0].id").value(userIds.get(2)))
+                .andExpect(jsonPath("$.assignees[0].roles.length()").value(2));
+    }
+
+    private Statistics statistics() {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        return stats;
+    }
+}
@@ -0,0 +1,94 @@
+package com.taskmanager.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.api.event.OutboxMessage;
+import com.taskmanager.api.repository.OutboxRepository;
+import com.taskmanager.api.service.OutboxConsumer;
+import com.taskmanager.api.service.impl.OutboxServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drains a backlog of 20,000 outbox events with a consumer that does nothing
+ * and reports events per second for several batch sizes and dispatcher
+ * counts, as read from the dispatcher's own metrics. Run with
+ * `-Dbenchmarks=true` (requires Docker).
+ */
+@SpringBootTest(properties = "app.outbox.dispatcher.enabled=false")
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@SuppressWarnings("null")
+class OutboxBenchmarkTest extends PostgresTestcontainerBase {
+
+    private static final int EVENTS = 20_000;
+    private static final OutboxConsumer DISCARD = new OutboxConsumer() {
+        @Override
+        public String name() {
+            return "discard";
+        }
+
+        @Override
+        public void deliver(List<OutboxMessage> messages) {
+        }
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private OutboxRepository outboxRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void dispatchThroughput() throws Exception {
+        for (int parallelism : new int[]{1, 4}) {
+            for (int batchSize : new int[]{1, 10, 100, 500}) {
+                jdbcTemplate.update("DELETE FROM outbox");
+                jdbcTemplate.update("INSERT INTO outbox (event_type, team_id, payload, created_at, available_at, consumer)"
+                        + " SELECT 'task.updated', 1, '{\"type\": \"UPDATED\", \"teamId\": 1, \"taskIds\": [1]}', now(), now(), 'discard'"
+                        + " FROM generate_series(1, ?)", EVENTS);
+                jdbcTemplate.execute("VACUUM ANALYZE outbox");
+
+                SimpleMeterRegistry registry = new SimpleMeterRegistry();
+                OutboxServiceImpl dispatcher = new OutboxServiceImpl(outboxRepository, List.of(DISCARD), objectMapper,
+                        registry, batchSize, parallelism, Duration.ofMillis(500), Duration.ofSeconds(1),
+                        Duration.ofHours(1), Duration.ofMinutes(5), false);
+                long start = System.nanoTime();
+                ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+                try {
+                    List<Future<?>> workers = new ArrayList<>();
+                    for (int i = 0; i < parallelism; i++) {
+                        workers.add(pool.submit(() -> {
+                            while (dispatcher.dispatchBatch() > 0) {
+                                // drain
+                            }
+                        }));
+                    }
+                    for (Future<?> worker : workers) worker.get();
+                } finally {
+                    pool.shutdownNow();
+                }
+                long millis = (System.nanoTime() - start) / 1_000_000;
+
+                double delivered = registry.get("outbox.delivered").counter().count();
+                assertThat(delivered).isEqualTo(EVENTS);
+                System.out.printf("outbox: parallelism %d, batch %4d: %6.0f events/s, %.2f ms per batch%n",
+                        parallelism, batchSize, delivered * 1000 / millis,
+                        registry.get("outbox.batch").timer().mean(TimeUnit.MILLISECONDS));
+            }
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.taskmanager.api;
+
+import com.taskmanager.api.entity.Task;
+import com.taskmanager.api.entity.Team;
+import com.taskmanager.api.event.OutboxMessage;
+import com.taskmanager.api.service.OutboxConsumer;
+import com.taskmanager.api.service.OutboxService;
+import com.taskmanager.api.service.TaskService;
+import com.taskmanager.api.service.TeamService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that task and team writes leave outbox events exactly when they
+ * commit, that a failed delivery is rescheduled for the failing consumer
+ * alone rather than lost or repeated for the others, and that concurrent
+ * dispatchers never claim the same event twice.
+ */
+@SpringBootTest(properties = {"app.outbox.dispatcher.enabled=false", "app.outbox.batch-size=50",
+        "app.outbox.retry-backoff=1h"})
+@SuppressWarnings("null")
+class OutboxTest extends PostgresTestcontainerBase {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TeamService teamService;
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private RecordingConsumer consumer;
+    @Autowired
+    private InProcessListener listener;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Long adminId;
+    private Long memberId;
+    private Long teamId;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM outbox");
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM teams_members");
+        jdbcTemplate.update("DELETE FROM teams");
+        jdbcTemplate.update("DELETE FROM users_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("INSERT INTO users (username, email, password, display_name, created_at, updated_at)"
+                + " SELECT 'outbox' || g, 'outbox' || g || '@example.com', 'x', 'Outbox ' || g, now(), now()"
+                + " FROM generate_series(1, 2) g");
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+        adminId = userIds.get(0);
+        memberId = userIds.get(1);
+        teamId = jdbcTemplate.queryForObject("INSERT INTO teams (name, admin_id, created_at, updated_at)"
+                + " VALUES ('Outbox Team', ?, now(), now()) RETURNING id", Long.class, adminId);
+        jdbcTemplate.update("INSERT INTO teams_members (team_id, user_id) VALUES (?, ?)", teamId, adminId);
+        consumer.reset();
+        listener.received.clear();
+    }
+
+    @Test
+    void committedWritesAreDeliveredToEveryConsumer() {
+        Long taskId = taskService.createTask(newTask("Outboxed"), adminId).getId();
+        teamService.addMember(teamId, memberId, adminId);
+
+        assertThat(jdbcTemplate.queryForList("SELECT event_type FROM outbox WHERE consumer = 'recording' ORDER BY id", String.class))
+                .containsExactly("task.created", "team.member_added");
+        assertThat(jdbcTemplate.queryForList("SELECT DISTINCT consumer FROM outbox", String.class))
+                .containsExactlyInAnyOrder("recording", "in-process");
+        assertThat(outboxService.dispatchBatch()).isEqualTo(4);
+
+        assertThat(consumer.received).extracting(OutboxMessage::type).containsExactly("task.created", "team.member_added");
+        assertThat(consumer.received.get(0).payload()).contains("\"taskIds\": [" + taskId + "]");
+        assertThat(consumer.received.get(1).teamId()).isEqualTo(teamId);
+        assertThat(listener.received).hasSize(2);
+        assertThat(outboxRows()).isZero();
+        assertThat(outboxService.dispatchBatch()).isZero();
+    }
+
+    @Test
+    void rolledBackWritesLeaveNoEvents() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            taskService.createTask(newTask("Never committed"), adminId);
+            status.setRollbackOnly();
+        });
+        assertThat(outboxRows()).isZero();
+    }
+
+    @Test
+    void failedDeliveryIsRescheduled() {
+        taskService.createTask(newTask("Retried"), adminId);
+        double failedBefore = meterRegistry.counter("outbox.failed", "consumer", "recording").count();
+        consumer.failing = true;
+
+        assertThat(outboxService.dispatchBatch()).isEqualTo(2);
+        // The in-process consumer got its copy; only the failed one is kept.
+        assertThat(listener.received).hasSize(1);
+        assertThat(outboxRows()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT consumer FROM outbox", String.class)).isEqualTo("recording");
+        assertThat(jdbcTemplate.queryForObject("SELECT attempts FROM outbox", Integer.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT last_error FROM outbox", String.class)).startsWith("recording:");
+        assertThat(meterRegistry.counter("outbox.failed", "consumer", "recording").count()).isEqualTo(failedBefore + 1);
+        // Backed off, so it is not due yet.
+        assertThat(outboxService.dispatchBatch()).isZero();
+
+        consumer.failing = false;
+        jdbcTemplate.update("UPDATE outbox SET available_at = now() - interval '1 second'");
+        assertThat(outboxService.dispatchBatch()).isEqualTo(1);
+        assertThat(consumer.received).hasSize(1);
+        assertThat(listener.received).hasSize(1);
+        assertThat(outboxRows()).isZero();
+    }
+
+    @Test
+    void failingConsumerDoesNotHoldBackOthers() {
+        consumer.failing = true;
+        taskService.createTask(newTask("First"), adminId);
+        assertThat(outboxService.dispatchBatch()).isEqualTo(2);
+
+        // While the recording consumer backs off, new events still reach the in-process one right away.
+        taskService.createTask(newTask("Second"), adminId);
+        assertThat(outboxService.dispatchBatch()).isEqualTo(2);
+        assertThat(listener.received).extracting(OutboxMessage::type).containsExactly("task.created", "task.created");
+        assertThat(consumer.received).isEmpty();
+        assertThat(outboxRows()).isEqualTo(2);
+    }
+
+    @Test
+    void claimedEventsAreReleasedBeforeDelivery() {
+        taskService.createTask(newTask("Leased"), adminId);
+        consumer.onDeliver = () -> {
+            // Delivery runs outside any transaction: the claim is already committed and visible.
+            assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM outbox WHERE available_at > now()", Integer.class))
+                    .isEqualTo(2);
+        };
+
+        assertThat(outboxService.dispatchBatch()).isEqualTo(2);
+        assertThat(consumer.received).hasSize(1);
+        assertThat(outboxRows()).isZero();
+    }
+
+    @Test
+    void concurrentDispatchersClaimDisjointBatches() throws Exception {
+        int events = 1_000;
+        jdbcTemplate.update("INSERT INTO outbox (event_type, team_id, payload, created_at, available_at, consumer)"
+                + " SELECT 'task.updated', ?, '{}', now(), now(), 'recording' FROM generate_series(1, ?)", teamId, events);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                workers.add(pool.submit(() -> {
+                    while (outboxService.dispatchBatch() > 0) {
+                        // keep draining
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) worker.get();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<Long> ids = consumer.received.stream().map(OutboxMessage::id).toList();
+        assertThat(ids).hasSize(events);
+        assertThat(new HashSet<>(ids)).hasSize(events);
+        assertThat(outboxRows()).isZero();
+    }
+
+    private int outboxRows() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM outbox", Integer.class);
+    }
+
+    private Task newTask(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        Team team = new Team();
+        team.setId(teamId);
+        task.setTeam(team);
+        return task;
+    }
+
+    @TestConfiguration
+    static class Consumers {
+
+        @Bean
+        RecordingConsumer recordingConsumer() {
+            return new RecordingConsumer();
+        }
+
+        @Bean
+        InProcessListener inProcessListener() {
+            return new InProcessListener();
+        }
+    }
+
+    /** Keeps every delivered message; can be told to fail. */
+    static class RecordingConsumer implements OutboxConsumer {
+
+        final List<OutboxMessage> received = Collections.synchronizedList(new ArrayList<>());
+        volatile boolean failing;
+        volatile Runnable onDeliver;
+
+        void reset() {
+            received.clear();
+            failing = false;
+            onDeliver = null;
+        }
+
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        @Override
+        public void deliver(List<OutboxMessage> messages) {
+            if (failing) throw new IllegalStateException("consumer unavailable");
+            if (onDeliver != null) onDeliver.run();
+            received.addAll(messages);
+        }
+    }
+
+    /** Receives the messages republished by the in-process consumer. */
+    static class InProcessListener {
+
+        final List<OutboxMessage> received = Collections.synchronizedList(new ArrayList<>());
+
+        @EventListener
+        void on(OutboxMessage message) {
+            received.add(message);
+        }
+    }
+}
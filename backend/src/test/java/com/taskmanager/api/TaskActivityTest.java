@@ -0,0 +1,272 @@
+package com.taskmanager.api;
+
+import com.taskmanager.api.dto.CursorPage;
+import com.taskmanager.api.dto.TaskActivityDto;
+import com.taskmanager.api.dto.TaskCreateDto;
+import com.taskmanager.api.dto.TaskDto;
+import com.taskmanager.api.entity.Task;
+import com.taskmanager.api.entity.Team;
+import com.taskmanager.api.event.TaskChangedEvent;
+import com.taskmanager.api.repository.TaskActivityRepository;
+import com.taskmanager.api.repository.TaskActivityRepository.Entry;
+import com.taskmanager.api.repository.TaskImportRepository;
+import com.taskmanager.api.repository.TaskImportRepository.StagedRow;
+import com.taskmanager.api.repository.TeamRepository;
+import com.taskmanager.api.security.TaskPermissions;
+import com.taskmanager.api.service.TaskActivityService;
+import com.taskmanager.api.service.TaskBatchService;
+import com.taskmanager.api.service.TaskService;
+import com.taskmanager.api.service.impl.TaskActivityServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Checks the task history written by {@link TaskService}, {@link TaskBatchService}
+ * and import writes: field diffs, status and assignment changes, keyset paging
+ * and access. The
+ * application runs with transactional durability so entries are visible on
+ * return; the asynchronous writer and partition maintenance are exercised
+ * on separately built services.
+ */
+@SpringBootTest(properties = "app.tasks.activity.durability=transactional")
+@SuppressWarnings("null")
+class TaskActivityTest extends PostgresTestcontainerBase {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TaskBatchService taskBatchService;
+    @Autowired
+    private TaskImportRepository taskImportRepository;
+    @Autowired
+    private TaskActivityService taskActivityService;
+    @Autowired
+    private TaskActivityRepository taskActivityRepository;
+    @Autowired
+    private TaskPermissions taskPermissions;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long adminId;
+    private Long memberId;
+    private Long outsiderId;
+    private Long teamId;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM task_activity");
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM teams_members");
+        jdbcTemplate.update("DELETE FROM teams");
+        jdbcTemplate.update("DELETE FROM users_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("INSERT INTO users (username, email, password, display_name, created_at, updated_at)"
+                + " SELECT 'activity' || g, 'activity' || g || '@example.com', 'x', 'Activity ' || g, now(), now()"
+                + " FROM generate_series(1, 3) g");
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+        adminId = userIds.get(0);
+        memberId = userIds.get(1);
+        outsiderId = userIds.get(2);
+        teamId = jdbcTemplate.queryForObject("INSERT INTO teams (name, admin_id, created_at, updated_at)"
+                + " VALUES ('Activity Team', ?, now(), now()) RETURNING id", Long.class, adminId);
+        jdbcTemplate.update("INSERT INTO teams_members (team_id, user_id) VALUES (?, ?)", teamId, memberId);
+    }
+
+    @Test
+    void writesLeaveFieldLevelHistory() {
+        Long taskId = createTask();
+        TaskDto update = new TaskDto();
+        update.setTitle("Renamed");
+        update.setPriority("HIGH");
+        taskService.updateTask(taskId, update, adminId);
+        taskService.changeTaskStatus(taskId, "IN_PROGRESS", adminId);
+        taskService.changeTaskStatus(taskId, "IN_PROGRESS", adminId);
+        taskService.assignUserToTask(taskId, memberId, adminId);
+        taskService.assignUserToTask(taskId, memberId, adminId);
+        taskService.unassignUserFromTask(taskId, memberId, memberId);
+
+        List<TaskActivityDto> history = taskActivityService.getActivity(taskId, memberId, null, 50).getItems();
+        assertThat(history).extracting(TaskActivityDto::getAction, TaskActivityDto::getField,
+                        TaskActivityDto::getOldValue, TaskActivityDto::getNewValue)
+                .containsExactly(
+                        tuple("UNASSIGNED", "assignee", memberId.toString(), null),
+                        tuple("ASSIGNED", "assignee", null, memberId.toString()),
+                        tuple("STATUS_CHANGED", "status", "TO_DO", "IN_PROGRESS"),
+                        tuple("UPDATED", "priority", "MEDIUM", "HIGH"),
+                        tuple("UPDATED", "title", "Original", "Renamed"),
+                        tuple("CREATED", null, null, null));
+        assertThat(history.get(0).getActorId()).isEqualTo(memberId);
+        assertThat(history.get(1).getActorId()).isEqualTo(adminId);
+
+        taskService.deleteTask(taskId, adminId);
+        assertThat(taskActivityRepository.findPage(taskId, null, 1))
+                .extracting(TaskActivityDto::getAction).containsExactly("DELETED");
+    }
+
+    @Test
+    void batchWritesAndImportsLeaveHistory() {
+        TaskCreateDto item = new TaskCreateDto();
+        item.setTitle("Batched");
+        item.setTeamId(teamId);
+        Long taskId = taskBatchService.createTasks(List.of(item), adminId).getResults().get(0).getId();
+        taskBatchService.changeStatus(List.of(taskId), "DONE", adminId);
+        taskBatchService.changeStatus(List.of(taskId), "DONE", adminId);
+        taskBatchService.assignUser(List.of(taskId), memberId, adminId);
+        taskBatchService.assignUser(List.of(taskId), memberId, adminId);
+        taskBatchService.unassignUser(List.of(taskId), memberId, memberId);
+
+        assertThat(taskActivityService.getActivity(taskId, memberId, null, 50).getItems())
+                .extracting(TaskActivityDto::getAction, TaskActivityDto::getField,
+                        TaskActivityDto::getOldValue, TaskActivityDto::getNewValue, TaskActivityDto::getActorId)
+                .containsExactly(
+                        tuple("UNASSIGNED", "assignee", memberId.toString(), null, memberId),
+                        tuple("ASSIGNED", "assignee", null, memberId.toString(), adminId),
+                        tuple("STATUS_CHANGED", "status", "TO_DO", "DONE", adminId),
+                        tuple("CREATED", null, null, null, adminId));
+
+        int imported = new TransactionTemplate(transactionManager).execute(status -> {
+            try {
+                TaskImportRepository.StagingWriter staging = taskImportRepository.openStaging();
+                staging.add(new StagedRow(2, "Imported 1", null, null, null, null, null, List.of()));
+                staging.add(new StagedRow(3, "Imported 2", null, "DONE", null, null, null, List.of(memberId)));
+                staging.finish();
+            } catch (java.sql.SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            return taskImportRepository.merge(teamId, memberId, LocalDateTime.now());
+        });
+        assertThat(imported).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList("SELECT a.action || ':' || a.team_id || ':' || a.actor_id FROM task_activity a"
+                + " JOIN tasks t ON t.id = a.task_id WHERE t.title LIKE 'Imported %'", String.class))
+                .containsOnly("CREATED:" + teamId + ":" + memberId).hasSize(2);
+    }
+
+    @Test
+    void historyPagesNewestFirstWithoutGapsOrRepeats() {
+        Long taskId = createTask();
+        LocalDateTime at = LocalDateTime.now().withNano(0);
+        // Entries sharing a timestamp must still page by id.
+        taskActivityRepository.insert(IntStream.range(0, 45)
+                .mapToObj(i -> new Entry(taskId, teamId, adminId, TaskChangedEvent.Type.UPDATED, "title",
+                        "t" + i, "t" + (i + 1), at.minusSeconds(i / 3)))
+                .toList());
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<TaskActivityDto> page = taskActivityService.getActivity(taskId, adminId, cursor, 10);
+            page.getItems().forEach(entry -> seen.add(entry.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        List<Long> expected = jdbcTemplate.queryForList(
+                "SELECT id FROM task_activity WHERE task_id = ? ORDER BY created_at DESC, id DESC", Long.class, taskId);
+        assertThat(seen).hasSize(46).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void onlyTeamMembersMayReadHistory() {
+        Long taskId = createTask();
+        assertThatThrownBy(() -> taskActivityService.getActivity(taskId, outsiderId, null, 10))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThat(taskActivityService.getActivity(taskId, memberId, null, 10).getItems()).hasSize(1);
+    }
+
+    @Test
+    void asyncModeWritesCommittedEntriesOnly() throws Exception {
+        Long taskId = createTask();
+        TaskActivityServiceImpl async = service("async", 0);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> async.record(entries(taskId, 300)));
+        tx.executeWithoutResult(status -> {
+            async.record(entries(taskId, 5));
+            status.setRollbackOnly();
+        });
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (count(taskId) < 301 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        Thread.sleep(200);
+        assertThat(count(taskId)).isEqualTo(301);
+    }
+
+    @Test
+    void maintenanceCreatesUpcomingAndDropsExpiredPartitions() {
+        YearMonth now = YearMonth.now();
+        YearMonth expired = now.minusMonths(13);
+        taskActivityRepository.createPartitions(expired, expired);
+        taskActivityRepository.insert(List.of(new Entry(1L, teamId, adminId, TaskChangedEvent.Type.CREATED,
+                null, null, null, expired.atDay(1).atStartOfDay())));
+
+        assertThat(service("transactional", 12).maintainPartitions()).isEqualTo(1);
+        List<String> partitions = jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i"
+                + " JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent"
+                + " WHERE p.relname = 'task_activity'", String.class);
+        assertThat(partitions).contains(partition(now), partition(now.plusMonths(2)))
+                .doesNotContain(partition(expired));
+    }
+
+    @Test
+    void entriesOfMonthsWithoutPartitionAreKeptAndMovedToTheirPartition() {
+        YearMonth unpartitioned = YearMonth.now().plusMonths(6);
+        taskActivityRepository.insert(List.of(new Entry(1L, teamId, adminId, TaskChangedEvent.Type.CREATED,
+                null, null, null, unpartitioned.atDay(3).atStartOfDay())));
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM task_activity_default", Integer.class)).isEqualTo(1);
+
+        service("transactional", 0).maintainPartitions();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM task_activity_default", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM " + partition(unpartitioned), Integer.class)).isEqualTo(1);
+        assertThat(taskActivityRepository.findPage(1L, null, 10)).hasSize(1);
+    }
+
+    private Long createTask() {
+        Task task = new Task();
+        task.setTitle("Original");
+        Team team = new Team();
+        team.setId(teamId);
+        task.setTeam(team);
+        return taskService.createTask(task, adminId).getId();
+    }
+
+    private TaskActivityServiceImpl service(String durability, int retentionMonths) {
+        return new TaskActivityServiceImpl(taskActivityRepository, taskPermissions, teamRepository,
+                new SimpleMeterRegistry(), durability, 100, 50, retentionMonths);
+    }
+
+    private List<Entry> entries(Long taskId, int n) {
+        return IntStream.range(0, n)
+                .mapToObj(i -> new Entry(taskId, teamId, adminId, TaskChangedEvent.Type.UPDATED, "title",
+                        null, "t" + i, LocalDateTime.now()))
+                .toList();
+    }
+
+    private long count(Long taskId) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM task_activity WHERE task_id = ?", Long.class, taskId);
+    }
+
+    private static String partition(YearMonth month) {
+        return String.format("task_activity_%d_%02d", month.getYear(), month.getMonthValue());
+    }
+}
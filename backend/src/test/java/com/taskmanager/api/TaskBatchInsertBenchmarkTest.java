@@ -0,0 +1,101 @@
+package com.taskmanager.api;
+
+import com.taskmanager.api.dto.BatchResult;
+import com.taskmanager.api.dto.TaskCreateDto;
+import com.taskmanager.api.entity.Task;
+import com.taskmanager.api.service.TaskBatchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput of `POST /api/tasks/batch` below the HTTP layer: batches of 5000
+ * tasks with two assignees each, against the 10k tasks/s target. Run with
+ * `-Dbenchmarks=true` (requires Docker).
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@SuppressWarnings("null")
+class TaskBatchInsertBenchmarkTest extends PostgresTestcontainerBase {
+
+    private static final int BATCH = 5000;
+    private static final int WARMUP_BATCHES = 2;
+    private static final int BATCHES = 10;
+    private static final double MIN_TASKS_PER_SECOND = 10_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    private Long teamId;
+    private List<Long> userIds;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM teams_members");
+        jdbcTemplate.update("DELETE FROM teams");
+        jdbcTemplate.update("DELETE FROM users_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("INSERT INTO users (username, email, password, display_name, created_at, updated_at)"
+                + " SELECT 'bench' || g, 'bench' || g || '@example.com', 'x', 'Bench ' || g, now(), now()"
+                + " FROM generate_series(1, 20) g");
+        userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+        teamId = jdbcTemplate.queryForObject("INSERT INTO teams (name, admin_id, created_at, updated_at)"
+                + " VALUES ('Bench Team', ?, now(), now()) RETURNING id", Long.class, userIds.get(0));
+    }
+
+    @Test
+    void createsTenThousandTasksPerSecond() {
+        for (int i = 0; i < WARMUP_BATCHES; i++) createBatch();
+        long start = System.nanoTime();
+        for (int i = 0; i < BATCHES; i++) createBatch();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double perSecond = BATCH * BATCHES / seconds;
+        System.out.printf("batch insert: %d tasks in %.2fs, %.0f tasks/s%n", BATCH * BATCHES, seconds, perSecond);
+
+        Long total = jdbcTemplate.queryForObject("SELECT count(*) FROM tasks", Long.class);
+        Long assignees = jdbcTemplate.queryForObject("SELECT count(*) FROM tasks_assignees", Long.class);
+        assertThat(total).isEqualTo((long) BATCH * (BATCHES + WARMUP_BATCHES));
+        assertThat(assignees).isEqualTo(total * 2);
+        assertThat(perSecond).isGreaterThanOrEqualTo(MIN_TASKS_PER_SECOND);
+    }
+
+    @Test
+    void batchIdsDoNotCollideWithJpaIds() {
+        createBatch();
+        jdbcTemplate.update("INSERT INTO tasks (title, priority, status, created_at, updated_at)"
+                + " VALUES ('plain sql', 'LOW', 'TO_DO', now(), now())");
+        createBatch();
+
+        Long distinct = jdbcTemplate.queryForObject("SELECT count(DISTINCT id) FROM tasks", Long.class);
+        assertThat(distinct).isEqualTo(2L * BATCH + 1);
+        Long blockStarts = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM tasks WHERE title = 'plain sql' AND (id - 1) % ? = 0", Long.class, Task.ID_ALLOCATION_SIZE);
+        assertThat(blockStarts).isEqualTo(1L);
+    }
+
+    private void createBatch() {
+        List<TaskCreateDto> items = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            TaskCreateDto dto = new TaskCreateDto();
+            dto.setTitle("Bulk " + i);
+            dto.setDescription("Imported task " + i);
+            dto.setTeamId(teamId);
+            dto.setPriority("HIGH");
+            dto.setAssigneeIds(List.of(userIds.get(i % userIds.size()), userIds.get((i + 1) % userIds.size())));
+            items.add(dto);
+        }
+        BatchResult result = taskBatchService.createTasks(items, userIds.get(0));
+        assertThat(result.getFailed()).isZero();
+    }
+}
@@ -0,0 +1,127 @@
+package com.taskmanager.api;
+
+import com.taskmanager.api.dto.ChangeWatermark;
+import com.taskmanager.api.dto.TaskChangesDto;
+import com.taskmanager.api.dto.TaskDto;
+import com.taskmanager.api.service.TaskBatchService;
+import com.taskmanager.api.service.TaskChangesService;
+import com.taskmanager.api.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Keeps a client-side copy of a team's tasks up to date through
+ * {@link TaskChangesService} and checks it against the database after
+ * creates, updates, assignment changes and deletions.
+ */
+@SpringBootTest
+@SuppressWarnings("null")
+class TaskChangesTest extends PostgresTestcontainerBase {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TaskBatchService taskBatchService;
+    @Autowired
+    private TaskChangesService taskChangesService;
+
+    private Long adminId;
+    private Long memberId;
+    private Long outsiderId;
+    private Long teamId;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM task_deletions");
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM teams_members");
+        jdbcTemplate.update("DELETE FROM teams");
+        jdbcTemplate.update("DELETE FROM users_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("INSERT INTO users (username, email, password, display_name, created_at, updated_at)"
+                + " SELECT 'sync' || g, 'sync' || g || '@example.com', 'x', 'Sync ' || g, now(), now()"
+                + " FROM generate_series(1, 3) g");
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+        adminId = userIds.get(0);
+        memberId = userIds.get(1);
+        outsiderId = userIds.get(2);
+        teamId = jdbcTemplate.queryForObject("INSERT INTO teams (name, admin_id, created_at, updated_at)"
+                + " VALUES ('Sync Team', ?, now(), now()) RETURNING id", Long.class, adminId);
+        jdbcTemplate.update("INSERT INTO teams_members (team_id, user_id) VALUES (?, ?)", teamId, memberId);
+        jdbcTemplate.update("INSERT INTO tasks (title, creator_id, team_id, status, priority, created_at, updated_at)"
+                + " SELECT 'Synced ' || g, ?, ?, 'TO_DO', 'MEDIUM', now(), now() FROM generate_series(1, 25) g",
+                adminId, teamId);
+    }
+
+    @Test
+    void clientCopyFollowsEveryKindOfWrite() {
+        Map<Long, TaskDto> copy = new HashMap<>();
+        String watermark = sync(copy, null, 10);
+        assertThat(copy).hasSize(25);
+        assertThat(sync(copy, watermark, 10)).isNotNull();
+
+        List<Long> ids = new ArrayList<>(copy.keySet());
+        TaskDto update = new TaskDto();
+        update.setTitle("Renamed");
+        taskService.updateTask(ids.get(0), update, adminId);
+        taskService.changeTaskStatus(ids.get(1), "DONE", adminId);
+        taskService.assignUserToTask(ids.get(2), memberId, adminId);
+        taskBatchService.assignUser(List.of(ids.get(3), ids.get(4)), memberId, adminId);
+        taskService.deleteTask(ids.get(5), adminId);
+
+        TaskChangesDto delta = taskChangesService.getChanges(teamId, watermark, 100, memberId);
+        assertThat(delta.isReset()).isFalse();
+        assertThat(delta.getChanged()).extracting(TaskDto::getId)
+                .contains(ids.get(0), ids.get(1), ids.get(2), ids.get(3), ids.get(4))
+                .doesNotContain(ids.get(5));
+        assertThat(delta.getDeletedTaskIds()).containsExactly(ids.get(5));
+
+        sync(copy, watermark, 2);
+        assertThat(copy).containsOnlyKeys(jdbcTemplate.queryForList("SELECT id FROM tasks", Long.class));
+        assertThat(copy.get(ids.get(0)).getTitle()).isEqualTo("Renamed");
+        assertThat(copy.get(ids.get(1)).getStatus()).isEqualTo("DONE");
+        assertThat(copy.get(ids.get(2)).getAssignees()).extracting("id").containsExactly(memberId);
+    }
+
+    @Test
+    void expiredWatermarkRestartsFullSync() {
+        String stale = ChangeWatermark.after(LocalDateTime.now().minusDays(30)).encode();
+        TaskChangesDto changes = taskChangesService.getChanges(teamId, stale, 100, adminId);
+        assertThat(changes.isReset()).isTrue();
+        assertThat(changes.getChanged()).hasSize(25);
+    }
+
+    @Test
+    void onlyTeamMembersMaySync() {
+        assertThatThrownBy(() -> taskChangesService.getChanges(teamId, null, 10, outsiderId))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    /** Apply pages until the client is caught up; returns the watermark for the next poll. */
+    private String sync(Map<Long, TaskDto> copy, String watermark, int limit) {
+        TaskChangesDto page;
+        do {
+            page = taskChangesService.getChanges(teamId, watermark, limit, memberId);
+            if (page.isReset()) copy.clear();
+            page.getChanged().forEach(task -> copy.put(task.getId(), task));
+            page.getDeletedTaskIds().forEach(copy::remove);
+            watermark = page.getWatermark();
+        } while (page.isHasMore());
+        return watermark;
+    }
+}
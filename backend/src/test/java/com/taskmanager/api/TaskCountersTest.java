@@ -0,0 +1,165 @@
+package com.taskmanager.api;
+
+import com.taskmanager.api.dto.TaskDto;
+import com.taskmanager.api.entity.Task;
+import com.taskmanager.api.entity.Team;
+import com.taskmanager.api.service.TaskBatchService;
+import com.taskmanager.api.service.TaskCounterService;
+import com.taskmanager.api.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs random task writes from several threads at once and checks that the
+ * maintained counters match a recount without deadlocks, and that
+ * reconciliation repairs counters changed behind the services' back.
+ */
+@SpringBootTest
+@SuppressWarnings("null")
+class TaskCountersTest extends PostgresTestcontainerBase {
+
+    private static final int THREADS = 4;
+    private static final int OPERATIONS = 150;
+    private static final String[] STATUSES = {"TO_DO", "IN_PROGRESS", "DONE", "BLOCKED"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH"};
+
+    private static final String TEAM_RECOUNT = """
+            SELECT team_id || ':' || coalesce(status, 'NONE') || ':' || coalesce(priority, 'NONE') AS k, count(*) AS n
+            FROM tasks WHERE team_id IS NOT NULL GROUP BY 1
+            """;
+    private static final String TEAM_STORED =
+            "SELECT team_id || ':' || status || ':' || priority AS k, task_count AS n FROM team_task_counters WHERE task_count <> 0";
+    private static final String ASSIGNEE_RECOUNT = """
+            SELECT ta.user_id || ':' || coalesce(t.status, 'NONE') AS k, count(*) AS n
+            FROM tasks_assignees ta JOIN tasks t ON t.id = ta.task_id GROUP BY 1
+            """;
+    private static final String ASSIGNEE_STORED =
+            "SELECT user_id || ':' || status AS k, task_count AS n FROM assignee_task_counters WHERE task_count <> 0";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TaskBatchService taskBatchService;
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    private Long adminId;
+    private List<Long> userIds;
+    private List<Long> teamIds;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM teams_members");
+        jdbcTemplate.update("DELETE FROM teams");
+        jdbcTemplate.update("DELETE FROM users_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("INSERT INTO users (username, email, password, display_name, created_at, updated_at)"
+                + " SELECT 'counter' || g, 'counter' || g || '@example.com', 'x', 'Counter ' || g, now(), now()"
+                + " FROM generate_series(1, 6) g");
+        userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+        adminId = userIds.get(0);
+        jdbcTemplate.update("INSERT INTO teams (name, admin_id, created_at, updated_at)"
+                + " SELECT 'Counter Team ' || g, ?, now(), now() FROM generate_series(1, 2) g", adminId);
+        teamIds = jdbcTemplate.queryForList("SELECT id FROM teams ORDER BY id", Long.class);
+    }
+
+    @Test
+    void concurrentWritesKeepCountersExact() throws Exception {
+        AtomicInteger failures = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> runs = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Random random = new Random(t);
+            runs.add(pool.submit(() -> {
+                for (int i = 0; i < OPERATIONS; i++) {
+                    try {
+                        randomWrite(random);
+                    } catch (RuntimeException e) {
+                        // Another thread may have deleted the task; anything else is a failure.
+                        if (!"Task not found".equals(e.getMessage())) failures.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> run : runs) run.get();
+        pool.shutdown();
+
+        assertThat(failures).hasValue(0);
+        assertThat(counts(TEAM_STORED)).isEqualTo(counts(TEAM_RECOUNT)).isNotEmpty();
+        assertThat(counts(ASSIGNEE_STORED)).isEqualTo(counts(ASSIGNEE_RECOUNT)).isNotEmpty();
+        assertThat(taskCounterService.reconcile()).isZero();
+    }
+
+    @Test
+    void reconciliationRepairsDrift() {
+        Random random = new Random(7);
+        for (int i = 0; i < 50; i++) randomWrite(random);
+        jdbcTemplate.update("UPDATE team_task_counters SET task_count = task_count + 5");
+        jdbcTemplate.update("DELETE FROM assignee_task_counters WHERE user_id = ?", userIds.get(1));
+        jdbcTemplate.update("INSERT INTO tasks (title, creator_id, team_id, status, priority, created_at, updated_at)"
+                + " VALUES ('written by hand', ?, ?, 'BLOCKED', NULL, now(), now())", adminId, teamIds.get(0));
+
+        assertThat(taskCounterService.reconcile()).isPositive();
+
+        assertThat(counts(TEAM_STORED)).isEqualTo(counts(TEAM_RECOUNT));
+        assertThat(counts(ASSIGNEE_STORED)).isEqualTo(counts(ASSIGNEE_RECOUNT));
+        assertThat(taskCounterService.getTeamCounts(teamIds.get(0), adminId).getByPriority().get("NONE")).isEqualTo(1);
+        assertThat(taskCounterService.reconcile()).isZero();
+    }
+
+    private void randomWrite(Random random) {
+        List<Long> taskIds = jdbcTemplate.queryForList("SELECT id FROM tasks ORDER BY random() LIMIT 3", Long.class);
+        Long user = userIds.get(random.nextInt(userIds.size()));
+        int op = taskIds.isEmpty() ? 0 : random.nextInt(8);
+        switch (op) {
+            case 0, 1 -> {
+                Task task = new Task();
+                task.setTitle("Counted task");
+                Team team = new Team();
+                team.setId(teamIds.get(random.nextInt(teamIds.size())));
+                task.setTeam(team);
+                taskService.createTask(task, adminId);
+            }
+            case 2 -> taskService.changeTaskStatus(taskIds.get(0), STATUSES[random.nextInt(STATUSES.length)], adminId);
+            case 3 -> taskService.assignUserToTask(taskIds.get(0), user, adminId);
+            case 4 -> taskService.unassignUserFromTask(taskIds.get(0), user, adminId);
+            case 5 -> {
+                TaskDto dto = new TaskDto();
+                dto.setPriority(PRIORITIES[random.nextInt(PRIORITIES.length)]);
+                dto.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+                taskService.updateTask(taskIds.get(0), dto, adminId);
+            }
+            case 6 -> taskService.deleteTask(taskIds.get(0), adminId);
+            default -> {
+                taskBatchService.changeStatus(taskIds, STATUSES[random.nextInt(STATUSES.length)], adminId);
+                taskBatchService.assignUser(taskIds, user, adminId);
+            }
+        }
+    }
+
+    private Map<String, Long> counts(String sql) {
+        Map<String, Long> counts = new TreeMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            counts.put(rs.getString("k"), rs.getLong("n"));
+        });
+        return counts;
+    }
+}
@@ -0,0 +1,100 @@
+package com.taskmanager.api;
+
+import com.taskmanager.api.dto.KeysetCursor;
+import com.taskmanager.api.dto.TaskDto;
+import com.taskmanager.api.repository.TaskQueryRepository;
+import com.taskmanager.api.repository.TaskTransitionRepository;
+import com.taskmanager.api.repository.TaskTransitionRepository.Transition;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Migrates a scratch schema up to the version before V17, adds a task the way
+ * legacy writers did, without a creation time, and checks that the remaining
+ * migrations backfill it so the task can be completed and the team listing can
+ * page past it.
+ */
+class TaskCreatedAtMigrationTest extends PostgresTestcontainerBase {
+
+    private static final String SCHEMA = "legacy_created_at";
+
+    private JdbcTemplate jdbcTemplate;
+    private Long teamId;
+    private Long taskId;
+    private Long newerTaskId;
+
+    @BeforeEach
+    void migrateWithLegacyTask() {
+        String url = POSTGRES.getJdbcUrl() + (POSTGRES.getJdbcUrl().contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA;
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(url, POSTGRES.getUsername(), POSTGRES.getPassword()));
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+
+        flyway("16").migrate();
+        Long userId = jdbcTemplate.queryForObject("INSERT INTO users (username, email, password)"
+                + " VALUES ('legacy', 'legacy@example.com', 'x') RETURNING id", Long.class);
+        teamId = jdbcTemplate.queryForObject("INSERT INTO teams (name, admin_id) VALUES ('Legacy', ?) RETURNING id", Long.class, userId);
+        taskId = jdbcTemplate.queryForObject("INSERT INTO tasks (title, creator_id, team_id, status, updated_at)"
+                + " VALUES ('Legacy', ?, ?, 'TO_DO', now() - interval '2 days') RETURNING id", Long.class, userId, teamId);
+        newerTaskId = jdbcTemplate.queryForObject("INSERT INTO tasks (title, creator_id, team_id, status, created_at, updated_at)"
+                + " VALUES ('Newer', ?, ?, 'TO_DO', now() - interval '1 day', now()) RETURNING id", Long.class, userId, teamId);
+        flyway(null).migrate();
+    }
+
+    @AfterEach
+    void dropSchema() {
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+    }
+
+    @Test
+    void legacyTaskIsBackfilledAndCanBeCompleted() {
+        assertThat(jdbcTemplate.queryForObject("SELECT created_at = updated_at FROM tasks WHERE id = ?", Boolean.class, taskId)).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT is_nullable FROM information_schema.columns"
+                + " WHERE table_schema = ? AND table_name = 'tasks' AND column_name = 'created_at'", String.class, SCHEMA)).isEqualTo("NO");
+
+        LocalDateTime now = LocalDateTime.now();
+        new TaskTransitionRepository(jdbcTemplate).record(List.of(new Transition(taskId, teamId, "TO_DO", "DONE", now)));
+
+        List<TaskTransitionRepository.HistogramRow> rows = new TaskTransitionRepository(jdbcTemplate)
+                .findHistograms(teamId, LocalDate.now().minusWeeks(1));
+        assertThat(rows).singleElement().satisfies(row -> {
+            assertThat(row.metric()).isEqualTo(TaskTransitionRepository.Metric.LEAD);
+            assertThat(row.samples()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void teamListingPagesPastLegacyTask() {
+        TaskQueryRepository taskQueryRepository = new TaskQueryRepository(jdbcTemplate);
+        List<Long> paged = new ArrayList<>();
+        KeysetCursor after = null;
+        List<TaskDto> page;
+        while (!(page = taskQueryRepository.findTeamPage(teamId, after, 1)).isEmpty()) {
+            TaskDto last = page.get(page.size() - 1);
+            paged.add(last.getId());
+            after = KeysetCursor.decode(new KeysetCursor(last.getCreatedAt(), last.getId()).encode());
+        }
+
+        assertThat(paged).containsExactly(newerTaskId, taskId);
+    }
+
+    private Flyway flyway(String target) {
+        FluentConfiguration config = Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .locations("classpath:db/migration/active")
+                .schemas(SCHEMA);
+        if (target != null) config.target(target);
+        return config.load();
+    }
+}
@@ -0,0 +1,93 @@
+package com.taskmanager.api;
+
+import com.taskmanager.api.service.TaskExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.OutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Exports a 1M-task team through {@link TaskExportService} in a heap smaller
+ * than the export itself, which only succeeds if rows are streamed. Run with
+ * `-Dbenchmarks=true -DargLine=-Xmx96m` (requires Docker).
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@SuppressWarnings("null")
+class TaskExportBenchmarkTest extends PostgresTestcontainerBase {
+
+    private static final int TASKS = 1_000_000;
+    private static final long SMALL_HEAP = 128L * 1024 * 1024;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TaskExportService taskExportService;
+
+    private Long teamId;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM teams_members");
+        jdbcTemplate.update("DELETE FROM teams");
+        jdbcTemplate.update("DELETE FROM users_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("INSERT INTO users (username, email, password, display_name, created_at, updated_at)"
+                + " SELECT 'export' || g, 'export' || g || '@example.com', 'x', 'Export ' || g, now(), now()"
+                + " FROM generate_series(1, 10) g");
+        teamId = jdbcTemplate.queryForObject("INSERT INTO teams (name, admin_id, created_at, updated_at)"
+                + " SELECT 'Export Team', min(id), now(), now() FROM users RETURNING id", Long.class);
+        jdbcTemplate.update("INSERT INTO tasks (title, description, creator_id, team_id, priority, status, created_at, updated_at)"
+                + " SELECT 'Task ' || g, 'Exported, \"quoted\" description number ' || g, (SELECT min(id) FROM users), ?,"
+                + " 'MEDIUM', 'TO_DO', now() - g * interval '1 second', now() FROM generate_series(1, ?) g", teamId, TASKS);
+        jdbcTemplate.update("INSERT INTO tasks_assignees (task_id, user_id)"
+                + " SELECT t.id, (SELECT min(id) FROM users) + (row_number() OVER (ORDER BY t.id)) % 10 FROM tasks t");
+        jdbcTemplate.execute("ANALYZE tasks");
+    }
+
+    @Test
+    void exportsOneMillionRowsInConstantMemory() throws Exception {
+        assumeTrue(Runtime.getRuntime().maxMemory() <= SMALL_HEAP, "run with a small heap, e.g. -DargLine=-Xmx96m");
+
+        for (TaskExportService.Format format : TaskExportService.Format.values()) {
+            CountingOutputStream out = new CountingOutputStream();
+            long start = System.nanoTime();
+            taskExportService.exportTeamTasks(teamId, format, out);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%s export: %d rows, %d MB in %.1f s (%.0f rows/s), max heap %d MB%n",
+                    format, out.lines, out.bytes >> 20, seconds, TASKS / seconds, Runtime.getRuntime().maxMemory() >> 20);
+
+            long expectedLines = format == TaskExportService.Format.CSV ? TASKS + 1 : TASKS;
+            assertThat(out.lines).isEqualTo(expectedLines);
+            assertThat(out.bytes).isGreaterThan(Runtime.getRuntime().maxMemory());
+        }
+    }
+
+    /** Discards the export, keeping only its size and line count. */
+    private static final class CountingOutputStream extends OutputStream {
+        long bytes;
+        long lines;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') lines++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') lines++;
+            }
+        }
+    }
+}
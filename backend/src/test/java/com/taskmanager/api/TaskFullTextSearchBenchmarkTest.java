@@ -0,0 +1,104 @@
+package com.taskmanager.api;
+
+import com.taskmanager.api.dto.CursorPage;
+import com.taskmanager.api.dto.TaskSearchHit;
+import com.taskmanager.api.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency of full-text search at 1M tasks: 100 teams, the searching user in 5 of
+ * them, words drawn from a skewed vocabulary so queries range from rare to very
+ * common terms. Run with `-Dbenchmarks=true` (requires Docker).
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@SuppressWarnings("null")
+class TaskFullTextSearchBenchmarkTest extends PostgresTestcontainerBase {
+
+    private static final int TASKS = 1_000_000;
+    private static final int VOCABULARY = 5000;
+    private static final int TEXT_POOL = 50_000;
+    private static final int WARMUP = 50;
+    private static final int QUERIES = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TaskService taskService;
+
+    private Long actorId;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM teams_members");
+        jdbcTemplate.update("DELETE FROM teams");
+        jdbcTemplate.update("DELETE FROM users_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("INSERT INTO users (username, email, password, display_name, created_at, updated_at)"
+                + " SELECT 'fts' || g, 'fts' || g || '@example.com', 'x', 'Fts ' || g, now(), now()"
+                + " FROM generate_series(1, 20) g");
+        actorId = jdbcTemplate.queryForObject("SELECT min(id) FROM users", Long.class);
+        jdbcTemplate.update("INSERT INTO teams (name, admin_id, created_at, updated_at)"
+                + " SELECT 'Fts Team ' || g, ?, now(), now() FROM generate_series(1, 100) g", actorId);
+        jdbcTemplate.update("INSERT INTO teams_members (team_id, user_id)"
+                + " SELECT id, ? FROM teams ORDER BY id LIMIT 5", actorId);
+        // Word i is drawn with probability falling off roughly as a power law, so a few
+        // words appear in a large share of tasks and most appear in very few. Texts come
+        // from a pool so seeding does not build a million random strings.
+        jdbcTemplate.update("CREATE TEMP TABLE vocab AS SELECT array_agg('term' || g) AS words FROM generate_series(1, ?) g", VOCABULARY);
+        jdbcTemplate.update("CREATE TEMP TABLE texts AS SELECT n,"
+                + " (SELECT string_agg((SELECT words FROM vocab)[1 + floor(power(random(), 3) * ?)::int], ' ') FROM generate_series(1, 4 + n % 3)) AS title,"
+                + " (SELECT string_agg((SELECT words FROM vocab)[1 + floor(power(random(), 3) * ?)::int], ' ') FROM generate_series(1, 12 + n % 9)) AS description"
+                + " FROM generate_series(0, ? - 1) n", VOCABULARY, VOCABULARY, TEXT_POOL);
+        jdbcTemplate.update("INSERT INTO tasks (title, description, creator_id, team_id, priority, status, created_at, updated_at)"
+                + " SELECT x.title, x.description, ?, (SELECT min(id) FROM teams) + g % 100, 'MEDIUM', 'TO_DO', now(), now()"
+                + " FROM generate_series(1, ?) g JOIN texts x ON x.n = (g::bigint * 7919) % ?", actorId, TASKS, TEXT_POOL);
+        jdbcTemplate.execute("ANALYZE tasks");
+    }
+
+    @Test
+    void p95UnderFiftyMillisecondsAtOneMillionTasks() {
+        Random random = new Random(42);
+        for (int i = 0; i < WARMUP; i++) search(query(random));
+        long[] nanos = new long[QUERIES];
+        List<Integer> hitCounts = new ArrayList<>();
+        for (int i = 0; i < QUERIES; i++) {
+            String q = query(random);
+            long start = System.nanoTime();
+            CursorPage<TaskSearchHit> page = search(q);
+            nanos[i] = System.nanoTime() - start;
+            hitCounts.add(page.getItems().size());
+        }
+        Arrays.sort(nanos);
+        double p50 = nanos[QUERIES / 2] / 1e6;
+        double p95 = nanos[(int) (QUERIES * 0.95)] / 1e6;
+        double max = nanos[QUERIES - 1] / 1e6;
+        System.out.printf("full-text search over %d tasks: p50 %.1f ms, p95 %.1f ms, max %.1f ms%n", TASKS, p50, p95, max);
+
+        assertThat(hitCounts).anyMatch(n -> n > 0);
+        assertThat(p95).isLessThan(50.0);
+    }
+
+    private CursorPage<TaskSearchHit> search(String q) {
+        return taskService.searchText(q, actorId, null, 20);
+    }
+
+    /** One or two terms, chosen uniformly from the vocabulary: mostly rare, sometimes very common. */
+    private static String query(Random random) {
+        String first = "term" + (1 + random.nextInt(VOCABULARY));
+        return random.nextBoolean() ? first : first + " term" + (1 + random.nextInt(VOCABULARY));
+    }
+}
@@ -0,0 +1,87 @@
+package com.taskmanager.api;
+
+import com.taskmanager.api.dto.ImportJobStatus;
+import com.taskmanager.api.service.TaskImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Imports a 100k-row CSV through {@link TaskImportService} and checks that every
+ * row and assignee lands in one job. Run with `-Dbenchmarks=true` (requires Docker).
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@SuppressWarnings("null")
+class TaskImportBenchmarkTest extends PostgresTestcontainerBase {
+
+    private static final int ROWS = 100_000;
+    private static final int INVALID_EVERY = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TaskImportService taskImportService;
+
+    private Long teamId;
+    private Long actorId;
+    private List<Long> userIds;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM teams_members");
+        jdbcTemplate.update("DELETE FROM teams");
+        jdbcTemplate.update("DELETE FROM users_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("INSERT INTO users (username, email, password, display_name, created_at, updated_at)"
+                + " SELECT 'import' || g, 'import' || g || '@example.com', 'x', 'Import ' || g, now(), now()"
+                + " FROM generate_series(1, 10) g");
+        userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+        actorId = userIds.get(0);
+        teamId = jdbcTemplate.queryForObject("INSERT INTO teams (name, admin_id, created_at, updated_at)"
+                + " VALUES ('Import Team', ?, now(), now()) RETURNING id", Long.class, actorId);
+    }
+
+    @Test
+    void importsOneHundredThousandRows() throws Exception {
+        StringBuilder csv = new StringBuilder("title,description,status,priority,due_date,assignee_ids\n");
+        for (int i = 1; i <= ROWS; i++) {
+            String status = i % INVALID_EVERY == 0 ? "UNKNOWN" : "TO_DO";
+            csv.append("Imported task ").append(i).append(",\"Migrated, row ").append(i).append("\",")
+                    .append(status).append(",HIGH,2025-01-01,")
+                    .append(userIds.get(i % 10)).append(' ').append(userIds.get((i + 1) % 10)).append('\n');
+        }
+        int invalid = ROWS / INVALID_EVERY;
+
+        long start = System.nanoTime();
+        ImportJobStatus job = taskImportService.startImport(teamId,
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), actorId);
+        while (job.getFinishedAt() == null) {
+            Thread.sleep(50);
+            job = taskImportService.getJob(job.getId(), actorId);
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        System.out.printf("imported %d of %d rows in %d ms (%.0f rows/s)%n",
+                job.getRowsImported(), ROWS, elapsed.toMillis(), job.getRowsImported() * 1e9 / elapsed.toNanos());
+
+        assertThat(job.getState()).isEqualTo(ImportJobStatus.State.COMPLETED);
+        assertThat(job.getRowsImported()).isEqualTo(ROWS - invalid);
+        assertThat(job.getRowsRejected()).isEqualTo(invalid);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM tasks WHERE team_id = ?", Long.class, teamId))
+                .isEqualTo(ROWS - invalid);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM tasks_assignees", Long.class))
+                .isEqualTo(2L * (ROWS - invalid));
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(60));
+    }
+}
@@ -0,0 +1,119 @@
+package com.taskmanager.api;
+
+import com.taskmanager.api.dto.TaskDto;
+import com.taskmanager.api.dto.UserDto;
+import com.taskmanager.api.entity.Task;
+import com.taskmanager.api.mapper.TaskMapper;
+import com.taskmanager.api.repository.TaskQueryRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the entity-hydrating team task listing with the projection read path
+ * in {@link TaskQueryRepository}. Run with `-Dbenchmarks=true` (requires Docker).
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@SuppressWarnings("null")
+class TaskListReadPathBenchmarkTest extends PostgresTestcontainerBase {
+
+    private static final int TASKS = 500;
+    private static final int PAGE = 200;
+    private static final int ITERATIONS = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TaskQueryRepository taskQueryRepository;
+    @Autowired
+    private TaskMapper taskMapper;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long teamId;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM teams_members");
+        jdbcTemplate.update("DELETE FROM teams");
+        jdbcTemplate.update("DELETE FROM users_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("INSERT INTO users (username, email, password, display_name, created_at, updated_at)"
+                + " SELECT 'bench' || g, 'bench' || g || '@example.com', 'x', 'Bench ' || g, now(), now()"
+                + " FROM generate_series(1, 20) g");
+        jdbcTemplate.update("INSERT INTO users_roles (user_id, role_id)"
+                + " SELECT u.id, r.id FROM users u CROSS JOIN roles r WHERE r.name = 'ROLE_USER'");
+        teamId = jdbcTemplate.queryForObject("INSERT INTO teams (name, admin_id, created_at, updated_at)"
+                + " SELECT 'Bench Team', min(id), now(), now() FROM users RETURNING id", Long.class);
+        jdbcTemplate.update("INSERT INTO tasks (title, description, creator_id, team_id, priority, status, created_at, updated_at)"
+                + " SELECT 'Task ' || g, 'Description ' || g, (SELECT min(id) FROM users), ?, 'MEDIUM', 'TO_DO',"
+                + " now() - g * interval '1 second', now() FROM generate_series(1, ?) g", teamId, TASKS);
+        jdbcTemplate.update("INSERT INTO tasks_assignees (task_id, user_id)"
+                + " SELECT t.id, u.id FROM tasks t JOIN LATERAL"
+                + " (SELECT id FROM users ORDER BY (id + t.id) % 20 LIMIT 3) u ON true");
+    }
+
+    @Test
+    void projectionPathAllocatesAtLeastFiveTimesLessPerTask() {
+        Statistics stats = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        stats.clear();
+        List<TaskDto> viaEntities = entityPath();
+        long entityStatements = stats.getPrepareStatementCount();
+        List<TaskDto> viaProjection = taskQueryRepository.findTeamPage(teamId, null, PAGE);
+
+        assertThat(viaProjection).extracting(TaskDto::getId)
+                .containsExactlyElementsOf(viaEntities.stream().map(TaskDto::getId).toList());
+        for (int i = 0; i < viaProjection.size(); i++) {
+            assertThat(viaProjection.get(i).getAssignees()).extracting(UserDto::getUsername)
+                    .containsExactlyInAnyOrderElementsOf(viaEntities.get(i).getAssignees().stream().map(UserDto::getUsername).toList());
+        }
+
+        long entityBytes = allocatedPerTask(this::entityPath);
+        long projectionBytes = allocatedPerTask(() -> taskQueryRepository.findTeamPage(teamId, null, PAGE));
+        System.out.printf("entity path: %d statements, %d bytes/task; projection path: 1 statement, %d bytes/task%n",
+                entityStatements, entityBytes, projectionBytes);
+
+        assertThat(entityBytes).isGreaterThanOrEqualTo(projectionBytes * 5);
+    }
+
+    private List<TaskDto> entityPath() {
+        return transactionTemplate.execute(status -> {
+            List<Task> tasks = entityManager
+                    .createQuery("select t from Task t where t.team.id = :teamId order by t.createdAt desc, t.id desc", Task.class)
+                    .setParameter("teamId", teamId)
+                    .setMaxResults(PAGE)
+                    .getResultList();
+            List<TaskDto> dtos = tasks.stream().map(taskMapper::toDto).toList();
+            entityManager.clear();
+            return dtos;
+        });
+    }
+
+    private long allocatedPerTask(Supplier<List<TaskDto>> listing) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < ITERATIONS; i++) listing.get();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) listing.get();
+        long after = threads.getThreadAllocatedBytes(threadId);
+        return (after - before) / ((long) ITERATIONS * PAGE);
+    }
+}
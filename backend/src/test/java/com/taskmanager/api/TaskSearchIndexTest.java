@@ -0,0 +1,198 @@
+package com.taskmanager.api;
+
+import com.taskmanager.api.dto.CursorPage;
+import com.taskmanager.api.dto.TaskDto;
+import com.taskmanager.api.dto.TaskSearchCriteria;
+import com.taskmanager.api.service.TaskService;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that every filter shape of `GET /api/tasks/search` is answered from an
+ * index, on the first page and on the following ones. The id query Hibernate
+ * generates for each shape is captured and run through `EXPLAIN (GENERIC_PLAN)`
+ * (PostgreSQL 16), so the plan holds for any parameter values rather than for
+ * one lucky literal. Paging through a team's tasks must return each task once,
+ * in the order of the sort key and id, including tasks without a due date.
+ */
+@SpringBootTest
+class TaskSearchIndexTest extends PostgresTestcontainerBase {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class CaptureStatements {
+        @Bean
+        HibernatePropertiesCustomizer statementCapture() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                STATEMENTS.add(sql);
+                return sql;
+            });
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TaskService taskService;
+    @Value("${spring.datasource.url}")
+    private String datasourceUrl;
+    @Value("${spring.datasource.username}")
+    private String datasourceUsername;
+    @Value("${spring.datasource.password}")
+    private String datasourcePassword;
+
+    private static Long actorId;
+    private static Long actorTeamId;
+
+    @BeforeEach
+    void seed() {
+        if (actorId != null) return;
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM teams_members");
+        jdbcTemplate.update("DELETE FROM teams");
+        jdbcTemplate.update("DELETE FROM users_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("INSERT INTO users (username, email, password, display_name, created_at, updated_at)"
+                + " SELECT 'search' || g, 'search' || g || '@example.com', 'x', 'Search ' || g, now(), now()"
+                + " FROM generate_series(1, 200) g");
+        jdbcTemplate.update("INSERT INTO teams (name, admin_id, created_at, updated_at)"
+                + " SELECT 'Search Team ' || g, (SELECT min(id) FROM users), now(), now() FROM generate_series(1, 100) g");
+        // Every user belongs to 5 of the 100 teams.
+        jdbcTemplate.update("INSERT INTO teams_members (team_id, user_id)"
+                + " SELECT tm.id, u.id FROM users u JOIN teams tm ON (tm.id + u.id) % 20 = 0");
+        jdbcTemplate.update("INSERT INTO tasks (title, creator_id, team_id, due_date, priority, status, created_at, updated_at)"
+                + " SELECT 'Task ' || g,"
+                + " (SELECT min(id) FROM users) + g % 200,"
+                + " (SELECT min(id) FROM teams) + g % 100,"
+                + " CASE WHEN g % 7 = 0 THEN NULL ELSE now() + (g % 365) * interval '1 day' END,"
+                + " (ARRAY['LOW','MEDIUM','HIGH'])[1 + g % 3],"
+                + " (ARRAY['TO_DO','IN_PROGRESS','BLOCKED','DONE'])[1 + g % 4],"
+                + " now() - g * interval '1 minute', now() - g * interval '1 second'"
+                + " FROM generate_series(1, 100000) g");
+        jdbcTemplate.update("INSERT INTO tasks_assignees (task_id, user_id)"
+                + " SELECT t.id, (SELECT min(id) FROM users) + (t.n * 7) % 200"
+                + " FROM (SELECT id, row_number() OVER (ORDER BY id) AS n FROM tasks) t");
+        jdbcTemplate.execute("ANALYZE");
+        actorId = jdbcTemplate.queryForObject("SELECT min(id) FROM users", Long.class);
+        actorTeamId = jdbcTemplate.queryForObject("SELECT min(team_id) FROM teams_members WHERE user_id = ?", Long.class, actorId);
+    }
+
+    static Stream<Arguments> filterShapes() {
+        return Stream.of(
+                shape("no filter, by updatedAt", c -> { }),
+                shape("team", c -> c.setTeamId(actorTeamId)),
+                shape("status", c -> c.setStatus(List.of("BLOCKED"))),
+                shape("priority by dueDate", c -> { c.setPriority(List.of("HIGH")); c.setSort("dueDate"); }),
+                shape("team and status by priority", c -> { c.setTeamId(actorTeamId); c.setStatus(List.of("TO_DO", "IN_PROGRESS")); c.setSort("priority"); }),
+                shape("assignee", c -> c.setAssigneeId(actorId)),
+                shape("creator", c -> c.setCreatorId(actorId)),
+                shape("due-date range", c -> { c.setDueFrom(LocalDateTime.now()); c.setDueTo(LocalDateTime.now().plusDays(7)); c.setSort("dueDate"); }));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filterShapes")
+    void searchUsesIndexes(String name, Consumer<TaskSearchCriteria> filters) throws SQLException {
+        TaskSearchCriteria criteria = new TaskSearchCriteria();
+        filters.accept(criteria);
+        STATEMENTS.clear();
+        String next = taskService.searchTasks(criteria, actorId, null, 50).getNextCursor();
+        // The second page adds the seek predicate after the last sort key.
+        if (next != null) taskService.searchTasks(criteria, actorId, next, 50);
+
+        List<String> idQueries = STATEMENTS.stream().filter(sql -> sql.startsWith("select t1_0.id,")).toList();
+        assertThat(idQueries).hasSize(next != null ? 2 : 1);
+        for (String idQuery : idQueries) {
+            String plan = explainGeneric(idQuery);
+            assertThat(plan).as(name + "\n" + plan)
+                    .doesNotContain("Seq Scan on tasks ", "Seq Scan on tasks_assignees ", "Seq Scan on teams_members ");
+            assertThat(plan).as(name + "\n" + plan).containsPattern("Scan (Backward )?(using|on) idx_tasks_");
+        }
+    }
+
+    static Stream<Arguments> sortOrders() {
+        String priorityRank = "CASE priority WHEN 'LOW' THEN 0 WHEN 'MEDIUM' THEN 1 ELSE 2 END";
+        return Stream.of(
+                Arguments.of("dueDate", "asc", "due_date ASC, id ASC"),
+                Arguments.of("dueDate", "desc", "due_date DESC, id DESC"),
+                Arguments.of("priority", "desc", priorityRank + " DESC, id DESC"),
+                Arguments.of("priority", "asc", priorityRank + " ASC, id ASC"),
+                Arguments.of("updatedAt", "desc", "updated_at DESC, id DESC"));
+    }
+
+    @ParameterizedTest(name = "{0} {1}")
+    @MethodSource("sortOrders")
+    void pagesReturnEveryMatchOnceInOrder(String sort, String direction, String orderBy) {
+        TaskSearchCriteria criteria = new TaskSearchCriteria();
+        criteria.setTeamId(actorTeamId);
+        criteria.setSort(sort);
+        criteria.setDirection(direction);
+        List<Long> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<TaskDto> page = taskService.searchTasks(criteria, actorId, cursor, 170);
+            page.getItems().forEach(task -> paged.add(task.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        List<Long> expected = jdbcTemplate.queryForList(
+                "SELECT id FROM tasks WHERE team_id = ? ORDER BY " + orderBy, Long.class, actorTeamId);
+        assertThat(expected).hasSizeGreaterThan(170);
+        assertThat(paged).isEqualTo(expected);
+    }
+
+    /**
+     * EXPLAIN (GENERIC_PLAN) has placeholders but no values, so it has to go through
+     * the simple query protocol; the pooled connections use the extended one.
+     */
+    private String explainGeneric(String sql) throws SQLException {
+        String url = datasourceUrl + (datasourceUrl.contains("?") ? "&" : "?") + "preferQueryMode=simple";
+        try (Connection con = DriverManager.getConnection(url, datasourceUsername, datasourcePassword);
+             Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery("EXPLAIN (GENERIC_PLAN) " + numberParameters(sql))) {
+            StringBuilder plan = new StringBuilder();
+            while (rs.next()) plan.append(rs.getString(1)).append('\n');
+            return plan.toString();
+        }
+    }
+
+    private static Arguments shape(String name, Consumer<TaskSearchCriteria> filters) {
+        return Arguments.of(name, filters);
+    }
+
+    /** Rewrite JDBC `?` placeholders as `$1, $2, ...` for EXPLAIN (GENERIC_PLAN). */
+    private static String numberParameters(String sql) {
+        StringBuilder out = new StringBuilder(sql.length() + 16);
+        int n = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') out.append('$').append(++n);
+            else out.append(c);
+        }
+        return out.toString();
+    }
+}
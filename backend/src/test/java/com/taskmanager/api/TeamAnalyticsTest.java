@@ -0,0 +1,123 @@
+package com.taskmanager.api;
+
+import com.taskmanager.api.dto.TaskDto;
+import com.taskmanager.api.dto.TeamAnalyticsDto;
+import com.taskmanager.api.service.TaskBatchService;
+import com.taskmanager.api.service.TaskService;
+import com.taskmanager.api.service.TeamAnalyticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Moves a team's tasks through their statuses with backdated start and
+ * creation times and checks the cycle-time, lead-time and throughput figures
+ * served from the incrementally maintained histograms.
+ */
+@SpringBootTest
+@SuppressWarnings("null")
+class TeamAnalyticsTest extends PostgresTestcontainerBase {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TaskBatchService taskBatchService;
+    @Autowired
+    private TeamAnalyticsService teamAnalyticsService;
+
+    private Long adminId;
+    private Long outsiderId;
+    private Long teamId;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM task_status_transitions");
+        jdbcTemplate.update("DELETE FROM team_flow_histograms");
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM teams_members");
+        jdbcTemplate.update("DELETE FROM teams");
+        jdbcTemplate.update("DELETE FROM users_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("INSERT INTO users (username, email, password, display_name, created_at, updated_at)"
+                + " SELECT 'flow' || g, 'flow' || g || '@example.com', 'x', 'Flow ' || g, now(), now()"
+                + " FROM generate_series(1, 2) g");
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+        adminId = userIds.get(0);
+        outsiderId = userIds.get(1);
+        teamId = jdbcTemplate.queryForObject("INSERT INTO teams (name, admin_id, created_at, updated_at)"
+                + " VALUES ('Flow Team', ?, now(), now()) RETURNING id", Long.class, adminId);
+    }
+
+    @Test
+    void percentilesAndThroughputFollowCompletions() {
+        LocalDateTime now = LocalDateTime.now();
+        // Task i was created 10i hours ago, started 5i hours ago and is completed now.
+        for (int i = 1; i <= 20; i++) {
+            Long taskId = insertTask(now.minusHours(10L * i));
+            taskService.changeTaskStatus(taskId, "IN_PROGRESS", adminId);
+            jdbcTemplate.update("UPDATE task_status_transitions SET changed_at = ? WHERE task_id = ?",
+                    Timestamp.valueOf(now.minusHours(5L * i)), taskId);
+            if (i % 2 == 0) {
+                taskService.changeTaskStatus(taskId, "DONE", adminId);
+            } else {
+                TaskDto update = new TaskDto();
+                update.setStatus("DONE");
+                taskService.updateTask(taskId, update, adminId);
+            }
+        }
+        // Completed without being started: a lead time but no cycle time.
+        Long skipped = insertTask(now);
+        taskBatchService.changeStatus(List.of(skipped), "DONE", adminId);
+        // Moving back and forth between unfinished statuses adds no samples.
+        Long open = insertTask(now);
+        taskService.changeTaskStatus(open, "IN_PROGRESS", adminId);
+        taskService.changeTaskStatus(open, "TO_DO", adminId);
+
+        TeamAnalyticsDto analytics = teamAnalyticsService.getAnalytics(teamId, 4, adminId);
+        assertThat(analytics.getCompletedTasks()).isEqualTo(21);
+        assertThat(analytics.getCycleTime().getSamples()).isEqualTo(20);
+        assertThat(analytics.getCycleTime().getP50Hours()).isCloseTo(50, within(5.0));
+        assertThat(analytics.getCycleTime().getP85Hours()).isCloseTo(85, within(8.5));
+        assertThat(analytics.getCycleTime().getP95Hours()).isCloseTo(95, within(9.5));
+        assertThat(analytics.getLeadTime().getP50Hours()).isCloseTo(100, within(10.0));
+        assertThat(analytics.getThroughput()).hasSize(4);
+        assertThat(analytics.getThroughput().get(3).getCompleted()).isEqualTo(21);
+        assertThat(analytics.getThroughput().subList(0, 3)).allMatch(week -> week.getCompleted() == 0);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM task_status_transitions", Long.class)).isEqualTo(43);
+    }
+
+    @Test
+    void emptyTeamHasNoPercentiles() {
+        TeamAnalyticsDto analytics = teamAnalyticsService.getAnalytics(teamId, 12, adminId);
+        assertThat(analytics.getCompletedTasks()).isZero();
+        assertThat(analytics.getCycleTime().getP50Hours()).isNull();
+        assertThat(analytics.getThroughput()).hasSize(12);
+    }
+
+    @Test
+    void onlyTeamMembersMayReadAnalytics() {
+        assertThatThrownBy(() -> teamAnalyticsService.getAnalytics(teamId, 12, outsiderId))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> teamAnalyticsService.getAnalytics(teamId, 0, adminId))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Long insertTask(LocalDateTime createdAt) {
+        return jdbcTemplate.queryForObject("INSERT INTO tasks (title, creator_id, team_id, status, priority, created_at, updated_at)"
+                + " VALUES ('Flow', ?, ?, 'TO_DO', 'MEDIUM', ?, ?) RETURNING id", Long.class,
+                adminId, teamId, Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt));
+    }
+}
@@ -0,0 +1,124 @@
+package com.taskmanager.api;
+
+import com.taskmanager.api.dto.TeamBurndownDto;
+import com.taskmanager.api.entity.Task;
+import com.taskmanager.api.entity.Team;
+import com.taskmanager.api.service.TaskService;
+import com.taskmanager.api.service.TeamBurndownService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Builds a few days of backdated task history, lets the snapshot job catch
+ * up on the days since its last run and checks the served burndown series.
+ */
+@SpringBootTest
+@SuppressWarnings("null")
+class TeamBurndownTest extends PostgresTestcontainerBase {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TeamBurndownService teamBurndownService;
+
+    private Long adminId;
+    private Long outsiderId;
+    private Long teamId;
+    private LocalDate today;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM team_burndown_snapshots");
+        jdbcTemplate.update("DELETE FROM task_status_transitions");
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM teams_members");
+        jdbcTemplate.update("DELETE FROM teams");
+        jdbcTemplate.update("DELETE FROM users_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("INSERT INTO users (username, email, password, display_name, created_at, updated_at)"
+                + " SELECT 'burndown' || g, 'burndown' || g || '@example.com', 'x', 'Burndown ' || g, now(), now()"
+                + " FROM generate_series(1, 2) g");
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+        adminId = userIds.get(0);
+        outsiderId = userIds.get(1);
+        today = LocalDate.now();
+        teamId = jdbcTemplate.queryForObject("INSERT INTO teams (name, admin_id, created_at, updated_at)"
+                + " VALUES ('Burndown Team', ?, ?, now()) RETURNING id", Long.class, adminId,
+                Timestamp.valueOf(today.minusDays(10).atStartOfDay()));
+    }
+
+    @Test
+    void catchUpReconstructsMissedDaysOnce() {
+        Long a = createTask(today.minusDays(4).atTime(10, 0));
+        Long b = createTask(today.minusDays(3).atTime(10, 0));
+        createTask(LocalDateTime.now());
+        Long d = createTask(today.minusDays(4).atTime(11, 0));
+        // A was completed two days ago; D only today, so it was open on every past day.
+        taskService.changeTaskStatus(a, "DONE", adminId);
+        jdbcTemplate.update("UPDATE task_status_transitions SET changed_at = ? WHERE task_id = ?",
+                Timestamp.valueOf(today.minusDays(2).atTime(12, 0)), a);
+        taskService.changeTaskStatus(d, "DONE", adminId);
+        taskService.changeTaskStatus(b, "IN_PROGRESS", adminId);
+
+        // The last run snapshotted five days ago; the four days since were missed.
+        jdbcTemplate.update("INSERT INTO team_burndown_snapshots (team_id, snapshot_date, open_tasks, done_tasks) VALUES (?, ?, 0, 0)",
+                teamId, Date.valueOf(today.minusDays(5)));
+        assertThat(teamBurndownService.snapshot()).isEqualTo(4);
+        assertThat(teamBurndownService.snapshot()).isZero();
+
+        TeamBurndownDto burndown = teamBurndownService.getBurndown(teamId, 7, adminId);
+        assertThat(burndown.getFrom()).isEqualTo(today.minusDays(6));
+        assertThat(burndown.getPoints())
+                .extracting(TeamBurndownDto.Point::getDate, TeamBurndownDto.Point::getOpenTasks, TeamBurndownDto.Point::getDoneTasks)
+                .containsExactly(
+                        tuple(today.minusDays(5), 0L, 0L),
+                        tuple(today.minusDays(4), 2L, 0L),
+                        tuple(today.minusDays(3), 3L, 0L),
+                        tuple(today.minusDays(2), 2L, 1L),
+                        tuple(today.minusDays(1), 2L, 1L),
+                        tuple(today, 2L, 2L));
+    }
+
+    @Test
+    void firstRunSnapshotsYesterdayOnly() {
+        createTask(today.minusDays(3).atTime(9, 0));
+        assertThat(teamBurndownService.snapshot()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("SELECT snapshot_date FROM team_burndown_snapshots", Date.class))
+                .containsExactly(Date.valueOf(today.minusDays(1)));
+    }
+
+    @Test
+    void onlyTeamMembersMayReadBurndown() {
+        assertThatThrownBy(() -> teamBurndownService.getBurndown(teamId, 90, outsiderId))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> teamBurndownService.getBurndown(teamId, 0, adminId))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Long createTask(LocalDateTime createdAt) {
+        Task task = new Task();
+        task.setTitle("Burndown");
+        Team team = new Team();
+        team.setId(teamId);
+        task.setTeam(team);
+        Long id = taskService.createTask(task, adminId).getId();
+        jdbcTemplate.update("UPDATE tasks SET created_at = ? WHERE id = ?", Timestamp.valueOf(createdAt), id);
+        return id;
+    }
+}
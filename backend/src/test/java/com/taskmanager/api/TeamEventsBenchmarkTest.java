@@ -0,0 +1,152 @@
+package com.taskmanager.api;
+
+import com.taskmanager.api.entity.Task;
+import com.taskmanager.api.entity.Team;
+import com.taskmanager.api.security.JwtUtils;
+import com.taskmanager.api.security.UserPrincipal;
+import com.taskmanager.api.service.TaskService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Holds many idle team event streams open at once (10,000 by default, set
+ * with `-Dbenchmarks.connections`) and reports the server threads and heap
+ * they cost and how long one task change takes to reach all of them. Client
+ * and server sockets share this JVM, so it needs twice as many file
+ * descriptors. Run with `-Dbenchmarks=true` (requires Docker).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@SuppressWarnings("null")
+class TeamEventsBenchmarkTest extends PostgresTestcontainerBase {
+
+    private static final int CONNECTIONS = Integer.getInteger("benchmarks.connections", 10_000);
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private JwtUtils jwtUtils;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Long userId;
+    private Long teamId;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM teams_members");
+        jdbcTemplate.update("DELETE FROM teams");
+        jdbcTemplate.update("DELETE FROM users_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        userId = jdbcTemplate.queryForObject("INSERT INTO users (username, email, password, display_name, created_at, updated_at)"
+                + " VALUES ('listener', 'listener@example.com', 'x', 'Listener', now(), now()) RETURNING id", Long.class);
+        teamId = jdbcTemplate.queryForObject("INSERT INTO teams (name, admin_id, created_at, updated_at)"
+                + " VALUES ('Listening Team', ?, now(), now()) RETURNING id", Long.class, userId);
+    }
+
+    @Test
+    void tenThousandIdleSubscribers() throws Exception {
+        byte[] request = ("GET /api/teams/" + teamId + "/events HTTP/1.1\r\nHost: localhost\r\nAccept: text/event-stream\r\n"
+                + "Authorization: Bearer " + jwtUtils.generateToken(new UserPrincipal(userId, "listener", List.of("ROLE_USER")))
+                + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+        int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+        long heapBefore = usedHeap();
+
+        List<Socket> sockets = new ArrayList<>(CONNECTIONS);
+        try {
+            long start = System.nanoTime();
+            for (int i = 0; i < CONNECTIONS; i++) {
+                Socket socket = new Socket();
+                socket.connect(new InetSocketAddress("localhost", port));
+                socket.setSoTimeout(5_000);
+                socket.getOutputStream().write(request);
+                sockets.add(socket);
+            }
+            Map<String, Integer> refused = new TreeMap<>();
+            for (Socket socket : sockets) {
+                String status;
+                try {
+                    status = readStatusLine(socket.getInputStream());
+                } catch (SocketTimeoutException e) {
+                    status = "no response";
+                }
+                if (!status.startsWith("HTTP/1.1 200")) refused.merge(status, 1, Integer::sum);
+            }
+            assertThat(refused).as("streams that did not open").isEmpty();
+            assertThat(meterRegistry.get("team.events.subscribers").gauge().value()).isEqualTo(CONNECTIONS);
+            long openMillis = (System.nanoTime() - start) / 1_000_000;
+            int threadsOpen = ManagementFactory.getThreadMXBean().getThreadCount();
+            long heapOpen = usedHeap();
+
+            Task task = new Task();
+            task.setTitle("Broadcast");
+            Team team = new Team();
+            team.setId(teamId);
+            task.setTeam(team);
+            start = System.nanoTime();
+            taskService.createTask(task, userId);
+            for (Socket socket : sockets) awaitEvent(socket.getInputStream());
+            long fanOutMillis = (System.nanoTime() - start) / 1_000_000;
+
+            System.out.printf("team events: %d streams open in %d ms, +%d threads, ~%d KB heap per stream (both ends), one change reached all in %d ms%n",
+                    CONNECTIONS, openMillis, threadsOpen - threadsBefore, (heapOpen - heapBefore) / 1024 / CONNECTIONS, fanOutMillis);
+            // The burst of requests grows the container's request pool (200 threads at most); streams add none.
+            assertThat(threadsOpen - threadsBefore).isLessThan(250);
+        } finally {
+            for (Socket socket : sockets) socket.close();
+        }
+    }
+
+    /** Read the status line of a response; the rest is left in the stream. */
+    private static String readStatusLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b < 0) throw new IOException("Stream closed before the response arrived");
+            if (b != '\r') line.append((char) b);
+        }
+        return line.toString();
+    }
+
+    /** Read until the first task event; heartbeats and headers before it are skipped. */
+    private static void awaitEvent(InputStream in) throws IOException {
+        byte[] buffer = new byte[4096];
+        StringBuilder seen = new StringBuilder();
+        while (seen.indexOf("\"CREATED\"") < 0) {
+            int read = in.read(buffer);
+            if (read < 0) throw new IOException("Stream closed before the event arrived");
+            seen.append(new String(buffer, 0, read, StandardCharsets.US_ASCII));
+        }
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
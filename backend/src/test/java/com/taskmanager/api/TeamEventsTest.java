@@ -0,0 +1,208 @@
+package com.taskmanager.api;
+
+import com.taskmanager.api.entity.Task;
+import com.taskmanager.api.entity.Team;
+import com.taskmanager.api.event.TaskChangedEvent;
+import com.taskmanager.api.security.JwtUtils;
+import com.taskmanager.api.security.UserPrincipal;
+import com.taskmanager.api.service.TaskService;
+import com.taskmanager.api.service.impl.TeamEventServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Subscribes to team event streams over real connections and checks that
+ * committed task changes arrive and that a client that stops reading is
+ * dropped without holding up the writers or the other streams. One sender
+ * thread, so a write blocked on a stalled client would starve every stream.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"app.team-events.buffer-size=16", "app.team-events.heartbeat-interval=PT1S",
+                "app.team-events.sender-threads=1", "app.team-events.send-timeout=1s",
+                "app.team-events.send-check-interval=PT0.2S"})
+@SuppressWarnings("null")
+class TeamEventsTest extends PostgresTestcontainerBase {
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private JwtUtils jwtUtils;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TeamEventServiceImpl teamEventService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Long memberId;
+    private Long outsiderId;
+    private Long teamId;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM teams_members");
+        jdbcTemplate.update("DELETE FROM teams");
+        jdbcTemplate.update("DELETE FROM users_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("INSERT INTO users (username, email, password, display_name, created_at, updated_at)"
+                + " SELECT 'events' || g, 'events' || g || '@example.com', 'x', 'Events ' || g, now(), now()"
+                + " FROM generate_series(1, 2) g");
+        List<Long> userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+        memberId = userIds.get(0);
+        outsiderId = userIds.get(1);
+        teamId = jdbcTemplate.queryForObject("INSERT INTO teams (name, admin_id, created_at, updated_at)"
+                + " VALUES ('Events Team', ?, now(), now()) RETURNING id", Long.class, memberId);
+    }
+
+    @Test
+    void committedChangesReachSubscribers() throws Exception {
+        HttpResponse<InputStream> response = HttpClient.newHttpClient().send(streamRequest(memberId), BodyHandlers.ofInputStream());
+        assertThat(response.statusCode()).isEqualTo(200);
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+            awaitTrue(() -> subscribers() == 1);
+
+            Task task = new Task();
+            task.setTitle("Announced");
+            Team team = new Team();
+            team.setId(teamId);
+            task.setTeam(team);
+            Long taskId = taskService.createTask(task, memberId).getId();
+
+            String line;
+            do {
+                line = in.readLine();
+            } while (line != null && !line.startsWith("data:"));
+            assertThat(line).contains("\"type\":\"CREATED\"").contains("\"taskIds\":[" + taskId + "]");
+        }
+        awaitTrue(() -> subscribers() == 0);
+    }
+
+    @Test
+    void outsidersAreRejected() throws Exception {
+        HttpResponse<Void> response = HttpClient.newHttpClient().send(streamRequest(outsiderId), BodyHandlers.discarding());
+        assertThat(response.statusCode()).isEqualTo(403);
+    }
+
+    @Test
+    void clientThatStopsReadingIsDropped() throws Exception {
+        double droppedBefore = meterRegistry.counter("team.events.dropped").count();
+        try (Socket stalled = openStalledStream(memberId)) {
+            awaitTrue(() -> subscribers() == 1);
+            List<Long> manyIds = LongStream.rangeClosed(1, 1000).boxed().toList();
+            long start = System.nanoTime();
+            // Far more than the socket buffers hold, so the queue fills up once sends block.
+            for (int i = 0; i < 2000 && subscribers() > 0; i++) {
+                teamEventService.onTaskChanged(new TaskChangedEvent(teamId, TaskChangedEvent.Type.UPDATED, manyIds));
+            }
+            long publishMillis = (System.nanoTime() - start) / 1_000_000;
+
+            awaitTrue(() -> subscribers() == 0);
+            assertThat(meterRegistry.counter("team.events.dropped").count()).isGreaterThan(droppedBefore);
+            assertThat(publishMillis).isLessThan(5_000);
+        }
+    }
+
+    @Test
+    void stalledClientDoesNotHoldUpOtherStreams() throws Exception {
+        double droppedBefore = meterRegistry.counter("team.events.dropped").count();
+        // Large events fill the stalled connection's socket buffers after a few sends.
+        List<Long> manyIds = LongStream.rangeClosed(1, 100_000).boxed().toList();
+        HttpResponse<InputStream> response = HttpClient.newHttpClient().send(streamRequest(memberId), BodyHandlers.ofInputStream());
+        AtomicInteger received = new AtomicInteger();
+        Thread reader = new Thread(() -> {
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    if (line.startsWith("data:")) received.incrementAndGet();
+                }
+            } catch (IOException e) {
+                // stream closed at the end of the test
+            }
+        });
+        reader.setDaemon(true);
+        reader.start();
+        try (Socket stalled = openStalledStream(memberId)) {
+            awaitTrue(() -> subscribers() == 2);
+            int published = 0;
+            // Slow enough that the healthy stream's queue cannot fill while the stalled send is detected.
+            while (meterRegistry.counter("team.events.dropped").count() == droppedBefore) {
+                assertThat(published).as("stalled client not dropped").isLessThan(100);
+                teamEventService.onTaskChanged(new TaskChangedEvent(teamId, TaskChangedEvent.Type.UPDATED, manyIds));
+                published++;
+                Thread.sleep(100);
+            }
+            int total = published;
+            awaitTrue(() -> received.get() == total);
+            assertThat(subscribers()).isEqualTo(1);
+
+            // The healthy stream keeps receiving after the stalled one is gone.
+            teamEventService.onTaskChanged(new TaskChangedEvent(teamId, TaskChangedEvent.Type.UPDATED, List.of(1L)));
+            awaitTrue(() -> received.get() == total + 1);
+        } finally {
+            response.body().close();
+        }
+    }
+
+    private double subscribers() {
+        return meterRegistry.get("team.events.subscribers").gauge().value();
+    }
+
+    private HttpRequest streamRequest(Long userId) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/teams/" + teamId + "/events"))
+                .header("Accept", "text/event-stream")
+                .header("Authorization", "Bearer " + token(userId))
+                .build();
+    }
+
+    /** A raw connection with a small receive buffer that is never read from. */
+    private Socket openStalledStream(Long userId) throws IOException {
+        Socket socket = new Socket();
+        socket.setReceiveBufferSize(1024);
+        socket.connect(new InetSocketAddress("localhost", port));
+        OutputStream out = socket.getOutputStream();
+        out.write(("GET /api/teams/" + teamId + "/events HTTP/1.1\r\nHost: localhost\r\nAccept: text/event-stream\r\n"
+                + "Authorization: Bearer " + token(userId) + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        return socket;
+    }
+
+    private String token(Long userId) {
+        return jwtUtils.generateToken(new UserPrincipal(userId, "events", List.of("ROLE_USER")));
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.taskmanager.api;
+
+import com.taskmanager.api.dto.CursorPage;
+import com.taskmanager.api.dto.TeamDto;
+import com.taskmanager.api.dto.UserDto;
+import com.taskmanager.api.entity.Task;
+import com.taskmanager.api.entity.Team;
+import com.taskmanager.api.service.TaskService;
+import com.taskmanager.api.service.TeamService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pages through a large team's members and checks that the member and task
+ * counts on the team summary follow membership changes, user deletion and
+ * task writes.
+ */
+@SpringBootTest
+@SuppressWarnings("null")
+class TeamMembersTest extends PostgresTestcontainerBase {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TeamService teamService;
+    @Autowired
+    private TaskService taskService;
+
+    private List<Long> userIds;
+    private Long adminId;
+    private Long teamId;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM teams_members");
+        jdbcTemplate.update("DELETE FROM teams");
+        jdbcTemplate.update("DELETE FROM users_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("INSERT INTO users (username, email, password, display_name, created_at, updated_at)"
+                + " SELECT 'member' || g, 'member' || g || '@example.com', 'x', 'Member ' || g, now(), now()"
+                + " FROM generate_series(1, 450) g");
+        userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+        adminId = userIds.get(0);
+        teamId = jdbcTemplate.queryForObject("INSERT INTO teams (name, admin_id, created_at, updated_at)"
+                + " VALUES ('Big Team', ?, now(), now()) RETURNING id", Long.class, adminId);
+        jdbcTemplate.update("INSERT INTO teams_members (team_id, user_id) SELECT ?, id FROM users WHERE id <= ?",
+                teamId, userIds.get(399));
+    }
+
+    @Test
+    void pagesCoverEveryMemberOnce() {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<UserDto> page = teamService.listMembers(teamId, cursor, 150);
+            page.getItems().forEach(u -> seen.add(u.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactlyElementsOf(userIds.subList(0, 400));
+        assertThat(teamService.listMembers(teamId, null, 1000).getItems()).hasSize(200);
+    }
+
+    @Test
+    void memberCountFollowsMembershipChanges() {
+        assertThat(summary().getMemberCount()).isEqualTo(400);
+
+        Long newcomer = userIds.get(400);
+        teamService.addMember(teamId, newcomer, adminId);
+        teamService.addMember(teamId, newcomer, adminId);
+        assertThat(summary().getMemberCount()).isEqualTo(401);
+
+        teamService.removeMember(teamId, userIds.get(1), userIds.get(1));
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userIds.get(2));
+        assertThat(summary().getMemberCount()).isEqualTo(399);
+        assertThat(summary().getAdmin().getUsername()).isEqualTo("member1");
+    }
+
+    @Test
+    void taskCountFollowsTaskWrites() {
+        Long first = createTask();
+        createTask();
+        assertThat(summary().getTaskCount()).isEqualTo(2);
+        taskService.deleteTask(first, adminId);
+        assertThat(summary().getTaskCount()).isEqualTo(1);
+    }
+
+    @Test
+    void unknownTeamOrCursorIsRejected() {
+        assertThatThrownBy(() -> teamService.listMembers(-1L, null, 50)).isInstanceOf(NoSuchElementException.class);
+        assertThatThrownBy(() -> teamService.listMembers(teamId, "not-a-cursor", 50)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> teamService.listMembers(teamId, null, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private TeamDto summary() {
+        return teamService.toDto(teamService.listTeamsForUser(adminId).get(0));
+    }
+
+    private Long createTask() {
+        Task task = new Task();
+        task.setTitle("Counted");
+        Team team = new Team();
+        team.setId(teamId);
+        task.setTeam(team);
+        return taskService.createTask(task, adminId).getId();
+    }
+}
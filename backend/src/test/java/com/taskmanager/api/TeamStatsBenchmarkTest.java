@@ -0,0 +1,109 @@
+package com.taskmanager.api;
+
+import com.taskmanager.api.dto.TeamStatsDto;
+import com.taskmanager.api.event.TaskChangedEvent;
+import com.taskmanager.api.repository.TeamStatsRepository;
+import com.taskmanager.api.service.TeamStatsService;
+import com.taskmanager.api.service.impl.TeamStatsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency of team stats for a team with 100k tasks, both computed by the
+ * aggregate query and served from the per-team cache while one read in fifty
+ * follows a task write. Run with `-Dbenchmarks=true` (requires Docker).
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@SuppressWarnings("null")
+class TeamStatsBenchmarkTest extends PostgresTestcontainerBase {
+
+    private static final int TASKS = 100_000;
+    private static final int USERS = 20;
+    private static final int WARMUP = 20;
+    private static final int QUERIES = 200;
+    private static final int READS = 5000;
+    private static final int READS_PER_WRITE = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TeamStatsRepository teamStatsRepository;
+    @Autowired
+    private TeamStatsService teamStatsService;
+
+    private Long teamId;
+    private Long actorId;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM teams_members");
+        jdbcTemplate.update("DELETE FROM teams");
+        jdbcTemplate.update("DELETE FROM users_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("INSERT INTO users (username, email, password, display_name, created_at, updated_at)"
+                + " SELECT 'stats' || g, 'stats' || g || '@example.com', 'x', 'Stats ' || g, now(), now()"
+                + " FROM generate_series(1, ?) g", USERS);
+        actorId = jdbcTemplate.queryForObject("SELECT min(id) FROM users", Long.class);
+        teamId = jdbcTemplate.queryForObject("INSERT INTO teams (name, admin_id, created_at, updated_at)"
+                + " VALUES ('Stats Team', ?, now(), now()) RETURNING id", Long.class, actorId);
+        jdbcTemplate.update("INSERT INTO teams_members (team_id, user_id) SELECT ?, id FROM users", teamId);
+        jdbcTemplate.update("INSERT INTO tasks (title, creator_id, team_id, priority, status, due_date, created_at, updated_at)"
+                + " SELECT 'Stats task ' || g, ?, ?,"
+                + " (ARRAY['LOW', 'MEDIUM', 'HIGH', NULL])[1 + g % 4],"
+                + " (ARRAY['TO_DO', 'IN_PROGRESS', 'DONE', 'DONE', 'BLOCKED'])[1 + g % 5],"
+                + " now() + (g % 60 - 20) * interval '1 day', now(), now()"
+                + " FROM generate_series(1, ?) g", actorId, teamId, TASKS);
+        // Most tasks get one or two assignees; every tenth has none.
+        jdbcTemplate.update("INSERT INTO tasks_assignees (task_id, user_id)"
+                + " SELECT t.id, u.ids[1 + (t.n + k) % ?] FROM"
+                + " (SELECT id, row_number() OVER (ORDER BY id) AS n FROM tasks WHERE team_id = ?) t,"
+                + " (SELECT array_agg(id ORDER BY id) AS ids FROM users) u, generate_series(0, 1) k"
+                + " WHERE t.n % 10 <> 0 AND (k = 0 OR t.n % 3 = 0)", USERS, teamId);
+        jdbcTemplate.execute("ANALYZE tasks");
+        jdbcTemplate.execute("ANALYZE tasks_assignees");
+    }
+
+    @Test
+    void cachedStatsServedInSingleDigitMilliseconds() {
+        for (int i = 0; i < WARMUP; i++) teamStatsRepository.compute(teamId, LocalDateTime.now());
+        long[] query = new long[QUERIES];
+        TeamStatsDto stats = null;
+        for (int i = 0; i < QUERIES; i++) {
+            long start = System.nanoTime();
+            stats = teamStatsRepository.compute(teamId, LocalDateTime.now());
+            query[i] = System.nanoTime() - start;
+        }
+        assertThat(stats.getTotalTasks()).isEqualTo(TASKS);
+        assertThat(stats.getUnassignedTasks()).isEqualTo(TASKS / 10);
+        assertThat(stats.getWorkload()).hasSize(USERS);
+
+        long[] reads = new long[READS];
+        for (int i = 0; i < READS; i++) {
+            if (i % READS_PER_WRITE == 0) {
+                ((TeamStatsServiceImpl) teamStatsService).onTaskChanged(new TaskChangedEvent(teamId, TaskChangedEvent.Type.UPDATED, List.of()));
+            }
+            long start = System.nanoTime();
+            teamStatsService.getStats(teamId, actorId);
+            reads[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(query);
+        Arrays.sort(reads);
+        System.out.printf("team stats over %d tasks: query p50 %.1f ms, p95 %.1f ms; endpoint reads p50 %.3f ms, p95 %.3f ms, p99 %.1f ms%n",
+                TASKS, query[QUERIES / 2] / 1e6, query[(int) (QUERIES * 0.95)] / 1e6,
+                reads[READS / 2] / 1e6, reads[(int) (READS * 0.95)] / 1e6, reads[(int) (READS * 0.99)] / 1e6);
+        assertThat(reads[(int) (READS * 0.95)] / 1e6).isLessThan(10.0);
+    }
+}
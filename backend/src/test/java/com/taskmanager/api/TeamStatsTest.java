@@ -0,0 +1,72 @@
+package com.taskmanager.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.api.dto.TeamStatsDto;
+import com.taskmanager.api.repository.TeamStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Checks the team stats query on a small team, including tasks without a
+ * status or priority.
+ */
+@SpringBootTest
+@SuppressWarnings("null")
+class TeamStatsTest extends PostgresTestcontainerBase {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TeamStatsRepository teamStatsRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long adminId;
+    private Long teamId;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM teams_members");
+        jdbcTemplate.update("DELETE FROM teams");
+        jdbcTemplate.update("DELETE FROM users_roles");
+        jdbcTemplate.update("DELETE FROM users");
+        adminId = jdbcTemplate.queryForObject("INSERT INTO users (username, email, password, display_name, created_at, updated_at)"
+                + " VALUES ('stats', 'stats@example.com', 'x', 'Stats', now(), now()) RETURNING id", Long.class);
+        teamId = jdbcTemplate.queryForObject("INSERT INTO teams (name, admin_id, created_at, updated_at)"
+                + " VALUES ('Stats Team', ?, now(), now()) RETURNING id", Long.class, adminId);
+    }
+
+    @Test
+    void tasksWithoutStatusAreCountedUnderNoneAndOpen() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        insertTask("DONE", "HIGH", now.minusDays(1));
+        insertTask("TO_DO", null, now.plusDays(1));
+        insertTask(null, "LOW", now.minusDays(1));
+
+        TeamStatsDto stats = teamStatsRepository.compute(teamId, now);
+
+        assertThat(stats.getTotalTasks()).isEqualTo(3);
+        assertThat(stats.getOpenTasks()).isEqualTo(2);
+        assertThat(stats.getOverdueTasks()).isEqualTo(1);
+        assertThat(stats.getUnassignedTasks()).isEqualTo(3);
+        assertThat(stats.getByStatus()).containsOnly(entry("TO_DO", 1L), entry("IN_PROGRESS", 0L), entry("DONE", 1L),
+                entry("BLOCKED", 0L), entry("NONE", 1L));
+        assertThat(stats.getByPriority()).containsOnly(entry("LOW", 1L), entry("MEDIUM", 0L), entry("HIGH", 1L),
+                entry("NONE", 1L));
+        assertThat(objectMapper.writeValueAsString(stats)).contains("\"NONE\":1");
+    }
+
+    private void insertTask(String status, String priority, LocalDateTime dueDate) {
+        jdbcTemplate.update("INSERT INTO tasks (title, creator_id, team_id, status, priority, due_date, created_at, updated_at)"
+                + " VALUES ('Stats', ?, ?, ?, ?, ?, now(), now())", adminId, teamId, status, priority, dueDate);
+    }
+}
@@ -153,7 +153,7 @@ class TeamTaskIntegrationTest extends PostgresTestcontainerBase {
         mockMvc.perform(get("/api/tasks/team/" + teamId)
                 .header("Authorization", "Bearer " + tokenTeamAdmin))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(taskId));
+                .andExpect(jsonPath("$.items[0].id").value(taskId));
     }
 
     private String loginAndGetToken(String usernameOrEmail, String password) throws Exception {
@@ -0,0 +1,46 @@
+package com.taskmanager.api.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CurrentActorArgumentResolverTest {
+
+    private final CurrentActorArgumentResolver resolver = new CurrentActorArgumentResolver();
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void resolvesActorOncePerRequest() throws Exception {
+        UserPrincipal principal = new UserPrincipal(4L, "dana", List.of("ROLE_USER"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest());
+
+        CurrentActor first = (CurrentActor) resolver.resolveArgument(null, null, request, null);
+        CurrentActor second = (CurrentActor) resolver.resolveArgument(null, null, request, null);
+
+        assertEquals(new CurrentActor(4L, "dana", Set.of("ROLE_USER")), first);
+        assertSame(first, second);
+        assertTrue(first.hasRole("ROLE_USER"));
+    }
+
+    @Test
+    void rejectsMissingPrincipal() {
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest());
+
+        assertThrows(AccessDeniedException.class, () -> resolver.resolveArgument(null, null, request, null));
+    }
+}
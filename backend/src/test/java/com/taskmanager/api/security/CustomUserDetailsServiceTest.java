@@ -0,0 +1,73 @@
+package com.taskmanager.api.security;
+
+import com.taskmanager.api.entity.User;
+import com.taskmanager.api.event.UserChangedEvent;
+import com.taskmanager.api.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomUserDetailsServiceTest {
+
+    @Test
+    void repeatedLookupsHitTheCache() {
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user(1L, "alice", "alice@example.com")));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CustomUserDetailsService service = new CustomUserDetailsService(userRepository, registry, 100, Duration.ofMinutes(5));
+
+        UserDetails first = service.loadUserByUsername("alice");
+        UserDetails second = service.loadUserByUsername("alice");
+
+        assertSame(first, second);
+        Mockito.verify(userRepository, Mockito.times(1)).findByUsername("alice");
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", CustomUserDetailsService.CACHE_NAME).tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void userChangeEvictsUsernameAndEmailEntries() {
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        User alice = user(1L, "alice", "alice@example.com");
+        Mockito.when(userRepository.findByUsername("alice")).thenReturn(Optional.of(alice));
+        Mockito.when(userRepository.findByUsername("alice@example.com")).thenReturn(Optional.empty());
+        Mockito.when(userRepository.findByEmail("alice@example.com")).thenReturn(Optional.of(alice));
+        CustomUserDetailsService service = new CustomUserDetailsService(userRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+        service.loadUserByUsername("alice");
+        service.loadUserByUsername("alice@example.com");
+
+        service.onUserChanged(new UserChangedEvent(1L, "alice", "alice@example.com"));
+        service.loadUserByUsername("alice");
+        service.loadUserByUsername("alice@example.com");
+
+        Mockito.verify(userRepository, Mockito.times(2)).findByUsername("alice");
+        Mockito.verify(userRepository, Mockito.times(2)).findByEmail("alice@example.com");
+    }
+
+    @Test
+    void unknownUserIsNotCached() {
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+        Mockito.when(userRepository.findByEmail("ghost")).thenReturn(Optional.empty());
+        CustomUserDetailsService service = new CustomUserDetailsService(userRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("ghost"));
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("ghost"));
+        Mockito.verify(userRepository, Mockito.times(2)).findByUsername("ghost");
+    }
+
+    private static User user(Long id, String username, String email) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setPassword("hash");
+        return user;
+    }
+}
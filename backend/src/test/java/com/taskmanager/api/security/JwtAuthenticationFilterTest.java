@@ -0,0 +1,136 @@
+package com.taskmanager.api.security;
+
+import com.taskmanager.api.entity.Role;
+import com.taskmanager.api.entity.User;
+import com.taskmanager.api.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+class JwtAuthenticationFilterTest {
+
+    private final JwtUtils jwtUtils = new JwtUtils("test-secret", 60_000, 100);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void tokenWithClaimsAuthenticatesWithoutUserLookup() throws Exception {
+        UserDetailsService userDetailsService = Mockito.mock(UserDetailsService.class);
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        PrincipalRevalidator revalidator = revalidator(userRepository, Duration.ZERO);
+        String token = jwtUtils.generateToken(principal(5L, "alice", "ROLE_USER", "ROLE_ADMIN"));
+
+        Authentication auth = filter(new JwtAuthenticationFilter(jwtUtils, userDetailsService, revalidator), token);
+
+        UserPrincipal principal = (UserPrincipal) auth.getPrincipal();
+        assertEquals(5L, principal.getId());
+        assertEquals("alice", auth.getName());
+        assertEquals(Set.of("ROLE_USER", "ROLE_ADMIN"), principal.getRoleNames());
+        Mockito.verifyNoInteractions(userDetailsService, userRepository);
+    }
+
+    @Test
+    void legacyTokenFallsBackToUserLookup() throws Exception {
+        UserDetailsService userDetailsService = Mockito.mock(UserDetailsService.class);
+        Mockito.when(userDetailsService.loadUserByUsername("bob")).thenReturn(principal(2L, "bob", "ROLE_USER"));
+        PrincipalRevalidator revalidator = revalidator(Mockito.mock(UserRepository.class), Duration.ZERO);
+
+        Authentication auth = filter(new JwtAuthenticationFilter(jwtUtils, userDetailsService, revalidator), jwtUtils.generateToken("bob"));
+
+        assertEquals("bob", auth.getName());
+        Mockito.verify(userDetailsService).loadUserByUsername("bob");
+    }
+
+    @Test
+    void revalidationAppliesCurrentRolesAndCachesTheCheck() throws Exception {
+        UserDetailsService userDetailsService = Mockito.mock(UserDetailsService.class);
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findRoleNamesById(5L)).thenReturn(List.of("ROLE_USER"));
+        PrincipalRevalidator revalidator = revalidator(userRepository, Duration.ofMinutes(1));
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtUtils, userDetailsService, revalidator);
+        String token = jwtUtils.generateToken(principal(5L, "alice", "ROLE_USER", "ROLE_ADMIN"));
+
+        Authentication first = filter(filter, token);
+        SecurityContextHolder.clearContext();
+        Authentication second = filter(filter, token);
+
+        assertEquals(List.of("ROLE_USER"), first.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        assertEquals(first.getAuthorities(), second.getAuthorities());
+        Mockito.verify(userRepository, Mockito.times(1)).findRoleNamesById(any());
+        Mockito.verify(userDetailsService, Mockito.never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void revalidationRejectsDeletedUser() throws Exception {
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findRoleNamesById(5L)).thenReturn(List.of());
+        Mockito.when(userRepository.existsById(5L)).thenReturn(false);
+        PrincipalRevalidator revalidator = revalidator(userRepository, Duration.ofMinutes(1));
+        String token = jwtUtils.generateToken(principal(5L, "alice", "ROLE_USER"));
+
+        Authentication auth = filter(new JwtAuthenticationFilter(jwtUtils, Mockito.mock(UserDetailsService.class), revalidator), token);
+
+        assertNull(auth);
+    }
+
+    @Test
+    void revalidationKeepsUserWhoseRolesWereRemoved() throws Exception {
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findRoleNamesById(5L)).thenReturn(List.of());
+        Mockito.when(userRepository.existsById(5L)).thenReturn(true);
+        PrincipalRevalidator revalidator = revalidator(userRepository, Duration.ofMinutes(1));
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtUtils, Mockito.mock(UserDetailsService.class), revalidator);
+        String token = jwtUtils.generateToken(principal(5L, "alice", "ROLE_USER"));
+
+        Authentication first = filter(filter, token);
+        SecurityContextHolder.clearContext();
+        Authentication second = filter(filter, token);
+
+        assertEquals("alice", first.getName());
+        assertTrue(first.getAuthorities().isEmpty());
+        assertTrue(second.getAuthorities().isEmpty());
+        Mockito.verify(userRepository, Mockito.times(1)).existsById(5L);
+    }
+
+    private static PrincipalRevalidator revalidator(UserRepository userRepository, Duration ttl) {
+        return new PrincipalRevalidator(userRepository, new SimpleMeterRegistry(), ttl, 1000);
+    }
+
+    private static Authentication filter(JwtAuthenticationFilter filter, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static UserPrincipal principal(Long id, String username, String... roleNames) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        for (String name : roleNames) {
+            Role role = new Role();
+            role.setName(name);
+            user.getRoles().add(role);
+        }
+        return new UserPrincipal(user);
+    }
+}
@@ -0,0 +1,56 @@
+package com.taskmanager.api.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilsTest {
+
+    @Test
+    void verifiedClaimsAreReusedForTheSameToken() {
+        JwtUtils jwtUtils = new JwtUtils("test-secret", 60_000, 100);
+        String token = jwtUtils.generateToken("alice");
+
+        Claims first = jwtUtils.parseClaims(token);
+        Claims second = jwtUtils.parseClaims(token);
+
+        assertEquals("alice", first.getSubject());
+        assertSame(first, second);
+    }
+
+    @Test
+    void tamperedTokenIsRejectedEvenAfterOriginalWasCached() {
+        JwtUtils jwtUtils = new JwtUtils("test-secret", 60_000, 100);
+        String token = jwtUtils.generateToken("alice");
+        jwtUtils.parseClaims(token);
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtUtils.parseClaims(tampered));
+    }
+
+    @Test
+    void tokenFromAnotherKeyIsRejected() {
+        String foreign = new JwtUtils("other-secret", 60_000, 100).generateToken("alice");
+
+        assertThrows(JwtException.class, () -> new JwtUtils("test-secret", 60_000, 100).parseClaims(foreign));
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        JwtUtils jwtUtils = new JwtUtils("test-secret", -1_000, 100);
+        String token = jwtUtils.generateToken("alice");
+
+        assertThrows(JwtException.class, () -> jwtUtils.parseClaims(token));
+    }
+
+    @Test
+    void cacheCanBeDisabled() {
+        JwtUtils jwtUtils = new JwtUtils("test-secret", 60_000, 0);
+        String token = jwtUtils.generateToken("alice");
+
+        assertNotSame(jwtUtils.parseClaims(token), jwtUtils.parseClaims(token));
+    }
+}
@@ -0,0 +1,205 @@
+package com.taskmanager.api.service;
+
+import com.taskmanager.api.dto.BatchResult;
+import com.taskmanager.api.dto.TaskCreateDto;
+import com.taskmanager.api.entity.Priority;
+import com.taskmanager.api.entity.Status;
+import com.taskmanager.api.event.TaskChangedEvent;
+import com.taskmanager.api.repository.TaskActivityRepository.Entry;
+import com.taskmanager.api.repository.TaskBatchRepository;
+import com.taskmanager.api.repository.TaskBatchRepository.NewTask;
+import com.taskmanager.api.repository.TaskCounterRepository;
+import com.taskmanager.api.repository.TaskCounterRepository.TaskState;
+import com.taskmanager.api.repository.TaskRepository;
+import com.taskmanager.api.repository.TaskTransitionRepository;
+import com.taskmanager.api.repository.TeamRepository;
+import com.taskmanager.api.repository.UserRepository;
+import com.taskmanager.api.security.TaskPermissions;
+import com.taskmanager.api.service.impl.TaskBatchServiceImpl;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+
+class TaskBatchServiceTest {
+
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void insertsValidItemsAndReportsRejectedOnes() {
+        TaskBatchRepository taskBatchRepository = Mockito.mock(TaskBatchRepository.class);
+        TeamRepository teamRepository = Mockito.mock(TeamRepository.class);
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(teamRepository.findExistingIds(any())).thenReturn(List.of(1L));
+        Mockito.when(userRepository.findExistingIds(any())).thenReturn(List.of(2L));
+        Mockito.when(taskBatchRepository.insert(anyList(), any())).thenReturn(List.of(100L, 101L));
+        TaskActivityService taskActivityService = Mockito.mock(TaskActivityService.class);
+        TaskBatchService service = new TaskBatchServiceImpl(VALIDATOR, taskBatchRepository, Mockito.mock(TaskRepository.class),
+                teamRepository, userRepository, Mockito.mock(TaskPermissions.class), Mockito.mock(TaskCounterRepository.class), Mockito.mock(TaskTransitionRepository.class), taskActivityService, Mockito.mock(ApplicationEventPublisher.class), 10);
+
+        BatchResult result = service.createTasks(List.of(
+                item("first", 1L, List.of(2L), null),
+                item("", null, null, null),
+                item("bad team", 9L, null, null),
+                item("bad assignee", 1L, List.of(2L, 7L), null),
+                item("bad priority", null, null, "URGENT"),
+                item("second", null, null, "HIGH")), 3L);
+
+        assertEquals(2, result.getSucceeded());
+        assertEquals(4, result.getFailed());
+        assertEquals(100L, result.getResults().get(0).getId());
+        assertEquals("title: must not be blank", result.getResults().get(1).getError());
+        assertEquals("Team does not exist: 9", result.getResults().get(2).getError());
+        assertEquals("User does not exist: 7", result.getResults().get(3).getError());
+        assertEquals("Unknown priority: URGENT", result.getResults().get(4).getError());
+        assertEquals(101L, result.getResults().get(5).getId());
+        assertEquals(5, result.getResults().get(5).getIndex());
+
+        ArgumentCaptor<List<NewTask>> inserted = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(taskBatchRepository).insert(inserted.capture(), any());
+        assertEquals(List.of("first", "second"), inserted.getValue().stream().map(NewTask::title).toList());
+        assertEquals(Priority.MEDIUM, inserted.getValue().get(0).priority());
+        assertEquals(List.of(2L), inserted.getValue().get(0).assigneeIds());
+        assertEquals(3L, inserted.getValue().get(1).creatorId());
+
+        ArgumentCaptor<List<Entry>> history = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(taskActivityService).record(history.capture());
+        assertEquals(List.of(100L, 101L), history.getValue().stream().map(Entry::taskId).toList());
+        assertEquals(List.of(1L), history.getValue().stream().map(Entry::teamId).filter(java.util.Objects::nonNull).toList());
+        assertTrue(history.getValue().stream().allMatch(e -> e.action() == TaskChangedEvent.Type.CREATED && e.actorId() == 3L));
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedBatches() {
+        TaskBatchRepository taskBatchRepository = Mockito.mock(TaskBatchRepository.class);
+        TaskBatchService service = new TaskBatchServiceImpl(VALIDATOR, taskBatchRepository, Mockito.mock(TaskRepository.class),
+                Mockito.mock(TeamRepository.class), Mockito.mock(UserRepository.class), Mockito.mock(TaskPermissions.class), Mockito.mock(TaskCounterRepository.class), Mockito.mock(TaskTransitionRepository.class), Mockito.mock(TaskActivityService.class), Mockito.mock(ApplicationEventPublisher.class), 1);
+
+        assertThrows(IllegalArgumentException.class, () -> service.createTasks(List.of(), 3L));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.createTasks(List.of(item("a", null, null, null), item("b", null, null, null)), 3L));
+        Mockito.verifyNoInteractions(taskBatchRepository);
+    }
+
+    @Test
+    void changeStatusRejectsUnknownStatusBeforeLoadingTasks() {
+        TaskPermissions taskPermissions = Mockito.mock(TaskPermissions.class);
+        TaskBatchService service = new TaskBatchServiceImpl(VALIDATOR, Mockito.mock(TaskBatchRepository.class), Mockito.mock(TaskRepository.class),
+                Mockito.mock(TeamRepository.class), Mockito.mock(UserRepository.class), taskPermissions, Mockito.mock(TaskCounterRepository.class), Mockito.mock(TaskTransitionRepository.class), Mockito.mock(TaskActivityService.class), Mockito.mock(ApplicationEventPublisher.class), 1);
+
+        IllegalArgumentException unknown = assertThrows(IllegalArgumentException.class,
+                () -> service.changeStatus(List.of(1L, 2L), "FINISHED", 5L));
+        assertEquals("Unknown status: FINISHED (expected one of TO_DO, IN_PROGRESS, DONE, BLOCKED)", unknown.getMessage());
+        IllegalArgumentException missing = assertThrows(IllegalArgumentException.class,
+                () -> service.changeStatus(List.of(1L), null, 5L));
+        assertEquals("Status is required", missing.getMessage());
+        Mockito.verifyNoInteractions(taskPermissions);
+    }
+
+    @Test
+    void changeStatusUpdatesOnlyPermittedTasks() {
+        TaskRepository taskRepository = Mockito.mock(TaskRepository.class);
+        TaskPermissions taskPermissions = Mockito.mock(TaskPermissions.class);
+        Mockito.when(taskPermissions.loadAll(Set.of(1L, 2L, 3L), 5L)).thenReturn(Map.of(
+                1L, new TaskPermissions.Access(5L, 1L, false, false, true),
+                2L, new TaskPermissions.Access(5L, 1L, false, false, false)));
+        TaskBatchService service = new TaskBatchServiceImpl(VALIDATOR, Mockito.mock(TaskBatchRepository.class), taskRepository,
+                Mockito.mock(TeamRepository.class), Mockito.mock(UserRepository.class), taskPermissions, Mockito.mock(TaskCounterRepository.class), Mockito.mock(TaskTransitionRepository.class), Mockito.mock(TaskActivityService.class), Mockito.mock(ApplicationEventPublisher.class), 10);
+
+        BatchResult result = service.changeStatus(List.of(1L, 2L, 3L, 1L), "DONE", 5L);
+
+        assertEquals(2, result.getSucceeded());
+        assertNull(result.getResults().get(0).getError());
+        assertEquals("You do not have permission to change the status of this task", result.getResults().get(1).getError());
+        assertEquals("Task not found", result.getResults().get(2).getError());
+        assertEquals(1L, result.getResults().get(3).getId());
+        Mockito.verify(taskRepository).updateStatusForIds(Mockito.eq(Set.of(1L)), Mockito.eq(Status.DONE), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void changesAreRecordedInTheHistory() {
+        TaskPermissions taskPermissions = Mockito.mock(TaskPermissions.class);
+        TaskCounterRepository taskCounterRepository = Mockito.mock(TaskCounterRepository.class);
+        TaskActivityService taskActivityService = Mockito.mock(TaskActivityService.class);
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        TaskRepository taskRepository = Mockito.mock(TaskRepository.class);
+        Mockito.when(userRepository.existsById(7L)).thenReturn(true);
+        Mockito.when(taskRepository.addAssigneeToTasks(any(), Mockito.eq(7L))).thenReturn(1);
+        Mockito.when(taskPermissions.loadAll(Set.of(1L, 2L), 5L)).thenReturn(Map.of(
+                1L, new TaskPermissions.Access(5L, 1L, true, false, false),
+                2L, new TaskPermissions.Access(5L, 1L, true, false, false)));
+        Mockito.when(taskCounterRepository.lockStates(Set.of(1L, 2L))).thenReturn(Map.of(
+                1L, new TaskState(1L, "TO_DO", "LOW", Set.of()),
+                2L, new TaskState(1L, "DONE", "LOW", Set.of(7L))));
+        TaskBatchService service = new TaskBatchServiceImpl(VALIDATOR, Mockito.mock(TaskBatchRepository.class), taskRepository,
+                Mockito.mock(TeamRepository.class), userRepository, taskPermissions, taskCounterRepository, Mockito.mock(TaskTransitionRepository.class), taskActivityService, Mockito.mock(ApplicationEventPublisher.class), 10);
+
+        service.changeStatus(List.of(1L, 2L), "DONE", 5L);
+        service.assignUser(List.of(1L, 2L), 7L, 5L);
+
+        ArgumentCaptor<List<Entry>> history = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(taskActivityService, Mockito.times(2)).record(history.capture());
+        List<Entry> statusChanges = history.getAllValues().get(0);
+        assertEquals(1, statusChanges.size());
+        assertEquals(1L, statusChanges.get(0).taskId());
+        assertEquals(TaskChangedEvent.Type.STATUS_CHANGED, statusChanges.get(0).action());
+        assertEquals("TO_DO", statusChanges.get(0).oldValue());
+        assertEquals("DONE", statusChanges.get(0).newValue());
+        List<Entry> assignments = history.getAllValues().get(1);
+        assertEquals(1, assignments.size());
+        assertEquals(1L, assignments.get(0).taskId());
+        assertEquals(TaskChangedEvent.Type.ASSIGNED, assignments.get(0).action());
+        assertEquals("7", assignments.get(0).newValue());
+        assertEquals(5L, assignments.get(0).actorId());
+    }
+
+    @Test
+    void unassignLetsUsersRemoveThemselves() {
+        TaskRepository taskRepository = Mockito.mock(TaskRepository.class);
+        TaskPermissions taskPermissions = Mockito.mock(TaskPermissions.class);
+        Mockito.when(taskPermissions.loadAll(Set.of(1L), 5L)).thenReturn(Map.of(1L, new TaskPermissions.Access(5L, 1L, false, false, true)));
+        Mockito.when(taskPermissions.loadAll(Set.of(2L), 5L)).thenReturn(Map.of(2L, new TaskPermissions.Access(5L, 1L, false, false, false)));
+        Mockito.when(taskRepository.removeAssigneeFromTasks(Set.of(1L), 5L)).thenReturn(1);
+        TaskBatchService service = new TaskBatchServiceImpl(VALIDATOR, Mockito.mock(TaskBatchRepository.class), taskRepository,
+                Mockito.mock(TeamRepository.class), Mockito.mock(UserRepository.class), taskPermissions, Mockito.mock(TaskCounterRepository.class), Mockito.mock(TaskTransitionRepository.class), Mockito.mock(TaskActivityService.class), Mockito.mock(ApplicationEventPublisher.class), 10);
+
+        BatchResult self = service.unassignUser(List.of(1L), 5L, 5L);
+        BatchResult other = service.unassignUser(List.of(2L), 6L, 5L);
+
+        assertEquals(1, self.getSucceeded());
+        assertEquals(1, other.getFailed());
+        Mockito.verify(taskRepository, Mockito.never()).removeAssigneeFromTasks(Set.of(2L), 6L);
+    }
+
+    @Test
+    void assignRejectsUnknownUser() {
+        TaskRepository taskRepository = Mockito.mock(TaskRepository.class);
+        TaskBatchService service = new TaskBatchServiceImpl(VALIDATOR, Mockito.mock(TaskBatchRepository.class), taskRepository,
+                Mockito.mock(TeamRepository.class), Mockito.mock(UserRepository.class), Mockito.mock(TaskPermissions.class), Mockito.mock(TaskCounterRepository.class), Mockito.mock(TaskTransitionRepository.class), Mockito.mock(TaskActivityService.class), Mockito.mock(ApplicationEventPublisher.class), 10);
+
+        assertThrows(NoSuchElementException.class, () -> service.assignUser(List.of(1L), 42L, 5L));
+        Mockito.verifyNoInteractions(taskRepository);
+    }
+
+    private static TaskCreateDto item(String title, Long teamId, List<Long> assigneeIds, String priority) {
+        TaskCreateDto dto = new TaskCreateDto();
+        dto.setTitle(title);
+        dto.setTeamId(teamId);
+        dto.setAssigneeIds(assigneeIds);
+        dto.setPriority(priority);
+        return dto;
+    }
+}
@@ -0,0 +1,72 @@
+package com.taskmanager.api.service;
+
+import com.taskmanager.api.repository.TaskImportRepository.StagedRow;
+import com.taskmanager.api.service.impl.TaskCsvParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskCsvParserTest {
+
+    @Test
+    void readsQuotedFieldsAndReportsRowStartLines() throws IOException {
+        List<TaskCsvParser.Parsed> rows = parseAll("\uFEFFTitle,Description,status,priority,due_date,assignee_ids,ignored\r\n"
+                + "Write spec,\"two\nlines, \"\"quoted\"\"\",in_progress,High,2024-06-01,3 4;3,x\r\n"
+                + "\r\n"
+                + "Ship,,DONE,,2024-06-02T09:30:00,,\n");
+
+        assertEquals(2, rows.size());
+        StagedRow first = rows.get(0).row();
+        assertEquals(2, first.line());
+        assertEquals("Write spec", first.title());
+        assertEquals("two\nlines, \"quoted\"", first.description());
+        assertEquals("IN_PROGRESS", first.status());
+        assertEquals("HIGH", first.priority());
+        assertEquals(LocalDateTime.of(2024, 6, 1, 0, 0), first.dueDate());
+        assertEquals(List.of(3L, 4L), first.assigneeIds());
+        StagedRow second = rows.get(1).row();
+        assertEquals(5, second.line());
+        assertNull(second.description());
+        assertNull(second.priority());
+        assertEquals(LocalDateTime.of(2024, 6, 2, 9, 30), second.dueDate());
+        assertEquals(List.of(), second.assigneeIds());
+    }
+
+    @Test
+    void rejectsInvalidRowsWithoutStopping() throws IOException {
+        List<TaskCsvParser.Parsed> rows = parseAll("title,status,priority,due_date,assignee_ids\n"
+                + ",TO_DO,,,\n"
+                + "a,LATER,,,\n"
+                + "b,,URGENT,,\n"
+                + "c,,,tomorrow,\n"
+                + "d,,,,1 two\n"
+                + "x".repeat(256) + ",,,,\n"
+                + "ok,,,,\n");
+
+        assertEquals(List.of("Title is required", "Invalid status: LATER", "Invalid priority: URGENT",
+                        "Invalid due_date: tomorrow", "Invalid assignee id: two", "title is longer than 255 characters"),
+                rows.subList(0, 6).stream().map(TaskCsvParser.Parsed::error).toList());
+        assertEquals("ok", rows.get(6).row().title());
+        assertEquals(8, rows.get(6).line());
+    }
+
+    @Test
+    void rejectsMalformedFiles() {
+        assertThrows(IllegalArgumentException.class, () -> parseAll(""));
+        assertThrows(IllegalArgumentException.class, () -> parseAll("name,description\nx,y\n"));
+        assertThrows(IllegalArgumentException.class, () -> parseAll("title\n\"never closed\n"));
+    }
+
+    private static List<TaskCsvParser.Parsed> parseAll(String csv) throws IOException {
+        TaskCsvParser parser = new TaskCsvParser(new StringReader(csv));
+        List<TaskCsvParser.Parsed> rows = new ArrayList<>();
+        for (TaskCsvParser.Parsed parsed; (parsed = parser.next()) != null; ) rows.add(parsed);
+        return rows;
+    }
+}
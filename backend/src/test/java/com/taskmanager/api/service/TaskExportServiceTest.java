@@ -0,0 +1,93 @@
+package com.taskmanager.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.taskmanager.api.repository.TaskExportRepository;
+import com.taskmanager.api.repository.TaskExportRepository.ExportRow;
+import com.taskmanager.api.repository.TeamRepository;
+import com.taskmanager.api.service.impl.TaskExportServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskExportServiceTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private static final List<ExportRow> ROWS = List.of(
+            new ExportRow(2L, "Plan, then \"ship\"", "line one\nline two", "TO_DO", "HIGH",
+                    LocalDateTime.of(2024, 5, 1, 9, 0), 1L, LocalDateTime.of(2024, 4, 2, 10, 0), LocalDateTime.of(2024, 4, 3, 10, 0), List.of(3L, 4L)),
+            new ExportRow(1L, "Plain", null, "DONE", "LOW",
+                    null, null, LocalDateTime.of(2024, 4, 1, 10, 0), LocalDateTime.of(2024, 4, 1, 10, 0), List.of()));
+
+    @Test
+    void writesOneJsonObjectPerLine() throws Exception {
+        TaskExportService service = new TaskExportServiceImpl(repositoryReturning(ROWS), Mockito.mock(TeamRepository.class), MAPPER);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.exportTeamTasks(7L, TaskExportService.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(3, lines.length);
+        assertEquals("", lines[2]);
+        JsonNode first = MAPPER.readTree(lines[0]);
+        assertEquals(2L, first.get("id").asLong());
+        assertEquals("line one\nline two", first.get("description").asText());
+        assertEquals("2024-05-01T09:00:00", first.get("dueDate").asText());
+        assertEquals(List.of(3L, 4L), List.of(first.get("assigneeIds").get(0).asLong(), first.get("assigneeIds").get(1).asLong()));
+        assertTrue(MAPPER.readTree(lines[1]).get("description").isNull());
+    }
+
+    @Test
+    void writesCsvWithQuotingOnlyWhereNeeded() throws Exception {
+        TaskExportService service = new TaskExportServiceImpl(repositoryReturning(ROWS), Mockito.mock(TeamRepository.class), MAPPER);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.exportTeamTasks(7L, TaskExportService.Format.CSV, out);
+
+        assertEquals("id,title,description,status,priority,due_date,creator_id,created_at,updated_at,assignee_ids\r\n"
+                        + "2,\"Plan, then \"\"ship\"\"\",\"line one\nline two\",TO_DO,HIGH,2024-05-01T09:00,1,2024-04-02T10:00,2024-04-03T10:00,3 4\r\n"
+                        + "1,Plain,,DONE,LOW,,,2024-04-01T10:00,2024-04-01T10:00,\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportIsLimitedToTeamMembers() {
+        TeamRepository teamRepository = Mockito.mock(TeamRepository.class);
+        Mockito.when(teamRepository.existsById(7L)).thenReturn(true);
+        Mockito.when(teamRepository.isMemberOrAdmin(7L, 1L)).thenReturn(true);
+        TaskExportService service = new TaskExportServiceImpl(Mockito.mock(TaskExportRepository.class), teamRepository, MAPPER);
+
+        assertDoesNotThrow(() -> service.checkCanExport(7L, 1L));
+        assertThrows(AccessDeniedException.class, () -> service.checkCanExport(7L, 2L));
+        assertThrows(NoSuchElementException.class, () -> service.checkCanExport(8L, 1L));
+    }
+
+    @Test
+    void rejectsUnknownFormat() {
+        assertEquals(TaskExportService.Format.CSV, TaskExportService.Format.fromParam("CSV"));
+        assertThrows(IllegalArgumentException.class, () -> TaskExportService.Format.fromParam("xml"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TaskExportRepository repositoryReturning(List<ExportRow> rows) {
+        TaskExportRepository repository = Mockito.mock(TaskExportRepository.class);
+        Mockito.doAnswer(invocation -> {
+            rows.forEach(invocation.<Consumer<ExportRow>>getArgument(1));
+            return null;
+        }).when(repository).forEachInTeam(ArgumentMatchers.eq(7L), ArgumentMatchers.any(Consumer.class));
+        return repository;
+    }
+}
@@ -0,0 +1,113 @@
+package com.taskmanager.api.service;
+
+import com.taskmanager.api.dto.ImportJobStatus;
+import com.taskmanager.api.repository.TaskImportRepository;
+import com.taskmanager.api.repository.TaskImportRepository.StagedRow;
+import com.taskmanager.api.repository.TaskImportRepository.StagingWriter;
+import com.taskmanager.api.repository.TeamRepository;
+import com.taskmanager.api.service.impl.TaskImportServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+class TaskImportServiceTest {
+
+    @Test
+    void importsValidRowsAndReportsRejectedOnes() throws Exception {
+        TaskImportRepository taskImportRepository = Mockito.mock(TaskImportRepository.class);
+        StagingWriter staging = Mockito.mock(StagingWriter.class);
+        Mockito.when(taskImportRepository.openStaging()).thenReturn(staging);
+        Mockito.doAnswer(invocation -> {
+            invocation.<LongConsumer>getArgument(0).accept(4L);
+            return null;
+        }).when(taskImportRepository).rejectUnknownAssignees(any());
+        Mockito.when(taskImportRepository.merge(eq(1L), eq(5L), any())).thenReturn(1);
+        TaskImportService service = service(taskImportRepository, teamWithMember(1L, 5L), 1024);
+
+        ImportJobStatus started = service.startImport(1L, csv("title,assignee_ids\nkept,\n,\nghost,99\n"), 5L);
+        ImportJobStatus done = awaitFinished(service, started.getId(), 5L);
+
+        assertEquals(ImportJobStatus.State.COMPLETED, done.getState());
+        assertEquals(3, done.getRowsRead());
+        assertEquals(1, done.getRowsImported());
+        assertEquals(2, done.getRowsRejected());
+        assertEquals(100, done.getProgress());
+        assertEquals("Title is required", done.getErrors().get(0).getError());
+        assertEquals(4, done.getErrors().get(1).getLine());
+        ArgumentCaptor<StagedRow> staged = ArgumentCaptor.forClass(StagedRow.class);
+        Mockito.verify(staging, Mockito.times(2)).add(staged.capture());
+        assertEquals("kept", staged.getAllValues().get(0).title());
+        Mockito.verify(staging).finish();
+    }
+
+    @Test
+    void malformedFileFailsTheJob() throws Exception {
+        TaskImportService service = service(Mockito.mock(TaskImportRepository.class), teamWithMember(1L, 5L), 1024);
+
+        ImportJobStatus started = service.startImport(1L, csv("name\nx\n"), 5L);
+        ImportJobStatus done = awaitFinished(service, started.getId(), 5L);
+
+        assertEquals(ImportJobStatus.State.FAILED, done.getState());
+        assertEquals("Import file has no title column", done.getMessage());
+    }
+
+    @Test
+    void uploadsAreCheckedBeforeAJobStarts() {
+        TaskImportService service = service(Mockito.mock(TaskImportRepository.class), teamWithMember(1L, 5L), 16);
+
+        assertThrows(NoSuchElementException.class, () -> service.startImport(2L, csv("title\nx\n"), 5L));
+        assertThrows(AccessDeniedException.class, () -> service.startImport(1L, csv("title\nx\n"), 6L));
+        assertThrows(IllegalArgumentException.class, () -> service.startImport(1L, csv(""), 5L));
+        assertThrows(IllegalArgumentException.class, () -> service.startImport(1L, csv("title\n" + "x\n".repeat(10)), 5L));
+    }
+
+    @Test
+    void jobsAreOnlyVisibleToTheirOwner() throws Exception {
+        TaskImportService service = service(Mockito.mock(TaskImportRepository.class), teamWithMember(1L, 5L), 1024);
+        ImportJobStatus started = service.startImport(1L, csv("name\n"), 5L);
+
+        assertThrows(NoSuchElementException.class, () -> service.getJob(started.getId(), 6L));
+        assertThrows(NoSuchElementException.class, () -> service.getJob("missing", 5L));
+    }
+
+    private static TaskImportService service(TaskImportRepository taskImportRepository, TeamRepository teamRepository, long maxBytes) {
+        return new TaskImportServiceImpl(taskImportRepository, teamRepository, Mockito.mock(PlatformTransactionManager.class),
+                Mockito.mock(ApplicationEventPublisher.class),
+                maxBytes, 1, Duration.ofHours(1));
+    }
+
+    private static TeamRepository teamWithMember(Long teamId, Long userId) {
+        TeamRepository teamRepository = Mockito.mock(TeamRepository.class);
+        Mockito.when(teamRepository.existsById(teamId)).thenReturn(true);
+        Mockito.when(teamRepository.isMemberOrAdmin(teamId, userId)).thenReturn(true);
+        return teamRepository;
+    }
+
+    private static InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ImportJobStatus awaitFinished(TaskImportService service, String jobId, Long actorId) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        ImportJobStatus status = service.getJob(jobId, actorId);
+        while (status.getFinishedAt() == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            status = service.getJob(jobId, actorId);
+        }
+        return status;
+    }
+}
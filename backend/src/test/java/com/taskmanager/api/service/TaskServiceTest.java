@@ -1,14 +1,30 @@
 package com.taskmanager.api.service;
 
+import com.taskmanager.api.dto.CursorPage;
+import com.taskmanager.api.dto.KeysetCursor;
+import com.taskmanager.api.dto.RankCursor;
+import com.taskmanager.api.dto.SortKeyCursor;
+import com.taskmanager.api.dto.TaskDto;
+import com.taskmanager.api.dto.TaskSearchHit;
 import com.taskmanager.api.entity.Task;
 import com.taskmanager.api.entity.Team;
 import com.taskmanager.api.entity.User;
+import com.taskmanager.api.repository.TaskChangesRepository;
+import com.taskmanager.api.repository.TaskCounterRepository;
+import com.taskmanager.api.repository.TaskQueryRepository;
 import com.taskmanager.api.repository.TaskRepository;
+import com.taskmanager.api.repository.TaskSearchRepository;
+import com.taskmanager.api.repository.TaskSearchRepository.SortedId;
+import com.taskmanager.api.repository.TaskSpecifications;
+import com.taskmanager.api.repository.TaskTextSearchRepository;
+import com.taskmanager.api.repository.TaskTransitionRepository;
 import com.taskmanager.api.repository.TeamRepository;
+import com.taskmanager.api.security.TaskPermissions;
 import com.taskmanager.api.service.impl.TaskServiceImpl;
 import com.taskmanager.api.repository.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -17,24 +33,32 @@ class TaskServiceTest {
     @Test
     void createTaskSavesTask() {
         TaskRepository taskRepository = Mockito.mock(TaskRepository.class);
+        TaskQueryRepository taskQueryRepository = Mockito.mock(TaskQueryRepository.class);
         TeamRepository teamRepository = Mockito.mock(TeamRepository.class);
         Mockito.when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
         UserRepository userRepository = Mockito.mock(UserRepository.class);
-        TaskServiceImpl taskService = new TaskServiceImpl(taskRepository, teamRepository, userRepository);
+        TaskPermissions taskPermissions = Mockito.mock(TaskPermissions.class);
+        TaskServiceImpl taskService = new TaskServiceImpl(taskRepository, taskQueryRepository, Mockito.mock(TaskSearchRepository.class), Mockito.mock(TaskTextSearchRepository.class), teamRepository, userRepository, taskPermissions, taskCounters(), Mockito.mock(TaskChangesRepository.class), Mockito.mock(TaskActivityService.class), Mockito.mock(TaskTransitionRepository.class), Mockito.mock(ApplicationEventPublisher.class));
+        User actor = new User();
+        actor.setId(3L);
+        Mockito.when(userRepository.getReferenceById(3L)).thenReturn(actor);
         Task task = new Task();
         task.setTitle("task1");
-        Task saved = taskService.createTask(task);
+        Task saved = taskService.createTask(task, 3L);
         assertEquals("task1", saved.getTitle());
+        assertSame(actor, saved.getCreator());
     }
 
     @Test
     void updateTaskByCreator() {
         TaskRepository taskRepository = Mockito.mock(TaskRepository.class);
+        TaskQueryRepository taskQueryRepository = Mockito.mock(TaskQueryRepository.class);
         TeamRepository teamRepository = Mockito.mock(TeamRepository.class);
         UserRepository userRepository = Mockito.mock(UserRepository.class);
+        TaskPermissions taskPermissions = Mockito.mock(TaskPermissions.class);
         Mockito.when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
 
-        TaskServiceImpl taskService = new TaskServiceImpl(taskRepository, teamRepository, userRepository);
+        TaskServiceImpl taskService = new TaskServiceImpl(taskRepository, taskQueryRepository, Mockito.mock(TaskSearchRepository.class), Mockito.mock(TaskTextSearchRepository.class), teamRepository, userRepository, taskPermissions, taskCounters(), Mockito.mock(TaskChangesRepository.class), Mockito.mock(TaskActivityService.class), Mockito.mock(TaskTransitionRepository.class), Mockito.mock(ApplicationEventPublisher.class));
 
         Task task = new Task();
         task.setId(1L);
@@ -44,24 +68,65 @@ class TaskServiceTest {
         task.setCreator(creator);
         task.setTitle("old");
 
-        Mockito.when(taskRepository.findById(1L)).thenReturn(java.util.Optional.of(task));
-        Mockito.when(userRepository.findByUsername("creator")).thenReturn(java.util.Optional.of(creator));
+        Mockito.when(taskRepository.findDetailedById(1L)).thenReturn(java.util.Optional.of(task));
+        Mockito.when(taskPermissions.load(1L, 2L)).thenReturn(java.util.Optional.of(new TaskPermissions.Access(2L, 1L, true, false, false)));
 
         com.taskmanager.api.dto.TaskDto dto = new com.taskmanager.api.dto.TaskDto();
         dto.setTitle("new title");
 
-        Task updated = taskService.updateTask(1L, dto, "creator");
+        Task updated = taskService.updateTask(1L, dto, 2L);
         assertEquals("new title", updated.getTitle());
     }
 
+    @Test
+    void updateTaskAssigneesLoadsOnlyAddedUsers() {
+        TaskRepository taskRepository = Mockito.mock(TaskRepository.class);
+        TaskQueryRepository taskQueryRepository = Mockito.mock(TaskQueryRepository.class);
+        TeamRepository teamRepository = Mockito.mock(TeamRepository.class);
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        TaskPermissions taskPermissions = Mockito.mock(TaskPermissions.class);
+        Mockito.when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        TaskServiceImpl taskService = new TaskServiceImpl(taskRepository, taskQueryRepository, Mockito.mock(TaskSearchRepository.class), Mockito.mock(TaskTextSearchRepository.class), teamRepository, userRepository, taskPermissions, taskCounters(), Mockito.mock(TaskChangesRepository.class), Mockito.mock(TaskActivityService.class), Mockito.mock(TaskTransitionRepository.class), Mockito.mock(ApplicationEventPublisher.class));
+
+        User kept = new User();
+        kept.setId(5L);
+        User removed = new User();
+        removed.setId(6L);
+        User added = new User();
+        added.setId(7L);
+        Task task = new Task();
+        task.setId(1L);
+        task.getAssignees().add(kept);
+        task.getAssignees().add(removed);
+
+        Mockito.when(taskRepository.findDetailedById(1L)).thenReturn(java.util.Optional.of(task));
+        Mockito.when(taskPermissions.load(1L, 2L)).thenReturn(java.util.Optional.of(new TaskPermissions.Access(2L, 1L, true, false, false)));
+        Mockito.when(userRepository.findAllById(java.util.List.of(7L))).thenReturn(java.util.List.of(added));
+
+        com.taskmanager.api.dto.TaskDto dto = new com.taskmanager.api.dto.TaskDto();
+        com.taskmanager.api.dto.UserDto keptDto = new com.taskmanager.api.dto.UserDto();
+        keptDto.setId(5L);
+        com.taskmanager.api.dto.UserDto addedDto = new com.taskmanager.api.dto.UserDto();
+        addedDto.setId(7L);
+        dto.setAssignees(java.util.List.of(keptDto, addedDto));
+
+        Task updated = taskService.updateTask(1L, dto, 2L);
+        assertEquals(java.util.Set.of(kept, added), updated.getAssignees());
+        Mockito.verify(userRepository).findAllById(java.util.List.of(7L));
+        Mockito.verify(userRepository, Mockito.never()).findById(any());
+    }
+
     @Test
     void assignUserToTaskByAdmin() {
         TaskRepository taskRepository = Mockito.mock(TaskRepository.class);
+        TaskQueryRepository taskQueryRepository = Mockito.mock(TaskQueryRepository.class);
         TeamRepository teamRepository = Mockito.mock(TeamRepository.class);
         UserRepository userRepository = Mockito.mock(UserRepository.class);
+        TaskPermissions taskPermissions = Mockito.mock(TaskPermissions.class);
         Mockito.when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
 
-        TaskServiceImpl taskService = new TaskServiceImpl(taskRepository, teamRepository, userRepository);
+        TaskServiceImpl taskService = new TaskServiceImpl(taskRepository, taskQueryRepository, Mockito.mock(TaskSearchRepository.class), Mockito.mock(TaskTextSearchRepository.class), teamRepository, userRepository, taskPermissions, taskCounters(), Mockito.mock(TaskChangesRepository.class), Mockito.mock(TaskActivityService.class), Mockito.mock(TaskTransitionRepository.class), Mockito.mock(ApplicationEventPublisher.class));
 
         Task task = new Task();
         task.setId(10L);
@@ -75,22 +140,26 @@ class TaskServiceTest {
         User userToAssign = new User();
         userToAssign.setId(7L);
 
-        Mockito.when(taskRepository.findById(10L)).thenReturn(java.util.Optional.of(task));
-        Mockito.when(userRepository.findByUsername("admin")).thenReturn(java.util.Optional.of(admin));
-        Mockito.when(userRepository.findById(7L)).thenReturn(java.util.Optional.of(userToAssign));
+        Mockito.when(taskPermissions.load(10L, 5L)).thenReturn(java.util.Optional.of(new TaskPermissions.Access(5L, 1L, false, true, false)));
+        Mockito.when(userRepository.existsById(7L)).thenReturn(true);
+        Mockito.when(taskRepository.addAssignee(10L, 7L)).thenAnswer(inv -> { task.getAssignees().add(userToAssign); return 1; });
+        Mockito.when(taskRepository.findDetailedById(10L)).thenReturn(java.util.Optional.of(task));
 
-        Task updated = taskService.assignUserToTask(10L, 7L, "admin");
+        Task updated = taskService.assignUserToTask(10L, 7L, 5L);
         assertTrue(updated.getAssignees().contains(userToAssign));
+        Mockito.verify(taskRepository, Mockito.never()).save(any(Task.class));
     }
 
     @Test
     void unassignUserSelf() {
         TaskRepository taskRepository = Mockito.mock(TaskRepository.class);
+        TaskQueryRepository taskQueryRepository = Mockito.mock(TaskQueryRepository.class);
         TeamRepository teamRepository = Mockito.mock(TeamRepository.class);
         UserRepository userRepository = Mockito.mock(UserRepository.class);
+        TaskPermissions taskPermissions = Mockito.mock(TaskPermissions.class);
         Mockito.when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
 
-        TaskServiceImpl taskService = new TaskServiceImpl(taskRepository, teamRepository, userRepository);
+        TaskServiceImpl taskService = new TaskServiceImpl(taskRepository, taskQueryRepository, Mockito.mock(TaskSearchRepository.class), Mockito.mock(TaskTextSearchRepository.class), teamRepository, userRepository, taskPermissions, taskCounters(), Mockito.mock(TaskChangesRepository.class), Mockito.mock(TaskActivityService.class), Mockito.mock(TaskTransitionRepository.class), Mockito.mock(ApplicationEventPublisher.class));
 
         Task task = new Task();
         task.setId(20L);
@@ -99,22 +168,25 @@ class TaskServiceTest {
         user.setUsername("self");
         task.getAssignees().add(user);
 
-        Mockito.when(taskRepository.findById(20L)).thenReturn(java.util.Optional.of(task));
-        Mockito.when(userRepository.findByUsername("self")).thenReturn(java.util.Optional.of(user));
-        Mockito.when(userRepository.findById(8L)).thenReturn(java.util.Optional.of(user));
+        Mockito.when(taskPermissions.load(20L, 8L)).thenReturn(java.util.Optional.of(new TaskPermissions.Access(8L, 1L, false, false, true)));
+        Mockito.when(taskRepository.removeAssignee(20L, 8L)).thenAnswer(inv -> { task.getAssignees().remove(user); return 1; });
+        Mockito.when(taskRepository.findDetailedById(20L)).thenReturn(java.util.Optional.of(task));
 
-        Task updated = taskService.unassignUserFromTask(20L, 8L, "self");
+        Task updated = taskService.unassignUserFromTask(20L, 8L, 8L);
         assertFalse(updated.getAssignees().contains(user));
     }
 
     @Test
     void changeStatusByAssignee() {
         TaskRepository taskRepository = Mockito.mock(TaskRepository.class);
+        TaskQueryRepository taskQueryRepository = Mockito.mock(TaskQueryRepository.class);
         TeamRepository teamRepository = Mockito.mock(TeamRepository.class);
         UserRepository userRepository = Mockito.mock(UserRepository.class);
+        TaskPermissions taskPermissions = Mockito.mock(TaskPermissions.class);
+        ApplicationEventPublisher eventPublisher = Mockito.mock(ApplicationEventPublisher.class);
         Mockito.when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
 
-        TaskServiceImpl taskService = new TaskServiceImpl(taskRepository, teamRepository, userRepository);
+        TaskServiceImpl taskService = new TaskServiceImpl(taskRepository, taskQueryRepository, Mockito.mock(TaskSearchRepository.class), Mockito.mock(TaskTextSearchRepository.class), teamRepository, userRepository, taskPermissions, taskCounters(), Mockito.mock(TaskChangesRepository.class), Mockito.mock(TaskActivityService.class), Mockito.mock(TaskTransitionRepository.class), eventPublisher);
 
         Task task = new Task();
         task.setId(30L);
@@ -123,10 +195,196 @@ class TaskServiceTest {
         user.setUsername("worker");
         task.getAssignees().add(user);
 
-        Mockito.when(taskRepository.findById(30L)).thenReturn(java.util.Optional.of(task));
-        Mockito.when(userRepository.findByUsername("worker")).thenReturn(java.util.Optional.of(user));
+        Mockito.when(taskPermissions.load(30L, 9L)).thenReturn(java.util.Optional.of(new TaskPermissions.Access(9L, 1L, false, false, true)));
+        Mockito.when(taskRepository.updateStatus(Mockito.eq(30L), Mockito.eq(com.taskmanager.api.entity.Status.IN_PROGRESS), any()))
+                .thenAnswer(inv -> { task.setStatus(com.taskmanager.api.entity.Status.IN_PROGRESS); return 1; });
+        Mockito.when(taskRepository.findDetailedById(30L)).thenReturn(java.util.Optional.of(task));
 
-        Task updated = taskService.changeTaskStatus(30L, "IN_PROGRESS", "worker");
+        Task updated = taskService.changeTaskStatus(30L, "IN_PROGRESS", 9L);
         assertEquals(com.taskmanager.api.entity.Status.IN_PROGRESS, updated.getStatus());
+        Mockito.verify(eventPublisher).publishEvent(com.taskmanager.api.event.TaskChangedEvent.of(1L, com.taskmanager.api.event.TaskChangedEvent.Type.STATUS_CHANGED, 30L));
+    }
+
+    @Test
+    void deleteByAssigneeIsDeniedWithoutWriting() {
+        TaskRepository taskRepository = Mockito.mock(TaskRepository.class);
+        TaskQueryRepository taskQueryRepository = Mockito.mock(TaskQueryRepository.class);
+        TeamRepository teamRepository = Mockito.mock(TeamRepository.class);
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        TaskPermissions taskPermissions = Mockito.mock(TaskPermissions.class);
+        TaskServiceImpl taskService = new TaskServiceImpl(taskRepository, taskQueryRepository, Mockito.mock(TaskSearchRepository.class), Mockito.mock(TaskTextSearchRepository.class), teamRepository, userRepository, taskPermissions, taskCounters(), Mockito.mock(TaskChangesRepository.class), Mockito.mock(TaskActivityService.class), Mockito.mock(TaskTransitionRepository.class), Mockito.mock(ApplicationEventPublisher.class));
+
+        Mockito.when(taskPermissions.load(40L, 9L)).thenReturn(java.util.Optional.of(new TaskPermissions.Access(9L, 1L, false, false, true)));
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> taskService.deleteTask(40L, 9L));
+        assertEquals("You do not have permission to delete this task", ex.getMessage());
+        Mockito.verify(taskRepository, Mockito.never()).deleteTaskById(any());
+    }
+
+    @Test
+    void unassignOthersRequiresCreatorOrAdmin() {
+        TaskPermissions.Access assignee = new TaskPermissions.Access(9L, 1L, false, false, true);
+        assertTrue(assignee.allows(TaskPermissions.Operation.UNASSIGN, 9L));
+        assertFalse(assignee.allows(TaskPermissions.Operation.UNASSIGN, 10L));
+        assertFalse(assignee.allows(TaskPermissions.Operation.ASSIGN));
+        assertTrue(new TaskPermissions.Access(1L, 1L, false, true, false).allows(TaskPermissions.Operation.UNASSIGN, 10L));
+    }
+
+    @Test
+    void listTasksByTeamReturnsCursorWhenMoreRowsExist() {
+        TaskRepository taskRepository = Mockito.mock(TaskRepository.class);
+        TaskQueryRepository taskQueryRepository = Mockito.mock(TaskQueryRepository.class);
+        TeamRepository teamRepository = Mockito.mock(TeamRepository.class);
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        TaskPermissions taskPermissions = Mockito.mock(TaskPermissions.class);
+        TaskServiceImpl taskService = new TaskServiceImpl(taskRepository, taskQueryRepository, Mockito.mock(TaskSearchRepository.class), Mockito.mock(TaskTextSearchRepository.class), teamRepository, userRepository, taskPermissions, taskCounters(), Mockito.mock(TaskChangesRepository.class), Mockito.mock(TaskActivityService.class), Mockito.mock(TaskTransitionRepository.class), Mockito.mock(ApplicationEventPublisher.class));
+
+        java.time.LocalDateTime now = java.time.LocalDateTime.now();
+        TaskDto newest = new TaskDto(); newest.setId(3L); newest.setCreatedAt(now);
+        TaskDto middle = new TaskDto(); middle.setId(2L); middle.setCreatedAt(now.minusMinutes(1));
+        TaskDto oldest = new TaskDto(); oldest.setId(1L); oldest.setCreatedAt(now.minusMinutes(2));
+        Mockito.when(teamRepository.existsById(4L)).thenReturn(true);
+        Mockito.when(taskQueryRepository.findTeamPage(4L, null, 3)).thenReturn(java.util.List.of(newest, middle, oldest));
+
+        CursorPage<TaskDto> page = taskService.listTasksByTeam(4L, null, 2);
+        assertEquals(java.util.List.of(newest, middle), page.getItems());
+        assertNotNull(page.getNextCursor());
+        KeysetCursor next = KeysetCursor.decode(page.getNextCursor());
+        assertEquals(2L, next.id());
+        assertEquals(middle.getCreatedAt(), next.createdAt());
+    }
+
+    @Test
+    void listTasksByUserPassesStatusFilterToQuery() {
+        TaskRepository taskRepository = Mockito.mock(TaskRepository.class);
+        TaskQueryRepository taskQueryRepository = Mockito.mock(TaskQueryRepository.class);
+        TeamRepository teamRepository = Mockito.mock(TeamRepository.class);
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        TaskPermissions taskPermissions = Mockito.mock(TaskPermissions.class);
+        TaskServiceImpl taskService = new TaskServiceImpl(taskRepository, taskQueryRepository, Mockito.mock(TaskSearchRepository.class), Mockito.mock(TaskTextSearchRepository.class), teamRepository, userRepository, taskPermissions, taskCounters(), Mockito.mock(TaskChangesRepository.class), Mockito.mock(TaskActivityService.class), Mockito.mock(TaskTransitionRepository.class), Mockito.mock(ApplicationEventPublisher.class));
+
+        TaskDto done = new TaskDto(); done.setId(5L);
+        Mockito.when(taskQueryRepository.findAssignedPage(7L, java.util.List.of("DONE"), null, 51))
+                .thenReturn(java.util.List.of(done));
+
+        CursorPage<TaskDto> page = taskService.listTasksByUser(7L, "DONE", null, 50);
+        assertEquals(java.util.List.of(done), page.getItems());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void listTasksByUserRejectsUnknownStatus() {
+        TaskQueryRepository taskQueryRepository = Mockito.mock(TaskQueryRepository.class);
+        TaskServiceImpl taskService = new TaskServiceImpl(Mockito.mock(TaskRepository.class), taskQueryRepository, Mockito.mock(TaskSearchRepository.class), Mockito.mock(TaskTextSearchRepository.class), Mockito.mock(TeamRepository.class), Mockito.mock(UserRepository.class), Mockito.mock(TaskPermissions.class), taskCounters(), Mockito.mock(TaskChangesRepository.class), Mockito.mock(TaskActivityService.class), Mockito.mock(TaskTransitionRepository.class), Mockito.mock(ApplicationEventPublisher.class));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> taskService.listTasksByUser(7L, "done", null, 50));
+        assertEquals("Unknown status: done (expected one of TO_DO, IN_PROGRESS, DONE, BLOCKED)", ex.getMessage());
+        Mockito.verifyNoInteractions(taskQueryRepository);
+    }
+
+    @Test
+    void searchTasksContinuesAfterTheLastSortKey() {
+        TaskRepository taskRepository = Mockito.mock(TaskRepository.class);
+        TaskQueryRepository taskQueryRepository = Mockito.mock(TaskQueryRepository.class);
+        TaskSearchRepository taskSearchRepository = Mockito.mock(TaskSearchRepository.class);
+        TaskServiceImpl taskService = new TaskServiceImpl(taskRepository, taskQueryRepository, taskSearchRepository, Mockito.mock(TaskTextSearchRepository.class),
+                Mockito.mock(TeamRepository.class), Mockito.mock(UserRepository.class), Mockito.mock(TaskPermissions.class), taskCounters(), Mockito.mock(TaskChangesRepository.class), Mockito.mock(TaskActivityService.class), Mockito.mock(TaskTransitionRepository.class), Mockito.mock(ApplicationEventPublisher.class));
+
+        TaskDto first = new TaskDto(); first.setId(9L);
+        TaskDto second = new TaskDto(); second.setId(4L);
+        java.time.LocalDateTime due = java.time.LocalDateTime.of(2026, 3, 1, 12, 30, 15, 123_456_000);
+        Mockito.when(taskSearchRepository.findIds(any(), Mockito.eq(TaskSpecifications.SortField.DUE_DATE), Mockito.eq(true), Mockito.eq(3)))
+                .thenReturn(java.util.List.of(new SortedId(9L, due.minusDays(1)), new SortedId(4L, due), new SortedId(1L, null)));
+        Mockito.when(taskQueryRepository.findByIds(java.util.List.of(9L, 4L))).thenReturn(java.util.List.of(first, second));
+
+        com.taskmanager.api.dto.TaskSearchCriteria criteria = new com.taskmanager.api.dto.TaskSearchCriteria();
+        criteria.setStatus(java.util.List.of("TO_DO", "BLOCKED"));
+        criteria.setSort("dueDate");
+        CursorPage<TaskDto> page = taskService.searchTasks(criteria, 3L, new SortKeyCursor("dueDate:asc", null, 12L).encode(), 2);
+
+        assertEquals(java.util.List.of(first, second), page.getItems());
+        SortKeyCursor next = SortKeyCursor.decode(page.getNextCursor());
+        assertEquals(new SortKeyCursor("dueDate:asc", due.toString(), 4L), next);
+        assertEquals(due, TaskSpecifications.SortField.DUE_DATE.parseKey(next.key()));
+    }
+
+    @Test
+    void searchTasksRejectsCursorOfAnotherSortOrder() {
+        TaskSearchRepository taskSearchRepository = Mockito.mock(TaskSearchRepository.class);
+        TaskServiceImpl taskService = new TaskServiceImpl(Mockito.mock(TaskRepository.class), Mockito.mock(TaskQueryRepository.class),
+                taskSearchRepository, Mockito.mock(TaskTextSearchRepository.class), Mockito.mock(TeamRepository.class), Mockito.mock(UserRepository.class),
+                Mockito.mock(TaskPermissions.class), taskCounters(), Mockito.mock(TaskChangesRepository.class), Mockito.mock(TaskActivityService.class), Mockito.mock(TaskTransitionRepository.class), Mockito.mock(ApplicationEventPublisher.class));
+
+        com.taskmanager.api.dto.TaskSearchCriteria criteria = new com.taskmanager.api.dto.TaskSearchCriteria();
+        criteria.setSort("priority");
+        String dueDateCursor = new SortKeyCursor("dueDate:asc", "2026-03-01T12:30", 4L).encode();
+        String badKey = new SortKeyCursor("priority:desc", "high", 4L).encode();
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.searchTasks(criteria, 3L, dueDateCursor, 10));
+        assertThrows(IllegalArgumentException.class, () -> taskService.searchTasks(criteria, 3L, badKey, 10));
+        Mockito.verifyNoInteractions(taskSearchRepository);
+    }
+
+    @Test
+    void searchTasksRejectsUnknownSortAndStatus() {
+        TaskServiceImpl taskService = new TaskServiceImpl(Mockito.mock(TaskRepository.class), Mockito.mock(TaskQueryRepository.class),
+                Mockito.mock(TaskSearchRepository.class), Mockito.mock(TaskTextSearchRepository.class), Mockito.mock(TeamRepository.class), Mockito.mock(UserRepository.class),
+                Mockito.mock(TaskPermissions.class), taskCounters(), Mockito.mock(TaskChangesRepository.class), Mockito.mock(TaskActivityService.class), Mockito.mock(TaskTransitionRepository.class), Mockito.mock(ApplicationEventPublisher.class));
+
+        com.taskmanager.api.dto.TaskSearchCriteria badSort = new com.taskmanager.api.dto.TaskSearchCriteria();
+        badSort.setSort("title");
+        com.taskmanager.api.dto.TaskSearchCriteria badStatus = new com.taskmanager.api.dto.TaskSearchCriteria();
+        badStatus.setStatus(java.util.List.of("LATER"));
+
+        com.taskmanager.api.dto.TaskSearchCriteria badPriority = new com.taskmanager.api.dto.TaskSearchCriteria();
+        badPriority.setPriority(java.util.List.of("URGENT"));
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.searchTasks(badSort, 3L, null, 10));
+        IllegalArgumentException status = assertThrows(IllegalArgumentException.class, () -> taskService.searchTasks(badStatus, 3L, null, 10));
+        assertEquals("Unknown status: LATER (expected one of TO_DO, IN_PROGRESS, DONE, BLOCKED)", status.getMessage());
+        IllegalArgumentException priority = assertThrows(IllegalArgumentException.class, () -> taskService.searchTasks(badPriority, 3L, null, 10));
+        assertEquals("Unknown priority: URGENT (expected one of LOW, MEDIUM, HIGH)", priority.getMessage());
+    }
+
+    @Test
+    void searchTextContinuesAfterTheLastHit() {
+        TaskTextSearchRepository taskTextSearchRepository = Mockito.mock(TaskTextSearchRepository.class);
+        TaskServiceImpl taskService = new TaskServiceImpl(Mockito.mock(TaskRepository.class), Mockito.mock(TaskQueryRepository.class),
+                Mockito.mock(TaskSearchRepository.class), taskTextSearchRepository, Mockito.mock(TeamRepository.class),
+                Mockito.mock(UserRepository.class), Mockito.mock(TaskPermissions.class), taskCounters(), Mockito.mock(TaskChangesRepository.class), Mockito.mock(TaskActivityService.class), Mockito.mock(TaskTransitionRepository.class), Mockito.mock(ApplicationEventPublisher.class));
+
+        RankCursor after = new RankCursor(0.6079271f, 40L);
+        java.util.List<TaskSearchHit> hits = java.util.List.of(hit(31L, 0.6079271f), hit(12L, 0.0991032f), hit(8L, 0.0991032f));
+        Mockito.when(taskTextSearchRepository.search("release", 3L, after, 3)).thenReturn(hits);
+
+        CursorPage<TaskSearchHit> page = taskService.searchText("release", 3L, after.encode(), 2);
+
+        assertEquals(hits.subList(0, 2), page.getItems());
+        assertEquals(new RankCursor(0.0991032f, 12L), RankCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void searchTextRejectsBlankQuery() {
+        TaskTextSearchRepository taskTextSearchRepository = Mockito.mock(TaskTextSearchRepository.class);
+        TaskServiceImpl taskService = new TaskServiceImpl(Mockito.mock(TaskRepository.class), Mockito.mock(TaskQueryRepository.class),
+                Mockito.mock(TaskSearchRepository.class), taskTextSearchRepository, Mockito.mock(TeamRepository.class),
+                Mockito.mock(UserRepository.class), Mockito.mock(TaskPermissions.class), taskCounters(), Mockito.mock(TaskChangesRepository.class), Mockito.mock(TaskActivityService.class), Mockito.mock(TaskTransitionRepository.class), Mockito.mock(ApplicationEventPublisher.class));
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.searchText("  ", 3L, null, 10));
+        Mockito.verifyNoInteractions(taskTextSearchRepository);
+    }
+
+    private static TaskSearchHit hit(Long id, float rank) {
+        TaskSearchHit hit = new TaskSearchHit();
+        hit.setId(id);
+        hit.setRank(rank);
+        return hit;
+    }
+
+    private static TaskCounterRepository taskCounters() {
+        TaskCounterRepository taskCounterRepository = Mockito.mock(TaskCounterRepository.class);
+        Mockito.when(taskCounterRepository.lockState(any())).thenReturn(java.util.Optional.of(
+                new TaskCounterRepository.TaskState(1L, "TO_DO", "MEDIUM", java.util.Set.of())));
+        return taskCounterRepository;
     }
 }
@@ -2,13 +2,14 @@ package com.taskmanager.api.service;
 
 import com.taskmanager.api.entity.Team;
 import com.taskmanager.api.entity.User;
+import com.taskmanager.api.repository.TeamMemberRepository;
 import com.taskmanager.api.repository.TeamRepository;
 import com.taskmanager.api.repository.UserRepository;
 import com.taskmanager.api.service.impl.TeamServiceImpl;
 import com.taskmanager.api.mapper.TeamMapper;
-import com.taskmanager.api.mapper.UserMapper;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -18,10 +19,11 @@ class TeamServiceTest {
     void createTeamSavesTeam() {
         TeamRepository teamRepository = Mockito.mock(TeamRepository.class);
         UserRepository userRepository = Mockito.mock(UserRepository.class);
-        UserMapper userMapper = Mockito.mock(UserMapper.class);
-        TeamMapper teamMapper = new TeamMapper(userMapper);
+        TeamMemberRepository teamMemberRepository = Mockito.mock(TeamMemberRepository.class);
+        TeamMapper teamMapper = new TeamMapper();
         Mockito.when(teamRepository.save(any(Team.class))).thenAnswer(inv -> inv.getArgument(0));
-        TeamServiceImpl teamService = new TeamServiceImpl(teamRepository, userRepository, teamMapper, userMapper);
+        TeamServiceImpl teamService = new TeamServiceImpl(teamRepository, userRepository, teamMemberRepository, teamMapper,
+                Mockito.mock(ApplicationEventPublisher.class));
         Team team = new Team();
         team.setName("team1");
         Team saved = teamService.createTeam(team);
@@ -32,11 +34,12 @@ class TeamServiceTest {
     void addMemberByAdmin() {
         TeamRepository teamRepository = Mockito.mock(TeamRepository.class);
         UserRepository userRepository = Mockito.mock(UserRepository.class);
-        UserMapper userMapper = Mockito.mock(UserMapper.class);
-        TeamMapper teamMapper = new TeamMapper(userMapper);
+        TeamMemberRepository teamMemberRepository = Mockito.mock(TeamMemberRepository.class);
+        TeamMapper teamMapper = new TeamMapper();
         Mockito.when(teamRepository.save(any(Team.class))).thenAnswer(inv -> inv.getArgument(0));
 
-        TeamServiceImpl teamService = new TeamServiceImpl(teamRepository, userRepository, teamMapper, userMapper);
+        TeamServiceImpl teamService = new TeamServiceImpl(teamRepository, userRepository, teamMemberRepository, teamMapper,
+                Mockito.mock(ApplicationEventPublisher.class));
 
         Team team = new Team();
         team.setId(1L);
@@ -45,26 +48,25 @@ class TeamServiceTest {
         admin.setUsername("admin");
         team.setAdmin(admin);
 
-        User userToAdd = new User();
-        userToAdd.setId(3L);
+        Mockito.when(teamRepository.findWithAdminById(1L)).thenReturn(java.util.Optional.of(team));
+        Mockito.when(userRepository.existsById(3L)).thenReturn(true);
+        Mockito.when(teamMemberRepository.add(1L, 3L)).thenReturn(true);
 
-        Mockito.when(teamRepository.findById(1L)).thenReturn(java.util.Optional.of(team));
-        Mockito.when(userRepository.findByUsername("admin")).thenReturn(java.util.Optional.of(admin));
-        Mockito.when(userRepository.findById(3L)).thenReturn(java.util.Optional.of(userToAdd));
-
-        Team updated = teamService.addMember(1L, 3L, "admin");
-        assertTrue(updated.getMembers().contains(userToAdd));
+        Team updated = teamService.addMember(1L, 3L, admin.getId());
+        assertEquals(1L, updated.getId());
+        Mockito.verify(teamMemberRepository).add(1L, 3L);
     }
 
     @Test
     void removeMemberBySelfOrAdmin() {
         TeamRepository teamRepository = Mockito.mock(TeamRepository.class);
         UserRepository userRepository = Mockito.mock(UserRepository.class);
-        UserMapper userMapper = Mockito.mock(UserMapper.class);
-        TeamMapper teamMapper = new TeamMapper(userMapper);
+        TeamMemberRepository teamMemberRepository = Mockito.mock(TeamMemberRepository.class);
+        TeamMapper teamMapper = new TeamMapper();
         Mockito.when(teamRepository.save(any(Team.class))).thenAnswer(inv -> inv.getArgument(0));
 
-        TeamServiceImpl teamService = new TeamServiceImpl(teamRepository, userRepository, teamMapper, userMapper);
+        TeamServiceImpl teamService = new TeamServiceImpl(teamRepository, userRepository, teamMemberRepository, teamMapper,
+                Mockito.mock(ApplicationEventPublisher.class));
 
         Team team = new Team();
         team.setId(5L);
@@ -73,39 +75,40 @@ class TeamServiceTest {
         team.setAdmin(admin);
         team.getMembers().add(member);
 
-        Mockito.when(teamRepository.findById(5L)).thenReturn(java.util.Optional.of(team));
-        Mockito.when(userRepository.findByUsername("mem")).thenReturn(java.util.Optional.of(member));
-        Mockito.when(userRepository.findById(11L)).thenReturn(java.util.Optional.of(member));
+        Mockito.when(teamRepository.findWithAdminById(5L)).thenReturn(java.util.Optional.of(team));
+        Mockito.when(userRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        Mockito.when(teamMemberRepository.remove(5L, 11L)).thenReturn(true);
 
-        Team after = teamService.removeMember(5L, 11L, "mem");
-        assertFalse(after.getMembers().contains(member));
+        teamService.removeMember(5L, 11L, 11L);
+        Mockito.verify(teamMemberRepository).remove(5L, 11L);
+        assertThrows(IllegalArgumentException.class, () -> teamService.removeMember(5L, 10L, 10L));
     }
 
     @Test
     void updateAndDeleteByAdmin() {
         TeamRepository teamRepository = Mockito.mock(TeamRepository.class);
         UserRepository userRepository = Mockito.mock(UserRepository.class);
-        UserMapper userMapper = Mockito.mock(UserMapper.class);
-        TeamMapper teamMapper = new TeamMapper(userMapper);
+        TeamMemberRepository teamMemberRepository = Mockito.mock(TeamMemberRepository.class);
+        TeamMapper teamMapper = new TeamMapper();
         Mockito.when(teamRepository.save(any(Team.class))).thenAnswer(inv -> inv.getArgument(0));
 
-        TeamServiceImpl teamService = new TeamServiceImpl(teamRepository, userRepository, teamMapper, userMapper);
+        TeamServiceImpl teamService = new TeamServiceImpl(teamRepository, userRepository, teamMemberRepository, teamMapper,
+                Mockito.mock(ApplicationEventPublisher.class));
 
         Team team = new Team(); team.setId(8L); team.setName("oldName");
         User admin = new User(); admin.setId(9L); admin.setUsername("boss");
         team.setAdmin(admin);
 
-        Mockito.when(teamRepository.findById(8L)).thenReturn(java.util.Optional.of(team));
-        Mockito.when(userRepository.findByUsername("boss")).thenReturn(java.util.Optional.of(admin));
+        Mockito.when(teamRepository.findWithAdminById(8L)).thenReturn(java.util.Optional.of(team));
 
         com.taskmanager.api.dto.TeamDto dto = new com.taskmanager.api.dto.TeamDto();
         dto.setName("newName");
-        Team updated = teamService.updateTeam(8L, dto, "boss");
+        Team updated = teamService.updateTeam(8L, dto, 9L);
         assertEquals("newName", updated.getName());
 
         // delete
         Mockito.when(teamRepository.findById(8L)).thenReturn(java.util.Optional.of(team));
-        teamService.deleteTeam(8L, "boss");
+        teamService.deleteTeam(8L, 9L);
         // if no exception thrown, assume success
     }
 
@@ -113,8 +116,8 @@ class TeamServiceTest {
     void listTeamsForUserReturnsMatching() {
         TeamRepository teamRepository = Mockito.mock(TeamRepository.class);
         UserRepository userRepository = Mockito.mock(UserRepository.class);
-        UserMapper userMapper = Mockito.mock(UserMapper.class);
-        TeamMapper teamMapper = new TeamMapper(userMapper);
+        TeamMemberRepository teamMemberRepository = Mockito.mock(TeamMemberRepository.class);
+        TeamMapper teamMapper = new TeamMapper();
 
         Team t1 = new Team(); t1.setId(1L);
         Team t2 = new Team(); t2.setId(2L);
@@ -122,10 +125,10 @@ class TeamServiceTest {
         User user = new User(); user.setId(20L);
         t1.getMembers().add(user);
 
-        Mockito.when(teamRepository.findAll()).thenReturn(java.util.List.of(t1, t2));
-        Mockito.when(userRepository.findById(20L)).thenReturn(java.util.Optional.of(user));
+        Mockito.when(teamRepository.findByMemberId(20L)).thenReturn(java.util.List.of(t1));
 
-        TeamServiceImpl teamService = new TeamServiceImpl(teamRepository, userRepository, teamMapper, userMapper);
+        TeamServiceImpl teamService = new TeamServiceImpl(teamRepository, userRepository, teamMemberRepository, teamMapper,
+                Mockito.mock(ApplicationEventPublisher.class));
         java.util.List<Team> res = teamService.listTeamsForUser(20L);
         assertEquals(1, res.size());
         assertEquals(1L, res.get(0).getId());
@@ -0,0 +1,58 @@
+package com.taskmanager.api.service;
+
+import com.taskmanager.api.dto.TeamStatsDto;
+import com.taskmanager.api.event.TaskChangedEvent;
+import com.taskmanager.api.repository.TeamRepository;
+import com.taskmanager.api.repository.TeamStatsRepository;
+import com.taskmanager.api.service.impl.TeamStatsServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+class TeamStatsServiceTest {
+
+    @Test
+    void statsAreCachedUntilATaskOfTheTeamChanges() {
+        TeamStatsRepository teamStatsRepository = Mockito.mock(TeamStatsRepository.class);
+        Mockito.when(teamStatsRepository.compute(eq(1L), any())).thenAnswer(invocation -> new TeamStatsDto());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TeamStatsService service = new TeamStatsServiceImpl(teamStatsRepository, teamWithMember(1L, 5L), registry, 100, Duration.ofMinutes(1));
+
+        TeamStatsDto first = service.getStats(1L, 5L);
+        assertSame(first, service.getStats(1L, 5L));
+        ((TeamStatsServiceImpl) service).onTaskChanged(new TaskChangedEvent(2L, TaskChangedEvent.Type.UPDATED, List.of()));
+        assertSame(first, service.getStats(1L, 5L));
+        ((TeamStatsServiceImpl) service).onTaskChanged(new TaskChangedEvent(1L, TaskChangedEvent.Type.UPDATED, List.of()));
+        assertNotSame(first, service.getStats(1L, 5L));
+
+        Mockito.verify(teamStatsRepository, Mockito.times(2)).compute(eq(1L), any());
+        assertEquals(2.0, registry.get("cache.gets").tag("cache", "teamStats").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void onlyMembersOfAnExistingTeamSeeItsStats() {
+        TeamStatsRepository teamStatsRepository = Mockito.mock(TeamStatsRepository.class);
+        TeamStatsService service = new TeamStatsServiceImpl(teamStatsRepository, teamWithMember(1L, 5L),
+                new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+
+        assertThrows(NoSuchElementException.class, () -> service.getStats(2L, 5L));
+        assertThrows(AccessDeniedException.class, () -> service.getStats(1L, 6L));
+        Mockito.verifyNoInteractions(teamStatsRepository);
+    }
+
+    private static TeamRepository teamWithMember(Long teamId, Long userId) {
+        TeamRepository teamRepository = Mockito.mock(TeamRepository.class);
+        Mockito.when(teamRepository.existsById(teamId)).thenReturn(true);
+        Mockito.when(teamRepository.isMemberOrAdmin(teamId, userId)).thenReturn(true);
+        return teamRepository;
+    }
+}
@@ -1,11 +1,14 @@
 package com.taskmanager.api.service;
 
+import com.taskmanager.api.entity.Role;
 import com.taskmanager.api.entity.User;
+import com.taskmanager.api.event.UserChangedEvent;
 import com.taskmanager.api.repository.UserRepository;
 import com.taskmanager.api.repository.RoleRepository;
 import com.taskmanager.api.service.impl.UserServiceImpl;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -18,7 +21,7 @@ class UserServiceTest {
         Mockito.when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
         org.springframework.security.crypto.password.PasswordEncoder passwordEncoder = Mockito.mock(org.springframework.security.crypto.password.PasswordEncoder.class);
         Mockito.when(passwordEncoder.encode(Mockito.anyString())).thenAnswer(i -> "encoded-" + i.getArgument(0));
-        UserServiceImpl userService = new UserServiceImpl(userRepository, roleRepository, passwordEncoder);
+        UserServiceImpl userService = new UserServiceImpl(userRepository, roleRepository, passwordEncoder, Mockito.mock(ApplicationEventPublisher.class));
         User user = new User();
         user.setUsername("testuser");
         User saved = userService.createUser(user, "pass");
@@ -31,7 +34,7 @@ class UserServiceTest {
         RoleRepository roleRepository = Mockito.mock(RoleRepository.class);
         org.springframework.security.crypto.password.PasswordEncoder passwordEncoder = Mockito.mock(org.springframework.security.crypto.password.PasswordEncoder.class);
         Mockito.when(passwordEncoder.encode(Mockito.anyString())).thenAnswer(i -> "encoded-" + i.getArgument(0));
-        UserServiceImpl userService = new UserServiceImpl(userRepository, roleRepository, passwordEncoder);
+        UserServiceImpl userService = new UserServiceImpl(userRepository, roleRepository, passwordEncoder, Mockito.mock(ApplicationEventPublisher.class));
 
         User user = new User(); user.setId(1L); user.setUsername("u1");
         Mockito.when(userRepository.findById(1L)).thenReturn(java.util.Optional.of(user));
@@ -50,7 +53,7 @@ class UserServiceTest {
         UserRepository userRepository = Mockito.mock(UserRepository.class);
         RoleRepository roleRepository = Mockito.mock(RoleRepository.class);
         org.springframework.security.crypto.password.PasswordEncoder passwordEncoder = Mockito.mock(org.springframework.security.crypto.password.PasswordEncoder.class);
-        UserServiceImpl userService = new UserServiceImpl(userRepository, roleRepository, passwordEncoder);
+        UserServiceImpl userService = new UserServiceImpl(userRepository, roleRepository, passwordEncoder, Mockito.mock(ApplicationEventPublisher.class));
 
         User user = new User(); user.setId(42L);
         Mockito.when(userRepository.findById(42L)).thenReturn(java.util.Optional.of(user));
@@ -58,4 +61,44 @@ class UserServiceTest {
         userService.deleteUser(42L);
         Mockito.verify(userRepository).delete(user);
     }
+
+    @Test
+    void updateUserPublishesPreviousIdentifiers() {
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        RoleRepository roleRepository = Mockito.mock(RoleRepository.class);
+        org.springframework.security.crypto.password.PasswordEncoder passwordEncoder = Mockito.mock(org.springframework.security.crypto.password.PasswordEncoder.class);
+        ApplicationEventPublisher publisher = Mockito.mock(ApplicationEventPublisher.class);
+        UserServiceImpl userService = new UserServiceImpl(userRepository, roleRepository, passwordEncoder, publisher);
+
+        User user = new User(); user.setId(1L); user.setUsername("old"); user.setEmail("old@example.com");
+        Mockito.when(userRepository.findById(1L)).thenReturn(java.util.Optional.of(user));
+        Mockito.when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        com.taskmanager.api.dto.UserUpdateDto dto = new com.taskmanager.api.dto.UserUpdateDto();
+        dto.setUsername("new"); dto.setEmail("new@example.com");
+        userService.updateUser(1L, dto);
+
+        Mockito.verify(publisher).publishEvent(new UserChangedEvent(1L, "old", "old@example.com"));
+    }
+
+    @Test
+    void updateRolesReplacesRolesAndPublishesEvent() {
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        RoleRepository roleRepository = Mockito.mock(RoleRepository.class);
+        org.springframework.security.crypto.password.PasswordEncoder passwordEncoder = Mockito.mock(org.springframework.security.crypto.password.PasswordEncoder.class);
+        ApplicationEventPublisher publisher = Mockito.mock(ApplicationEventPublisher.class);
+        UserServiceImpl userService = new UserServiceImpl(userRepository, roleRepository, passwordEncoder, publisher);
+
+        User user = new User(); user.setId(3L); user.setUsername("u3"); user.setEmail("u3@example.com");
+        user.getRoles().add(new Role("ROLE_USER"));
+        Mockito.when(userRepository.findById(3L)).thenReturn(java.util.Optional.of(user));
+        Mockito.when(roleRepository.findByName("ROLE_ADMIN")).thenReturn(java.util.Optional.of(new Role("ROLE_ADMIN")));
+        Mockito.when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        User updated = userService.updateRoles(3L, java.util.Set.of("ROLE_ADMIN"));
+
+        assertEquals(java.util.Set.of("ROLE_ADMIN"), updated.getRoles().stream().map(Role::getName).collect(java.util.stream.Collectors.toSet()));
+        Mockito.verify(publisher).publishEvent(new UserChangedEvent(3L, "u3", "u3@example.com"));
+        assertThrows(IllegalArgumentException.class, () -> userService.updateRoles(3L, java.util.Set.of("ROLE_NOPE")));
+    }
 }
@@ -25,6 +25,20 @@ async function handleResponse(res) {
   return res.json();
 }
 
+// Page sizes of the paginated lists; the next page is only fetched when the user asks for it
+const TASK_PAGE_SIZE = 50;
+const MEMBER_PAGE_SIZE = 50;
+
+// Fetch one page of a keyset-paginated endpoint: `{ items, nextCursor }`.
+// Pass the returned `nextCursor` back to fetch the following page.
+async function fetchPage(url, cursor) {
+  const sep = url.includes('?') ? '&' : '?';
+  const pageUrl = cursor ? `${url}${sep}cursor=${encodeURIComponent(cursor)}` : url;
+  const res = await fetch(pageUrl, { headers: { ...authHeaders() } });
+  const page = await handleResponse(res);
+  return { items: page.items || [], nextCursor: page.nextCursor || null };
+}
+
 // Auth
 export async function apiLogin({ usernameOrEmail, password }) {
   const res = await fetch(`${API_BASE}/auth/login`, {
@@ -62,6 +76,14 @@ export async function apiUpdateProfile({ username, displayName, password }) {
   return handleResponse(res);
 }
 
+// Counts of the current user's assigned tasks, by status
+export async function apiGetMyTaskCounts() {
+  const res = await fetch(`${API_BASE}/users/me/task-counts`, {
+    headers: { ...authHeaders() }
+  });
+  return handleResponse(res);
+}
+
 export async function apiDeleteProfile() {
   const res = await fetch(`${API_BASE}/users/me`, {
     method: 'DELETE',
@@ -120,11 +142,8 @@ export async function apiRemoveMember(teamId, userId) {
   return handleResponse(res);
 }
 
-export async function apiListMembers(teamId) {
-  const res = await fetch(`${API_BASE}/teams/${teamId}/members`, {
-    headers: { ...authHeaders() }
-  });
-  return handleResponse(res);
+export async function apiListMembers(teamId, cursor) {
+  return fetchPage(`${API_BASE}/teams/${teamId}/members?limit=${MEMBER_PAGE_SIZE}`, cursor);
 }
 
 // Tasks
@@ -144,18 +163,13 @@ export async function apiGetTask(id) {
   return handleResponse(res);
 }
 
-export async function apiListTasksByTeam(teamId) {
-  const res = await fetch(`${API_BASE}/tasks/team/${teamId}`, {
-    headers: { ...authHeaders() }
-  });
-  return handleResponse(res);
+export async function apiListTasksByTeam(teamId, cursor) {
+  return fetchPage(`${API_BASE}/tasks/team/${teamId}?limit=${TASK_PAGE_SIZE}`, cursor);
 }
 
-export async function apiListTasksByUser(userId) {
-  const res = await fetch(`${API_BASE}/tasks/user/${userId}`, {
-    headers: { ...authHeaders() }
-  });
-  return handleResponse(res);
+export async function apiListTasksByUser(userId, status, cursor) {
+  const filter = status ? `&status=${encodeURIComponent(status)}` : '';
+  return fetchPage(`${API_BASE}/tasks/user/${userId}?limit=${TASK_PAGE_SIZE}${filter}`, cursor);
 }
 
 export async function apiUpdateTask(id, dto) {
@@ -1,5 +1,5 @@
 import React, { useEffect, useMemo, useState } from 'react';
-import { apiGetProfile, apiListTeamsForUser, apiListTasksByUser } from '../api';
+import { apiGetMyTaskCounts, apiGetProfile, apiListTeamsForUser, apiListTasksByUser } from '../api';
 
 function formatDueDate(dueDate) {
   if (!dueDate) return 'No due date';
@@ -55,7 +55,10 @@ export default function DashboardPage() {
   const [error, setError] = useState('');
   const [me, setMe] = useState(null);
   const [teams, setTeams] = useState([]);
+  // The newest page of assigned tasks; totals and status counts come from the task counters
   const [myTasks, setMyTasks] = useState([]);
+  const [hasMoreTasks, setHasMoreTasks] = useState(false);
+  const [taskCounts, setTaskCounts] = useState(null);
 
   useEffect(() => {
     let mounted = true;
@@ -67,13 +70,16 @@ export default function DashboardPage() {
         if (!mounted) return;
         setMe(profile);
 
-        const [teamsRes, tasksRes] = await Promise.all([
+        const [teamsRes, tasksRes, countsRes] = await Promise.all([
           apiListTeamsForUser(profile.id),
           apiListTasksByUser(profile.id),
+          apiGetMyTaskCounts(),
         ]);
         if (!mounted) return;
         setTeams(Array.isArray(teamsRes) ? teamsRes : []);
-        setMyTasks(Array.isArray(tasksRes) ? tasksRes : []);
+        setMyTasks(tasksRes.items);
+        setHasMoreTasks(Boolean(tasksRes.nextCursor));
+        setTaskCounts(countsRes);
       } catch (e) {
         if (!mounted) return;
         setError(e?.message || 'Failed to load dashboard');
@@ -100,18 +106,22 @@ export default function DashboardPage() {
       if (isDueSoon(t, 3)) dueSoon += 1;
     }
 
+    if (taskCounts?.byStatus) Object.assign(byStatus, taskCounts.byStatus);
     const active = (byStatus.TO_DO || 0) + (byStatus.IN_PROGRESS || 0) + (byStatus.BLOCKED || 0);
 
     return {
       teamCount: teams.length,
-      taskCount: myTasks.length,
+      taskCount: taskCounts ? taskCounts.total : myTasks.length,
       active,
       overdue,
       dueSoon,
       byStatus,
       byPriority,
     };
-  }, [teams.length, myTasks]);
+  }, [teams.length, myTasks, taskCounts]);
+
+  // Overdue, due-soon and priority figures only cover the loaded page
+  const sampleHint = hasMoreTasks ? ` (latest ${myTasks.length} tasks)` : '';
 
   const recentTasks = useMemo(() => {
     const copy = [...myTasks];
@@ -141,14 +151,14 @@ export default function DashboardPage() {
           <MetricCard label="My Teams" value={loading ? '…' : stats.teamCount} hint="Teams you’re a member of" />
           <MetricCard label="My Tasks" value={loading ? '…' : stats.taskCount} hint="Tasks assigned to you" />
           <MetricCard label="Active" value={loading ? '…' : stats.active} hint="Not done yet" />
-          <MetricCard label="Overdue" value={loading ? '…' : stats.overdue} hint="Past due date" />
+          <MetricCard label="Overdue" value={loading ? '…' : stats.overdue} hint={`Past due date${sampleHint}`} />
         </div>
 
         <div className="grid grid-cols-1 lg:grid-cols-2 gap-4">
           <div className="card-surface p-4">
             <div className="flex items-center justify-between">
               <h2 className="text-lg font-semibold">By Status</h2>
-              <div className="text-xs text-gray-500">Due soon: {loading ? '…' : stats.dueSoon}</div>
+              <div className="text-xs text-gray-500">Due soon: {loading ? '…' : stats.dueSoon}{sampleHint}</div>
             </div>
 
             <div className="mt-3 grid grid-cols-2 gap-3">
@@ -172,7 +182,10 @@ export default function DashboardPage() {
           </div>
 
           <div className="card-surface p-4">
-            <h2 className="text-lg font-semibold">By Priority</h2>
+            <div className="flex items-center justify-between">
+              <h2 className="text-lg font-semibold">By Priority</h2>
+              {sampleHint ? <div className="text-xs text-gray-500">{sampleHint.trim()}</div> : null}
+            </div>
             <div className="mt-3 grid grid-cols-3 gap-3">
               <div className="flex items-center justify-between bg-slate-50 rounded-md px-3 py-2">
                 <span className="text-sm">Low</span>
@@ -193,7 +206,7 @@ export default function DashboardPage() {
         <div className="card-surface p-4">
           <div className="flex items-center justify-between">
             <h2 className="text-lg font-semibold">My Tasks (Soonest Due)</h2>
-            <div className="text-xs text-gray-500">Showing {loading ? '…' : recentTasks.length} of {loading ? '…' : myTasks.length}</div>
+            <div className="text-xs text-gray-500">Showing {loading ? '…' : recentTasks.length} of {loading ? '…' : stats.taskCount}</div>
           </div>
 
           {loading ? (
@@ -27,8 +27,15 @@ export default function TasksPage() {
   const [teams, setTeams] = useState([])
   const [me, setMe] = useState(null)
   const [teamFilter, setTeamFilter] = useState('')
+  // What the list shows ({ teamId } or { userId }) and the cursor of its next page
+  const [taskQuery, setTaskQuery] = useState(null)
+  const [nextCursor, setNextCursor] = useState(null)
+  const [loadingMore, setLoadingMore] = useState(false)
+  const [loadMoreError, setLoadMoreError] = useState(null)
 
+  // Assignable members of the team view, one page at a time
   const [teamMembers, setTeamMembers] = useState([])
+  const [teamMembersCursor, setTeamMembersCursor] = useState(null)
   const [teamMembersLoading, setTeamMembersLoading] = useState(false)
   const [teamMembersError, setTeamMembersError] = useState(null)
 
@@ -50,6 +57,50 @@ export default function TasksPage() {
     setTasks(prev => prev.map(t => (t.id === updated.id ? updated : t)))
   }
 
+  async function fetchTasks(query, cursor) {
+    if (query.teamId) return apiListTasksByTeam(query.teamId, cursor)
+    return apiListTasksByUser(query.userId, undefined, cursor)
+  }
+
+  async function showFirstPage(query) {
+    const page = await fetchTasks(query)
+    setTaskQuery(query)
+    setTasks(page.items)
+    setNextCursor(page.nextCursor)
+    setLoadMoreError(null)
+    return page
+  }
+
+  async function loadMoreTasks() {
+    if (!taskQuery || !nextCursor) return
+    setLoadingMore(true)
+    setLoadMoreError(null)
+    try {
+      const page = await fetchTasks(taskQuery, nextCursor)
+      setTasks(prev => [...prev, ...page.items])
+      setNextCursor(page.nextCursor)
+    } catch (err) {
+      setLoadMoreError(err.message || 'Failed to load more tasks')
+    } finally {
+      setLoadingMore(false)
+    }
+  }
+
+  async function loadMoreTeamMembers() {
+    if (!teamFilter || !teamMembersCursor) return
+    setTeamMembersLoading(true)
+    setTeamMembersError(null)
+    try {
+      const page = await apiListMembers(parseInt(teamFilter, 10), teamMembersCursor)
+      setTeamMembers(prev => [...prev, ...page.items])
+      setTeamMembersCursor(page.nextCursor)
+    } catch (err) {
+      setTeamMembersError(err.message || 'Failed to load more members')
+    } finally {
+      setTeamMembersLoading(false)
+    }
+  }
+
   function showToast(type, message) {
     setToast({ type, message })
   }
@@ -102,27 +153,28 @@ export default function TasksPage() {
         }
 
         // prefer listing tasks assigned to user; fallback to tasks in first team
-        let list = []
         if (initialTeamId) {
-          list = await apiListTasksByTeam(parseInt(initialTeamId, 10))
+          await showFirstPage({ teamId: parseInt(initialTeamId, 10) })
           try {
             setTeamMembersLoading(true)
             setTeamMembersError(null)
             const members = await apiListMembers(parseInt(initialTeamId, 10))
-            setTeamMembers(members || [])
+            setTeamMembers(members.items)
+            setTeamMembersCursor(members.nextCursor)
           } catch (err) {
             setTeamMembers([])
+            setTeamMembersCursor(null)
             setTeamMembersError(err.message || 'Failed to load team members')
           } finally {
             setTeamMembersLoading(false)
           }
         } else {
-          try { list = await apiListTasksByUser(profile.id) } catch { /* ignore */ }
-          if ((!list || list.length === 0) && teamList && teamList.length > 0) {
-            list = await apiListTasksByTeam(teamList[0].id)
+          let page = null
+          try { page = await showFirstPage({ userId: profile.id }) } catch { /* ignore */ }
+          if ((!page || page.items.length === 0) && teamList && teamList.length > 0) {
+            await showFirstPage({ teamId: teamList[0].id })
           }
         }
-        if (mounted) setTasks(list || [])
       } catch (err) {
         if (mounted) setError(err.message || 'Failed to load tasks')
       } finally {
@@ -140,27 +192,28 @@ export default function TasksPage() {
     setError(null)
     try {
       const filterVal = nextTeamFilter ?? teamFilter
-      let list = []
       if (filterVal) {
         const teamId = parseInt(filterVal, 10)
-        list = await apiListTasksByTeam(teamId)
+        await showFirstPage({ teamId })
         setTeamMembersLoading(true)
         setTeamMembersError(null)
         try {
           const members = await apiListMembers(teamId)
-          setTeamMembers(members || [])
+          setTeamMembers(members.items)
+          setTeamMembersCursor(members.nextCursor)
         } catch (err) {
           setTeamMembers([])
+          setTeamMembersCursor(null)
           setTeamMembersError(err.message || 'Failed to load team members')
         } finally {
           setTeamMembersLoading(false)
         }
       } else {
-        list = await apiListTasksByUser(me.id)
+        await showFirstPage({ userId: me.id })
         setTeamMembers([])
+        setTeamMembersCursor(null)
         setTeamMembersError(null)
       }
-      setTasks(list || [])
     } catch (err) {
       setError(err.message || 'Failed to load tasks')
     } finally {
@@ -229,13 +282,7 @@ export default function TasksPage() {
               showToast('success', 'Task created')
               setForm({ title: '', description: '', teamId: teamFilter || form.teamId || '', priority: 'MEDIUM' });
               // reload tasks for current view
-              if (teamFilter) {
-                const updated = await apiListTasksByTeam(parseInt(teamFilter, 10))
-                setTasks(updated || [])
-              } else {
-                const updated = await apiListTasksByUser(profile.id)
-                setTasks(updated || [])
-              }
+              await showFirstPage(teamFilter ? { teamId: parseInt(teamFilter, 10) } : { userId: profile.id })
             } catch (err) { setError(err.message || 'Failed to create task') }
             setCreating(false);
           }}
@@ -295,6 +342,9 @@ export default function TasksPage() {
           Team view • Assignees visible below
           {teamMembersLoading ? <span className="ml-2 text-gray-500">(loading members…)</span> : null}
           {teamMembersError ? <span className="ml-2 text-red-600">({teamMembersError})</span> : null}
+          {!teamMembersLoading && teamMembersCursor ? (
+            <button className="ml-2 underline hover:text-gray-800" onClick={loadMoreTeamMembers}>Load more members</button>
+          ) : null}
         </div>
       )}
       {loading && <div className="text-sm text-gray-500">Loading tasks…</div>}
@@ -516,6 +566,14 @@ export default function TasksPage() {
           ))}
         </div>
       )}
+      {!loading && !error && nextCursor && (
+        <div className="flex flex-col items-center gap-2 mt-4">
+          {loadMoreError && <div className="text-sm text-red-600">{loadMoreError}</div>}
+          <Button variant="ghost" disabled={loadingMore} onClick={loadMoreTasks}>
+            {loadingMore ? 'Loading…' : 'Load more'}
+          </Button>
+        </div>
+      )}
     </div>
   );
 }
@@ -26,6 +26,8 @@ export default function TeamsPage() {
   const [membersLoading, setMembersLoading] = useState(false)
   const [membersError, setMembersError] = useState(null)
   const [members, setMembers] = useState([])
+  const [membersCursor, setMembersCursor] = useState(null)
+  const [loadingMoreMembers, setLoadingMoreMembers] = useState(false)
   const [addUserId, setAddUserId] = useState('')
   const [memberActionLoading, setMemberActionLoading] = useState(false)
 
@@ -63,20 +65,42 @@ export default function TeamsPage() {
     setMembersError(null)
     setMembersLoading(true)
     try {
-      const list = await apiListMembers(teamId)
-      setMembers(list || [])
+      await showFirstMembersPage(teamId)
     } catch (err) {
       setMembersError(err.message || 'Failed to load members')
       setMembers([])
+      setMembersCursor(null)
     } finally {
       setMembersLoading(false)
     }
   }
 
+  async function showFirstMembersPage(teamId) {
+    const page = await apiListMembers(teamId)
+    setMembers(page.items)
+    setMembersCursor(page.nextCursor)
+  }
+
+  async function loadMoreMembers() {
+    if (!manageTeam || !membersCursor) return
+    setLoadingMoreMembers(true)
+    setMembersError(null)
+    try {
+      const page = await apiListMembers(manageTeam.id, membersCursor)
+      setMembers(prev => [...prev, ...page.items])
+      setMembersCursor(page.nextCursor)
+    } catch (err) {
+      setMembersError(err.message || 'Failed to load more members')
+    } finally {
+      setLoadingMoreMembers(false)
+    }
+  }
+
   function closeManage() {
     setManageOpen(false)
     setManageTeam(null)
     setMembers([])
+    setMembersCursor(null)
     setMembersError(null)
     setAddUserId('')
     setMemberActionLoading(false)
@@ -146,7 +170,7 @@ export default function TeamsPage() {
                 <div>
                   <div className="font-semibold text-lg">{t.name}</div>
                   <div className="text-gray-600 mt-2">{t.description}</div>
-                  <div className="text-sm text-gray-500 mt-3">Members: {t.members ? t.members.length : 0}</div>
+                  <div className="text-sm text-gray-500 mt-3">Members: {t.memberCount ?? 0}</div>
                   {t.admin?.id && me?.id && (
                     <div className="text-xs text-gray-500 mt-1">
                       Admin: {t.admin.id === me.id ? 'You' : (t.admin.displayName || t.admin.username)}
@@ -212,8 +236,7 @@ export default function TeamsPage() {
                           setMembersError(null)
                           try {
                             await apiRemoveMember(manageTeam.id, u.id)
-                            const list = await apiListMembers(manageTeam.id)
-                            setMembers(list || [])
+                            setMembers(prev => prev.filter(m => m.id !== u.id))
                             await refreshTeams()
                           } catch (err) {
                             setMembersError(err.message || 'Failed to remove member')
@@ -226,6 +249,11 @@ export default function TeamsPage() {
                       </Button>
                     </div>
                   ))}
+                  {membersCursor && (
+                    <Button variant="ghost" disabled={loadingMoreMembers} onClick={loadMoreMembers}>
+                      {loadingMoreMembers ? 'Loading…' : 'Load more'}
+                    </Button>
+                  )}
                 </div>
               )}
             </div>
@@ -245,8 +273,7 @@ export default function TeamsPage() {
                   setMembersError(null)
                   try {
                     await apiAddMember(manageTeam.id, userId)
-                    const list = await apiListMembers(manageTeam.id)
-                    setMembers(list || [])
+                    await showFirstMembersPage(manageTeam.id)
                     setAddUserId('')
                     await refreshTeams()
                   } catch (err) {